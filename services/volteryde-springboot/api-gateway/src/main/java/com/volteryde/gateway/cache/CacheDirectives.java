@@ -0,0 +1,124 @@
+package com.volteryde.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The subset of RFC 9111 a shared cache in front of our own services needs.
+ */
+final class CacheDirectives {
+
+	/**
+	 * Returned by {@link #freshness} when the response must not be stored.
+	 */
+	static final long NOT_STORABLE = -1;
+
+	private CacheDirectives() {
+	}
+
+	/**
+	 * How long a 200 response may be served without revalidation, in millis.
+	 *
+	 * {@code s-maxage} wins over {@code max-age}; without either the route's
+	 * {@code defaultTtl} applies, unless the request was authenticated, in
+	 * which case only an explicit {@code public} or {@code s-maxage} makes it
+	 * shareable. {@code no-cache} stores the response but forces revalidation
+	 * on every use. The result is capped at {@code maxTtl}.
+	 */
+	static long freshness(int status, HttpHeaders response, boolean authorizedRequest, Duration defaultTtl,
+			Duration maxTtl) {
+		if (status != 200 || response.containsKey(HttpHeaders.SET_COOKIE) || !varyAllowed(response)) {
+			return NOT_STORABLE;
+		}
+		List<String> directives = directives(response);
+		if (directives.contains("no-store") || directives.contains("private")) {
+			return NOT_STORABLE;
+		}
+		long sMaxAge = seconds(directives, "s-maxage=");
+		if (authorizedRequest && sMaxAge < 0 && !directives.contains("public")) {
+			return NOT_STORABLE;
+		}
+		if (directives.contains("no-cache")) {
+			return 0;
+		}
+		long ttl = sMaxAge >= 0 ? sMaxAge * 1000 : seconds(directives, "max-age=") * 1000;
+		if (ttl < 0) {
+			ttl = defaultTtl.toMillis();
+		}
+		return Math.min(ttl, maxTtl.toMillis());
+	}
+
+	/**
+	 * True when the client asked to bypass the cache entirely.
+	 */
+	static boolean noStore(HttpHeaders request) {
+		return directives(request).contains("no-store");
+	}
+
+	/**
+	 * True when the client asked for a revalidated response
+	 * ({@code no-cache}, {@code max-age=0} or {@code Pragma: no-cache}).
+	 */
+	static boolean mustRevalidate(HttpHeaders request) {
+		List<String> directives = directives(request);
+		return directives.contains("no-cache") || seconds(directives, "max-age=") == 0
+				|| "no-cache".equalsIgnoreCase(request.getPragma());
+	}
+
+	static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+		if (etag == null) {
+			return false;
+		}
+		String weakless = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String candidate : ifNoneMatch) {
+			String trimmed = candidate.trim();
+			if ("*".equals(trimmed) || weakless.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Entries are keyed on path and query only, and the gateway requests
+	 * identity encoding, so anything varying on other request headers cannot
+	 * be stored.
+	 */
+	private static boolean varyAllowed(HttpHeaders response) {
+		for (String vary : response.getVary()) {
+			String name = vary.trim();
+			if (!name.isEmpty() && !name.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static List<String> directives(HttpHeaders headers) {
+		String cacheControl = headers.getCacheControl();
+		if (cacheControl == null || cacheControl.isBlank()) {
+			return List.of();
+		}
+		return Arrays.stream(cacheControl.toLowerCase(Locale.ROOT).split(","))
+				.map(String::trim)
+				.map(directive -> directive.replace("\"", ""))
+				.toList();
+	}
+
+	private static long seconds(List<String> directives, String prefix) {
+		for (String directive : directives) {
+			if (directive.startsWith(prefix)) {
+				try {
+					return Math.max(0, Long.parseLong(directive.substring(prefix.length())));
+				} catch (NumberFormatException e) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,106 @@
+package com.volteryde.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A stored upstream response. Entries outlive their freshness so they can be
+ * revalidated with {@code If-None-Match} / {@code If-Modified-Since} instead
+ * of refetched.
+ *
+ * @param storedAt  epoch millis the response was stored or last revalidated
+ * @param expiresAt epoch millis after which it must be revalidated
+ */
+public record CachedResponse(int status, Map<String, List<String>> headers, byte[] body, long storedAt,
+		long expiresAt) {
+
+	/**
+	 * Headers that describe the connection or the individual client, not the
+	 * resource, and so are never replayed from the cache.
+	 */
+	private static final Set<String> UNSTORED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+			"content-length", "date", "age", "set-cookie", "retry-after", "upgrade", "proxy-authenticate",
+			"trailer", ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+	/**
+	 * Headers a 304 may carry that replace the stored ones (RFC 9111 4.3.4).
+	 */
+	private static final List<String> REVALIDATION_HEADERS = List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG,
+			HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY);
+
+	public static CachedResponse of(int status, HttpHeaders headers, byte[] body, long now, long ttlMillis) {
+		Map<String, List<String>> stored = new LinkedHashMap<>();
+		headers.forEach((name, values) -> {
+			String lower = name.toLowerCase(Locale.ROOT);
+			// RateLimit-* describe the caller's bucket, not the resource
+			if (!UNSTORED_HEADERS.contains(lower) && !lower.startsWith("ratelimit-")) {
+				stored.put(name, List.copyOf(values));
+			}
+		});
+		return new CachedResponse(status, stored, body, now, now + ttlMillis);
+	}
+
+	/**
+	 * The entry after a 304: same body, validators and freshness from the 304.
+	 */
+	public CachedResponse revalidated(HttpHeaders notModified, long now, long ttlMillis) {
+		Map<String, List<String>> merged = new LinkedHashMap<>(headers);
+		for (String name : REVALIDATION_HEADERS) {
+			List<String> values = notModified.get(name);
+			if (values != null) {
+				merged.keySet().removeIf(existing -> existing.equalsIgnoreCase(name));
+				merged.put(name, List.copyOf(values));
+			}
+		}
+		return new CachedResponse(status, merged, body, now, now + ttlMillis);
+	}
+
+	public boolean isFresh(long now) {
+		return now < expiresAt;
+	}
+
+	public long ageSeconds(long now) {
+		return Math.max(0, (now - storedAt) / 1000);
+	}
+
+	public String header(String name) {
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			if (entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+				return entry.getValue().get(0);
+			}
+		}
+		return null;
+	}
+
+	public HttpHeaders httpHeaders() {
+		HttpHeaders copy = new HttpHeaders();
+		headers.forEach(copy::addAll);
+		return copy;
+	}
+
+	public String etag() {
+		return header(HttpHeaders.ETAG);
+	}
+
+	public String lastModified() {
+		return header(HttpHeaders.LAST_MODIFIED);
+	}
+
+	/**
+	 * Approximate retained size, for the local tier's byte budget.
+	 */
+	public long weight() {
+		long weight = body.length;
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			for (String value : entry.getValue()) {
+				weight += entry.getKey().length() + value.length();
+			}
+		}
+		return weight;
+	}
+}
@@ -0,0 +1,64 @@
+package com.volteryde.gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-instance LRU bounded by entry count and by total bytes. Stale entries
+ * are kept for {@code retentionMillis} past expiry so they can be revalidated.
+ */
+class LocalResponseStore {
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final long retentionMillis;
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+	private long bytes;
+
+	LocalResponseStore(int maxEntries, long maxBytes, long retentionMillis) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.retentionMillis = retentionMillis;
+	}
+
+	synchronized CachedResponse get(String key, long now) {
+		CachedResponse entry = entries.get(key);
+		if (entry != null && now >= entry.expiresAt() + retentionMillis) {
+			remove(key);
+			return null;
+		}
+		return entry;
+	}
+
+	synchronized void put(String key, CachedResponse entry) {
+		if (entry.weight() > maxBytes) {
+			return;
+		}
+		CachedResponse previous = entries.put(key, entry);
+		if (previous != null) {
+			bytes -= previous.weight();
+		}
+		bytes += entry.weight();
+		Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+			bytes -= eldest.next().getValue().weight();
+			eldest.remove();
+		}
+	}
+
+	synchronized void remove(String key) {
+		CachedResponse removed = entries.remove(key);
+		if (removed != null) {
+			bytes -= removed.weight();
+		}
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	synchronized long bytes() {
+		return bytes;
+	}
+}
@@ -0,0 +1,336 @@
+package com.volteryde.gateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@code ResponseCache} route filter: serves GETs for read-mostly routes from
+ * the gateway instead of proxying each one.
+ *
+ * Entries are keyed on route, normalized path and sorted query parameters,
+ * and looked up in the local tier, then the shared (Redis) tier when enabled.
+ * Upstream {@code Cache-Control} decides what is stored and for how long
+ * (see {@link CacheDirectives}); routes set a default {@code ttl} for
+ * responses without one and a {@code max-ttl} cap.
+ *
+ * A stale entry with an {@code ETag} or {@code Last-Modified} is revalidated
+ * with a conditional request, and a 304 refreshes it without transferring the
+ * body. Concurrent misses for one key wait on a single upstream request.
+ * Clients get a 304 when their {@code If-None-Match} matches a cached entry.
+ *
+ * Responses carry {@code X-Cache} ({@code HIT}, {@code MISS},
+ * {@code REVALIDATED} or {@code BYPASS}) and {@code Age}. Metrics:
+ * {@code gateway.cache.requests{route,result,tier}} and
+ * {@code gateway.cache.local.entries} / {@code .bytes}.
+ */
+public class ResponseCacheGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	static final String METRIC = "gateway.cache.requests";
+
+	private final LocalResponseStore local;
+	private final SharedResponseStore shared;
+	private final int maxEntryBytes;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+	public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry, int localMaxEntries, long localMaxBytes,
+			int maxEntryBytes, Duration staleRetention, SharedResponseStore shared) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+		this.local = new LocalResponseStore(localMaxEntries, localMaxBytes, staleRetention.toMillis());
+		this.shared = shared;
+		this.maxEntryBytes = maxEntryBytes;
+		meterRegistry.gauge("gateway.cache.local.entries", local, LocalResponseStore::size);
+		meterRegistry.gauge("gateway.cache.local.bytes", local, LocalResponseStore::bytes);
+	}
+
+	@Override
+	public String name() {
+		return "ResponseCache";
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("ttl", "maxTtl");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return (exchange, chain) -> {
+			ServerHttpRequest request = exchange.getRequest();
+			String routeId = routeId(exchange);
+			if (request.getMethod() != HttpMethod.GET || CacheDirectives.noStore(request.getHeaders())) {
+				exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+				count(routeId, "bypass", "none");
+				return chain.filter(exchange);
+			}
+
+			String key = key(routeId, request);
+			boolean revalidate = CacheDirectives.mustRevalidate(request.getHeaders());
+			CachedResponse localEntry = local.get(key, System.currentTimeMillis());
+			if (localEntry != null && !revalidate && localEntry.isFresh(System.currentTimeMillis())) {
+				count(routeId, "hit", "local");
+				return serve(exchange, localEntry, "HIT");
+			}
+
+			return shared.get(key)
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.flatMap(sharedEntry -> {
+						if (sharedEntry.isPresent() && !revalidate
+								&& sharedEntry.get().isFresh(System.currentTimeMillis())) {
+							local.put(key, sharedEntry.get());
+							count(routeId, "hit", "shared");
+							return serve(exchange, sharedEntry.get(), "HIT");
+						}
+						CachedResponse stale = sharedEntry.map(entry -> newer(localEntry, entry)).orElse(localEntry);
+						return fetch(exchange, chain, config, routeId, key, stale);
+					});
+		};
+	}
+
+	private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Config config, String routeId,
+			String key, CachedResponse stale) {
+		CompletableFuture<CachedResponse> ours = new CompletableFuture<>();
+		CompletableFuture<CachedResponse> running = inFlight.putIfAbsent(key, ours);
+		if (running != null) {
+			count(routeId, "coalesced", "none");
+			return Mono.fromFuture(running, true)
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					// Empty when the leader's response was not storable: make our own request
+					.flatMap(entry -> entry.isPresent() ? serve(exchange, entry.get(), "HIT") : chain.filter(exchange));
+		}
+
+		boolean authorized = exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+		ServerHttpRequest upstream = exchange.getRequest().mutate()
+				.headers(headers -> {
+					// Store identity bodies; validators are ours, not the client's
+					headers.remove(HttpHeaders.ACCEPT_ENCODING);
+					headers.remove(HttpHeaders.IF_NONE_MATCH);
+					headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+					if (stale != null && stale.etag() != null) {
+						headers.set(HttpHeaders.IF_NONE_MATCH, stale.etag());
+					} else if (stale != null && stale.lastModified() != null) {
+						headers.set(HttpHeaders.IF_MODIFIED_SINCE, stale.lastModified());
+					}
+				})
+				.build();
+		CachingResponse response = new CachingResponse(exchange, config, routeId, key, stale, authorized, ours);
+		return chain.filter(exchange.mutate().request(upstream).response(response).build())
+				// Errors and cancellation never reach writeWith
+				.doFinally(signal -> response.finish(null));
+	}
+
+	private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, String result) {
+		ServerHttpResponse response = exchange.getResponse();
+		HttpHeaders headers = response.getHeaders();
+		entry.headers().forEach(headers::put);
+		long now = System.currentTimeMillis();
+		headers.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds(now)));
+		headers.set(CACHE_STATUS_HEADER, result);
+		if (CacheDirectives.etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), entry.etag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			return response.setComplete();
+		}
+		response.setStatusCode(HttpStatusCode.valueOf(entry.status()));
+		headers.setContentLength(entry.body().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+	}
+
+	/**
+	 * Route, path without duplicate or trailing slashes, and query parameters
+	 * sorted by name so {@code ?a=1&b=2} and {@code ?b=2&a=1} share an entry.
+	 */
+	static String key(String routeId, ServerHttpRequest request) {
+		String path = request.getPath().pathWithinApplication().value().replaceAll("/{2,}", "/");
+		if (path.length() > 1 && path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		StringBuilder key = new StringBuilder(routeId).append(' ').append(path);
+		MultiValueMap<String, String> params = request.getQueryParams();
+		if (!params.isEmpty()) {
+			char separator = '?';
+			for (Map.Entry<String, List<String>> param : new TreeMap<>(params).entrySet()) {
+				for (String value : param.getValue()) {
+					key.append(separator).append(param.getKey()).append('=').append(value == null ? "" : value);
+					separator = '&';
+				}
+			}
+		}
+		return key.toString();
+	}
+
+	private static CachedResponse newer(CachedResponse a, CachedResponse b) {
+		return a == null || b.storedAt() > a.storedAt() ? b : a;
+	}
+
+	private static String routeId(ServerWebExchange exchange) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route != null ? route.getId() : "unknown";
+	}
+
+	private void count(String routeId, String result, String tier) {
+		Counter.builder(METRIC)
+				.description("Cacheable-route requests by outcome and serving tier")
+				.tag("route", routeId)
+				.tag("result", result)
+				.tag("tier", tier)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	/**
+	 * Captures the upstream response on its way to the client: stores it when
+	 * cacheable, and turns a 304 to our revalidation into the refreshed entry.
+	 */
+	private final class CachingResponse extends ServerHttpResponseDecorator {
+
+		private final ServerWebExchange exchange;
+		private final Config config;
+		private final String routeId;
+		private final String key;
+		private final CachedResponse stale;
+		private final boolean authorized;
+		private final CompletableFuture<CachedResponse> result;
+
+		CachingResponse(ServerWebExchange exchange, Config config, String routeId, String key, CachedResponse stale,
+				boolean authorized, CompletableFuture<CachedResponse> result) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.config = config;
+			this.routeId = routeId;
+			this.key = key;
+			this.stale = stale;
+			this.authorized = authorized;
+			this.result = result;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpStatusCode status = getStatusCode();
+			long now = System.currentTimeMillis();
+
+			if (stale != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+				long ttl = Math.max(0, CacheDirectives.freshness(HttpStatus.OK.value(), getHeaders(), authorized,
+						config.getTtl(), config.getMaxTtl()));
+				CachedResponse refreshed = stale.revalidated(getHeaders(), now, ttl);
+				store(refreshed, now);
+				count(routeId, "revalidated", "none");
+				return Flux.from(body).doOnNext(DataBufferUtils::release)
+						.then(serve(exchange, refreshed, "REVALIDATED"));
+			}
+
+			long ttl = status == null ? CacheDirectives.NOT_STORABLE
+					: CacheDirectives.freshness(status.value(), getHeaders(), authorized, config.getTtl(),
+							config.getMaxTtl());
+			long declaredLength = getHeaders().getContentLength();
+			if (ttl == CacheDirectives.NOT_STORABLE || declaredLength > maxEntryBytes) {
+				finish(null);
+				count(routeId, "miss", "none");
+				getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+				return super.writeWith(body);
+			}
+
+			return DataBufferUtils.join(body).flatMap(joined -> {
+				byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+				count(routeId, "miss", "none");
+				if (bytes.length <= maxEntryBytes) {
+					store(CachedResponse.of(status.value(), getHeaders(), bytes, now, ttl), now);
+				} else {
+					finish(null);
+				}
+				getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+				return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			// Streaming responses are passed through, never stored
+			finish(null);
+			return super.writeAndFlushWith(body);
+		}
+
+		private void store(CachedResponse entry, long now) {
+			local.put(key, entry);
+			shared.put(key, entry, now);
+			finish(entry);
+		}
+
+		/**
+		 * Releases waiting requests; later ones start a fresh lookup.
+		 */
+		void finish(CachedResponse entry) {
+			inFlight.remove(key, result);
+			result.complete(entry);
+		}
+	}
+
+	/**
+	 * Per-route policy, bound from the filter's args.
+	 */
+	public static class Config {
+
+		/**
+		 * Freshness for responses without {@code max-age} or {@code s-maxage}.
+		 */
+		private Duration ttl = Duration.ofSeconds(60);
+
+		/**
+		 * Upper bound on freshness, whatever upstream asks for.
+		 */
+		private Duration maxTtl = Duration.ofHours(1);
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public Config setTtl(Duration ttl) {
+			this.ttl = ttl;
+			return this;
+		}
+
+		public Duration getMaxTtl() {
+			return maxTtl;
+		}
+
+		public Config setMaxTtl(Duration maxTtl) {
+			this.maxTtl = maxTtl;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.volteryde.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Optional Redis tier shared by all gateway instances, so a response fetched
+ * by one instance is a hit on the others.
+ *
+ * Redis errors and reads slower than {@code timeout} count as misses, and
+ * Redis is then skipped for {@code retryInterval}, as for rate limiting.
+ */
+public class SharedResponseStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SharedResponseStore.class);
+	private static final String KEY_PREFIX = "gateway:cache:";
+
+	private final ReactiveStringRedisTemplate redis;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final Duration timeout;
+	private final long retryIntervalMillis;
+	private final long retentionMillis;
+	private volatile long retryAt;
+
+	public SharedResponseStore(ReactiveStringRedisTemplate redis, ObjectMapper objectMapper, boolean enabled,
+			Duration timeout, Duration retryInterval, Duration retention) {
+		this.redis = redis;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled && redis != null;
+		this.timeout = timeout;
+		this.retryIntervalMillis = retryInterval.toMillis();
+		this.retentionMillis = retention.toMillis();
+	}
+
+	public static SharedResponseStore disabled() {
+		return new SharedResponseStore(null, null, false, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+	}
+
+	Mono<CachedResponse> get(String key) {
+		if (!available()) {
+			return Mono.empty();
+		}
+		return redis.opsForValue().get(KEY_PREFIX + key)
+				.timeout(timeout)
+				.flatMap(json -> Mono.justOrEmpty(decode(key, json)))
+				.onErrorResume(e -> {
+					unavailable(e);
+					return Mono.empty();
+				});
+	}
+
+	/**
+	 * Stores in the background; the caller's response does not wait on Redis.
+	 */
+	void put(String key, CachedResponse entry, long now) {
+		if (!available()) {
+			return;
+		}
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(entry);
+		} catch (JsonProcessingException e) {
+			LOGGER.warn("Could not encode cached response for {}: {}", key, e.getMessage());
+			return;
+		}
+		Duration ttl = Duration.ofMillis(Math.max(1, entry.expiresAt() - now) + retentionMillis);
+		redis.opsForValue().set(KEY_PREFIX + key, json, ttl)
+				.timeout(timeout)
+				.onErrorResume(e -> {
+					unavailable(e);
+					return Mono.empty();
+				})
+				.subscribe();
+	}
+
+	private CachedResponse decode(String key, String json) {
+		try {
+			return objectMapper.readValue(json, CachedResponse.class);
+		} catch (JsonProcessingException e) {
+			LOGGER.warn("Discarding unreadable cached response for {}: {}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	private boolean available() {
+		return enabled && System.currentTimeMillis() >= retryAt;
+	}
+
+	private void unavailable(Throwable e) {
+		if (System.currentTimeMillis() >= retryAt) {
+			LOGGER.warn("Response cache skipping Redis for {} ms: {}", retryIntervalMillis, e.toString());
+		}
+		retryAt = System.currentTimeMillis() + retryIntervalMillis;
+	}
+}
@@ -0,0 +1,77 @@
+package com.volteryde.gateway.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.compression.GzipOption;
+
+import java.util.List;
+
+/**
+ * Transport tuning for both sides of the gateway. Everything defaults to the
+ * Reactor Netty behaviour; the {@code performance} profile turns it on.
+ *
+ * Upstream: the pooled client ({@link PooledHttpClientFactory}) and, with
+ * {@code gateway.http-client.h2c}, HTTP/2 over cleartext. Each new connection
+ * offers an h2c upgrade and stays on HTTP/1.1 when the service ignores it, so
+ * it is safe to enable before every service supports HTTP/2.
+ *
+ * Downstream: response compression is Boot's {@code server.compression}
+ * (content types and size threshold); this adds the gzip level. Brotli is
+ * used for clients that accept it when brotli4j is on the classpath (Maven
+ * profile {@code brotli}).
+ */
+@Configuration
+public class HttpPerformanceConfig {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpPerformanceConfig.class);
+
+	/**
+	 * Replaces Gateway's own factory, which backs off when this bean exists.
+	 */
+	@Bean
+	public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+			ServerProperties serverProperties, List<HttpClientCustomizer> customizers,
+			HttpClientSslConfigurer sslConfigurer,
+			@Value("${gateway.http-client.pool.pending-acquire-max-count:0}") int pendingAcquireMaxCount) {
+		return new PooledHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+				pendingAcquireMaxCount);
+	}
+
+	@Bean
+	public HttpClientCustomizer upstreamProtocolCustomizer(
+			@Value("${gateway.http-client.h2c:false}") boolean h2c) {
+		if (h2c) {
+			LOGGER.info("Offering h2c to upstream services");
+		}
+		return client -> h2c ? client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11) : client;
+	}
+
+	/**
+	 * Gzip level for compressed responses, and Reactor Netty server metrics
+	 * ({@code reactor.netty.http.server.data.sent} and friends) to see what
+	 * compression saves. The URI tag is collapsed to one value: raw paths
+	 * would give a meter per user id.
+	 */
+	@Bean
+	public NettyServerCustomizer downstreamServerCustomizer(
+			@Value("${gateway.http-server.gzip-level:6}") int gzipLevel,
+			@Value("${gateway.http-server.metrics:false}") boolean metrics) {
+		if (gzipLevel < 1 || gzipLevel > 9) {
+			throw new IllegalArgumentException("gateway.http-server.gzip-level must be 1-9, was " + gzipLevel);
+		}
+		return server -> {
+			server = server.compressOptions(GzipOption.builder().compressionLevel(gzipLevel).build());
+			return metrics ? server.metrics(true, uri -> "/") : server;
+		};
+	}
+}
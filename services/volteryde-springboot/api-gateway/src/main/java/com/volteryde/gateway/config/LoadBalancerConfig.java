@@ -0,0 +1,35 @@
+package com.volteryde.gateway.config;
+
+import com.volteryde.gateway.loadbalancer.LatencyAwareLoadBalancer;
+import com.volteryde.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * {@code lb://} routes resolve instances through discovery (Eureka, falling
+ * back to the static {@code spring.cloud.discovery.client.simple} entries)
+ * and pick one with {@link com.volteryde.gateway.loadbalancer.LatencyAwareLoadBalancer}.
+ * Tuning lives under {@code gateway.load-balancer}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+	@Bean
+	public LatencyAwareLoadBalancer.Settings loadBalancerSettings(
+			@Value("${gateway.load-balancer.initial-latency:50ms}") Duration initialLatency,
+			@Value("${gateway.load-balancer.decay:10s}") Duration decay,
+			@Value("${gateway.load-balancer.warmup.duration:30s}") Duration warmup,
+			@Value("${gateway.load-balancer.warmup.connections:4}") int warmupConnections,
+			@Value("${gateway.load-balancer.warmup.path:/actuator/health}") String warmupPath,
+			@Value("${gateway.load-balancer.ejection.consecutive-failures:5}") int consecutiveFailures,
+			@Value("${gateway.load-balancer.ejection.base-duration:30s}") Duration baseEjection,
+			@Value("${gateway.load-balancer.ejection.max-percent:50}") int maxEjectionPercent) {
+		return new LatencyAwareLoadBalancer.Settings(initialLatency, decay, warmup, warmupConnections, warmupPath,
+				consecutiveFailures, baseEjection, maxEjectionPercent);
+	}
+}
@@ -0,0 +1,64 @@
+package com.volteryde.gateway.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The gateway's upstream {@code HttpClient}, built as Spring Cloud Gateway
+ * builds it except that a fixed pool also bounds its acquire queue.
+ *
+ * Gateway's pool properties have no pending-acquire limit, so a slow upstream
+ * can queue up to twice {@code max-connections} requests, each waiting out
+ * {@code acquire-timeout}. With {@code pendingAcquireMaxCount} set, requests
+ * past the limit fail at once and reach the route's circuit breaker fallback.
+ */
+public class PooledHttpClientFactory extends HttpClientFactory {
+
+	private final int pendingAcquireMaxCount;
+
+	/**
+	 * @param pendingAcquireMaxCount requests allowed to wait for a connection;
+	 *                               -1 for no limit, 0 for Reactor Netty's
+	 *                               default of twice the pool size
+	 */
+	public PooledHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+			HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+			int pendingAcquireMaxCount) {
+		super(properties, serverProperties, sslConfigurer, customizers);
+		this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+	}
+
+	@Override
+	protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+		HttpClientProperties.Pool pool = properties.getPool();
+		if (pool.getType() != HttpClientProperties.Pool.PoolType.FIXED || pendingAcquireMaxCount == 0) {
+			return super.buildConnectionProvider(properties);
+		}
+
+		ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName())
+				.maxConnections(pool.getMaxConnections())
+				.pendingAcquireMaxCount(pendingAcquireMaxCount)
+				.pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()))
+				.evictInBackground(pool.getEvictionInterval())
+				.metrics(pool.isMetrics());
+		if (pool.getMaxIdleTime() != null) {
+			builder.maxIdleTime(pool.getMaxIdleTime());
+		}
+		if (pool.getMaxLifeTime() != null) {
+			builder.maxLifeTime(pool.getMaxLifeTime());
+		}
+		if (pool.getLeasingStrategy() == HttpClientProperties.Pool.LeasingStrategy.LIFO) {
+			builder.lifo();
+		} else {
+			builder.fifo();
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,68 @@
+package com.volteryde.gateway.config;
+
+import com.volteryde.gateway.ratelimit.IdentityKeyResolver;
+import com.volteryde.gateway.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Edge rate limiting. Routes opt in with the {@code RequestRateLimiter} filter,
+ * choosing a key resolver ({@code userKeyResolver} or {@code ipKeyResolver})
+ * and a {@code token-bucket.*} policy; see application.yml.
+ *
+ * The Paystack webhook has its own unlimited route: Paystack delivers from a
+ * few shared addresses and retries on 429, and the payload is signed.
+ *
+ * Both beans are {@code @Primary} so they replace the gateway's default
+ * RedisRateLimiter and principal-name resolver.
+ */
+@Configuration
+public class RateLimitConfig {
+
+	@Bean
+	@Primary
+	public TokenBucketRateLimiter tokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+			ConfigurationService configurationService, MeterRegistry meterRegistry,
+			@Value("${gateway.rate-limit.default.replenish-rate:10}") double replenishRate,
+			@Value("${gateway.rate-limit.default.burst-capacity:20}") long burstCapacity,
+			@Value("${gateway.rate-limit.redis-timeout:100ms}") Duration redisTimeout,
+			@Value("${gateway.rate-limit.redis-retry-interval:5s}") Duration redisRetryInterval,
+			@Value("${gateway.rate-limit.local-max-keys:100000}") int localMaxKeys) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		RedisScript<List<Long>> script = (RedisScript) RedisScript.of(
+				new ClassPathResource("scripts/token_bucket.lua"), List.class);
+		TokenBucketRateLimiter.Config defaults = new TokenBucketRateLimiter.Config()
+				.setReplenishRate(replenishRate)
+				.setBurstCapacity(burstCapacity);
+		return new TokenBucketRateLimiter(redisTemplate, script, configurationService, meterRegistry, defaults,
+				redisTimeout, redisRetryInterval, localMaxKeys);
+	}
+
+	/**
+	 * Verified token subject, falling back to client IP.
+	 */
+	@Bean
+	@Primary
+	public IdentityKeyResolver userKeyResolver(@Value("${spring.security.jwt.secret:}") String jwtSecret,
+			@Value("${gateway.rate-limit.trusted-proxies:1}") int trustedProxies) {
+		return new IdentityKeyResolver(jwtSecret, trustedProxies);
+	}
+
+	/**
+	 * Client IP only, for anonymous endpoints such as login and signup.
+	 */
+	@Bean
+	public IdentityKeyResolver ipKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:1}") int trustedProxies) {
+		return IdentityKeyResolver.ipOnly(trustedProxies);
+	}
+}
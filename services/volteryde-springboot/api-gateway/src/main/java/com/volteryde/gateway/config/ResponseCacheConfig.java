@@ -0,0 +1,43 @@
+package com.volteryde.gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.volteryde.gateway.cache.SharedResponseStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Edge response cache. Routes opt in with the {@code ResponseCache} filter
+ * ({@code ttl}, {@code max-ttl} args); store sizes and the optional shared
+ * Redis tier are set under {@code gateway.response-cache}.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+	@Bean
+	public SharedResponseStore sharedResponseStore(ReactiveStringRedisTemplate redisTemplate,
+			ObjectMapper objectMapper,
+			@Value("${gateway.response-cache.shared.enabled:false}") boolean enabled,
+			@Value("${gateway.response-cache.shared.timeout:50ms}") Duration timeout,
+			@Value("${gateway.response-cache.shared.retry-interval:5s}") Duration retryInterval,
+			@Value("${gateway.response-cache.stale-retention:10m}") Duration staleRetention) {
+		return new SharedResponseStore(redisTemplate, objectMapper, enabled, timeout, retryInterval, staleRetention);
+	}
+
+	@Bean
+	public ResponseCacheGatewayFilterFactory responseCacheGatewayFilterFactory(MeterRegistry meterRegistry,
+			SharedResponseStore sharedResponseStore,
+			@Value("${gateway.response-cache.local.max-entries:10000}") int maxEntries,
+			@Value("${gateway.response-cache.local.max-size:64MB}") DataSize maxSize,
+			@Value("${gateway.response-cache.max-entry-size:512KB}") DataSize maxEntrySize,
+			@Value("${gateway.response-cache.stale-retention:10m}") Duration staleRetention) {
+		return new ResponseCacheGatewayFilterFactory(meterRegistry, maxEntries, maxSize.toBytes(),
+				(int) maxEntrySize.toBytes(), staleRetention, sharedResponseStore);
+	}
+}
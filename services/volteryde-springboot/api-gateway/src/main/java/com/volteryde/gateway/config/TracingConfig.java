@@ -0,0 +1,22 @@
+package com.volteryde.gateway.config;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis spans for the rate limiter and the shared response cache, so a slow
+ * edge hop can be told apart from a slow service. The gateway's own
+ * observability adds {@code traceparent} to proxied requests; see the
+ * {@code management.tracing} block in application.yml.
+ */
+@Configuration
+public class TracingConfig {
+
+	@Bean
+	public ClientResourcesBuilderCustomizer redisTracing(ObservationRegistry observationRegistry) {
+		return builder -> builder.tracing(new MicrometerTracing(observationRegistry, "redis", false));
+	}
+}
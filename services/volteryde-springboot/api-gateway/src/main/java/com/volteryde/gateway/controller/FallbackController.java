@@ -0,0 +1,63 @@
+package com.volteryde.gateway.controller;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fallback target for route circuit breakers ({@code fallbackUri: forward:/fallback/<service>}).
+ *
+ * Answers fast with the same error body shape the services use, so a failing
+ * downstream costs callers one quick 503/504 instead of a hung connection.
+ */
+@RestController
+public class FallbackController {
+
+	static final String RETRY_AFTER_OPEN_SECONDS = "10";
+
+	@RequestMapping("/fallback/{service}")
+	public Mono<ResponseEntity<Map<String, Object>>> fallback(@PathVariable String service,
+			ServerWebExchange exchange) {
+		Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+
+		HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+		String message = service + " is temporarily unavailable";
+		String retryAfter = null;
+		if (cause instanceof TimeoutException || (cause instanceof ResponseStatusException statusException
+				&& statusException.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT)) {
+			status = HttpStatus.GATEWAY_TIMEOUT;
+			message = service + " did not respond in time";
+		} else if (cause instanceof CallNotPermittedException) {
+			retryAfter = RETRY_AFTER_OPEN_SECONDS;
+		} else if (cause instanceof BulkheadFullException) {
+			message = service + " is at capacity";
+			retryAfter = "1";
+		}
+
+		Map<String, Object> body = new HashMap<>();
+		body.put("timestamp", LocalDateTime.now());
+		body.put("status", status.value());
+		body.put("error", status.getReasonPhrase());
+		body.put("message", message);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+		if (retryAfter != null) {
+			response.header(HttpHeaders.RETRY_AFTER, retryAfter);
+		}
+		return Mono.just(response.body(body));
+	}
+}
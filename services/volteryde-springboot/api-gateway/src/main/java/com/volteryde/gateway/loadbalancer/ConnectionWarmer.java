@@ -0,0 +1,55 @@
+package com.volteryde.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Opens pooled connections to a newly discovered instance by sending a few
+ * concurrent GETs to a cheap endpoint through the gateway's own
+ * {@link HttpClient}, so the first routed requests skip TCP (and TLS) setup.
+ * Failures are ignored: passive ejection deals with instances that are
+ * really down.
+ */
+class ConnectionWarmer implements Consumer<ServiceInstance> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+	private final HttpClient httpClient;
+	private final String path;
+	private final int connections;
+	private final Duration timeout;
+
+	ConnectionWarmer(HttpClient httpClient, String path, int connections, Duration timeout) {
+		this.httpClient = httpClient;
+		this.path = path;
+		this.connections = connections;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public void accept(ServiceInstance instance) {
+		if (httpClient == null || connections <= 0) {
+			return;
+		}
+		// Resolves the port the same way routing does, including instances registered without one
+		String uri = LoadBalancerUriTools.reconstructURI(instance, URI.create("http://warmup" + path)).toString();
+		Flux.range(0, connections)
+				.flatMap(i -> httpClient.get().uri(uri)
+						.responseSingle((response, body) -> body.then())
+						.timeout(timeout)
+						.onErrorResume(e -> {
+							LOGGER.debug("Warm-up request to {} failed: {}", uri, e.toString());
+							return Mono.empty();
+						}), connections)
+				.subscribe();
+	}
+}
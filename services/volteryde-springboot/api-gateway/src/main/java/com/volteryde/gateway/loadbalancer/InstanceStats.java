@@ -0,0 +1,96 @@
+package com.volteryde.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the balancer knows about one upstream instance: requests in flight, a
+ * peak-sensitive moving average of latency, and outlier-ejection state.
+ *
+ * The average jumps straight up to a slower sample and decays back down with
+ * time constant {@code decayNanos}, so a replica that starts stalling loses
+ * traffic on its first slow response rather than after many.
+ */
+class InstanceStats {
+
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final long decayNanos;
+	private final long firstSeen;
+
+	private double latencyNanos;
+	private long lastSample;
+	private int consecutiveFailures;
+	private int ejections;
+	private long ejectedUntil;
+
+	InstanceStats(long initialLatencyNanos, long decayNanos, long now) {
+		this.latencyNanos = initialLatencyNanos;
+		this.decayNanos = decayNanos;
+		this.firstSeen = now;
+		this.lastSample = now;
+	}
+
+	void started() {
+		outstanding.incrementAndGet();
+	}
+
+	void finished() {
+		outstanding.updateAndGet(count -> Math.max(0, count - 1));
+	}
+
+	int outstanding() {
+		return outstanding.get();
+	}
+
+	synchronized void observe(long sampleNanos, long now) {
+		if (sampleNanos >= latencyNanos) {
+			latencyNanos = sampleNanos;
+		} else {
+			double weight = Math.exp(-(double) Math.max(0, now - lastSample) / decayNanos);
+			latencyNanos = latencyNanos * weight + sampleNanos * (1 - weight);
+		}
+		lastSample = now;
+	}
+
+	synchronized double latencyNanos() {
+		return latencyNanos;
+	}
+
+	/**
+	 * Expected cost of sending one more request here: latency times queue
+	 * depth, inflated while the instance is still warming up.
+	 */
+	double cost(long now, long warmupNanos) {
+		double cost = latencyNanos() * (outstanding() + 1);
+		long age = now - firstSeen;
+		if (warmupNanos > 0 && age < warmupNanos) {
+			cost /= Math.max(0.1, (double) age / warmupNanos);
+		}
+		return cost;
+	}
+
+	synchronized void succeeded(long now) {
+		consecutiveFailures = 0;
+		if (ejectedUntil != 0 && now >= ejectedUntil) {
+			ejections = 0;
+			ejectedUntil = 0;
+		}
+	}
+
+	/**
+	 * @return true when this failure ejected the instance
+	 */
+	synchronized boolean failed(int threshold, long baseEjectionNanos, long now) {
+		consecutiveFailures++;
+		if (consecutiveFailures < threshold || isEjected(now)) {
+			return false;
+		}
+		ejections = Math.min(ejections + 1, 10);
+		ejectedUntil = now + baseEjectionNanos * ejections;
+		consecutiveFailures = 0;
+		return true;
+	}
+
+	synchronized boolean isEjected(long now) {
+		return ejectedUntil != 0 && now < ejectedUntil;
+	}
+}
@@ -0,0 +1,222 @@
+package com.volteryde.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Balancer for {@code lb://} routes: power of two choices over the instances
+ * discovery returns, picking the one with the lower expected cost
+ * (peak-EWMA latency times requests in flight, see {@link InstanceStats}).
+ * A degraded replica is therefore sent less traffic as soon as it slows down,
+ * instead of a round-robin share.
+ *
+ * Passive outlier ejection: an instance that fails {@code consecutiveFailures}
+ * requests in a row (connection errors or 502/503/504) is skipped for
+ * {@code baseEjection} times the number of times it has been ejected. At most
+ * {@code maxEjectionPercent} of instances are skipped at once, so a failure
+ * shared by every replica still reaches them.
+ *
+ * Newly discovered instances ramp up over {@code warmup} and are handed to
+ * {@code warmer} once, so their pooled connections exist before real traffic
+ * arrives.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+		LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+	private final String serviceId;
+	private final ObjectProvider<ServiceInstanceListSupplier> supplier;
+	private final Settings settings;
+	private final Consumer<ServiceInstance> warmer;
+	private final Counter ejectionCounter;
+	private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	public LatencyAwareLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplier,
+			Settings settings, Consumer<ServiceInstance> warmer, MeterRegistry meterRegistry) {
+		this.serviceId = serviceId;
+		this.supplier = supplier;
+		this.settings = settings;
+		this.warmer = warmer;
+		this.ejectionCounter = Counter.builder("gateway.loadbalancer.ejections")
+				.description("Instances ejected after consecutive failures")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier instances = supplier.getIfAvailable();
+		if (instances == null) {
+			return Mono.just(new EmptyResponse());
+		}
+		return instances.get(request).next().map(this::choose);
+	}
+
+	Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			LOGGER.warn("No instances available for {}", serviceId);
+			return new EmptyResponse();
+		}
+		long now = System.nanoTime();
+		List<ServiceInstance> candidates = eligible(instances, now);
+		if (candidates.size() == 1) {
+			return new DefaultResponse(candidates.get(0));
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		ServiceInstance a = candidates.get(first);
+		ServiceInstance b = candidates.get(second);
+		double costA = stats(a, now).cost(now, settings.warmup().toNanos());
+		double costB = stats(b, now).cost(now, settings.warmup().toNanos());
+		return new DefaultResponse(costA <= costB ? a : b);
+	}
+
+	/**
+	 * Instances not currently ejected, unless that would leave fewer than
+	 * {@code 100 - maxEjectionPercent} percent of them.
+	 */
+	List<ServiceInstance> eligible(List<ServiceInstance> instances, long now) {
+		if (stats.size() > instances.size() * 2) {
+			Set<String> live = instances.stream().map(LatencyAwareLoadBalancer::key).collect(Collectors.toSet());
+			stats.keySet().retainAll(live);
+		}
+		List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+		for (ServiceInstance instance : instances) {
+			if (!stats(instance, now).isEjected(now)) {
+				healthy.add(instance);
+			}
+		}
+		int minimum = (int) Math.ceil(instances.size() * (100 - settings.maxEjectionPercent()) / 100.0);
+		return healthy.size() >= Math.max(1, minimum) ? healthy : instances;
+	}
+
+	private InstanceStats stats(ServiceInstance instance, long now) {
+		InstanceStats existing = stats.get(key(instance));
+		if (existing != null) {
+			return existing;
+		}
+		InstanceStats created = new InstanceStats(settings.initialLatency().toNanos(),
+				settings.decay().toNanos(), now);
+		existing = stats.putIfAbsent(key(instance), created);
+		if (existing != null) {
+			return existing;
+		}
+		LOGGER.info("Discovered {} instance {}", serviceId, key(instance));
+		warmer.accept(instance);
+		return created;
+	}
+
+	/**
+	 * Starts tracking the instances discovery currently knows of, so they are
+	 * warmed before the first routed request rather than by it.
+	 */
+	public void prime() {
+		ServiceInstanceListSupplier instances = supplier.getIfAvailable();
+		if (instances == null) {
+			return;
+		}
+		instances.get().next()
+				.timeout(Duration.ofSeconds(10))
+				.subscribe(list -> list.forEach(instance -> stats(instance, System.nanoTime())),
+						e -> LOGGER.debug("Could not prime {} instances: {}", serviceId, e.toString()));
+	}
+
+	@Override
+	public void onStart(Request<RequestDataContext> request) {
+	}
+
+	@Override
+	public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+		if (request.getContext() != null) {
+			request.getContext().setRequestStartTime(System.nanoTime());
+		}
+		if (lbResponse.hasServer()) {
+			stats(lbResponse.getServer(), System.nanoTime()).started();
+		}
+	}
+
+	@Override
+	public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion) {
+		Response<ServiceInstance> lbResponse = completion.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer()) {
+			return;
+		}
+		long now = System.nanoTime();
+		InstanceStats instance = stats(lbResponse.getServer(), now);
+		instance.finished();
+		if (completion.status() == CompletionContext.Status.DISCARD) {
+			return;
+		}
+
+		RequestDataContext context = completion.getLoadBalancerRequest().getContext();
+		if (context != null && context.getRequestStartTime() > 0) {
+			instance.observe(now - context.getRequestStartTime(), now);
+		}
+		if (isFailure(completion)) {
+			if (instance.failed(settings.consecutiveFailures(), settings.baseEjection().toNanos(), now)) {
+				ejectionCounter.increment();
+				LOGGER.warn("Ejected {} instance {} after {} consecutive failures", serviceId,
+						key(lbResponse.getServer()), settings.consecutiveFailures());
+			}
+		} else {
+			instance.succeeded(now);
+		}
+	}
+
+	private static boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion) {
+		if (completion.status() == CompletionContext.Status.FAILED) {
+			return true;
+		}
+		ResponseData response = completion.getClientResponse();
+		if (response == null || response.getHttpStatus() == null) {
+			return false;
+		}
+		int status = response.getHttpStatus().value();
+		return status == 502 || status == 503 || status == 504;
+	}
+
+	static String key(ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+
+	/**
+	 * Balancer tuning, shared by every service.
+	 *
+	 * @param warmupPath default path for warm-up requests; per service under
+	 *                   {@code gateway.load-balancer.warmup.paths.<service>}
+	 */
+	public record Settings(Duration initialLatency, Duration decay, Duration warmup, int warmupConnections,
+			String warmupPath, int consecutiveFailures, Duration baseEjection, int maxEjectionPercent) {
+	}
+}
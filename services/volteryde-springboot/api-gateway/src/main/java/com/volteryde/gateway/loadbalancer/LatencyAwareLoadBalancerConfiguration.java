@@ -0,0 +1,59 @@
+package com.volteryde.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplierBuilder;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Per-service load-balancer beans, created in each service's child context
+ * (see {@code LoadBalancerConfig}). Deliberately not a {@code @Configuration}:
+ * component scanning must not register these beans in the main context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+	/**
+	 * Discovery, then the instances in our zone when there are any, then
+	 * optionally only instances passing active health checks.
+	 */
+	@Bean
+	public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context,
+			@Value("${gateway.load-balancer.active-health-checks:false}") boolean activeHealthChecks) {
+		ServiceInstanceListSupplierBuilder builder = ServiceInstanceListSupplier.builder()
+				.withDiscoveryClient()
+				.withZonePreference();
+		if (activeHealthChecks) {
+			builder.withHealthChecks();
+		} else {
+			builder.withCaching();
+		}
+		return builder.build(context);
+	}
+
+	/**
+	 * {@code settings} comes from the main context ({@code LoadBalancerConfig}),
+	 * where Boot's property conversion is available.
+	 */
+	@Bean
+	public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment,
+			ObjectProvider<ServiceInstanceListSupplier> supplier, ObjectProvider<HttpClient> httpClient,
+			MeterRegistry meterRegistry, LatencyAwareLoadBalancer.Settings settings) {
+		String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		String warmupPath = environment.getProperty("gateway.load-balancer.warmup.paths." + serviceId,
+				settings.warmupPath());
+		ConnectionWarmer warmer = new ConnectionWarmer(httpClient.getIfAvailable(), warmupPath,
+				settings.warmupConnections(), Duration.ofSeconds(5));
+		LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(serviceId, supplier, settings, warmer,
+				meterRegistry);
+		balancer.prime();
+		return balancer;
+	}
+}
@@ -0,0 +1,92 @@
+package com.volteryde.gateway.ratelimit;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rate-limit identity for a request: {@code user:<subject>} for a bearer
+ * token signed with the platform JWT secret, otherwise {@code ip:<address>}.
+ *
+ * The token is verified, not just decoded; otherwise a client could mint a
+ * fresh identity (and bucket) per request. Invalid or expired tokens fall
+ * back to the IP. With {@code ipOnly}, or when no secret is configured, the
+ * token is ignored.
+ *
+ * Behind nginx every connection comes from the proxy, so the client IP is
+ * taken from {@code X-Forwarded-For}: the entry {@code trustedProxies} from
+ * the right, i.e. the one written by the outermost proxy we control. Entries
+ * further left are client-supplied and ignored.
+ */
+public class IdentityKeyResolver implements KeyResolver {
+
+	private final JwtParser parser;
+	private final RemoteAddressResolver addressResolver;
+
+	/**
+	 * @param jwtSecret      platform JWT secret; null or blank to key by IP only
+	 * @param trustedProxies reverse proxies in front of the gateway that append
+	 *                       to {@code X-Forwarded-For}; 0 to use the socket address
+	 */
+	public IdentityKeyResolver(String jwtSecret, int trustedProxies) {
+		this.parser = jwtSecret == null || jwtSecret.isBlank() ? null
+				: Jwts.parserBuilder().setSigningKey(signingKey(jwtSecret)).build();
+		this.addressResolver = trustedProxies > 0 ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+				: new RemoteAddressResolver() {
+				};
+	}
+
+	public static IdentityKeyResolver ipOnly(int trustedProxies) {
+		return new IdentityKeyResolver(null, trustedProxies);
+	}
+
+	@Override
+	public Mono<String> resolve(ServerWebExchange exchange) {
+		String subject = parser != null ? subject(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+				: null;
+		return Mono.just(subject != null ? "user:" + subject : "ip:" + clientAddress(exchange));
+	}
+
+	private String subject(String authorization) {
+		if (authorization == null || !authorization.startsWith("Bearer ")) {
+			return null;
+		}
+		try {
+			Claims claims = parser.parseClaimsJws(authorization.substring(7)).getBody();
+			return claims.getSubject();
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private String clientAddress(ServerWebExchange exchange) {
+		InetSocketAddress remote = addressResolver.resolve(exchange);
+		if (remote == null) {
+			return "unknown";
+		}
+		return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+	}
+
+	// Same derivation as the services' JwtUtil: UTF-8 bytes, zero-padded to 256 bits
+	private static SecretKey signingKey(String jwtSecret) {
+		byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
+		if (keyBytes.length < 32) {
+			byte[] paddedKey = new byte[32];
+			System.arraycopy(keyBytes, 0, paddedKey, 0, keyBytes.length);
+			keyBytes = paddedKey;
+		}
+		return Keys.hmacShaKeyFor(keyBytes);
+	}
+}
@@ -0,0 +1,71 @@
+package com.volteryde.gateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory token buckets used while Redis is unreachable. Limits are then
+ * enforced per gateway instance rather than globally, which is looser but
+ * still stops a single abusive client.
+ *
+ * Same arithmetic as {@code scripts/token_bucket.lua}. Once the map holds
+ * {@code maxKeys} buckets, buckets that have refilled completely (idle
+ * clients) are swept, since a missing bucket behaves as a full one.
+ */
+class LocalTokenBuckets {
+
+	record Result(boolean allowed, long remaining) {
+	}
+
+	private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final int maxKeys;
+	private volatile long lastSweep;
+
+	LocalTokenBuckets(int maxKeys) {
+		this.maxKeys = maxKeys;
+	}
+
+	Result tryConsume(String key, double rate, long capacity, long requested, long nowMillis) {
+		if (buckets.size() >= maxKeys && nowMillis - lastSweep >= 1000) {
+			// At most one sweep per second, so a flood of new keys can't make every request O(n)
+			lastSweep = nowMillis;
+			buckets.values().removeIf(bucket -> bucket.isFull(rate, capacity, nowMillis));
+		}
+		Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, nowMillis));
+		return bucket.tryConsume(rate, capacity, requested, nowMillis);
+	}
+
+	int size() {
+		return buckets.size();
+	}
+
+	private static final class Bucket {
+
+		private double tokens;
+		private long last;
+
+		Bucket(double tokens, long last) {
+			this.tokens = tokens;
+			this.last = last;
+		}
+
+		synchronized Result tryConsume(double rate, long capacity, long requested, long nowMillis) {
+			refill(rate, capacity, nowMillis);
+			boolean allowed = tokens >= requested;
+			if (allowed) {
+				tokens -= requested;
+			}
+			return new Result(allowed, (long) Math.floor(tokens));
+		}
+
+		synchronized boolean isFull(double rate, long capacity, long nowMillis) {
+			refill(rate, capacity, nowMillis);
+			return tokens >= capacity;
+		}
+
+		private void refill(double rate, long capacity, long nowMillis) {
+			tokens = Math.min(capacity, tokens + Math.max(0, nowMillis - last) * rate / 1000);
+			last = Math.max(last, nowMillis);
+		}
+	}
+}
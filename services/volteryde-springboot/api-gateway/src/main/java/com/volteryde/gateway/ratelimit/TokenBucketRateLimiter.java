@@ -0,0 +1,180 @@
+package com.volteryde.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket rate limiter for the {@code RequestRateLimiter} route filter.
+ *
+ * Buckets live in Redis, so the limit holds across gateway instances, and
+ * are keyed by route and identity: each route has its own policy
+ * ({@code token-bucket.replenish-rate}, {@code token-bucket.burst-capacity}
+ * in the route's filter args) and its own bucket per client.
+ *
+ * If Redis errors or is slower than {@code gateway.rate-limit.redis-timeout},
+ * the request is decided by a local bucket instead and Redis is not tried
+ * again for {@code gateway.rate-limit.redis-retry-interval}, so an outage
+ * costs neither availability nor a timeout per request.
+ *
+ * Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining},
+ * {@code RateLimit-Reset} and {@code RateLimit-Policy} (IETF RateLimit
+ * header fields), plus {@code Retry-After} when rejected.
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+	public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket";
+	static final String METRIC = "gateway.ratelimit.requests";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+	private final ReactiveStringRedisTemplate redis;
+	private final RedisScript<List<Long>> script;
+	private final LocalTokenBuckets localBuckets;
+	private final Config defaultConfig;
+	private final Duration redisTimeout;
+	private final long redisRetryIntervalMillis;
+	private final MeterRegistry meterRegistry;
+	private volatile long redisRetryAt;
+
+	public TokenBucketRateLimiter(ReactiveStringRedisTemplate redis, RedisScript<List<Long>> script,
+			ConfigurationService configurationService, MeterRegistry meterRegistry, Config defaultConfig,
+			Duration redisTimeout, Duration redisRetryInterval, int localMaxKeys) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.redis = redis;
+		this.script = script;
+		this.meterRegistry = meterRegistry;
+		this.defaultConfig = defaultConfig;
+		this.redisTimeout = redisTimeout;
+		this.redisRetryIntervalMillis = redisRetryInterval.toMillis();
+		this.localBuckets = new LocalTokenBuckets(localMaxKeys);
+		meterRegistry.gauge("gateway.ratelimit.local.buckets", localBuckets, LocalTokenBuckets::size);
+	}
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		Config config = getConfig().getOrDefault(routeId, defaultConfig);
+		// Hash tag keeps the key on one slot in Redis Cluster
+		String key = "rate_limit.{" + routeId + ":" + id + "}";
+
+		if (System.currentTimeMillis() < redisRetryAt) {
+			return Mono.just(local(routeId, key, config));
+		}
+		return redis.execute(script, List.of(key), List.of(Double.toString(config.getReplenishRate()),
+						Long.toString(config.getBurstCapacity()), Long.toString(config.getRequestedTokens())))
+				.next()
+				.timeout(redisTimeout)
+				.map(result -> decide(routeId, "redis", config, result.get(0) == 1L, result.get(1)))
+				.onErrorResume(e -> {
+					redisUnavailable(e);
+					return Mono.just(local(routeId, key, config));
+				});
+	}
+
+	private Response local(String routeId, String key, Config config) {
+		LocalTokenBuckets.Result result = localBuckets.tryConsume(key, config.getReplenishRate(),
+				config.getBurstCapacity(), config.getRequestedTokens(), System.currentTimeMillis());
+		return decide(routeId, "local", config, result.allowed(), result.remaining());
+	}
+
+	private void redisUnavailable(Throwable e) {
+		if (System.currentTimeMillis() >= redisRetryAt) {
+			LOGGER.warn("Rate limiter falling back to local buckets for {} ms: {}", redisRetryIntervalMillis,
+					e.toString());
+		}
+		redisRetryAt = System.currentTimeMillis() + redisRetryIntervalMillis;
+	}
+
+	private Response decide(String routeId, String backend, Config config, boolean allowed, long remaining) {
+		Counter.builder(METRIC)
+				.description("Rate-limited requests by route, outcome and bucket store")
+				.tag("route", routeId)
+				.tag("result", allowed ? "allowed" : "denied")
+				.tag("backend", backend)
+				.register(meterRegistry)
+				.increment();
+		return new Response(allowed, headers(config, allowed, remaining));
+	}
+
+	static Map<String, String> headers(Config config, boolean allowed, long remaining) {
+		// Seconds until enough tokens for one more request
+		long reset = remaining >= config.getRequestedTokens() ? 0
+				: (long) Math.ceil((config.getRequestedTokens() - Math.max(0, remaining)) / config.getReplenishRate());
+		long window = (long) Math.ceil(config.getBurstCapacity() / config.getReplenishRate());
+		Map<String, String> headers = new LinkedHashMap<>();
+		headers.put("RateLimit-Limit", Long.toString(config.getBurstCapacity()));
+		headers.put("RateLimit-Remaining", Long.toString(Math.max(0, remaining)));
+		headers.put("RateLimit-Reset", Long.toString(reset));
+		headers.put("RateLimit-Policy", config.getBurstCapacity() + ";w=" + window);
+		if (!allowed) {
+			headers.put("Retry-After", Long.toString(Math.max(1, reset)));
+		}
+		return headers;
+	}
+
+	/**
+	 * Per-route policy, bound from {@code token-bucket.*} filter args.
+	 */
+	@Validated
+	public static class Config {
+
+		/**
+		 * Tokens added per second: the sustained request rate.
+		 */
+		@Positive
+		private double replenishRate = 10;
+
+		/**
+		 * Bucket size: the largest burst allowed after an idle period.
+		 */
+		@Min(1)
+		private long burstCapacity = 20;
+
+		/**
+		 * Tokens one request costs.
+		 */
+		@Min(1)
+		private long requestedTokens = 1;
+
+		public double getReplenishRate() {
+			return replenishRate;
+		}
+
+		public Config setReplenishRate(double replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+
+		public long getBurstCapacity() {
+			return burstCapacity;
+		}
+
+		public Config setBurstCapacity(long burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+
+		public long getRequestedTokens() {
+			return requestedTokens;
+		}
+
+		public Config setRequestedTokens(long requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+-- Token bucket kept in one hash so both fields expire together.
+-- KEYS[1] bucket key; ARGV: tokens per second, burst capacity, tokens requested.
+-- Returns { allowed (1/0), tokens left (floored) }.
+local key = KEYS[1]
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local last = tonumber(state[2]) or now
+
+tokens = math.min(capacity, tokens + math.max(0, now - last) * rate / 1000)
+local allowed = tokens >= requested
+if allowed then
+  tokens = tokens - requested
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+-- Idle buckets are full again after capacity/rate seconds; keep them a little longer
+redis.call('PEXPIRE', key, math.ceil(capacity / rate * 1000) * 2)
+
+return { allowed and 1 or 0, math.floor(tokens) }
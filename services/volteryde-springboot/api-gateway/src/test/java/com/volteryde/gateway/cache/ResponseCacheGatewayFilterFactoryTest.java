@@ -0,0 +1,151 @@
+package com.volteryde.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(meterRegistry,
+			100, 1_000_000, 10_000, Duration.ofMinutes(10), SharedResponseStore.disabled());
+	private final GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+
+	@Test
+	void repeatedGet_ShouldBeServedFromCache_RegardlessOfQueryOrder() {
+		Upstream upstream = new Upstream("max-age=60", "\"v1\"");
+
+		MockServerWebExchange first = get("/api/v1/gtfs/stops?lat=5.6&lng=-0.2");
+		filter.filter(first, upstream).block();
+		MockServerWebExchange second = get("/api/v1/gtfs//stops/?lng=-0.2&lat=5.6");
+		filter.filter(second, upstream).block();
+
+		assertEquals(1, upstream.calls.get());
+		assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals("stops", second.getResponse().getBodyAsString().block());
+		assertEquals(1.0, meterRegistry.get(ResponseCacheGatewayFilterFactory.METRIC)
+				.tag("result", "hit").tag("tier", "local").counter().count());
+	}
+
+	@Test
+	void clientEtag_ShouldGet304FromCache() {
+		Upstream upstream = new Upstream("max-age=60", "\"v1\"");
+		filter.filter(get("/api/v1/locator/stops/42"), upstream).block();
+
+		MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+				.get("/api/v1/locator/stops/42").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""));
+		filter.filter(conditional, upstream).block();
+
+		assertEquals(1, upstream.calls.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+	}
+
+	@Test
+	void staleEntry_ShouldBeRevalidatedWithItsEtag() {
+		// no-cache: stored, but every use goes back upstream with If-None-Match
+		Upstream upstream = new Upstream("no-cache", "\"v1\"");
+		filter.filter(get("/api/v1/gtfs/routes"), upstream).block();
+
+		MockServerWebExchange second = get("/api/v1/gtfs/routes");
+		filter.filter(second, upstream).block();
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals(List.of("\"v1\""), upstream.ifNoneMatch);
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals("REVALIDATED", second.getResponse().getHeaders()
+				.getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals("stops", second.getResponse().getBodyAsString().block());
+	}
+
+	@Test
+	void concurrentMisses_ShouldShareOneUpstreamRequest() {
+		Upstream upstream = new Upstream("max-age=60", "\"v1\"").delay(Duration.ofMillis(200));
+
+		List<MockServerWebExchange> exchanges = new ArrayList<>();
+		List<Mono<Void>> requests = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			MockServerWebExchange exchange = get("/api/v1/gtfs/agencies");
+			exchanges.add(exchange);
+			requests.add(filter.filter(exchange, upstream));
+		}
+		Mono.when(requests).block(Duration.ofSeconds(5));
+
+		assertEquals(1, upstream.calls.get());
+		for (MockServerWebExchange exchange : exchanges) {
+			assertEquals("stops", exchange.getResponse().getBodyAsString().block());
+		}
+	}
+
+	@Test
+	void privateResponse_ShouldNotBeStored() {
+		Upstream upstream = new Upstream("private, max-age=60", null);
+		filter.filter(get("/api/v1/gtfs/me"), upstream).block();
+		filter.filter(get("/api/v1/gtfs/me"), upstream).block();
+
+		assertEquals(2, upstream.calls.get());
+	}
+
+	private static MockServerWebExchange get(String uri) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+	}
+
+	/**
+	 * Answers 200 "stops", or 304 when the request's If-None-Match matches.
+	 */
+	private static final class Upstream implements GatewayFilterChain {
+
+		final AtomicInteger calls = new AtomicInteger();
+		final List<String> ifNoneMatch = new ArrayList<>();
+		private final String cacheControl;
+		private final String etag;
+		private Duration delay = Duration.ZERO;
+
+		Upstream(String cacheControl, String etag) {
+			this.cacheControl = cacheControl;
+			this.etag = etag;
+		}
+
+		Upstream delay(Duration delay) {
+			this.delay = delay;
+			return this;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			calls.incrementAndGet();
+			ifNoneMatch.addAll(exchange.getRequest().getHeaders().getIfNoneMatch());
+			ServerHttpResponse response = exchange.getResponse();
+			response.getHeaders().setCacheControl(cacheControl);
+			if (etag != null) {
+				response.getHeaders().setETag(etag);
+			}
+			if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+				response.setStatusCode(HttpStatus.NOT_MODIFIED);
+				return response.writeWith(Mono.empty());
+			}
+			response.setStatusCode(HttpStatus.OK);
+			byte[] body = "stops".getBytes(StandardCharsets.UTF_8);
+			response.getHeaders().setContentLength(body.length);
+			return Mono.delay(delay)
+					.then(response.writeWith(Mono.just(response.bufferFactory().wrap(body))));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.volteryde.gateway.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the gateway with the {@code performance} profile in front of an
+ * h2c-capable stub standing in for volteryde-api.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.data.redis.port=1",
+		"gateway.rate-limit.redis-timeout=50ms",
+		"eureka.client.enabled=false"
+})
+@ActiveProfiles("performance")
+class HttpPerformanceConfigTest {
+
+	private static final String LARGE_JSON = "[" + "{\"id\":\"VR-B00000001\",\"status\":\"CONFIRMED\"},".repeat(100)
+			+ "{}]";
+	private static final List<String> UPSTREAM_PROTOCOLS = new CopyOnWriteArrayList<>();
+	private static final DisposableServer UPSTREAM = HttpServer.create()
+			.port(0)
+			.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+			.handle((request, response) -> {
+				UPSTREAM_PROTOCOLS.add(request.protocol());
+				return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.sendString(request.receive().aggregate().asString()
+								.defaultIfEmpty("")
+								.flatMap(body -> Mono.just(body.isEmpty() ? LARGE_JSON : body)))
+						.then();
+			})
+			.bindNow();
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.volteryde-api[0].uri",
+				() -> "http://localhost:" + UPSTREAM.port());
+	}
+
+	@AfterAll
+	static void stopUpstream() {
+		UPSTREAM.disposeNow();
+	}
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void postWithBody_ShouldReachUpstreamIntact_OverH2cWhenOffered() {
+		String body = "{\"tripId\":\"T-1\",\"seats\":2}";
+
+		webTestClient.post().uri("/api/v1/booking/reserve")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(body)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo(body);
+
+		webTestClient.get().uri("/api/v1/booking/mine").exchange().expectStatus().isOk();
+		assertTrue(UPSTREAM_PROTOCOLS.contains("HTTP/2.0"), "protocols seen upstream: " + UPSTREAM_PROTOCOLS);
+	}
+
+	@Test
+	void largeJson_ShouldBeGzipped_WhenClientAcceptsIt() throws IOException {
+		// WebTestClient would decompress transparently and drop Content-Encoding
+		HttpClientResponse[] response = new HttpClientResponse[1];
+		byte[] compressed = HttpClient.create()
+				.headers(headers -> headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.get().uri("http://localhost:" + port + "/api/v1/booking/mine")
+				.responseSingle((res, body) -> {
+					response[0] = res;
+					return body.asByteArray();
+				})
+				.block(Duration.ofSeconds(10));
+
+		assertEquals("gzip", response[0].responseHeaders().get(HttpHeaders.CONTENT_ENCODING));
+		assertNull(response[0].responseHeaders().get("x-http2-stream-id"));
+		assertTrue(compressed.length < LARGE_JSON.length() / 4, "compressed to " + compressed.length + " bytes");
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			assertEquals(LARGE_JSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.volteryde.gateway.controller;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FallbackControllerTest {
+
+	private final FallbackController controller = new FallbackController();
+
+	@Test
+	void openBreaker_ShouldAnswer503WithRetryAfter() {
+		CircuitBreaker breaker = CircuitBreaker.ofDefaults("paymentService");
+		breaker.transitionToOpenState();
+
+		ResponseEntity<Map<String, Object>> response = fallback(CallNotPermittedException
+				.createCallNotPermittedException(breaker));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals(FallbackController.RETRY_AFTER_OPEN_SECONDS,
+				response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("payment-service is temporarily unavailable", response.getBody().get("message"));
+	}
+
+	@Test
+	void routeResponseTimeout_ShouldAnswer504() {
+		ResponseEntity<Map<String, Object>> response = fallback(
+				new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Response took longer than timeout"));
+
+		assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+		assertEquals(504, response.getBody().get("status"));
+		assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	private ResponseEntity<Map<String, Object>> fallback(Throwable cause) {
+		MockServerWebExchange exchange = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/fallback/payment-service"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, cause);
+		return controller.fallback("payment-service", exchange).block();
+	}
+}
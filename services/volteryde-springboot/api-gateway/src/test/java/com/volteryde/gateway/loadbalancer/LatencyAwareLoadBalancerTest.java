@@ -0,0 +1,86 @@
+package com.volteryde.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LatencyAwareLoadBalancerTest {
+
+	private static final LatencyAwareLoadBalancer.Settings SETTINGS = new LatencyAwareLoadBalancer.Settings(
+			Duration.ofMillis(50), Duration.ofSeconds(10), Duration.ZERO, 0, "/actuator/health", 3,
+			Duration.ofSeconds(30), 50);
+
+	private final ServiceInstance fast = instance("fast");
+	private final ServiceInstance slow = instance("slow");
+	private final ServiceInstance other = instance("other");
+
+	@SuppressWarnings("unchecked")
+	private final LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer("payment-service",
+			mock(ObjectProvider.class), SETTINGS, instance -> {
+			}, new SimpleMeterRegistry());
+
+	@Test
+	void degradedReplica_ShouldReceiveLessTraffic() {
+		List<ServiceInstance> instances = List.of(fast, slow);
+		complete(fast, 5_000_000L, HttpStatus.OK);
+		complete(slow, 2_000_000_000L, HttpStatus.OK);
+
+		Map<ServiceInstance, Integer> picks = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			picks.merge(balancer.choose(instances).getServer(), 1, Integer::sum);
+		}
+
+		assertEquals(1000, picks.get(fast));
+	}
+
+	@Test
+	void consecutiveFailures_ShouldEjectInstance_ButNeverMoreThanMaxPercent() {
+		for (int i = 0; i < 3; i++) {
+			complete(slow, 1_000_000L, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+
+		for (int i = 0; i < 200; i++) {
+			assertNotEquals(slow, balancer.choose(List.of(fast, slow, other)).getServer());
+		}
+
+		// Ejecting a second of three would exceed 50%: everything stays eligible
+		for (int i = 0; i < 3; i++) {
+			complete(fast, 1_000_000L, HttpStatus.BAD_GATEWAY);
+		}
+		assertEquals(List.of(fast, slow, other), balancer.eligible(List.of(fast, slow, other), System.nanoTime()));
+	}
+
+	private void complete(ServiceInstance instance, long latencyNanos, HttpStatus status) {
+		RequestDataContext context = new RequestDataContext();
+		Request<RequestDataContext> request = new DefaultRequest<>(context);
+		Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+		balancer.onStartRequest(request, lbResponse);
+		context.setRequestStartTime(System.nanoTime() - latencyNanos);
+		ResponseData response = new ResponseData(status, new HttpHeaders(), new LinkedMultiValueMap<>(), null);
+		balancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, lbResponse, response));
+	}
+
+	private static ServiceInstance instance(String host) {
+		return new DefaultServiceInstance(host, "payment-service", host, 8083, false);
+	}
+}
@@ -0,0 +1,49 @@
+package com.volteryde.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityKeyResolverTest {
+
+	private static final InetSocketAddress NGINX = new InetSocketAddress("10.0.0.2", 41000);
+
+	@Test
+	void behindOneProxy_ShouldKeyByTheAddressTheProxyAppended() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(NGINX)
+				.header("X-Forwarded-For", "203.0.113.7"));
+
+		assertEquals("ip:203.0.113.7", IdentityKeyResolver.ipOnly(1).resolve(exchange).block());
+	}
+
+	@Test
+	void behindOneProxy_ShouldIgnoreAddressesTheClientSupplied() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(NGINX)
+				.header("X-Forwarded-For", "198.51.100.1, 203.0.113.7"));
+
+		assertEquals("ip:203.0.113.7", IdentityKeyResolver.ipOnly(1).resolve(exchange).block());
+	}
+
+	@Test
+	void withoutForwardedFor_ShouldFallBackToTheSocketAddress() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(NGINX));
+
+		assertEquals("ip:10.0.0.2", IdentityKeyResolver.ipOnly(1).resolve(exchange).block());
+	}
+
+	@Test
+	void withNoTrustedProxies_ShouldIgnoreForwardedFor() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(NGINX)
+				.header("X-Forwarded-For", "203.0.113.7"));
+
+		assertEquals("ip:10.0.0.2", IdentityKeyResolver.ipOnly(0).resolve(exchange).block());
+	}
+}
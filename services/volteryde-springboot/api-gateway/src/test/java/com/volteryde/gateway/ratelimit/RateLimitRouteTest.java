@@ -0,0 +1,64 @@
+package com.volteryde.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the gateway with the real route config and no Redis, so requests are
+ * decided by the local fallback using each route's token-bucket args.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.data.redis.port=1",
+		"gateway.rate-limit.redis-timeout=50ms",
+		"eureka.client.enabled=false",
+		"server.shutdown=immediate"
+})
+class RateLimitRouteTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void authRoute_ShouldRejectPastItsBurst_WithRateLimitHeaders() {
+		EntityExchangeResult<byte[]> rejected = null;
+		for (int i = 0; i < 40 && rejected == null; i++) {
+			EntityExchangeResult<byte[]> result = webTestClient.post().uri("/api/v1/auth/login")
+					.exchange().expectBody().returnResult();
+			if (result.getStatus() == HttpStatus.TOO_MANY_REQUESTS) {
+				rejected = result;
+			}
+		}
+		assertNotNull(rejected, "expected a 429 once the auth route's burst of 20 was spent");
+		assertEquals("20", rejected.getResponseHeaders().getFirst("RateLimit-Limit"));
+		assertEquals("0", rejected.getResponseHeaders().getFirst("RateLimit-Remaining"));
+		assertNotNull(rejected.getResponseHeaders().getFirst("Retry-After"));
+	}
+
+	@Test
+	void authRoute_ShouldKeepSeparateBucketsForClientsBehindTheProxy() {
+		for (int i = 0; i < 25; i++) {
+			webTestClient.post().uri("/api/v1/auth/login").header("X-Forwarded-For", "203.0.113.7")
+					.exchange().expectBody().returnResult();
+		}
+
+		EntityExchangeResult<byte[]> other = webTestClient.post().uri("/api/v1/auth/login")
+				.header("X-Forwarded-For", "203.0.113.8").exchange().expectBody().returnResult();
+		assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, other.getStatus());
+	}
+
+	@Test
+	void paystackWebhook_ShouldNotBeRateLimited() {
+		for (int i = 0; i < 40; i++) {
+			EntityExchangeResult<byte[]> result = webTestClient.post().uri("/api/v1/payments/webhook")
+					.exchange().expectBody().returnResult();
+			assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, result.getStatus());
+			assertNull(result.getResponseHeaders().getFirst("RateLimit-Limit"));
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.volteryde.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenBucketRateLimiterTest {
+
+	@SuppressWarnings("unchecked")
+	private final RedisScript<List<Long>> script = mock(RedisScript.class);
+	private final ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private TokenBucketRateLimiter limiter(long burst) {
+		TokenBucketRateLimiter.Config defaults = new TokenBucketRateLimiter.Config()
+				.setReplenishRate(0.001)
+				.setBurstCapacity(burst);
+		return new TokenBucketRateLimiter(redis, script, null, meterRegistry, defaults, Duration.ofMillis(50),
+				Duration.ofMinutes(1), 1000);
+	}
+
+	@Test
+	void isAllowed_ShouldUseRedisDecision_AndEmitRateLimitHeaders() {
+		when(redis.execute(eq(script), anyList(), anyList()))
+				.thenReturn(Flux.just(List.of(1L, 4L)), Flux.just(List.of(0L, 0L)));
+		TokenBucketRateLimiter limiter = limiter(5);
+
+		RateLimiter.Response allowed = limiter.isAllowed("auth-service", "ip:10.0.0.1").block();
+		assertTrue(allowed.isAllowed());
+		assertEquals("5", allowed.getHeaders().get("RateLimit-Limit"));
+		assertEquals("4", allowed.getHeaders().get("RateLimit-Remaining"));
+		assertEquals("0", allowed.getHeaders().get("RateLimit-Reset"));
+		assertFalse(allowed.getHeaders().containsKey("Retry-After"));
+
+		RateLimiter.Response denied = limiter.isAllowed("auth-service", "ip:10.0.0.1").block();
+		assertFalse(denied.isAllowed());
+		assertEquals("0", denied.getHeaders().get("RateLimit-Remaining"));
+		assertEquals("1000", denied.getHeaders().get("Retry-After"));
+		assertEquals(1.0, meterRegistry.get(TokenBucketRateLimiter.METRIC).tag("result", "denied")
+				.tag("backend", "redis").counter().count());
+	}
+
+	@Test
+	void isAllowed_ShouldFallBackToLocalBuckets_WhenRedisFails() {
+		when(redis.execute(eq(script), anyList(), anyList()))
+				.thenReturn(Flux.error(new RedisConnectionFailureException("connection refused")));
+		TokenBucketRateLimiter limiter = limiter(2);
+
+		assertTrue(limiter.isAllowed("user-management-service", "user:a").block().isAllowed());
+		assertTrue(limiter.isAllowed("user-management-service", "user:a").block().isAllowed());
+		assertFalse(limiter.isAllowed("user-management-service", "user:a").block().isAllowed());
+		// Buckets are per route and per identity
+		assertTrue(limiter.isAllowed("user-management-service", "user:b").block().isAllowed());
+		assertTrue(limiter.isAllowed("payment-service", "user:a").block().isAllowed());
+
+		// Redis is skipped for the retry interval after the first failure
+		verify(redis, times(1)).execute(eq(script), anyList(), anyList());
+		assertEquals(3.0, meterRegistry.get(TokenBucketRateLimiter.METRIC).tag("route", "user-management-service")
+				.tag("result", "allowed").tag("backend", "local").counter().count());
+	}
+}
@@ -1,12 +1,16 @@
 package com.volteryde.auth;
 
+import com.volteryde.shared.metrics.BusinessMetricsConfiguration;
+import com.volteryde.shared.tracing.TracingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication(scanBasePackages = "com.volteryde.auth")
 @EnableDiscoveryClient
 @org.springframework.cloud.openfeign.EnableFeignClients
+@Import({ BusinessMetricsConfiguration.class, TracingConfiguration.class })
 public class AuthServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AuthServiceApplication.class, args);
@@ -0,0 +1,74 @@
+package com.volteryde.auth.config;
+
+import com.volteryde.auth.entity.UserEntity;
+import com.volteryde.shared.events.ChangeCapture;
+import com.volteryde.shared.events.ChangeDescriber;
+import com.volteryde.shared.events.ChangeEventBroker;
+import com.volteryde.shared.events.ChangeOutbox;
+import com.volteryde.shared.events.LocalChangeEventBroker;
+import com.volteryde.shared.events.OutboxRelay;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change stream for auth users: inserts and updates of {@link UserEntity} are
+ * captured into the {@code change_outbox} table in the same transaction and
+ * relayed to the in-process broker. Enabling/disabling an account is reported
+ * as a status change.
+ */
+@Configuration
+public class ChangeStreamConfig {
+
+	static final String SOURCE = "auth-service";
+
+	@Bean
+	public ChangeOutbox changeOutbox(JdbcTemplate jdbcTemplate,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		ChangeOutbox outbox = new ChangeOutbox(jdbcTemplate, schema);
+		outbox.createTableIfMissing();
+		return outbox;
+	}
+
+	@Bean
+	public ChangeCapture changeCapture(ChangeOutbox changeOutbox, EntityManagerFactory entityManagerFactory) {
+		ChangeDescriber<UserEntity> users = new ChangeDescriber<>(UserEntity.class, "UserEntity", UserEntity::getId,
+				"enabled", user -> {
+					Map<String, String> attributes = new HashMap<>();
+					attributes.put("email", user.getEmail());
+					attributes.put("accessId", user.getAccessId());
+					attributes.put("organizationId", user.getOrganizationId());
+					attributes.put("enabled", String.valueOf(user.getEnabled()));
+					attributes.put("emailVerified", String.valueOf(user.getEmailVerified()));
+					return attributes;
+				});
+		ChangeCapture capture = new ChangeCapture(SOURCE, changeOutbox, List.of(users));
+		capture.register(entityManagerFactory);
+		return capture;
+	}
+
+	@Bean
+	public ChangeEventBroker changeEventBroker() {
+		return new LocalChangeEventBroker();
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "stop")
+	@ConditionalOnProperty(name = "auth.change-stream.relay.enabled", havingValue = "true", matchIfMissing = true)
+	public OutboxRelay outboxRelay(ChangeOutbox changeOutbox, ChangeEventBroker changeEventBroker,
+			PlatformTransactionManager transactionManager,
+			@Value("${auth.change-stream.relay.batch-size:500}") int batchSize,
+			@Value("${auth.change-stream.relay.poll-interval:500ms}") Duration pollInterval) {
+		return new OutboxRelay(changeOutbox, changeEventBroker, new TransactionTemplate(transactionManager),
+				batchSize, pollInterval);
+	}
+}
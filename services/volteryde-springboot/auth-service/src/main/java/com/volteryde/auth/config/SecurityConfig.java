@@ -53,7 +53,10 @@ public class SecurityConfig {
 						// These endpoints validate the JWT manually in the controller
 						.requestMatchers(
 								"/me",
-								"/validate")
+								"/validate",
+								"/register/batch",
+								"/register/batch/invite",
+								"/register/batch/discard")
 						.permitAll()
 						// Everything else requires authentication
 						.anyRequest().authenticated())
@@ -1,15 +1,21 @@
 package com.volteryde.auth.controller;
 
 import com.volteryde.auth.dto.*;
+import com.volteryde.auth.exception.AuthException;
 import com.volteryde.auth.service.AuthService;
 import com.volteryde.auth.service.JwtService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+
 /**
  * Authentication REST Controller
  * 
@@ -21,12 +27,17 @@ public class AuthController {
 
 	private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
+	private static final Set<String> BULK_REGISTER_ROLES = Set.of("SUPER_ADMIN", "ADMIN", "SYSTEM_SUPPORT");
+
 	private final AuthService authService;
 	private final JwtService jwtService;
+	private final String internalServiceKey;
 
-	public AuthController(AuthService authService, JwtService jwtService) {
+	public AuthController(AuthService authService, JwtService jwtService,
+			@Value("${volteryde.internal.service-key:}") String internalServiceKey) {
 		this.authService = authService;
 		this.jwtService = jwtService;
+		this.internalServiceKey = internalServiceKey;
 	}
 
 	/**
@@ -63,6 +74,63 @@ public class AuthController {
 		return ResponseEntity.ok(response);
 	}
 
+	/**
+	 * Bulk registration for admin onboarding (called by User Management).
+	 * Accepts the internal service key, which onboarding jobs use because they
+	 * can outlive the admin's token, or an admin JWT validated in the
+	 * controller, like /me and /validate.
+	 */
+	@PostMapping("/register/batch")
+	public ResponseEntity<BulkRegisterResponse> registerBatch(
+			@RequestHeader(value = "Authorization", required = false) String authHeader,
+			@RequestHeader(value = "X-Internal-Service-Key", required = false) String serviceKey,
+			@Valid @RequestBody BulkRegisterRequest request,
+			HttpServletRequest httpRequest) {
+
+		if (!isInternalService(serviceKey)) {
+			requireRole(authHeader, BULK_REGISTER_ROLES);
+		}
+		String ipAddress = getClientIp(httpRequest);
+		logger.info("Bulk registration request for {} users from IP: {}", request.getUsers().size(), ipAddress);
+
+		return ResponseEntity.ok(authService.registerBatch(request, ipAddress, httpRequest.getHeader("User-Agent")));
+	}
+
+	/**
+	 * Send set-password links to bulk-registered accounts once User Management
+	 * has saved their profiles. Same authentication as /register/batch.
+	 */
+	@PostMapping("/register/batch/invite")
+	public ResponseEntity<Void> inviteBatch(
+			@RequestHeader(value = "Authorization", required = false) String authHeader,
+			@RequestHeader(value = "X-Internal-Service-Key", required = false) String serviceKey,
+			@Valid @RequestBody BulkAccountsRequest request) {
+
+		if (!isInternalService(serviceKey)) {
+			requireRole(authHeader, BULK_REGISTER_ROLES);
+		}
+		authService.inviteBatch(request.getAuthIds());
+		return ResponseEntity.ok().build();
+	}
+
+	/**
+	 * Remove bulk-registered accounts whose profiles User Management failed to
+	 * save. Same authentication as /register/batch.
+	 */
+	@PostMapping("/register/batch/discard")
+	public ResponseEntity<Void> discardBatch(
+			@RequestHeader(value = "Authorization", required = false) String authHeader,
+			@RequestHeader(value = "X-Internal-Service-Key", required = false) String serviceKey,
+			@Valid @RequestBody BulkAccountsRequest request,
+			HttpServletRequest httpRequest) {
+
+		if (!isInternalService(serviceKey)) {
+			requireRole(authHeader, BULK_REGISTER_ROLES);
+		}
+		authService.discardBatch(request.getAuthIds(), getClientIp(httpRequest), httpRequest.getHeader("User-Agent"));
+		return ResponseEntity.ok().build();
+	}
+
 	/**
 	 * Refresh token endpoint
 	 */
@@ -160,6 +228,23 @@ public class AuthController {
 		return ResponseEntity.ok(response);
 	}
 
+	private void requireRole(String authHeader, Set<String> allowed) {
+		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+			throw new AuthException("Missing bearer token");
+		}
+		String token = authHeader.substring(7);
+		if (!jwtService.validateToken(token)
+				|| jwtService.extractRoles(token).stream().noneMatch(allowed::contains)) {
+			throw new AuthException("Not authorized for this operation");
+		}
+	}
+
+	private boolean isInternalService(String serviceKey) {
+		return serviceKey != null && !internalServiceKey.isBlank()
+				&& MessageDigest.isEqual(internalServiceKey.getBytes(StandardCharsets.UTF_8),
+						serviceKey.getBytes(StandardCharsets.UTF_8));
+	}
+
 	private String getClientIp(HttpServletRequest request) {
 		String xForwardedFor = request.getHeader("X-Forwarded-For");
 		if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
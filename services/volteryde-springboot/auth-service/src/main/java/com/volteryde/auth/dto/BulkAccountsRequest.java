@@ -0,0 +1,33 @@
+package com.volteryde.auth.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Account ids returned by a bulk registration, sent back once the caller knows
+ * whether their profiles were saved.
+ */
+public class BulkAccountsRequest {
+
+	@NotEmpty(message = "At least one account id is required")
+	@Size(max = BulkRegisterRequest.MAX_BATCH_SIZE, message = "At most " + BulkRegisterRequest.MAX_BATCH_SIZE
+			+ " accounts per batch")
+	private List<String> authIds;
+
+	public BulkAccountsRequest() {
+	}
+
+	public BulkAccountsRequest(List<String> authIds) {
+		this.authIds = authIds;
+	}
+
+	public List<String> getAuthIds() {
+		return authIds;
+	}
+
+	public void setAuthIds(List<String> authIds) {
+		this.authIds = authIds;
+	}
+}
@@ -0,0 +1,95 @@
+package com.volteryde.auth.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Batched account creation for admin onboarding. Accounts are created without a
+ * usable password; users set one from the link sent by /register/batch/invite.
+ */
+public class BulkRegisterRequest {
+
+	public static final int MAX_BATCH_SIZE = 1000;
+
+	@NotEmpty(message = "At least one user is required")
+	@Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " users per batch")
+	private List<@Valid Item> users;
+
+	public List<Item> getUsers() {
+		return users;
+	}
+
+	public void setUsers(List<Item> users) {
+		this.users = users;
+	}
+
+	public static class Item {
+
+		private String email;
+		private String firstName;
+		private String lastName;
+		private String phoneNumber;
+		private String role;
+		private String accessId;
+		private String organizationId;
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public String getFirstName() {
+			return firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public String getPhoneNumber() {
+			return phoneNumber;
+		}
+
+		public void setPhoneNumber(String phoneNumber) {
+			this.phoneNumber = phoneNumber;
+		}
+
+		public String getRole() {
+			return role;
+		}
+
+		public void setRole(String role) {
+			this.role = role;
+		}
+
+		public String getAccessId() {
+			return accessId;
+		}
+
+		public void setAccessId(String accessId) {
+			this.accessId = accessId;
+		}
+
+		public String getOrganizationId() {
+			return organizationId;
+		}
+
+		public void setOrganizationId(String organizationId) {
+			this.organizationId = organizationId;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.volteryde.auth.dto;
+
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk registration, in request order. Exactly one of
+ * {@code authId} and {@code error} is set for each row.
+ */
+public class BulkRegisterResponse {
+
+	private List<Result> results;
+
+	public BulkRegisterResponse() {
+	}
+
+	public BulkRegisterResponse(List<Result> results) {
+		this.results = results;
+	}
+
+	public List<Result> getResults() {
+		return results;
+	}
+
+	public void setResults(List<Result> results) {
+		this.results = results;
+	}
+
+	public static class Result {
+
+		private String email;
+		private String authId;
+		private String error;
+
+		public Result() {
+		}
+
+		public Result(String email, String authId, String error) {
+			this.email = email;
+			this.authId = authId;
+			this.error = error;
+		}
+
+		public static Result created(String email, String authId) {
+			return new Result(email, authId, null);
+		}
+
+		public static Result failed(String email, String error) {
+			return new Result(email, null, error);
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public String getAuthId() {
+			return authId;
+		}
+
+		public void setAuthId(String authId) {
+			this.authId = authId;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public void setError(String error) {
+			this.error = error;
+		}
+	}
+}
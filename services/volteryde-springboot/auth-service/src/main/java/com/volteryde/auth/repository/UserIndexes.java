@@ -0,0 +1,36 @@
+package com.volteryde.auth.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Expression index on {@code lower(email)} for the case-insensitive uniqueness
+ * check in bulk registration ({@link UserRepository#findExistingEmails}),
+ * created once the schema is up.
+ */
+@Repository
+public class UserIndexes {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserIndexes.class);
+
+	private final JdbcTemplate jdbc;
+	private final String schema;
+
+	public UserIndexes(JdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureIndexes() {
+		SchemaDdl.tryCreate(jdbc, logger, "the lower(email) index, bulk registration checks will scan users",
+				"create index if not exists idx_users_email_lower on " + schema + ".users (lower(email))");
+	}
+}
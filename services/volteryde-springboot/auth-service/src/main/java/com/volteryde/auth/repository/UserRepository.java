@@ -2,8 +2,12 @@ package com.volteryde.auth.repository;
 
 import com.volteryde.auth.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,6 +24,17 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
 
 	boolean existsByEmail(String email);
 
+	/**
+	 * Set-based uniqueness check for bulk registration. Case-insensitive:
+	 * {@code emails} must be lower-cased, and matches are returned lower-cased.
+	 * Served by {@code idx_users_email_lower} ({@link UserIndexes}).
+	 */
+	@Query("select lower(u.email) from UserEntity u where lower(u.email) in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Query("select u.accessId from UserEntity u where u.accessId in :accessIds")
+	List<String> findExistingAccessIds(@Param("accessIds") Collection<String> accessIds);
+
 	Optional<UserEntity> findByEmailVerificationToken(String token);
 
 	Optional<UserEntity> findByPasswordResetToken(String token);
@@ -13,6 +13,10 @@ import com.volteryde.auth.repository.RoleRepository;
 import com.volteryde.auth.repository.UserRepository;
 import com.volteryde.auth.repository.PhoneVerificationRepository;
 import com.volteryde.auth.entity.PhoneVerificationEntity;
+import com.volteryde.shared.enums.ActivityAction;
+import com.volteryde.shared.enums.ActivityType;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.Measured;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,7 +24,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,6 +45,16 @@ public class AuthService {
 
 	private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
+	/**
+	 * Never a valid BCrypt hash, so password login fails until a reset sets one.
+	 */
+	static final String UNUSABLE_PASSWORD_PREFIX = "!unset:";
+
+	/**
+	 * How long the set-password link sent to bulk-onboarded users stays valid.
+	 */
+	static final long INVITE_VALIDITY_DAYS = 7;
+
 	private final UserRepository userRepository;
 	private final RoleRepository roleRepository;
 	private final RefreshTokenRepository refreshTokenRepository;
@@ -45,6 +65,7 @@ public class AuthService {
 	private final ActivityLogService activityLogService;
 	private final PhoneVerificationRepository phoneVerificationRepository;
 	private final com.volteryde.auth.client.UserServiceClient userServiceClient;
+	private final BusinessMetrics metrics;
 
 	public AuthService(
 			UserRepository userRepository,
@@ -56,7 +77,8 @@ public class AuthService {
 			EmailService emailService,
 			ActivityLogService activityLogService,
 			PhoneVerificationRepository phoneVerificationRepository,
-			com.volteryde.auth.client.UserServiceClient userServiceClient) {
+			com.volteryde.auth.client.UserServiceClient userServiceClient,
+			BusinessMetrics metrics) {
 		this.userRepository = userRepository;
 		this.roleRepository = roleRepository;
 		this.refreshTokenRepository = refreshTokenRepository;
@@ -67,23 +89,30 @@ public class AuthService {
 		this.activityLogService = activityLogService;
 		this.phoneVerificationRepository = phoneVerificationRepository;
 		this.userServiceClient = userServiceClient;
+		this.metrics = metrics;
 	}
 
 	/**
 	 * Authenticate user and return tokens
 	 * Supports login via Access ID (VLT-XXXXXX) or Email
+	 *
+	 * Timed in {@code volteryde.auth.login}, tagged with the method and the
+	 * outcome.
 	 */
 	public AuthResponse login(LoginRequest request, String deviceInfo, String ipAddress) {
 		String identifier = request.getIdentifier();
 		logger.info("Login attempt for identifier: {}", identifier);
 
-		try {
-			// Find user by access ID or email
+		String method = request.isAccessId() ? "access_id" : "email";
+		try (BusinessMetrics.Timing timing = metrics.start("auth.login", "method", method)) {
+			// Find user by access ID or email. Outcomes are set where a
+			// rejection is decided; anything else thrown stays an error.
 			UserEntity user;
 			if (request.isAccessId()) {
 				// Login via Access ID (VLT-XXXXXX format)
 				user = userRepository.findByAccessId(identifier.toUpperCase())
 						.orElseThrow(() -> {
+							timing.outcome("invalid_credentials");
 							activityLogService.logLoginFailed(identifier, ipAddress, deviceInfo, "Invalid Access ID");
 							return new AuthException("Invalid Access ID or Passcode");
 						});
@@ -91,17 +120,20 @@ public class AuthService {
 				// Login via Email
 				user = userRepository.findByEmail(identifier)
 						.orElseThrow(() -> {
+							timing.outcome("invalid_credentials");
 							activityLogService.logLoginFailed(identifier, ipAddress, deviceInfo, "User not found");
 							return new AuthException("Invalid Access ID or Passcode");
 						});
 			}
 
 			if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+				timing.outcome("invalid_credentials");
 				activityLogService.logLoginFailed(identifier, ipAddress, deviceInfo, "Invalid password");
 				throw new AuthException("Invalid Access ID or Passcode");
 			}
 
 			if (!user.getEnabled()) {
+				timing.outcome("disabled");
 				activityLogService.logLoginFailed(identifier, ipAddress, deviceInfo, "Account disabled");
 				throw new AuthException("Account is disabled");
 			}
@@ -113,7 +145,9 @@ public class AuthService {
 			// Log successful login
 			activityLogService.logLoginSuccess(user, ipAddress, deviceInfo);
 
-			return generateAuthResponse(user, deviceInfo, ipAddress);
+			AuthResponse response = generateAuthResponse(user, deviceInfo, ipAddress);
+			timing.success();
+			return response;
 		} catch (AuthException e) {
 			throw e; // Re-throw, already logged
 		} catch (Exception e) {
@@ -125,6 +159,7 @@ public class AuthService {
 	/**
 	 * Register a new user
 	 */
+	@Measured("auth.register")
 	public AuthResponse register(RegisterRequest request, String deviceInfo, String ipAddress) {
 		logger.info("Registration attempt for email: {}", request.getEmail());
 
@@ -202,9 +237,155 @@ public class AuthService {
 		return generateAuthResponse(user, deviceInfo, ipAddress);
 	}
 
+	/**
+	 * Create many accounts in one transaction for admin onboarding.
+	 *
+	 * Uniqueness is checked with one query per batch instead of one per row, and
+	 * rows are inserted with a single saveAll. Accounts get an unusable password
+	 * hash (the user sets a password through the reset flow), which also skips a
+	 * BCrypt round per row. Unlike {@link #register}, no profile is created in
+	 * User Management: the caller owns profile creation for bulk onboarding, and
+	 * follows up with {@link #inviteBatch} once profiles are saved or
+	 * {@link #discardBatch} if they are not.
+	 */
+	@Transactional
+	public BulkRegisterResponse registerBatch(BulkRegisterRequest request, String ipAddress, String userAgent) {
+		List<BulkRegisterRequest.Item> items = request.getUsers();
+		logger.info("Bulk registration of {} users", items.size());
+		// Same form as User Management's onboarding, so both uniqueness checks agree
+		for (BulkRegisterRequest.Item item : items) {
+			if (item.getEmail() != null) {
+				item.setEmail(item.getEmail().trim().toLowerCase(Locale.ROOT));
+			}
+		}
+
+		Set<String> taken = new HashSet<>(userRepository.findExistingEmails(
+				items.stream().map(BulkRegisterRequest.Item::getEmail).filter(Objects::nonNull).toList()));
+		Set<String> takenAccessIds = new HashSet<>(userRepository.findExistingAccessIds(
+				items.stream().map(BulkRegisterRequest.Item::getAccessId).filter(Objects::nonNull).toList()));
+		Map<UserRole, RoleEntity> roles = new EnumMap<>(UserRole.class);
+
+		List<BulkRegisterResponse.Result> results = new ArrayList<>(items.size());
+		List<UserEntity> accepted = new ArrayList<>(items.size());
+		for (BulkRegisterRequest.Item item : items) {
+			String error = validateBulkItem(item, taken, takenAccessIds);
+			if (error != null) {
+				results.add(BulkRegisterResponse.Result.failed(item.getEmail(), error));
+				continue;
+			}
+			UserRole roleEnum = UserRole.valueOf(item.getRole());
+			RoleEntity role = roles.computeIfAbsent(roleEnum, name -> roleRepository.findByName(name)
+					.orElseGet(() -> roleRepository.save(new RoleEntity(name, ipAddress))));
+
+			UserEntity user = new UserEntity();
+			user.setEmail(item.getEmail());
+			user.setPasswordHash(UNUSABLE_PASSWORD_PREFIX + UUID.randomUUID());
+			user.setFirstName(item.getFirstName());
+			user.setLastName(item.getLastName());
+			user.setPhoneNumber(item.getPhoneNumber());
+			user.setOrganizationId(item.getOrganizationId());
+			user.setAccessId(item.getAccessId());
+			user.setEnabled(true);
+			user.setEmailVerified(false);
+			user.setEmailVerificationToken(UUID.randomUUID().toString());
+			user.setRoles(new HashSet<>(Set.of(role)));
+
+			taken.add(item.getEmail());
+			if (item.getAccessId() != null) {
+				takenAccessIds.add(item.getAccessId());
+			}
+			accepted.add(user);
+			results.add(null); // filled in after save, keeping request order
+		}
+
+		List<UserEntity> saved = userRepository.saveAll(accepted);
+		int next = 0;
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i) == null) {
+				UserEntity user = saved.get(next++);
+				results.set(i, BulkRegisterResponse.Result.created(user.getEmail(), user.getId()));
+			}
+		}
+
+		// One audit entry per batch rather than one async write per account
+		activityLogService.logActivity(null, ActivityAction.USER_CREATED, ActivityType.ADMIN, ipAddress, userAgent,
+				Map.of("requested", items.size(), "created", saved.size()), "SUCCESS", null);
+		logger.info("Bulk registration created {} of {} users", saved.size(), items.size());
+		return new BulkRegisterResponse(results);
+	}
+
+	/**
+	 * Send a set-password link to bulk-registered accounts whose profiles were
+	 * saved. Accounts that already have a password are skipped, so a retried
+	 * call does not reset anyone.
+	 */
+	@Transactional
+	public int inviteBatch(List<String> authIds) {
+		List<UserEntity> pending = userRepository.findAllById(authIds).stream()
+				.filter(AuthService::hasUnusablePassword)
+				.toList();
+		LocalDateTime expiry = LocalDateTime.now().plusDays(INVITE_VALIDITY_DAYS);
+		for (UserEntity user : pending) {
+			user.setPasswordResetToken(UUID.randomUUID().toString());
+			user.setPasswordResetExpiry(expiry);
+		}
+		userRepository.saveAll(pending);
+		for (UserEntity user : pending) {
+			emailService.sendAccountInviteEmail(user.getEmail(), user.getPasswordResetToken(), user.getFirstName());
+		}
+		logger.info("Sent account invites to {} of {} bulk-registered users", pending.size(), authIds.size());
+		return pending.size();
+	}
+
+	/**
+	 * Delete bulk-registered accounts whose profiles could not be saved, so the
+	 * rows can be uploaded again. Only accounts that never had a password set
+	 * are removed; anything else is left alone.
+	 */
+	@Transactional
+	public int discardBatch(List<String> authIds, String ipAddress, String userAgent) {
+		List<UserEntity> unused = userRepository.findAllById(authIds).stream()
+				.filter(AuthService::hasUnusablePassword)
+				.toList();
+		userRepository.deleteAll(unused);
+
+		activityLogService.logActivity(null, ActivityAction.USER_DELETED, ActivityType.ADMIN, ipAddress, userAgent,
+				Map.of("requested", authIds.size(), "deleted", unused.size()), "SUCCESS", null);
+		logger.info("Discarded {} of {} bulk-registered users", unused.size(), authIds.size());
+		return unused.size();
+	}
+
+	private static boolean hasUnusablePassword(UserEntity user) {
+		return user.getPasswordHash() != null && user.getPasswordHash().startsWith(UNUSABLE_PASSWORD_PREFIX);
+	}
+
+	private String validateBulkItem(BulkRegisterRequest.Item item, Set<String> takenEmails,
+			Set<String> takenAccessIds) {
+		if (item.getEmail() == null || item.getEmail().isBlank()) {
+			return "Email is required";
+		}
+		if (item.getFirstName() == null || item.getFirstName().isBlank()
+				|| item.getLastName() == null || item.getLastName().isBlank()) {
+			return "First and last name are required";
+		}
+		if (takenEmails.contains(item.getEmail())) {
+			return "Email is already registered";
+		}
+		if (item.getAccessId() != null && takenAccessIds.contains(item.getAccessId())) {
+			return "Access ID is already in use";
+		}
+		try {
+			UserRole.valueOf(item.getRole());
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return "Invalid role: " + item.getRole();
+		}
+		return null;
+	}
+
 	/**
 	 * Refresh access token using refresh token
 	 */
+	@Measured("auth.token.refresh")
 	public AuthResponse refreshToken(RefreshTokenRequest request, String deviceInfo, String ipAddress) {
 		RefreshTokenEntity refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
 				.orElseThrow(() -> new AuthException("Invalid refresh token"));
@@ -63,6 +63,24 @@ public class EmailService {
 		logger.info("==========================");
 	}
 
+	/**
+	 * Send the set-password link to an account created by an admin
+	 */
+	public void sendAccountInviteEmail(String toEmail, String resetToken, String firstName) {
+		String setPasswordLink = authFrontendUrl + "/reset-password?token=" + resetToken;
+
+		String subject = "Set Up Your Volteryde Account";
+		String body = buildAccountInviteEmailBody(firstName, setPasswordLink);
+
+		logger.info("=== ACCOUNT INVITE EMAIL ===");
+		logger.info("To: {}", toEmail);
+		logger.info("From: {}", fromEmail);
+		logger.info("Subject: {}", subject);
+		logger.info("Set Password Link: {}", setPasswordLink);
+		logger.debug("Body: {}", body);
+		logger.info("============================");
+	}
+
 	/**
 	 * Send welcome email after registration
 	 */
@@ -93,6 +111,21 @@ public class EmailService {
 				""", firstName != null ? firstName : "there", resetLink);
 	}
 
+	private String buildAccountInviteEmailBody(String firstName, String setPasswordLink) {
+		return String.format("""
+				Hi %s,
+
+				A Volteryde account has been created for you. Click the link below to set your password:
+
+				%s
+
+				This link will expire in 7 days. After that, use "Forgot password" on the sign-in page.
+
+				Best regards,
+				The Volteryde Team
+				""", firstName != null ? firstName : "there", setPasswordLink);
+	}
+
 	private String buildVerificationEmailBody(String firstName, String verifyLink) {
 		return String.format("""
 				Hi %s,
@@ -1,6 +1,8 @@
 package com.volteryde.auth.service;
 
 import com.volteryde.auth.dto.AuthResponse;
+import com.volteryde.auth.dto.BulkRegisterRequest;
+import com.volteryde.auth.dto.BulkRegisterResponse;
 import com.volteryde.auth.dto.LoginRequest;
 import com.volteryde.auth.dto.RegisterRequest;
 import com.volteryde.auth.entity.RefreshTokenEntity;
@@ -8,20 +10,25 @@ import com.volteryde.auth.entity.RoleEntity;
 import com.volteryde.auth.entity.UserEntity;
 import com.volteryde.auth.exception.AuthException;
 import com.volteryde.auth.repository.*;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +54,10 @@ public class AuthServiceTest {
 	@Mock
 	private PhoneVerificationRepository phoneVerificationRepository;
 
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	@Spy
+	private BusinessMetrics metrics = new BusinessMetrics(meterRegistry);
+
 	@InjectMocks
 	private AuthService authService;
 
@@ -79,6 +90,8 @@ public class AuthServiceTest {
 		assertNotNull(response);
 		assertEquals("access-token", response.getAccessToken());
 		verify(activityLogService).logLoginSuccess(any(), anyString(), anyString());
+		assertEquals(1, meterRegistry.get("volteryde.auth.login")
+				.tags("method", "email", "outcome", "success").timer().count());
 	}
 
 	@Test
@@ -92,6 +105,23 @@ public class AuthServiceTest {
 
 		assertThrows(AuthException.class, () -> authService.login(request, "device", "ip"));
 		verify(activityLogService).logLoginFailed(anyString(), anyString(), anyString(), anyString());
+		assertEquals(1, meterRegistry.get("volteryde.auth.login")
+				.tags("method", "email", "outcome", "invalid_credentials").timer().count());
+	}
+
+	@Test
+	void login_ShouldRecordError_WhenUserLookupFails() {
+		LoginRequest request = new LoginRequest();
+		request.setIdentifier("test@example.com");
+		request.setPassword("password");
+
+		when(userRepository.findByEmail("test@example.com"))
+				.thenThrow(new org.springframework.dao.DataAccessResourceFailureException("down"));
+
+		assertThrows(RuntimeException.class, () -> authService.login(request, "device", "ip"));
+		assertEquals(1, meterRegistry.get("volteryde.auth.login")
+				.tags("method", "email", "outcome", "error").timer().count());
+		assertNull(meterRegistry.find("volteryde.auth.login").tag("outcome", "invalid_credentials").timer());
 	}
 
 	@Test
@@ -116,4 +146,64 @@ public class AuthServiceTest {
 		assertEquals("token", response.getAccessToken());
 		verify(activityLogService).logRegistration(any(), anyString(), anyString());
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void registerBatch_ShouldReportPerRowOutcomesInRequestOrder() {
+		BulkRegisterRequest request = new BulkRegisterRequest();
+		request.setUsers(List.of(
+				bulkItem("new@example.com", "DRIVER"),
+				bulkItem("Taken@Example.com", "DRIVER"),
+				bulkItem("bad-role@example.com", "PILOT"),
+				bulkItem(" NEW@example.com", "DRIVER")));
+
+		when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+		when(roleRepository.findByName(RoleEntity.UserRole.DRIVER))
+				.thenReturn(Optional.of(new RoleEntity(RoleEntity.UserRole.DRIVER)));
+		when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+			List<UserEntity> users = invocation.getArgument(0);
+			users.forEach(u -> u.setId(UUID.randomUUID().toString()));
+			return users;
+		});
+
+		BulkRegisterResponse response = authService.registerBatch(request, "127.0.0.1", "test");
+
+		List<BulkRegisterResponse.Result> results = response.getResults();
+		assertEquals(4, results.size());
+		assertNotNull(results.get(0).getAuthId());
+		assertEquals("Email is already registered", results.get(1).getError());
+		assertEquals("Invalid role: PILOT", results.get(2).getError());
+		assertEquals("Email is already registered", results.get(3).getError()); // duplicate within batch, any case
+		verify(userRepository).findExistingEmails(argThat(emails -> emails.contains("taken@example.com")));
+		verify(userRepository, times(1)).saveAll(any());
+		verify(passwordEncoder, never()).encode(any());
+	}
+
+	@Test
+	void inviteAndDiscardBatch_ShouldOnlyTouchAccountsWithoutAPassword() {
+		UserEntity onboarded = new UserEntity();
+		onboarded.setId(UUID.randomUUID().toString());
+		onboarded.setEmail("new@example.com");
+		onboarded.setPasswordHash(AuthService.UNUSABLE_PASSWORD_PREFIX + UUID.randomUUID());
+		List<String> ids = List.of(onboarded.getId(), user.getId());
+		when(userRepository.findAllById(ids)).thenReturn(List.of(onboarded, user));
+
+		assertEquals(1, authService.inviteBatch(ids));
+		assertNotNull(onboarded.getPasswordResetToken());
+		assertNull(user.getPasswordResetToken());
+		verify(emailService).sendAccountInviteEmail(eq("new@example.com"), eq(onboarded.getPasswordResetToken()),
+				any());
+
+		assertEquals(1, authService.discardBatch(ids, "127.0.0.1", "test"));
+		verify(userRepository).deleteAll(List.of(onboarded));
+	}
+
+	private static BulkRegisterRequest.Item bulkItem(String email, String role) {
+		BulkRegisterRequest.Item item = new BulkRegisterRequest.Item();
+		item.setEmail(email);
+		item.setFirstName("Ama");
+		item.setLastName("Mensah");
+		item.setRole(role);
+		return item;
+	}
 }
@@ -0,0 +1,121 @@
+package com.volteryde.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the stored baseline and exits non-zero when
+ * a benchmark got slower by more than the threshold. The change must also
+ * exceed both runs' score errors combined, so noise alone does not fail the
+ * build.
+ *
+ * Arguments: result file, baseline file, threshold in percent, and
+ * {@code true} to copy the result over the baseline instead of comparing.
+ */
+public final class BaselineComparison {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	record Score(String mode, double score, double error, String unit) {
+
+		/**
+		 * Percent by which {@code current} is worse than this; negative when
+		 * faster. Throughput is better higher, every time-based mode lower.
+		 */
+		double slowdownPercent(Score current) {
+			double delta = "thrpt".equals(mode) ? score - current.score : current.score - score;
+			return delta / score * 100;
+		}
+
+		boolean beyondError(Score current) {
+			return Math.abs(current.score - score) > error + current.error;
+		}
+	}
+
+	private BaselineComparison() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 4) {
+			System.err.println("usage: BaselineComparison <result.json> <baseline.json> <threshold%> <update>");
+			System.exit(2);
+		}
+		Path result = Path.of(args[0]);
+		Path baseline = Path.of(args[1]);
+		double threshold = Double.parseDouble(args[2]);
+
+		if (!Files.exists(result)) {
+			System.err.println("No JMH result at " + result + "; did the benchmarks run?");
+			System.exit(1);
+		}
+		if (Boolean.parseBoolean(args[3])) {
+			Files.createDirectories(baseline.toAbsolutePath().getParent());
+			Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Baseline updated: " + baseline);
+			return;
+		}
+		if (!Files.exists(baseline)) {
+			System.out.println("No baseline at " + baseline + ", nothing to compare. Record one on the machine that"
+					+ " runs the comparison with -Djmh.update-baseline=true.");
+			return;
+		}
+
+		int regressions = compare(read(baseline), read(result), threshold);
+		if (regressions > 0) {
+			System.err.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+			System.exit(1);
+		}
+	}
+
+	static int compare(Map<String, Score> baseline, Map<String, Score> current, double threshold) {
+		int regressions = 0;
+		System.out.printf("%n%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+		for (Map.Entry<String, Score> entry : current.entrySet()) {
+			Score now = entry.getValue();
+			Score before = baseline.get(entry.getKey());
+			if (before == null || !before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+				System.out.printf("%-70s %14s %14.3f %9s  new%n", entry.getKey(), "-", now.score(), "");
+				continue;
+			}
+			double slowdown = before.slowdownPercent(now);
+			boolean regressed = slowdown > threshold && before.beyondError(now);
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), before.score(), now.score(),
+					slowdown, regressed ? "REGRESSION" : now.unit());
+		}
+		return regressions;
+	}
+
+	/**
+	 * Scores keyed by benchmark name plus its {@code @Param} values.
+	 */
+	static Map<String, Score> read(Path file) throws IOException {
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (JsonNode run : MAPPER.readTree(file.toFile())) {
+			StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+			JsonNode params = run.path("params");
+			if (params.isObject()) {
+				Map<String, String> sorted = new TreeMap<>();
+				Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+				fields.forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+				key.append(sorted);
+			}
+			JsonNode metric = run.path("primaryMetric");
+			double error = metric.path("scoreError").asDouble();
+			scores.put(key.toString(), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+					Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+		}
+		return scores;
+	}
+}
@@ -0,0 +1,62 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.auth.dto.UserDto;
+import com.volteryde.auth.entity.RoleEntity;
+import com.volteryde.auth.entity.UserEntity;
+import com.volteryde.auth.service.AuthService;
+import com.volteryde.clientauth.dto.ClientUserDto;
+import com.volteryde.clientauth.entity.ClientUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping run on every login, refresh and profile read:
+ * {@link ClientUserDto#fromEntity} and {@code AuthService.mapToUserDto},
+ * which also streams the roles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+	private static final MethodHandle MAP_TO_USER_DTO = Internals.privateMethod(AuthService.class, "mapToUserDto",
+			UserDto.class, UserEntity.class);
+
+	private AuthService authService;
+	private UserEntity user;
+	private ClientUser clientUser;
+
+	@Setup
+	public void setUp() {
+		authService = Internals.withoutCollaborators(AuthService.class);
+		user = Fixtures.staffUser();
+		user.setRoles(Set.of(new RoleEntity(RoleEntity.UserRole.ADMIN),
+				new RoleEntity(RoleEntity.UserRole.DISPATCHER), new RoleEntity(RoleEntity.UserRole.FLEET_MANAGER)));
+		clientUser = Fixtures.rider();
+	}
+
+	@Benchmark
+	public ClientUserDto clientUserDtoFromEntity() {
+		return ClientUserDto.fromEntity(clientUser);
+	}
+
+	@Benchmark
+	public UserDto mapToUserDto() throws Throwable {
+		return (UserDto) MAP_TO_USER_DTO.invokeExact(authService, user);
+	}
+}
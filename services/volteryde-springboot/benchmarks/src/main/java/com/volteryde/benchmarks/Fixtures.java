@@ -0,0 +1,49 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.auth.entity.RoleEntity;
+import com.volteryde.auth.entity.UserEntity;
+import com.volteryde.clientauth.entity.ClientRole;
+import com.volteryde.clientauth.entity.ClientStatus;
+import com.volteryde.clientauth.entity.ClientUser;
+
+import java.util.Set;
+
+/**
+ * Entities shaped like production rows: every field the hot paths read is set.
+ */
+final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	static UserEntity staffUser() {
+		UserEntity user = new UserEntity();
+		user.setId("8f14e45f-ceea-467e-9f3b-2c3d4e5f6a7b");
+		user.setAccessId("VR-DP00001234");
+		user.setEmail("ama.mensah@volteryde.org");
+		user.setFirstName("Ama");
+		user.setLastName("Mensah");
+		user.setPhoneNumber("+233241234567");
+		user.setAvatarUrl("https://cdn.volteryde.org/avatars/ama.png");
+		user.setOrganizationId("ORG-0001");
+		user.setEmailVerified(true);
+		user.setRoles(Set.of(new RoleEntity(RoleEntity.UserRole.DISPATCHER)));
+		return user;
+	}
+
+	static ClientUser rider() {
+		ClientUser user = new ClientUser();
+		user.setId("c4ca4238-a0b9-4382-8dcc-509a6f75849b");
+		user.setPhone("+233201234567");
+		user.setEmail("kofi.asante@example.com");
+		user.setFirstName("Kofi");
+		user.setLastName("Asante");
+		user.setRole(ClientRole.RIDER);
+		user.setStatus(ClientStatus.ACTIVE);
+		user.setProfileImageUrl("https://cdn.volteryde.org/avatars/kofi.png");
+		user.setPhoneVerified(true);
+		user.setEmailVerified(true);
+		user.setTermsAccepted(true);
+		return user;
+	}
+}
@@ -0,0 +1,73 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.payment.entity.WalletBalanceEntity;
+import com.volteryde.payment.service.impl.SecurityServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet integrity signatures ({@link SecurityServiceImpl}): every debit and
+ * credit signs the transaction and re-signs the balance, and every balance
+ * read validates it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HmacBenchmark {
+
+	private SecurityServiceImpl securityService;
+	private BigDecimal amount;
+	private WalletBalanceEntity wallet;
+	private String transactionSignature;
+
+	@Setup
+	public void setUp() {
+		securityService = new SecurityServiceImpl();
+		ReflectionTestUtils.setField(securityService, "secretKey", "benchmark-wallet-secret-key");
+
+		amount = new BigDecimal("125.50");
+		wallet = new WalletBalanceEntity();
+		wallet.setCustomerId("CUST-000123");
+		wallet.setRealBalance(new BigDecimal("1042.75"));
+		wallet.setPromoBalance(new BigDecimal("20.00"));
+		wallet.setSignature(securityService.signBalance(wallet.getCustomerId(), wallet.getRealBalance(),
+				wallet.getPromoBalance()));
+		transactionSignature = securityService.signTransaction("CUST-000123", amount, "DEBIT", "REF-20240101-0001");
+	}
+
+	@Benchmark
+	public String signTransaction() {
+		return securityService.signTransaction("CUST-000123", amount, "DEBIT", "REF-20240101-0001");
+	}
+
+	@Benchmark
+	public boolean validateTransaction() {
+		return securityService.validateTransaction("CUST-000123", amount, "DEBIT", "REF-20240101-0001",
+				transactionSignature);
+	}
+
+	@Benchmark
+	public String signBalance() {
+		return securityService.signBalance(wallet.getCustomerId(), wallet.getRealBalance(), wallet.getPromoBalance());
+	}
+
+	@Benchmark
+	public boolean validateBalance() {
+		return securityService.validateBalance(wallet);
+	}
+}
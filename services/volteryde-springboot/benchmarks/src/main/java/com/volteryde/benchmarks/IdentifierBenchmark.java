@@ -0,0 +1,70 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.clientauth.service.ClientAuthService;
+import com.volteryde.usermanagement.model.UserIdGenerator;
+import com.volteryde.usermanagement.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifier handling on every auth request: phone normalisation in
+ * client-auth-service ({@code ClientAuthService.normalizePhone}, a regex
+ * replace) and Access ID formatting and validation in UMS
+ * ({@link UserIdGenerator}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IdentifierBenchmark {
+
+	private static final MethodHandle NORMALIZE_PHONE = Internals.privateMethod(ClientAuthService.class,
+			"normalizePhone", String.class, String.class);
+
+	// As typed into the apps: spaces, dashes, brackets, already clean
+	private static final String[] PHONES = { "+233 24 123 4567", "024-123-4567", "(+233) 20 123 4567",
+			"+233551234567" };
+	private static final String[] ACCESS_IDS = { "VR-DP00001234", "VR-A00420001", "USR-00912345", "VR-SC0000017" };
+
+	private ClientAuthService clientAuthService;
+	private long sequence;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		clientAuthService = Internals.withoutCollaborators(ClientAuthService.class);
+	}
+
+	@Benchmark
+	public String normalizePhone() throws Throwable {
+		return (String) NORMALIZE_PHONE.invokeExact(clientAuthService, PHONES[next++ & 3]);
+	}
+
+	@Benchmark
+	public String formatAccessId() {
+		return UserIdGenerator.format(UserIdGenerator.prefixFor(UserRole.DISPATCHER), sequence++ & 0xFFFFF);
+	}
+
+	@Benchmark
+	public boolean isValidAccessId() {
+		return UserIdGenerator.isValid(ACCESS_IDS[next++ & 3]);
+	}
+
+	@Benchmark
+	public boolean hasValidChecksum() {
+		return UserIdGenerator.hasValidChecksum(ACCESS_IDS[next++ & 3]);
+	}
+}
@@ -0,0 +1,74 @@
+package com.volteryde.benchmarks;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reaches code the services keep private, so the suites measure the real
+ * implementation rather than a copy of it.
+ */
+final class Internals {
+
+	private Internals() {
+	}
+
+	/**
+	 * Instance built through the constructor Spring would use, with every
+	 * collaborator null (primitives zero), for methods that never touch them.
+	 */
+	static <T> T withoutCollaborators(Class<T> type) {
+		Constructor<?> constructor = injectionConstructor(type);
+		Object[] arguments = new Object[constructor.getParameterCount()];
+		Class<?>[] parameterTypes = constructor.getParameterTypes();
+		for (int i = 0; i < arguments.length; i++) {
+			if (parameterTypes[i].isPrimitive()) {
+				arguments[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+			}
+		}
+		try {
+			constructor.setAccessible(true);
+			return type.cast(constructor.newInstance(arguments));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * The {@code @Autowired} constructor, else the only one, else the one
+	 * with the most parameters. Declaration order is unspecified, so the
+	 * first declared constructor is not a choice.
+	 */
+	private static Constructor<?> injectionConstructor(Class<?> type) {
+		Constructor<?>[] constructors = type.getDeclaredConstructors();
+		List<Constructor<?>> autowired = Arrays.stream(constructors)
+				.filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
+				.toList();
+		if (autowired.size() == 1) {
+			return autowired.get(0);
+		}
+		return Arrays.stream(constructors)
+				.max(Comparator.comparingInt(Constructor::getParameterCount))
+				.orElseThrow(() -> new IllegalStateException("No constructor on " + type.getName()));
+	}
+
+	/**
+	 * Handle on a private instance method, typed (receiver, parameters...)
+	 * return so callers can use {@code invokeExact}.
+	 */
+	static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+		try {
+			return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+					.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("No method " + owner.getName() + "#" + name, e);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.auth.entity.RoleEntity;
+import com.volteryde.auth.entity.UserEntity;
+import com.volteryde.auth.service.JwtService;
+import com.volteryde.clientauth.entity.ClientUser;
+import com.volteryde.clientauth.service.ClientJwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issue and validation in auth-service ({@link JwtService},
+ * which derives the HMAC key on every call) and client-auth-service
+ * ({@link ClientJwtService}, which caches it at startup).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+	private static final long EXPIRATION_MS = 3_600_000L;
+	private static final long REFRESH_EXPIRATION_MS = 604_800_000L;
+
+	private JwtService jwtService;
+	private ClientJwtService clientJwtService;
+	private UserEntity user;
+	private ClientUser clientUser;
+	private String accessToken;
+	private String clientAccessToken;
+
+	@Setup
+	public void setUp() {
+		jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION_MS);
+		ReflectionTestUtils.setField(jwtService, "refreshExpiration", REFRESH_EXPIRATION_MS);
+
+		clientJwtService = new ClientJwtService();
+		ReflectionTestUtils.setField(clientJwtService, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(clientJwtService, "jwtExpiration", EXPIRATION_MS);
+		ReflectionTestUtils.setField(clientJwtService, "refreshExpiration", REFRESH_EXPIRATION_MS);
+		ReflectionTestUtils.invokeMethod(clientJwtService, "init");
+
+		user = Fixtures.staffUser();
+		user.setRoles(Set.of(new RoleEntity(RoleEntity.UserRole.DISPATCHER),
+				new RoleEntity(RoleEntity.UserRole.CUSTOMER_SUPPORT)));
+		clientUser = Fixtures.rider();
+
+		accessToken = jwtService.generateAccessToken(user);
+		clientAccessToken = clientJwtService.generateAccessToken(clientUser);
+	}
+
+	@Benchmark
+	public String authGenerateAccessToken() {
+		return jwtService.generateAccessToken(user);
+	}
+
+	@Benchmark
+	public boolean authValidateToken() {
+		return jwtService.validateToken(accessToken);
+	}
+
+	/**
+	 * What the request filter does per call: one more full parse.
+	 */
+	@Benchmark
+	public String authExtractUserId() {
+		return jwtService.extractUserId(accessToken);
+	}
+
+	@Benchmark
+	public String clientGenerateAccessToken() {
+		return clientJwtService.generateAccessToken(clientUser);
+	}
+
+	@Benchmark
+	public boolean clientValidateToken() {
+		return clientJwtService.validateToken(clientAccessToken);
+	}
+
+	@Benchmark
+	public Optional<Claims> clientExtractValidClaims() {
+		return clientJwtService.extractValidClaims(clientAccessToken);
+	}
+}
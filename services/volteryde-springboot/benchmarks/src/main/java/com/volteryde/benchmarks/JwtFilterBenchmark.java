@@ -0,0 +1,98 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.usermanagement.security.JwtAuthenticationFilter;
+import com.volteryde.usermanagement.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One authenticated request through the user-management-service JWT filter
+ * ({@link JwtAuthenticationFilter}: one parse, cached key) against the
+ * previous sequence (three parses, each rebuilding the key and parser, then
+ * new authorities). Add {@code -prof gc} for bytes allocated per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		token = Jwts.builder()
+				.subject("VR-A00000001")
+				.claim("roles", List.of("ADMIN", "SYSTEM_SUPPORT"))
+				.expiration(new Date(System.currentTimeMillis() + 3_600_000L))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+		filter = new JwtAuthenticationFilter(new JwtUtil(SECRET));
+		request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader("Authorization", "Bearer " + token);
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication filter() throws Exception {
+		SecurityContextHolder.clearContext();
+		filter.doFilter(request, response, new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	/**
+	 * The pre-rework sequence: validateToken, extractUsername, extractRoles,
+	 * then mapping the roles to new authorities.
+	 */
+	@Benchmark
+	public void previousPath(Blackhole blackhole) {
+		parseWithFreshParser(token);
+		String userId = parseWithFreshParser(token).getSubject();
+		@SuppressWarnings("unchecked")
+		List<String> roles = parseWithFreshParser(token).get("roles", List.class);
+		List<SimpleGrantedAuthority> authorities = roles.stream()
+				.map(SimpleGrantedAuthority::new)
+				.collect(Collectors.toList());
+		blackhole.consume(userId);
+		blackhole.consume(authorities);
+	}
+
+	private static Claims parseWithFreshParser(String token) {
+		return Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(token)
+				.getPayload();
+	}
+}
@@ -0,0 +1,112 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.clientauth.service.RateLimiterService;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work {@link RateLimiterService} does around its Redis calls: key
+ * building, lower-casing and branching. Redis is replaced by
+ * {@link FreshWindowRedisTemplate}, so the score excludes the network round
+ * trips that dominate in production and isolates what a code change can
+ * regress.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+	private static final String[] PHONES = { "+233241234567", "+233201234567", "+233551234567", "+233271234567" };
+	private static final String[] EMAILS = { "Ama.Mensah@Volteryde.org", "kofi.asante@example.com",
+			"ESI.OWUSU@EXAMPLE.COM", "yaw@example.com" };
+	private static final String IP = "41.66.200.17";
+
+	private RateLimiterService rateLimiter;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		rateLimiter = new RateLimiterService(new FreshWindowRedisTemplate(),
+				new BusinessMetrics(new SimpleMeterRegistry()));
+	}
+
+	@Benchmark
+	public int checkAndRecordOtp() {
+		int i = next++ & 3;
+		rateLimiter.checkAndRecordOtp(PHONES[i], IP);
+		return i;
+	}
+
+	@Benchmark
+	public int checkLoginAllowed() {
+		int i = next++ & 3;
+		rateLimiter.checkLoginAllowed(EMAILS[i], IP);
+		return i;
+	}
+
+	@Benchmark
+	public void checkAndRecordRegister() {
+		rateLimiter.checkAndRecordRegister(IP);
+	}
+
+	/**
+	 * Redis where every counter is in a new window: increments return 1,
+	 * nothing is stored, no key exists. Every check takes the allowed path.
+	 */
+	static class FreshWindowRedisTemplate extends StringRedisTemplate {
+
+		@SuppressWarnings("unchecked")
+		private final ValueOperations<String, String> values = (ValueOperations<String, String>) Proxy.newProxyInstance(
+				ValueOperations.class.getClassLoader(), new Class<?>[] { ValueOperations.class },
+				(proxy, method, args) -> method.getName().equals("increment") ? Long.valueOf(1L) : null);
+
+		@Override
+		public ValueOperations<String, String> opsForValue() {
+			return values;
+		}
+
+		@Override
+		public Boolean hasKey(String key) {
+			return Boolean.FALSE;
+		}
+
+		@Override
+		public Boolean expire(String key, long timeout, TimeUnit unit) {
+			return Boolean.TRUE;
+		}
+
+		@Override
+		public Boolean expire(String key, Duration timeout) {
+			return Boolean.TRUE;
+		}
+
+		@Override
+		public Long getExpire(String key) {
+			return -2L;
+		}
+
+		@Override
+		public Boolean delete(String key) {
+			return Boolean.FALSE;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.volteryde.benchmarks;
+
+import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.repository.UserSearchRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserSearchRepository} latency per query shape over a generated user
+ * table, with the pg_trgm index ({@code indexed=true}) and with the ILIKE
+ * fallback. Needs Docker: each trial starts its own PostgreSQL, so run it on
+ * its own with {@code -Djmh.includes=UserSearchBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSearchBenchmark {
+
+	private static final String SCHEMA = "user_search_bench";
+	private static final int LIMIT = 20;
+	private static final int QUERIES = 64;
+	private static final String[] FIRST_NAMES = { "kwame", "ama", "kofi", "akosua", "yaw", "abena", "kwesi",
+			"efua", "kojo", "adwoa", "samuel", "grace", "emmanuel", "mercy", "daniel", "esther" };
+	private static final String[] LAST_NAMES = { "mensah", "owusu", "asante", "boateng", "osei", "appiah",
+			"addo", "agyeman", "darko", "ofori", "quaye", "nkrumah", "amoah", "tetteh", "bonsu", "acheampong" };
+
+	@Param({ "100000" })
+	private int rows;
+
+	@Param({ "true", "false" })
+	private boolean indexed;
+
+	private PostgreSQLContainer<?> postgres;
+	private UserSearchRepository repository;
+	private final String[] exactIds = new String[QUERIES];
+	private final String[] idPrefixes = new String[QUERIES];
+	private final String[] fullNames = new String[QUERIES];
+	private final String[] namePrefixes = new String[QUERIES];
+	private final String[] phoneFragments = new String[QUERIES];
+	private int next;
+
+	@Setup
+	public void setUp() {
+		postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+		postgres.start();
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+				postgres.getPassword());
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+		jdbc.execute("create schema " + SCHEMA);
+		jdbc.execute("create table " + SCHEMA + ".users (id uuid primary key, user_id varchar(20) not null unique,"
+				+ " email varchar(255) not null, first_name varchar(50) not null, last_name varchar(50) not null,"
+				+ " phone_number varchar(20), role varchar(20) not null, status varchar(20) not null,"
+				+ " organization_id uuid, created_at timestamp not null)");
+		jdbc.execute("create table " + SCHEMA + ".driver_profiles (id uuid primary key, user_id uuid not null,"
+				+ " status varchar(255), vehicle_assigned_id varchar(255))");
+		jdbc.execute("create table " + SCHEMA + ".fleet_manager_profiles (id uuid primary key, user_id uuid not null,"
+				+ " assigned_region varchar(255), hub_id varchar(255))");
+
+		String firstNames = "array['" + String.join("','", FIRST_NAMES) + "']";
+		String lastNames = "array['" + String.join("','", LAST_NAMES) + "']";
+		jdbc.execute("insert into " + SCHEMA + ".users"
+				+ " select gen_random_uuid(), 'VR-D' || lpad(n::text, 8, '0'),"
+				+ " (" + firstNames + ")[1 + n % 16] || '.' || (" + lastNames + ")[1 + (n / 16) % 16] || n || '@example.com',"
+				+ " initcap((" + firstNames + ")[1 + n % 16]), initcap((" + lastNames + ")[1 + (n / 16) % 16]),"
+				+ " '+2332' || lpad((n * 7919 % 100000000)::text, 8, '0'),"
+				+ " case when n % 5 = 0 then 'DRIVER' else 'CLIENT' end, 'ACTIVE', null,"
+				+ " now() - (n || ' seconds')::interval"
+				+ " from generate_series(1, " + rows + ") n");
+		jdbc.execute("insert into " + SCHEMA + ".driver_profiles"
+				+ " select gen_random_uuid(), id, 'ACTIVE', null from " + SCHEMA + ".users where role = 'DRIVER'");
+		jdbc.execute("create index on " + SCHEMA + ".driver_profiles (user_id)");
+		jdbc.execute("create index on " + SCHEMA + ".fleet_manager_profiles (user_id)");
+
+		repository = new UserSearchRepository(new NamedParameterJdbcTemplate(dataSource), SCHEMA);
+		if (indexed) {
+			repository.ensureIndexes();
+		}
+		jdbc.execute("analyze " + SCHEMA + ".users");
+
+		Random random = new Random(42);
+		for (int i = 0; i < QUERIES; i++) {
+			int n = 1 + random.nextInt(rows);
+			exactIds[i] = String.format("vr-d%08d", n);
+			idPrefixes[i] = exactIds[i].substring(0, 10);
+			fullNames[i] = FIRST_NAMES[random.nextInt(16)] + " " + LAST_NAMES[random.nextInt(16)];
+			namePrefixes[i] = LAST_NAMES[random.nextInt(16)].substring(0, 4);
+			phoneFragments[i] = String.format("%08d", n * 7919L % 100000000L).substring(0, 6);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (postgres != null) {
+			postgres.stop();
+		}
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> exactUserId() {
+		return repository.search(exactIds[nextIndex()], LIMIT);
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> userIdPrefix() {
+		return repository.search(idPrefixes[nextIndex()], LIMIT);
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> fullName() {
+		return repository.search(fullNames[nextIndex()], LIMIT);
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> namePrefix() {
+		return repository.search(namePrefixes[nextIndex()], LIMIT);
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> misspelledName() {
+		return repository.search("acheampng", LIMIT);
+	}
+
+	@Benchmark
+	public List<UserDto.UserSummary> phoneFragment() {
+		return repository.search(phoneFragments[nextIndex()], LIMIT);
+	}
+
+	private int nextIndex() {
+		next = (next + 1) % QUERIES;
+		return next;
+	}
+}
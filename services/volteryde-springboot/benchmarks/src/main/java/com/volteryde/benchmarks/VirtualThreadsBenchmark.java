@@ -0,0 +1,131 @@
+package com.volteryde.benchmarks;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second through embedded Tomcat when every request blocks for
+ * {@code latencyMillis} (standing in for a database, Redis or HTTP call):
+ * the default 200-thread platform pool against virtual threads, i.e. what
+ * {@code VIRTUAL_THREADS_ENABLED=true} changes. {@code VIRTUAL_PINNED} blocks
+ * inside {@code synchronized}, so each virtual thread holds its carrier and
+ * throughput falls to roughly cores / latency.
+ *
+ * The 512 client threads exceed the platform pool on purpose. The virtual
+ * modes need Java 21; on older JVMs their trials fail in setup and the
+ * platform trial still runs. Add {@code -prof gc} or watch RSS for the
+ * memory side.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(512)
+@State(Scope.Benchmark)
+public class VirtualThreadsBenchmark {
+
+	public enum ExecutorMode {
+		PLATFORM, VIRTUAL, VIRTUAL_PINNED
+	}
+
+	@Param({ "PLATFORM", "VIRTUAL", "VIRTUAL_PINNED" })
+	private ExecutorMode mode;
+
+	@Param({ "50" })
+	private long latencyMillis;
+
+	private WebServer server;
+	private HttpClient client;
+	private HttpRequest request;
+
+	@Setup
+	public void setUp() {
+		if (mode != ExecutorMode.PLATFORM && Runtime.version().feature() < 21) {
+			throw new IllegalStateException(mode + " needs Java 21, running on " + Runtime.version());
+		}
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+		if (mode != ExecutorMode.PLATFORM) {
+			// What Boot installs for spring.threads.virtual.enabled=true
+			factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(new VirtualThreadExecutor("bench-")));
+		}
+		server = factory.getWebServer(context -> context
+				.addServlet("blocking", new BlockingServlet(latencyMillis, mode == ExecutorMode.VIRTUAL_PINNED))
+				.addMapping("/"));
+		server.start();
+		client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/"))
+				.timeout(Duration.ofSeconds(60))
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Benchmark
+	public int blockingRequest() throws IOException, InterruptedException {
+		HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode());
+		}
+		return response.statusCode();
+	}
+
+	static class BlockingServlet extends HttpServlet {
+
+		private final long latencyMillis;
+		private final boolean pinned;
+
+		BlockingServlet(long latencyMillis, boolean pinned) {
+			this.latencyMillis = latencyMillis;
+			this.pinned = pinned;
+		}
+
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			try {
+				if (pinned) {
+					// Uncontended, yet a virtual thread sleeping here holds its carrier
+					synchronized (new Object()) {
+						Thread.sleep(latencyMillis);
+					}
+				} else {
+					Thread.sleep(latencyMillis);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			response.setContentType("application/json");
+			response.getWriter().write("{\"status\":\"ok\"}");
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package com.volteryde.clientauth;
 
+import com.volteryde.shared.metrics.BusinessMetricsConfiguration;
+import com.volteryde.shared.tracing.TracingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 /**
  * Client Authentication Service Application
@@ -14,6 +17,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@Import({ BusinessMetricsConfiguration.class, TracingConfiguration.class })
 public class ClientAuthApplication {
 
     public static void main(String[] args) {
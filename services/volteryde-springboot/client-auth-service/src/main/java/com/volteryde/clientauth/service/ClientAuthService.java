@@ -2,9 +2,13 @@ package com.volteryde.clientauth.service;
 
 import com.volteryde.clientauth.dto.*;
 import com.volteryde.clientauth.entity.*;
+import com.volteryde.clientauth.exception.RateLimitExceededException;
 import com.volteryde.clientauth.exception.UserNotFoundException;
 import com.volteryde.clientauth.repository.*;
 import io.jsonwebtoken.*;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.Measured;
+import com.volteryde.shared.metrics.MeasuredCount;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +28,10 @@ import java.util.*;
  * Handles authentication for Riders (external clients) via Phone/OTP,
  * Email/Password, and Social Login.
  * Drivers are internal workers and use auth-service instead.
+ *
+ * Logins are timed in {@code volteryde.auth.login}, tagged with the method
+ * (password, otp, google) and the outcome, so rejected attempts can be told
+ * apart from errors.
  */
 @Service
 public class ClientAuthService {
@@ -34,6 +42,9 @@ public class ClientAuthService {
     private static final String CURRENT_TERMS_VERSION = "1.0";
     private static final String CURRENT_PRIVACY_VERSION = "1.0";
 
+    private static final String LOGIN_METRIC = "auth.login";
+    private static final String METHOD = "method";
+
     private final ClientUserRepository userRepository;
     private final ClientRefreshTokenRepository refreshTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
@@ -42,6 +53,7 @@ public class ClientAuthService {
     private final ClientJwtService jwtService;
     private final RateLimiterService rateLimiterService;
     private final PasswordEncoder passwordEncoder;
+    private final BusinessMetrics metrics;
 
     @Value("${spring.security.jwt.secret}")
     private String jwtSecret;
@@ -63,7 +75,8 @@ public class ClientAuthService {
             OtpService otpService,
             ClientJwtService jwtService,
             RateLimiterService rateLimiterService,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            BusinessMetrics metrics) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
@@ -72,6 +85,7 @@ public class ClientAuthService {
         this.jwtService = jwtService;
         this.rateLimiterService = rateLimiterService;
         this.passwordEncoder = passwordEncoder;
+        this.metrics = metrics;
     }
 
     // ==================== OTP Authentication ====================
@@ -142,16 +156,24 @@ public class ClientAuthService {
      */
     @Transactional
     public ClientAuthResponse loginAfterOtp(String phone, String deviceInfo, String ipAddress) {
-        phone = normalizePhone(phone);
-
-        ClientUser user = userRepository.findByPhone(phone)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        try (BusinessMetrics.Timing timing = metrics.start(LOGIN_METRIC, METHOD, "otp")) {
+            phone = normalizePhone(phone);
+
+            ClientUser user = userRepository.findByPhone(phone)
+                    .orElseThrow(() -> {
+                        timing.outcome("user_not_found");
+                        return new RuntimeException("User not found");
+                    });
+
+            if (user.getStatus() != ClientStatus.ACTIVE) {
+                timing.outcome("inactive");
+                throw new RuntimeException("Account is not active");
+            }
 
-        if (user.getStatus() != ClientStatus.ACTIVE) {
-            throw new RuntimeException("Account is not active");
+            ClientAuthResponse response = generateAuthResponse(user, deviceInfo, ipAddress);
+            timing.success();
+            return response;
         }
-
-        return generateAuthResponse(user, deviceInfo, ipAddress);
     }
 
     /**
@@ -202,6 +224,7 @@ public class ClientAuthService {
      * Register with email and password
      */
     @Transactional
+    @Measured(value = "auth.register", tags = { METHOD, "password" })
     public ClientAuthResponse registerWithPassword(PasswordRegisterRequest request, String deviceInfo,
             String ipAddress) {
         // IP-based registration rate limit (10 per hour)
@@ -236,32 +259,54 @@ public class ClientAuthService {
      */
     @Transactional
     public ClientAuthResponse loginWithPassword(PasswordLoginRequest request, String deviceInfo, String ipAddress) {
-        // Rate limiting + account lockout check (before touching DB to avoid timing leaks)
-        rateLimiterService.checkLoginAllowed(request.getEmail(), ipAddress);
+        try (BusinessMetrics.Timing timing = metrics.start(LOGIN_METRIC, METHOD, "password")) {
+            // Rate limiting + account lockout check (before touching DB to avoid timing leaks)
+            enforceRateLimit(timing, () -> rateLimiterService.checkLoginAllowed(request.getEmail(), ipAddress));
+
+            ClientUser user = userRepository.findByEmail(request.getEmail())
+                    .orElseThrow(() -> {
+                        timing.outcome("invalid_credentials");
+                        rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
+                        return new RuntimeException("Invalid email or password");
+                    });
+
+            if (user.getPasswordHash() == null) {
+                timing.outcome("social_account");
+                rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
+                throw new RuntimeException("This account uses social login. Please use Google or phone login.");
+            }
 
-        ClientUser user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> {
-                    rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
-                    return new RuntimeException("Invalid email or password");
-                });
+            if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+                timing.outcome("invalid_credentials");
+                rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
+                throw new RuntimeException("Invalid email or password");
+            }
 
-        if (user.getPasswordHash() == null) {
-            rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
-            throw new RuntimeException("This account uses social login. Please use Google or phone login.");
-        }
+            if (user.getStatus() != ClientStatus.ACTIVE) {
+                timing.outcome("inactive");
+                throw new RuntimeException("Account is not active");
+            }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            rateLimiterService.recordLoginFailure(request.getEmail(), ipAddress);
-            throw new RuntimeException("Invalid email or password");
+            // Clear failure counters on successful login
+            rateLimiterService.recordLoginSuccess(request.getEmail());
+            ClientAuthResponse response = generateAuthResponse(user, deviceInfo, ipAddress);
+            timing.success();
+            return response;
         }
+    }
 
-        if (user.getStatus() != ClientStatus.ACTIVE) {
-            throw new RuntimeException("Account is not active");
+    /**
+     * Run a rate-limit check, labelling the login {@code rate_limited} only when
+     * the limiter rejects it. Other failures (e.g. Redis down) keep the
+     * default {@code error} outcome.
+     */
+    private void enforceRateLimit(BusinessMetrics.Timing timing, Runnable check) {
+        try {
+            check.run();
+        } catch (RateLimitExceededException e) {
+            timing.outcome("rate_limited");
+            throw e;
         }
-
-        // Clear failure counters on successful login
-        rateLimiterService.recordLoginSuccess(request.getEmail());
-        return generateAuthResponse(user, deviceInfo, ipAddress);
     }
 
     // ==================== Password Recovery ====================
@@ -457,6 +502,7 @@ public class ClientAuthService {
      * Refresh access token
      */
     @Transactional
+    @Measured("auth.token.refresh")
     public ClientAuthResponse refreshToken(RefreshTokenRequest request, String deviceInfo, String ipAddress) {
         ClientRefreshToken storedToken = refreshTokenRepository.findByToken(request.getRefreshToken())
                 .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
@@ -476,6 +522,7 @@ public class ClientAuthService {
      * Logout
      */
     @Transactional
+    @MeasuredCount(value = "auth.logout", tags = { "scope", "device" })
     public void logout(String refreshToken) {
         refreshTokenRepository.findByToken(refreshToken)
                 .ifPresent(token -> {
@@ -488,6 +535,7 @@ public class ClientAuthService {
      * Logout from all devices
      */
     @Transactional
+    @MeasuredCount(value = "auth.logout", tags = { "scope", "all" })
     public void logoutAll(String userId) {
         refreshTokenRepository.revokeAllByUserId(userId);
     }
@@ -500,7 +548,18 @@ public class ClientAuthService {
     @Transactional
     public ClientAuthResponse googleLogin(String googleId, String email, String firstName, String lastName,
             String idToken, String deviceInfo, String ipAddress) {
-        rateLimiterService.checkAndRecordSocialLogin(ipAddress);
+        try (BusinessMetrics.Timing timing = metrics.start(LOGIN_METRIC, METHOD, "google")) {
+            enforceRateLimit(timing, () -> rateLimiterService.checkAndRecordSocialLogin(ipAddress));
+
+            ClientAuthResponse response = doGoogleLogin(googleId, email, firstName, lastName, idToken, deviceInfo,
+                    ipAddress);
+            timing.success();
+            return response;
+        }
+    }
+
+    private ClientAuthResponse doGoogleLogin(String googleId, String email, String firstName, String lastName,
+            String idToken, String deviceInfo, String ipAddress) {
 
         if (idToken != null && !idToken.isEmpty()) {
             try {
@@ -557,7 +616,19 @@ public class ClientAuthService {
     public ClientAuthResponse googleLoginWithTerms(String googleId, String email, String firstName, String lastName,
             String idToken, String phone, String deviceInfo, String ipAddress,
             boolean termsAccepted, boolean privacyAccepted) {
-        rateLimiterService.checkAndRecordSocialLogin(ipAddress);
+        try (BusinessMetrics.Timing timing = metrics.start(LOGIN_METRIC, METHOD, "google")) {
+            enforceRateLimit(timing, () -> rateLimiterService.checkAndRecordSocialLogin(ipAddress));
+
+            ClientAuthResponse response = doGoogleLoginWithTerms(googleId, email, firstName, lastName, idToken,
+                    phone, deviceInfo, ipAddress, termsAccepted, privacyAccepted);
+            timing.success();
+            return response;
+        }
+    }
+
+    private ClientAuthResponse doGoogleLoginWithTerms(String googleId, String email, String firstName,
+            String lastName, String idToken, String phone, String deviceInfo, String ipAddress,
+            boolean termsAccepted, boolean privacyAccepted) {
 
         // Verify token if provided
         if (idToken != null && !idToken.isEmpty()) {
@@ -4,9 +4,11 @@ import com.volteryde.clientauth.exception.InvalidCredentialsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -24,9 +26,9 @@ import java.util.Set;
 public class GoogleOAuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(GoogleOAuthService.class);
-    private static final String GOOGLE_TOKEN_INFO_URL = "https://oauth2.googleapis.com/tokeninfo?id_token=";
 
     private final RestTemplate restTemplate;
+    private final String tokenInfoUrl;
     private final Set<String> validClientIds = new HashSet<>();
 
     @Value("${google.web-client-id:}")
@@ -38,8 +40,15 @@ public class GoogleOAuthService {
     @Value("${google.android-client-id:}")
     private String androidClientId;
 
-    public GoogleOAuthService() {
-        this.restTemplate = new RestTemplate();
+    public GoogleOAuthService(RestTemplateBuilder restTemplateBuilder,
+            @Value("${google.tokeninfo.url:https://oauth2.googleapis.com/tokeninfo}") String tokenInfoUrl,
+            @Value("${google.tokeninfo.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${google.tokeninfo.read-timeout:5s}") Duration readTimeout) {
+        this.tokenInfoUrl = tokenInfoUrl + "?id_token=";
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 
     /**
@@ -74,7 +83,7 @@ public class GoogleOAuthService {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> tokenInfo = restTemplate.getForObject(
-                    GOOGLE_TOKEN_INFO_URL + idToken,
+                    tokenInfoUrl + idToken,
                     Map.class);
 
             if (tokenInfo == null || tokenInfo.containsKey("error")) {
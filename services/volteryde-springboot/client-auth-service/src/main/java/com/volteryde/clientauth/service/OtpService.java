@@ -4,6 +4,8 @@ import com.volteryde.clientauth.dto.sms.OtpGenerateResponse;
 import com.volteryde.clientauth.dto.sms.OtpVerifyResponse;
 import com.volteryde.clientauth.entity.Otp;
 import com.volteryde.clientauth.repository.OtpRepository;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.Measured;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,6 +21,11 @@ import java.time.LocalDateTime;
  * Handles generation and verification of one-time passwords.
  * Uses Gatekeeper Pro API for OTP generation and verification (preferred).
  * Falls back to local generation if API is not configured.
+ *
+ * Metrics: {@code volteryde.otp.send} and {@code volteryde.otp.verify} time
+ * each request by channel; {@code volteryde.otp.provider.errors} counts
+ * Gatekeeper Pro calls that failed on the provider's side (wrong codes are
+ * not provider errors).
  */
 @Service
 public class OtpService {
@@ -28,6 +35,7 @@ public class OtpService {
 
     private final OtpRepository otpRepository;
     private final SmsProviderService smsProviderService;
+    private final BusinessMetrics metrics;
 
     @Value("${otp.expiration-minutes:10}")
     private int otpExpirationMinutes;
@@ -38,9 +46,11 @@ public class OtpService {
     @Value("${otp.use-external-provider:true}")
     private boolean useExternalProvider;
 
-    public OtpService(OtpRepository otpRepository, SmsProviderService smsProviderService) {
+    public OtpService(OtpRepository otpRepository, SmsProviderService smsProviderService,
+            BusinessMetrics metrics) {
         this.otpRepository = otpRepository;
         this.smsProviderService = smsProviderService;
+        this.metrics = metrics;
     }
 
     /**
@@ -86,6 +96,7 @@ public class OtpService {
                 maskPhone(phone), response.getReference());
         } else {
             logger.error("Failed to generate OTP via external API for phone: {}", maskPhone(phone));
+            countProviderError("generate", "sms", response == null);
         }
         
         return response;
@@ -100,6 +111,14 @@ public class OtpService {
      */
     @Transactional
     public OtpGenerateResponse generateOtpExternalByEmail(String email) {
+        try (BusinessMetrics.Timing timing = metrics.start("otp.send", "channel", "email")) {
+            OtpGenerateResponse response = doGenerateOtpExternalByEmail(email);
+            timing.outcome(response != null && response.isSuccess() ? BusinessMetrics.SUCCESS : BusinessMetrics.FAILURE);
+            return response;
+        }
+    }
+
+    private OtpGenerateResponse doGenerateOtpExternalByEmail(String email) {
         logger.info("Generating OTP via Gatekeeper Pro for email: {}", maskEmail(email));
         
         // Invalidate any existing OTPs for this email
@@ -133,6 +152,7 @@ public class OtpService {
                 maskEmail(email), response.getReference());
         } else {
             logger.error("Failed to generate OTP via external API for email: {}", maskEmail(email));
+            countProviderError("generate", "email", response == null);
         }
         
         return response;
@@ -147,6 +167,7 @@ public class OtpService {
      * @return true if verification succeeded
      */
     @Transactional
+    @Measured(value = "otp.verify", tags = { "channel", "email" })
     public boolean verifyOtpExternalByEmail(String email, String code) {
         logger.info("Verifying OTP via external API for email: {}", maskEmail(email));
         
@@ -185,6 +206,10 @@ public class OtpService {
             otpRepository.save(otp);
             logger.warn("OTP verification failed via external API for email: {}. Attempts: {}", 
                 maskEmail(email), otp.getAttempts());
+            // Without an error the provider answered and the code was wrong
+            if (response == null || response.getError() != null) {
+                countProviderError("verify", "email", response == null);
+            }
             return false;
         }
     }
@@ -270,6 +295,10 @@ public class OtpService {
             otpRepository.save(otp);
             logger.warn("OTP verification failed via external API for phone: {}. Attempts: {}", 
                 maskPhone(phone), otp.getAttempts());
+            // Without an error the provider answered and the code was wrong
+            if (response == null || response.getError() != null) {
+                countProviderError("verify", "sms", response == null);
+            }
             return false;
         }
     }
@@ -323,6 +352,7 @@ public class OtpService {
      * based on how the OTP was generated.
      */
     @Transactional
+    @Measured(value = "otp.verify", tags = { "channel", "sms" })
     public boolean verifyOtp(String phone, String code) {
         var optionalOtp = otpRepository.findTopByPhoneAndUsedFalseOrderByCreatedAtDesc(phone);
 
@@ -377,6 +407,7 @@ public class OtpService {
      * @param phone The phone number to send OTP to
      * @return true if OTP was generated and sent successfully
      */
+    @Measured(value = "otp.send", tags = { "channel", "sms" })
     public boolean sendOtpSms(String phone) {
         logger.info("Sending OTP to phone: {}", maskPhone(phone));
         
@@ -402,10 +433,20 @@ public class OtpService {
             }
         } catch (Exception e) {
             logger.error("Exception sending OTP: {}", e.getMessage(), e);
+            metrics.increment("otp.provider.errors", "operation", "generate", "channel", "sms", "reason", "exception");
             return false;
         }
     }
 
+    /**
+     * Count a provider-side failure: no response, or a response carrying an
+     * error.
+     */
+    private void countProviderError(String operation, String channel, boolean noResponse) {
+        metrics.increment("otp.provider.errors", "operation", operation, "channel", channel,
+                "reason", noResponse ? "no_response" : "error_response");
+    }
+
     /**
      * Check if SMS provider is properly configured.
      */
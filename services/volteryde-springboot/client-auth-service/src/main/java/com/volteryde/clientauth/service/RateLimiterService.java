@@ -1,5 +1,8 @@
 package com.volteryde.clientauth.service;
 
+import com.volteryde.clientauth.exception.RateLimitExceededException;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.MeasuredCount;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -28,6 +31,9 @@ import java.time.Duration;
  *
  * Graceful degradation: if Redis is unreachable, log an error and allow the
  * request through so the auth service stays available.
+ *
+ * Every rejection is counted in {@code volteryde.ratelimit.rejections},
+ * tagged with the action and the limit that tripped.
  */
 @Service
 public class RateLimiterService {
@@ -64,10 +70,19 @@ public class RateLimiterService {
     private static final int REG_IP_MAX               = 10;  // per hour
     private static final int SOCIAL_IP_MAX            = 30;  // per hour
 
+    // ── Metric tags ─────────────────────────────────────────────────────────────
+    private static final String ACTION_OTP            = "otp";
+    private static final String ACTION_EMAIL_OTP      = "email_otp";
+    private static final String ACTION_LOGIN          = "login";
+    private static final String ACTION_REGISTER       = "register";
+    private static final String ACTION_SOCIAL_LOGIN   = "social_login";
+
     private final StringRedisTemplate redis;
+    private final BusinessMetrics metrics;
 
-    public RateLimiterService(StringRedisTemplate redis) {
+    public RateLimiterService(StringRedisTemplate redis, BusinessMetrics metrics) {
         this.redis = redis;
+        this.metrics = metrics;
     }
 
     // ════════════════════════════════════════════════════════════════════════════
@@ -77,18 +92,19 @@ public class RateLimiterService {
     /** Check + record OTP attempt — throws {@code RuntimeException} if over limit. */
     public void checkAndRecordOtp(String phone, String ipAddress) {
         try {
-            enforceIpBlacklist(ipAddress);
-            enforceCounter(OTP_5MIN + phone,  OTP_MAX_PER_5MIN, Duration.ofMinutes(5),
+            enforceIpBlacklist(ipAddress, ACTION_OTP);
+            enforceCounter(OTP_5MIN + phone,  OTP_MAX_PER_5MIN, Duration.ofMinutes(5), ACTION_OTP, "phone_window",
                     "Too many OTP requests. Please wait %d minute(s) before requesting another code. " +
                     "You can request up to " + OTP_MAX_PER_5MIN + " codes every 5 minutes.");
-            enforceCounter(OTP_MIN + phone,   OTP_MAX_PER_MIN,  Duration.ofMinutes(1),
+            enforceCounter(OTP_MIN + phone,   OTP_MAX_PER_MIN,  Duration.ofMinutes(1), ACTION_OTP, "phone_burst",
                     "Too many OTP requests. Please slow down.");
             if (ipAddress != null && !ipAddress.isBlank()) {
                 long ipCount = increment(OTP_IP + ipAddress, Duration.ofMinutes(1));
                 if (ipCount > OTP_IP_MAX_PER_MIN) {
+                    rejected(ACTION_OTP, "ip_burst");
                     blacklistIp(ipAddress);
                     logger.error("IP {} blacklisted for exceeding OTP rate limit", maskIp(ipAddress));
-                    throw new RuntimeException("Your IP has been temporarily blocked due to suspicious activity.");
+                    throw new RateLimitExceededException("Your IP has been temporarily blocked due to suspicious activity.");
                 }
             }
         } catch (RuntimeException e) {
@@ -101,9 +117,9 @@ public class RateLimiterService {
     /** Check + record email OTP attempt — throws if over limit. */
     public void checkAndRecordEmailOtp(String email, String ipAddress) {
         try {
-            enforceIpBlacklist(ipAddress);
-            enforceCounter(EMAIL_OTP_5MIN + email, OTP_MAX_PER_5MIN, Duration.ofMinutes(5),
-                    "Too many OTP requests. Please wait %d minute(s) before requesting another code.");
+            enforceIpBlacklist(ipAddress, ACTION_EMAIL_OTP);
+            enforceCounter(EMAIL_OTP_5MIN + email, OTP_MAX_PER_5MIN, Duration.ofMinutes(5), ACTION_EMAIL_OTP,
+                    "email_window", "Too many OTP requests. Please wait %d minute(s) before requesting another code.");
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -124,15 +140,16 @@ public class RateLimiterService {
         try {
             // 1. IP limit (broad — blocks credential stuffing)
             enforceCounter(LOGIN_IP + ipAddress, LOGIN_IP_MAX, Duration.ofMinutes(LOGIN_WINDOW_MINUTES),
-                    "Too many login attempts from your network. Please try again in %d minute(s).");
+                    ACTION_LOGIN, "ip_window", "Too many login attempts from your network. Please try again in %d minute(s).");
 
             // 2. Account lockout (from consecutive failures)
             String lockKey = LOGIN_LOCK + email.toLowerCase();
             String locked  = redis.opsForValue().get(lockKey);
             if (locked != null) {
+                rejected(ACTION_LOGIN, "account_locked");
                 Long ttlSec = redis.getExpire(lockKey);
                 long minsLeft = ttlSec != null ? (ttlSec / 60) + 1 : LOGIN_LOCK_MINUTES;
-                throw new RuntimeException(
+                throw new RateLimitExceededException(
                         "Account temporarily locked due to too many failed attempts. " +
                         "Please try again in " + minsLeft + " minute(s).");
             }
@@ -142,9 +159,10 @@ public class RateLimiterService {
             String val     = redis.opsForValue().get(failKey);
             int    fails   = val != null ? Integer.parseInt(val) : 0;
             if (fails >= LOGIN_EMAIL_MAX) {
+                rejected(ACTION_LOGIN, "email_failures");
                 Long ttlSec = redis.getExpire(failKey);
                 long minsLeft = ttlSec != null ? (ttlSec / 60) + 1 : LOGIN_WINDOW_MINUTES;
-                throw new RuntimeException(
+                throw new RateLimitExceededException(
                         "Too many failed login attempts. Please try again in " + minsLeft + " minute(s).");
             }
         } catch (RuntimeException e) {
@@ -194,8 +212,8 @@ public class RateLimiterService {
     public void checkAndRecordRegister(String ipAddress) {
         if (ipAddress == null || ipAddress.isBlank()) return;
         try {
-            enforceIpBlacklist(ipAddress);
-            enforceCounter(REG_IP + ipAddress, REG_IP_MAX, Duration.ofHours(1),
+            enforceIpBlacklist(ipAddress, ACTION_REGISTER);
+            enforceCounter(REG_IP + ipAddress, REG_IP_MAX, Duration.ofHours(1), ACTION_REGISTER, "ip_window",
                     "Too many account registrations from your network. Please try again in %d minute(s).");
         } catch (RuntimeException e) {
             throw e;
@@ -212,8 +230,8 @@ public class RateLimiterService {
     public void checkAndRecordSocialLogin(String ipAddress) {
         if (ipAddress == null || ipAddress.isBlank()) return;
         try {
-            enforceIpBlacklist(ipAddress);
-            enforceCounter(SOCIAL_IP + ipAddress, SOCIAL_IP_MAX, Duration.ofHours(1),
+            enforceIpBlacklist(ipAddress, ACTION_SOCIAL_LOGIN);
+            enforceCounter(SOCIAL_IP + ipAddress, SOCIAL_IP_MAX, Duration.ofHours(1), ACTION_SOCIAL_LOGIN, "ip_window",
                     "Too many requests from your network. Please try again in %d minute(s).");
         } catch (RuntimeException e) {
             throw e;
@@ -250,6 +268,7 @@ public class RateLimiterService {
         }
     }
 
+    @MeasuredCount("ratelimit.unblocks")
     public void unblockIp(String ipAddress) {
         try {
             redis.delete(IP_BLACKLIST + ipAddress);
@@ -329,26 +348,29 @@ public class RateLimiterService {
      * Increment {@code key} and throw if the new count exceeds {@code max}.
      * The error message may contain one {@code %d} placeholder for remaining minutes.
      */
-    private void enforceCounter(String key, int max, Duration ttl, String messageTemplate) {
+    private void enforceCounter(String key, int max, Duration ttl, String action, String reason,
+                                String messageTemplate) {
         long count = increment(key, ttl);
         if (count > max) {
+            rejected(action, reason);
             Long ttlSec  = redis.getExpire(key);
             long minsLeft = ttlSec != null && ttlSec > 0 ? (ttlSec / 60) + 1 : (ttl.toMinutes());
             String msg = messageTemplate.contains("%d")
                     ? String.format(messageTemplate, minsLeft)
                     : messageTemplate;
-            throw new RuntimeException(msg);
+            throw new RateLimitExceededException(msg);
         }
     }
 
-    private void enforceIpBlacklist(String ipAddress) {
+    private void enforceIpBlacklist(String ipAddress, String action) {
         if (ipAddress == null || ipAddress.isBlank()) return;
         try {
             if (Boolean.TRUE.equals(redis.hasKey(IP_BLACKLIST + ipAddress))) {
+                rejected(action, "ip_blacklisted");
                 Long ttlSec   = redis.getExpire(IP_BLACKLIST + ipAddress);
                 long hoursLeft = ttlSec != null && ttlSec > 0 ? (ttlSec / 3600) + 1 : IP_BL_HOURS_FIRST;
                 logger.warn("Blocked request from blacklisted IP: {}", maskIp(ipAddress));
-                throw new RuntimeException(
+                throw new RateLimitExceededException(
                         "Your IP has been temporarily blocked due to suspicious activity. " +
                         "Please try again in " + hoursLeft + " hour(s).");
             }
@@ -376,6 +398,10 @@ public class RateLimiterService {
         }
     }
 
+    private void rejected(String action, String reason) {
+        metrics.increment("ratelimit.rejections", "action", action, "reason", reason);
+    }
+
     // ── Masking helpers ─────────────────────────────────────────────────────────
 
     private String maskIp(String ip) {
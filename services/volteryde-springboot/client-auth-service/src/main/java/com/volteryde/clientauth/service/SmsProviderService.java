@@ -9,11 +9,13 @@ import com.volteryde.clientauth.dto.sms.SmsSendResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -53,8 +55,17 @@ public class SmsProviderService {
     @Value("${sms.provider.project-name:Volteryde}")
     private String projectName;
 
-    public SmsProviderService() {
-        this.restTemplate = new RestTemplate();
+    /**
+     * Connect and read timeouts come from {@code sms.provider.*}; a plain
+     * RestTemplate would wait on a stalled Gatekeeper indefinitely.
+     */
+    public SmsProviderService(RestTemplateBuilder restTemplateBuilder,
+            @Value("${sms.provider.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${sms.provider.read-timeout:10s}") Duration readTimeout) {
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.volteryde.clientauth.service;
+
+import com.volteryde.clientauth.dto.PasswordLoginRequest;
+import com.volteryde.clientauth.exception.RateLimitExceededException;
+import com.volteryde.clientauth.repository.ClientRefreshTokenRepository;
+import com.volteryde.clientauth.repository.ClientUserRepository;
+import com.volteryde.clientauth.repository.PasswordResetTokenRepository;
+import com.volteryde.clientauth.repository.TermsAcceptanceRepository;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClientAuthServiceTest {
+
+    private static final String EMAIL = "ama@example.com";
+    private static final String IP = "10.0.0.1";
+
+    @Mock
+    private ClientUserRepository userRepository;
+
+    @Mock
+    private ClientRefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Mock
+    private TermsAcceptanceRepository termsAcceptanceRepository;
+
+    @Mock
+    private OtpService otpService;
+
+    @Mock
+    private ClientJwtService jwtService;
+
+    @Mock
+    private RateLimiterService rateLimiterService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ClientAuthService clientAuthService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientAuthService = new ClientAuthService(userRepository, refreshTokenRepository,
+                passwordResetTokenRepository, termsAcceptanceRepository, otpService, jwtService,
+                rateLimiterService, passwordEncoder, new BusinessMetrics(meterRegistry));
+    }
+
+    @Test
+    void limiterRejectionShouldBeRecordedAsRateLimited() {
+        doThrow(new RateLimitExceededException()).when(rateLimiterService).checkLoginAllowed(EMAIL, IP);
+
+        assertThatThrownBy(() -> clientAuthService.loginWithPassword(loginRequest(), "test", IP))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        assertThat(passwordLogins("rate_limited").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("volteryde.auth.login").tag("outcome", "error").timer()).isNull();
+    }
+
+    @Test
+    void redisFailureInTheLimiterShouldBeRecordedAsError() {
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(rateLimiterService).checkLoginAllowed(EMAIL, IP);
+
+        assertThatThrownBy(() -> clientAuthService.loginWithPassword(loginRequest(), "test", IP))
+                .isInstanceOf(RedisConnectionFailureException.class);
+
+        assertThat(passwordLogins("error").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("volteryde.auth.login").tag("outcome", "rate_limited").timer()).isNull();
+    }
+
+    @Test
+    void databaseFailureShouldBeRecordedAsError() {
+        when(userRepository.findByEmail(EMAIL)).thenThrow(new DataAccessResourceFailureException("pool exhausted"));
+
+        assertThatThrownBy(() -> clientAuthService.loginWithPassword(loginRequest(), "test", IP))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(passwordLogins("error").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("volteryde.auth.login").tag("outcome", "invalid_credentials").timer())
+                .isNull();
+    }
+
+    private Timer passwordLogins(String outcome) {
+        return meterRegistry.get("volteryde.auth.login").tag("method", "password").tag("outcome", outcome).timer();
+    }
+
+    private static PasswordLoginRequest loginRequest() {
+        PasswordLoginRequest request = new PasswordLoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword("secret");
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package com.volteryde.clientauth.service;
+
+import com.volteryde.clientauth.exception.GlobalExceptionHandler;
+import com.volteryde.clientauth.exception.RateLimitExceededException;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimiterServiceTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimiterService rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiterService = new RateLimiterService(redis, new BusinessMetrics(meterRegistry));
+        when(redis.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void loginOverTheIpLimitShouldBeRejectedWith429AndCounted() {
+        when(valueOperations.increment("RL:LOGIN:IP:10.0.0.1")).thenReturn(21L);
+        when(redis.getExpire("RL:LOGIN:IP:10.0.0.1")).thenReturn(300L);
+
+        RateLimitExceededException rejection = catchThrowableOfType(
+                () -> rateLimiterService.checkLoginAllowed("ama@example.com", "10.0.0.1"),
+                RateLimitExceededException.class);
+
+        assertThat(rejection).isNotNull();
+        assertThat(rejection.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejection.getErrorCode()).isEqualTo("RATE_LIMIT_EXCEEDED");
+        assertThat(rejection.getMessage()).contains("6 minute(s)");
+        assertThat(meterRegistry.get("volteryde.ratelimit.rejections")
+                .tag("action", "login").tag("reason", "ip_window").counter().count()).isEqualTo(1.0);
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                new GlobalExceptionHandler().handleClientAuthException(rejection);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getBody().getErrorCode()).isEqualTo("RATE_LIMIT_EXCEEDED");
+    }
+
+    @Test
+    void loginUnderTheLimitShouldPassWithoutCountingARejection() {
+        when(valueOperations.increment("RL:LOGIN:IP:10.0.0.1")).thenReturn(1L);
+
+        rateLimiterService.checkLoginAllowed("ama@example.com", "10.0.0.1");
+
+        verify(redis).expire("RL:LOGIN:IP:10.0.0.1", Duration.ofMinutes(15));
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        assertThat(meterRegistry.find("volteryde.ratelimit.rejections").counter()).isNull();
+    }
+}
@@ -0,0 +1,168 @@
+package com.volteryde.loadtest;
+
+import com.volteryde.loadtest.LoadRunner.Report;
+import com.volteryde.loadtest.stub.Faults;
+import com.volteryde.loadtest.stub.UpstreamStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static com.volteryde.loadtest.LoadRunner.json;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gateway transport under load: the volteryde-api route in front of a stub
+ * upstream that answers every call with the same JSON array. The same load
+ * runs without and with {@code Accept-Encoding: gzip}; each report's title
+ * carries the bytes per response. Sizes come from
+ * {@code -Dloadtest.gateway.requests}, {@code .concurrency} and
+ * {@code .payload-bytes}, the upstream delay from
+ * {@code -Dloadtest.upstream.latency}. Compare the default transport with the
+ * performance profile by adding
+ * {@code -Dloadtest.api-gateway.args=--spring.profiles.active=performance}.
+ *
+ * No Redis: the rate limiter fails open after its short timeout, and every
+ * user token stays inside the route's per-user burst anyway.
+ */
+class GatewayThroughputIT {
+
+	private static final int REQUESTS = Integer.getInteger("loadtest.gateway.requests", 20_000);
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.gateway.concurrency", 64);
+	private static final int PAYLOAD_BYTES = Integer.getInteger("loadtest.gateway.payload-bytes", 8192);
+	// Well inside the route's per-user burst, so no request is rate limited
+	private static final int REQUESTS_PER_USER = 20;
+
+	private static final String JWT_SECRET = "gateway-load-test-secret-0123456789abcdef";
+	private static final String PATH = "/api/v1/booking/mine";
+
+	private static UpstreamStub upstream;
+	private static ServiceProcess gateway;
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeAll
+	static void startGateway() throws InterruptedException {
+		upstream = new UpstreamStub(Faults.fromSystemProperties("upstream",
+				Faults.latency(Duration.ofMillis(5), Duration.ZERO)), PAYLOAD_BYTES);
+		gateway = ServiceProcess.start("api-gateway", "", List.of(
+				"--spring.cloud.discovery.client.simple.instances.volteryde-api[0].uri=" + upstream.baseUrl(),
+				"--spring.data.redis.port=1",
+				"--gateway.rate-limit.redis-timeout=50ms",
+				"--spring.security.jwt.secret=" + JWT_SECRET));
+		// JIT, pools and the balancer's view of the upstream
+		run("warm-up", Math.min(REQUESTS, 2_000));
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		if (gateway != null) {
+			gateway.close();
+		}
+		if (upstream != null) {
+			upstream.close();
+		}
+	}
+
+	@BeforeEach
+	void resetStubCalls() {
+		upstream.resetCalls();
+	}
+
+	@Test
+	void identity() throws Exception {
+		int bytes = responseBytes(null);
+		Report report = run(String.format("gateway, identity, %d B/response", bytes), REQUESTS);
+		report.publish(Map.of(upstream.name(), upstream.calls()));
+		assertThat(report.errors()).isZero();
+		assertThat(report.failures()).isEmpty();
+	}
+
+	@Test
+	void gzip() throws Exception {
+		int bytes = responseBytes("gzip");
+		Report report = run(String.format("gateway, gzip, %d B/response", bytes), REQUESTS, "Accept-Encoding", "gzip");
+		report.publish(Map.of(upstream.name(), upstream.calls()));
+		assertThat(report.errors()).isZero();
+		assertThat(report.failures()).isEmpty();
+	}
+
+	/**
+	 * Compression is only on in the performance profile; when it is, JSON
+	 * this size must shrink.
+	 */
+	@Test
+	void gzipResponsesAreSmallerWhenCompressionIsOn() throws Exception {
+		HttpResponse<byte[]> gzip = get(token("probe", 0), "gzip");
+		assertThat(gzip.statusCode()).isEqualTo(200);
+		if (gzip.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent()) {
+			assertThat(gzip.body().length).isLessThan(upstream.payloadBytes() / 2);
+		} else {
+			assertThat(gzip.body().length).isEqualTo(upstream.payloadBytes());
+		}
+	}
+
+	private static Report run(String scenario, int requests, String... headers) throws InterruptedException {
+		// Fresh subjects per run, so earlier runs leave no spent tokens in any user's bucket
+		String run = Long.toString(System.nanoTime(), 36);
+		String[] tokens = new String[Math.max(1, requests / REQUESTS_PER_USER)];
+		for (int user = 0; user < tokens.length; user++) {
+			tokens[user] = token(run, user);
+		}
+		return LoadRunner.run(scenario, CONCURRENCY, requests, List.of(gateway), (i, session) -> {
+			String[] withAuthorization = new String[headers.length + 2];
+			withAuthorization[0] = "Authorization";
+			withAuthorization[1] = "Bearer " + tokens[i % tokens.length];
+			System.arraycopy(headers, 0, withAuthorization, 2, headers.length);
+			session.get("GET " + PATH, gateway.url(PATH), withAuthorization);
+		});
+	}
+
+	private int responseBytes(String acceptEncoding) throws IOException, InterruptedException {
+		return get(token("probe", 1), acceptEncoding).body().length;
+	}
+
+	private HttpResponse<byte[]> get(String token, String acceptEncoding) throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gateway.url(PATH)))
+				.header("Authorization", "Bearer " + token);
+		if (acceptEncoding != null) {
+			request.header("Accept-Encoding", acceptEncoding);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	/**
+	 * An HS256 access token for {@code bench-<run>-<user>}, signed the way the
+	 * gateway's key resolver verifies it.
+	 */
+	private static String token(String run, int user) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		try {
+			String header = encoder.encodeToString(
+					LoadRunner.MAPPER.writeValueAsBytes(json("alg", "HS256", "typ", "JWT")));
+			String claims = encoder.encodeToString(LoadRunner.MAPPER.writeValueAsBytes(json(
+					"sub", "bench-" + run + "-" + user,
+					"exp", System.currentTimeMillis() / 1000 + 3600)));
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(JWT_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			String signature = encoder.encodeToString(
+					mac.doFinal((header + "." + claims).getBytes(StandardCharsets.UTF_8)));
+			return header + "." + claims + "." + signature;
+		} catch (IOException | GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,267 @@
+package com.volteryde.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-model load: {@code concurrency} virtual users each run scripted
+ * iterations back to back until {@code iterations} have run. Every request
+ * is recorded under its step name, so one iteration (send OTP, then verify)
+ * reports each call separately.
+ */
+final class LoadRunner {
+
+	static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final HttpClient CLIENT = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	interface Iteration {
+		void run(int index, Session session) throws Exception;
+	}
+
+	record Response(int status, JsonNode body) {
+
+		boolean ok() {
+			return status >= 200 && status < 300;
+		}
+	}
+
+	private LoadRunner() {
+	}
+
+	/**
+	 * Runs the scenario while sampling pool saturation on {@code services}.
+	 */
+	static Report run(String scenario, int concurrency, int iterations, List<ServiceProcess> services,
+			Iteration iteration) throws InterruptedException {
+		Session session = new Session();
+		AtomicInteger next = new AtomicInteger();
+		ExecutorService users = Executors.newFixedThreadPool(concurrency);
+		SaturationSampler sampler = new SaturationSampler(services);
+		sampler.start();
+		long start = System.nanoTime();
+		for (int u = 0; u < concurrency; u++) {
+			users.execute(() -> {
+				for (int i = next.getAndIncrement(); i < iterations; i = next.getAndIncrement()) {
+					try {
+						iteration.run(i, session);
+					} catch (Exception e) {
+						session.recordFailure(e);
+					}
+				}
+			});
+		}
+		users.shutdown();
+		if (!users.awaitTermination(1, TimeUnit.HOURS)) {
+			users.shutdownNow();
+		}
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		return new Report(scenario, concurrency, iterations, elapsed, session.steps(), session.failures(),
+				sampler.finish());
+	}
+
+	/**
+	 * The HTTP client the iterations use; records every request it sends.
+	 */
+	static final class Session {
+
+		private final Map<String, Step> steps = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+		Response post(String step, String url, Object body, String... headers) throws IOException {
+			HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+					.POST(HttpRequest.BodyPublishers.ofString(body instanceof String text ? text
+							: MAPPER.writeValueAsString(body)))
+					.header("Content-Type", "application/json");
+			return send(step, request, headers);
+		}
+
+		Response get(String step, String url, String... headers) throws IOException {
+			return send(step, HttpRequest.newBuilder(URI.create(url)).GET(), headers);
+		}
+
+		private Response send(String step, HttpRequest.Builder request, String... headers) throws IOException {
+			request.timeout(REQUEST_TIMEOUT).header("User-Agent", "volteryde-load-test");
+			if (headers.length > 0) {
+				request.headers(headers);
+			}
+			Step stats = steps.computeIfAbsent(step, key -> new Step());
+			long start = System.nanoTime();
+			try {
+				HttpResponse<byte[]> response = CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+				stats.record(System.nanoTime() - start, response.statusCode());
+				byte[] body = response.body();
+				JsonNode json = body.length == 0 ? MAPPER.nullNode() : parse(body);
+				return new Response(response.statusCode(), json);
+			} catch (IOException e) {
+				stats.record(System.nanoTime() - start, -1);
+				throw e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("interrupted", e);
+			}
+		}
+
+		void recordFailure(Exception e) {
+			failures.computeIfAbsent(e.getClass().getSimpleName() + ": " + e.getMessage(),
+					key -> new AtomicInteger()).incrementAndGet();
+		}
+
+		Map<String, Step> steps() {
+			return new TreeMap<>(steps);
+		}
+
+		Map<String, Integer> failures() {
+			Map<String, Integer> snapshot = new TreeMap<>();
+			failures.forEach((message, count) -> snapshot.put(message, count.get()));
+			return snapshot;
+		}
+
+		private static JsonNode parse(byte[] body) {
+			try {
+				return MAPPER.readTree(body);
+			} catch (IOException e) {
+				return MAPPER.getNodeFactory().textNode(new String(body));
+			}
+		}
+	}
+
+	/**
+	 * Latencies and status codes of one step; -1 stands for no response.
+	 */
+	static final class Step {
+
+		private long[] latencies = new long[1024];
+		private int count;
+		private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+		synchronized void record(long nanos, int status) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			statuses.merge(status, 1, Integer::sum);
+		}
+
+		synchronized int count() {
+			return count;
+		}
+
+		synchronized int errors() {
+			int errors = 0;
+			for (Map.Entry<Integer, Integer> entry : statuses.entrySet()) {
+				if (entry.getKey() < 200 || entry.getKey() >= 300) {
+					errors += entry.getValue();
+				}
+			}
+			return errors;
+		}
+
+		synchronized Map<Integer, Integer> statuses() {
+			return new TreeMap<>(statuses);
+		}
+
+		/**
+		 * Latency at quantile {@code q} in milliseconds, nearest-rank.
+		 */
+		synchronized double percentile(double q) {
+			if (count == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(q * count) - 1;
+			return sorted[Math.min(count - 1, Math.max(0, rank))] / 1e6;
+		}
+	}
+
+	record Report(String scenario, int concurrency, int iterations, Duration elapsed, Map<String, Step> steps,
+			Map<String, Integer> failures, Map<String, Map<String, String>> saturation) {
+
+		int errors() {
+			return steps.values().stream().mapToInt(Step::errors).sum();
+		}
+
+		int requests() {
+			return steps.values().stream().mapToInt(Step::count).sum();
+		}
+
+		String render() {
+			double seconds = elapsed.toNanos() / 1e9;
+			StringBuilder out = new StringBuilder();
+			out.append(String.format("%n== %s: %d iterations, %d virtual users, %.1f s%n", scenario, iterations,
+					concurrency, seconds));
+			out.append(String.format("  %-28s %8s %9s %9s %9s %9s %9s  %s%n", "step", "requests", "req/s", "p50 ms",
+					"p90 ms", "p99 ms", "max ms", "status codes"));
+			steps.forEach((name, step) -> out.append(String.format("  %-28s %8d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+					name, step.count(), step.count() / seconds, step.percentile(0.50), step.percentile(0.90),
+					step.percentile(0.99), step.percentile(1.0), step.statuses())));
+			failures.forEach((message, count) -> out.append(String.format("  failed iterations: %d x %s%n", count,
+					message)));
+			saturation.forEach((service, gauges) -> {
+				out.append(String.format("  %s pools (peak / limit)%n", service));
+				gauges.forEach((gauge, value) -> out.append(String.format("    %-30s %s%n", gauge, value)));
+			});
+			return out.toString();
+		}
+
+		/**
+		 * Prints the report and appends it to {@code <output-dir>/report.txt}.
+		 */
+		void publish(Map<String, Map<String, Long>> stubCalls) {
+			StringBuilder text = new StringBuilder(render());
+			stubCalls.forEach((stub, calls) -> {
+				if (!calls.isEmpty()) {
+					text.append(String.format("  %s calls %s%n", stub, calls));
+				}
+			});
+			System.out.print(text);
+			try {
+				Files.writeString(ServiceProcess.outputDir().resolve("report.txt"), text, StandardOpenOption.CREATE,
+						StandardOpenOption.APPEND);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Distinct client addresses for X-Forwarded-For, so per-IP rate limits
+	 * see many users rather than one very busy one.
+	 */
+	static String clientIp(int n) {
+		return "10." + ((n >> 16) & 0xFF) + "." + ((n >> 8) & 0xFF) + "." + (n & 0xFF);
+	}
+
+	static Map<String, Object> json(Object... keysAndValues) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+}
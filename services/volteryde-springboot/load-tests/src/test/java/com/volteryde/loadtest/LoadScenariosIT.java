@@ -0,0 +1,237 @@
+package com.volteryde.loadtest;
+
+import com.volteryde.loadtest.LoadRunner.Report;
+import com.volteryde.loadtest.LoadRunner.Response;
+import com.volteryde.loadtest.stub.Faults;
+import com.volteryde.loadtest.stub.GatekeeperProStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.volteryde.loadtest.LoadRunner.json;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load scenarios against client-auth-service and payment-service. Each one
+ * prints throughput, latency percentiles per request and pool saturation
+ * per service, and appends the same to {@code target/load-tests/report.txt}.
+ * Sizes come from {@code -Dloadtest.users}, {@code .concurrency},
+ * {@code .refreshes}, {@code .wallets}, {@code .debits} and
+ * {@code .webhooks}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LoadScenariosIT {
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 200);
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+	private static final int REFRESHES = Integer.getInteger("loadtest.refreshes", 5);
+	private static final int WALLETS = Integer.getInteger("loadtest.wallets", 4);
+	private static final int DEBITS = Integer.getInteger("loadtest.debits", 400);
+	private static final int WEBHOOKS = Integer.getInteger("loadtest.webhooks", 200);
+
+	private static final String PASSWORD = "LoadTest#2024";
+	private static final BigDecimal DEBIT_AMOUNT = new BigDecimal("1.00");
+	private static final BigDecimal TOPUP_AMOUNT = new BigDecimal("10.00");
+
+	// Every request gets its own client address; per-IP limits would otherwise cap the run
+	private static final AtomicInteger ADDRESSES = new AtomicInteger();
+
+	private static Platform platform;
+	private static AtomicReferenceArray<String> refreshTokens;
+
+	@BeforeAll
+	static void startPlatform() throws InterruptedException {
+		platform = Platform.start();
+		refreshTokens = new AtomicReferenceArray<>(USERS);
+
+		Report seeded = LoadRunner.run("seed: register users", CONCURRENCY, USERS, platform.services(),
+				(i, session) -> {
+					Response registered = session.post("POST /client/auth/register",
+							platform.clientAuth.url("/client/auth/register"),
+							json("email", email(i), "password", PASSWORD, "firstName", "Load", "lastName", "User" + i,
+									"phone", phone(i)),
+							forwardedFor());
+					if (registered.ok()) {
+						refreshTokens.set(i, registered.body().path("refreshToken").asText());
+					}
+				});
+		seeded.publish(platform.stubCalls());
+		assertThat(seeded.errors()).as("registration errors").isZero();
+	}
+
+	@AfterAll
+	static void stopPlatform() {
+		if (platform != null) {
+			platform.close();
+		}
+	}
+
+	@BeforeEach
+	void resetStubCalls() {
+		platform.resetStubCalls();
+	}
+
+	@Test
+	@Order(1)
+	void otpLoginStorm() throws InterruptedException {
+		Report report = LoadRunner.run("OTP login storm", CONCURRENCY, USERS, platform.services(), (i, session) -> {
+			String ip = LoadRunner.clientIp(ADDRESSES.incrementAndGet());
+			Response sent = session.post("POST /client/auth/otp/send", platform.clientAuth.url("/client/auth/otp/send"),
+					json("phone", phone(i)), "X-Forwarded-For", ip);
+			if (sent.ok()) {
+				session.post("POST /client/auth/otp/verify", platform.clientAuth.url("/client/auth/otp/verify"),
+						json("phone", phone(i), "code", GatekeeperProStub.CODE), "X-Forwarded-For", ip);
+			}
+		});
+		report.publish(platform.stubCalls());
+		assertNoErrorsWithoutFaults(report, platform.gatekeeper.faults());
+	}
+
+	@Test
+	@Order(2)
+	void passwordLogin() throws InterruptedException {
+		Report report = LoadRunner.run("password login", CONCURRENCY, USERS, platform.services(),
+				(i, session) -> session.post("POST /client/auth/login", platform.clientAuth.url("/client/auth/login"),
+						json("email", email(i), "password", PASSWORD), forwardedFor()));
+		report.publish(platform.stubCalls());
+		assertThat(report.errors()).isZero();
+	}
+
+	@Test
+	@Order(3)
+	void refreshStorm() throws InterruptedException {
+		// Each refresh revokes the token it used, so a user's chain runs on one virtual user
+		Report report = LoadRunner.run("refresh storm", CONCURRENCY, USERS, platform.services(), (i, session) -> {
+			for (int r = 0; r < REFRESHES; r++) {
+				Response refreshed = session.post("POST /client/auth/refresh",
+						platform.clientAuth.url("/client/auth/refresh"),
+						json("refreshToken", refreshTokens.get(i)), forwardedFor());
+				if (!refreshed.ok()) {
+					return;
+				}
+				refreshTokens.set(i, refreshed.body().path("refreshToken").asText());
+			}
+		});
+		report.publish(platform.stubCalls());
+		assertThat(report.errors()).isZero();
+	}
+
+	@Test
+	@Order(4)
+	void walletDebitContention() throws InterruptedException, IOException {
+		LoadRunner.Session setup = new LoadRunner.Session();
+		// Fund each hot wallet for half its debits, so the lock covers both outcomes
+		BigDecimal funding = DEBIT_AMOUNT.multiply(BigDecimal.valueOf(DEBITS / WALLETS / 2));
+		BigDecimal[] initial = new BigDecimal[WALLETS];
+		for (int w = 0; w < WALLETS; w++) {
+			Response credited = setup.post("credit", platform.payment.url("/v1/wallet/credit"),
+					json("userId", wallet(w), "amount", funding, "currency", "GHS", "referenceId", "fund-" + w));
+			assertThat(credited.ok()).as("funding %s", wallet(w)).isTrue();
+			initial[w] = totalBalance(setup, wallet(w));
+		}
+
+		AtomicIntegerArray successes = new AtomicIntegerArray(WALLETS);
+		Report report = LoadRunner.run("wallet debit contention (" + WALLETS + " wallets)", CONCURRENCY, DEBITS,
+				platform.services(), (i, session) -> {
+					Response debited = session.post("POST /v1/wallet/deduct", platform.payment.url("/v1/wallet/deduct"),
+							json("userId", wallet(i % WALLETS), "amount", DEBIT_AMOUNT, "currency", "GHS",
+									"referenceId", "ride-" + i));
+					if (debited.ok()) {
+						successes.incrementAndGet(i % WALLETS);
+					}
+				});
+		report.publish(platform.stubCalls());
+
+		for (int w = 0; w < WALLETS; w++) {
+			BigDecimal expected = initial[w].subtract(DEBIT_AMOUNT.multiply(BigDecimal.valueOf(successes.get(w))));
+			assertThat(totalBalance(setup, wallet(w))).as("balance of %s", wallet(w)).isEqualByComparingTo(expected);
+			assertThat(expected.signum()).as("%s overdrawn", wallet(w)).isGreaterThanOrEqualTo(0);
+		}
+	}
+
+	@Test
+	@Order(5)
+	void webhookBurst() throws InterruptedException, IOException {
+		LoadRunner.Session setup = new LoadRunner.Session();
+		BigDecimal opening = totalBalance(setup, "load-topup-control");
+
+		Report topups = LoadRunner.run("wallet top-up", CONCURRENCY, WEBHOOKS, platform.services(),
+				(i, session) -> session.post("POST /v1/wallet/topup", platform.payment.url("/v1/wallet/topup"),
+						json("amount", TOPUP_AMOUNT, "paymentMethodId", "load-card"), "X-User-Id", topupCustomer(i)));
+		topups.publish(platform.stubCalls());
+		platform.resetStubCalls();
+
+		// Paystack delivers at least once; each event arrives twice, both copies together
+		List<String> references = platform.paystack.references();
+		Report report = LoadRunner.run("webhook burst (each delivered twice)", CONCURRENCY, references.size() * 2,
+				platform.services(), (i, session) -> {
+					String payload = LoadRunner.MAPPER.writeValueAsString(json("event", "charge.success",
+							"data", json("reference", references.get(i / 2), "status", "success")));
+					session.post("POST /v1/payments/webhook", platform.payment.url("/v1/payments/webhook"), payload,
+							"x-paystack-signature", sign(payload));
+				});
+		report.publish(platform.stubCalls());
+
+		assertThat(references).hasSize(WEBHOOKS);
+		for (int i = 0; i < WEBHOOKS; i++) {
+			assertThat(totalBalance(setup, topupCustomer(i))).as("balance of %s", topupCustomer(i))
+					.isEqualByComparingTo(opening.add(TOPUP_AMOUNT));
+		}
+	}
+
+	private static void assertNoErrorsWithoutFaults(Report report, Faults faults) {
+		if (faults.errorRate() == 0 && faults.hangRate() == 0) {
+			assertThat(report.errors()).isZero();
+		}
+	}
+
+	private static BigDecimal totalBalance(LoadRunner.Session session, String customerId) throws IOException {
+		Response balance = session.get("balance", platform.payment.url("/v1/wallet/balance"), "X-User-Id", customerId);
+		assertThat(balance.ok()).as("balance of %s", customerId).isTrue();
+		return balance.body().path("totalBalance").decimalValue();
+	}
+
+	private static String sign(String payload) throws GeneralSecurityException {
+		Mac mac = Mac.getInstance("HmacSHA512");
+		mac.init(new SecretKeySpec(Platform.PAYSTACK_SECRET_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+		return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String[] forwardedFor() {
+		return new String[] { "X-Forwarded-For", LoadRunner.clientIp(ADDRESSES.incrementAndGet()) };
+	}
+
+	private static String email(int user) {
+		return "load" + user + "@load.volteryde.test";
+	}
+
+	private static String phone(int user) {
+		return String.format("+23350%07d", user);
+	}
+
+	private static String wallet(int index) {
+		return "load-wallet-" + index;
+	}
+
+	private static String topupCustomer(int index) {
+		return "load-topup-" + index;
+	}
+}
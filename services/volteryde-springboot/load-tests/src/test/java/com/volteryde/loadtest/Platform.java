@@ -0,0 +1,148 @@
+package com.volteryde.loadtest;
+
+import com.volteryde.loadtest.stub.Faults;
+import com.volteryde.loadtest.stub.GatekeeperProStub;
+import com.volteryde.loadtest.stub.GoogleStub;
+import com.volteryde.loadtest.stub.PaystackStub;
+import com.volteryde.loadtest.stub.StubServer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the scenarios run against: PostgreSQL and Redis in containers,
+ * stubs for Gatekeeper Pro, Paystack and Google, and client-auth-service and
+ * payment-service as child JVMs wired to them. Stub faults default to
+ * latencies near the real providers' and are overridden with
+ * {@code -Dloadtest.<stub>.*}; see {@link Faults#fromSystemProperties}.
+ */
+final class Platform implements AutoCloseable {
+
+	static final String PAYSTACK_SECRET_KEY = "sk_test_load";
+	static final String INTERNAL_SERVICE_KEY = "load-test-internal-key";
+	static final String GOOGLE_AUDIENCE = "load-test.apps.googleusercontent.com";
+
+	private static final String JWT_SECRET = "bG9hZC10ZXN0LWp3dC1zZWNyZXQtb2YtYXQtbGVhc3QtMjU2LWJpdHMtZm9yLWhzMjU2";
+
+	// payment-service pulls in spring-boot-starter-security without configuring it,
+	// which would put Basic auth and CSRF in front of every endpoint
+	private static final String PAYMENT_SECURITY_EXCLUDES = String.join(",",
+			"org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+			"org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+			"org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration");
+
+	private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+			.withCommand("postgres", "-c", "max_connections=300");
+	private final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+			.withExposedPorts(6379);
+
+	final GatekeeperProStub gatekeeper = new GatekeeperProStub(
+			Faults.fromSystemProperties("gatekeeper", Faults.latency(Duration.ofMillis(150), Duration.ofMillis(50))));
+	final PaystackStub paystack = new PaystackStub(
+			Faults.fromSystemProperties("paystack", Faults.latency(Duration.ofMillis(300), Duration.ofMillis(100))));
+	final GoogleStub google = new GoogleStub(
+			Faults.fromSystemProperties("google", Faults.latency(Duration.ofMillis(50), Duration.ofMillis(20))),
+			GOOGLE_AUDIENCE);
+
+	private final List<ServiceProcess> services = new ArrayList<>();
+	ServiceProcess clientAuth;
+	ServiceProcess payment;
+
+	static Platform start() {
+		Platform platform = new Platform();
+		try {
+			platform.startInfrastructure();
+			platform.startServices();
+			return platform;
+		} catch (RuntimeException | SQLException e) {
+			platform.close();
+			throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+		}
+	}
+
+	private void startInfrastructure() throws SQLException {
+		postgres.start();
+		redis.start();
+		try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+				postgres.getPassword());
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE DATABASE client_auth");
+			statement.execute("CREATE DATABASE payment");
+		}
+	}
+
+	private void startServices() {
+		clientAuth = ServiceProcess.start("client-auth-service", "", withInfrastructure("client_auth", List.of(
+				"--spring.security.jwt.secret=" + JWT_SECRET,
+				"--sms.provider.api-url=" + gatekeeper.baseUrl(),
+				"--sms.provider.api-key=load-test",
+				"--google.tokeninfo.url=" + google.tokenInfoUrl(),
+				"--google.web-client-id=" + GOOGLE_AUDIENCE)));
+		services.add(clientAuth);
+
+		payment = ServiceProcess.start("payment-service", "/api/payment", withInfrastructure("payment", List.of(
+				"--paystack.secret-key=" + PAYSTACK_SECRET_KEY,
+				"--paystack.public-key=pk_test_load",
+				"--paystack.webhook-secret=whsec_load",
+				"--paystack.base-url=" + paystack.baseUrl(),
+				"--payment.reconciliation.enabled=false",
+				"--volteryde.internal.service-key=" + INTERNAL_SERVICE_KEY,
+				"--spring.autoconfigure.exclude=" + PAYMENT_SECURITY_EXCLUDES)));
+		services.add(payment);
+	}
+
+	private List<String> withInfrastructure(String database, List<String> arguments) {
+		List<String> all = new ArrayList<>(List.of(
+				"--spring.datasource.url=" + postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(),
+						"/" + database),
+				"--spring.datasource.username=" + postgres.getUsername(),
+				"--spring.datasource.password=" + postgres.getPassword(),
+				"--spring.data.redis.host=" + redis.getHost(),
+				"--spring.data.redis.port=" + redis.getMappedPort(6379)));
+		all.addAll(arguments);
+		return all;
+	}
+
+	List<ServiceProcess> services() {
+		return List.copyOf(services);
+	}
+
+	/**
+	 * Per stub, calls by route and outcome since the last reset.
+	 */
+	Map<String, Map<String, Long>> stubCalls() {
+		Map<String, Map<String, Long>> calls = new LinkedHashMap<>();
+		for (StubServer stub : List.<StubServer>of(gatekeeper, paystack, google)) {
+			calls.put(stub.name(), stub.calls());
+		}
+		return calls;
+	}
+
+	void resetStubCalls() {
+		gatekeeper.resetCalls();
+		paystack.resetCalls();
+		google.resetCalls();
+	}
+
+	@Override
+	public void close() {
+		for (ServiceProcess service : services) {
+			service.close();
+		}
+		gatekeeper.close();
+		paystack.close();
+		google.close();
+		redis.stop();
+		postgres.stop();
+	}
+}
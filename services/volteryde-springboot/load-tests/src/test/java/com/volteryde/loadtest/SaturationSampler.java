@@ -0,0 +1,135 @@
+package com.volteryde.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scrapes each service's Prometheus endpoint while a scenario runs and keeps
+ * the peak of every pool gauge: database connections in use and waiting,
+ * busy Tomcat threads, and leased and waiting Paystack client connections.
+ * A peak at its limit, or any waiters, means that pool is what stops the
+ * service going faster.
+ */
+final class SaturationSampler extends Thread {
+
+	/**
+	 * A gauge and the gauge holding its limit; {@code labels} must all appear
+	 * in a sample's label set for it to count.
+	 */
+	record Gauge(String label, String metric, String labels, String limitMetric) {
+	}
+
+	static final List<Gauge> GAUGES = List.of(
+			new Gauge("db connections active", "hikaricp_connections_active", "", "hikaricp_connections_max"),
+			new Gauge("db connections pending", "hikaricp_connections_pending", "", null),
+			new Gauge("tomcat threads busy", "tomcat_threads_busy_threads", "", "tomcat_threads_config_max_threads"),
+			new Gauge("paystack connections leased", "httpcomponents_httpclient_pool_total_connections",
+					"state=\"leased\"", "httpcomponents_httpclient_pool_total_max"),
+			new Gauge("paystack connections pending", "httpcomponents_httpclient_pool_total_pending", "", null));
+
+	private static final long INTERVAL_MILLIS = 250;
+
+	private final List<ServiceProcess> services;
+	// service -> gauge label -> peak; written by this thread only
+	private final Map<String, Map<String, Double>> peaks = new LinkedHashMap<>();
+	private final Map<String, Map<String, Double>> limits = new LinkedHashMap<>();
+
+	SaturationSampler(List<ServiceProcess> services) {
+		super("saturation-sampler");
+		setDaemon(true);
+		this.services = services;
+	}
+
+	@Override
+	public void run() {
+		while (!isInterrupted()) {
+			sample();
+			try {
+				Thread.sleep(INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				break;
+			}
+		}
+		sample();
+	}
+
+	/**
+	 * Stops sampling and returns, per service, "peak / limit" for each gauge
+	 * the service exposes.
+	 */
+	Map<String, Map<String, String>> finish() {
+		interrupt();
+		try {
+			join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		Map<String, Map<String, String>> result = new LinkedHashMap<>();
+		peaks.forEach((service, gauges) -> {
+			Map<String, String> lines = new LinkedHashMap<>();
+			gauges.forEach((label, peak) -> {
+				Double limit = limits.getOrDefault(service, Map.of()).get(label);
+				lines.put(label, limit == null ? format(peak) : format(peak) + " / " + format(limit));
+			});
+			result.put(service, lines);
+		});
+		return result;
+	}
+
+	private void sample() {
+		for (ServiceProcess service : services) {
+			String scrape = service.scrape();
+			if (scrape.isEmpty()) {
+				continue;
+			}
+			for (Gauge gauge : GAUGES) {
+				Double value = sum(scrape, gauge.metric(), gauge.labels());
+				if (value == null) {
+					continue;
+				}
+				peaks.computeIfAbsent(service.name(), key -> new LinkedHashMap<>()).merge(gauge.label(), value,
+						Math::max);
+				if (gauge.limitMetric() != null) {
+					Double limit = sum(scrape, gauge.limitMetric(), "");
+					if (limit != null) {
+						limits.computeIfAbsent(service.name(), key -> new LinkedHashMap<>()).put(gauge.label(), limit);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sum of every sample of {@code metric} whose labels contain
+	 * {@code labels}, or null when the metric is absent.
+	 */
+	static Double sum(String scrape, String metric, String labels) {
+		Double total = null;
+		for (String line : scrape.split("\n")) {
+			if (!line.startsWith(metric) || line.length() == metric.length()) {
+				continue;
+			}
+			char next = line.charAt(metric.length());
+			if (next != '{' && next != ' ') {
+				continue; // a longer metric name with this prefix
+			}
+			int end = line.lastIndexOf('}');
+			String labelSet = next == '{' && end > 0 ? line.substring(metric.length(), end) : "";
+			if (!labelSet.contains(labels)) {
+				continue;
+			}
+			String[] parts = line.substring(Math.max(end + 1, metric.length())).trim().split("\\s+");
+			try {
+				total = (total == null ? 0 : total) + Double.parseDouble(parts[0]);
+			} catch (NumberFormatException e) {
+				// NaN or malformed; skip
+			}
+		}
+		return total;
+	}
+
+	private static String format(double value) {
+		return value == Math.rint(value) ? Long.toString((long) value) : String.format("%.1f", value);
+	}
+}
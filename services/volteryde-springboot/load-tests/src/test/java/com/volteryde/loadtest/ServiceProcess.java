@@ -0,0 +1,168 @@
+package com.volteryde.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service running from its executable jar in a child JVM, as it runs in
+ * production: its own heap, pools and thread counts, so saturation shows up
+ * where it would. Output goes to {@code <output-dir>/<service>.log}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+	private final String name;
+	private final String contextPath;
+	private final int port;
+	private final Process process;
+	private final Path log;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+	private ServiceProcess(String name, String contextPath, int port, Process process, Path log) {
+		this.name = name;
+		this.contextPath = contextPath;
+		this.port = port;
+		this.process = process;
+		this.log = log;
+	}
+
+	/**
+	 * Starts {@code <services-dir>/<name>/target/<name>-<version>.jar} with
+	 * {@code arguments} as Spring properties, plus anything in
+	 * {@code -Dloadtest.<name>.args}, and waits until it reports healthy.
+	 */
+	static ServiceProcess start(String name, String contextPath, List<String> arguments) {
+		Path jar = Path.of(System.getProperty("loadtest.services-dir", ".."), name, "target",
+				name + "-" + System.getProperty("loadtest.services-version", "1.0.0") + ".jar");
+		if (!Files.isRegularFile(jar)) {
+			throw new IllegalStateException(jar + " not found; package the services first");
+		}
+		int port = freePort();
+		Path outputDir = outputDir();
+		Path log = outputDir.resolve(name + ".log");
+
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(List.of(System.getProperty("loadtest.service-jvm-args", "-Xmx512m").split("\\s+")));
+		command.add("-jar");
+		command.add(jar.toString());
+		command.add("--server.port=" + port);
+		// tomcat_threads_* gauges come from the MBean registry
+		command.add("--server.tomcat.mbeanregistry.enabled=true");
+		command.add("--eureka.client.enabled=false");
+		command.add("--logging.file.name=" + outputDir.resolve(name + "-app.log"));
+		command.addAll(arguments);
+		String extra = System.getProperty("loadtest." + name + ".args", "");
+		if (!extra.isBlank()) {
+			command.addAll(List.of(extra.trim().split("\\s+")));
+		}
+
+		try {
+			Process process = new ProcessBuilder(command)
+					.directory(outputDir.toFile())
+					.redirectErrorStream(true)
+					.redirectOutput(log.toFile())
+					.start();
+			ServiceProcess service = new ServiceProcess(name, contextPath, port, process, log);
+			service.awaitHealthy();
+			return service;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static Path outputDir() {
+		Path dir = Path.of(System.getProperty("loadtest.output-dir", "target/load-tests"));
+		try {
+			return Files.createDirectories(dir);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	String name() {
+		return name;
+	}
+
+	String url(String path) {
+		return "http://127.0.0.1:" + port + contextPath + path;
+	}
+
+	/**
+	 * The Prometheus scrape, or an empty string if the service did not answer.
+	 */
+	String scrape() {
+		try {
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url("/actuator/prometheus")))
+					.timeout(Duration.ofSeconds(2)).build(), HttpResponse.BodyHandlers.ofString());
+			return response.statusCode() == 200 ? response.body() : "";
+		} catch (IOException e) {
+			return "";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "";
+		}
+	}
+
+	private void awaitHealthy() {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		HttpRequest health = HttpRequest.newBuilder(URI.create(url("/actuator/health")))
+				.timeout(Duration.ofSeconds(2)).build();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see " + log);
+			}
+			try {
+				if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// not listening yet
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			try {
+				Thread.sleep(500);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		close();
+		throw new IllegalStateException(name + " did not become healthy in " + STARTUP_TIMEOUT + "; see " + log);
+	}
+
+	@Override
+	public void close() {
+		process.destroy();
+		try {
+			if (!process.waitFor(20, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		} catch (InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static int freePort() {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
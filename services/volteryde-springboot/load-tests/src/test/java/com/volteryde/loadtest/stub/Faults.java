@@ -0,0 +1,74 @@
+package com.volteryde.loadtest.stub;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What a stub does to each call before answering: a base latency with
+ * uniform jitter, a share of calls answered 503, and a share that hang for
+ * {@code hang} so the caller's read timeout fires.
+ *
+ * @param latency   added to every call
+ * @param jitter    up to this much more, uniformly distributed
+ * @param errorRate share of calls answered 503, 0-1
+ * @param hangRate  share of calls held for {@code hang} before answering
+ * @param hang      how long a hanging call is held
+ */
+public record Faults(Duration latency, Duration jitter, double errorRate, double hangRate, Duration hang) {
+
+	public static final Faults NONE = new Faults(Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO);
+
+	public Faults {
+		if (errorRate < 0 || errorRate > 1 || hangRate < 0 || hangRate > 1) {
+			throw new IllegalArgumentException("error and hang rates must be between 0 and 1");
+		}
+	}
+
+	public static Faults latency(Duration latency, Duration jitter) {
+		return new Faults(latency, jitter, 0, 0, Duration.ZERO);
+	}
+
+	/**
+	 * Reads {@code loadtest.<stub>.latency}, {@code .jitter},
+	 * {@code .error-rate}, {@code .hang-rate} and {@code .hang}, falling back
+	 * to {@code defaults}. Durations are in milliseconds.
+	 */
+	public static Faults fromSystemProperties(String stub, Faults defaults) {
+		String prefix = "loadtest." + stub + ".";
+		return new Faults(
+				millis(prefix + "latency", defaults.latency()),
+				millis(prefix + "jitter", defaults.jitter()),
+				Double.parseDouble(System.getProperty(prefix + "error-rate", Double.toString(defaults.errorRate()))),
+				Double.parseDouble(System.getProperty(prefix + "hang-rate", Double.toString(defaults.hangRate()))),
+				millis(prefix + "hang", defaults.hang().isZero() ? Duration.ofSeconds(30) : defaults.hang()));
+	}
+
+	public Faults withErrorRate(double errorRate) {
+		return new Faults(latency, jitter, errorRate, hangRate, hang);
+	}
+
+	Duration nextDelay() {
+		long jitterMillis = jitter.toMillis();
+		long extra = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+		return latency.plusMillis(extra);
+	}
+
+	boolean nextFails() {
+		return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+	}
+
+	boolean nextHangs() {
+		return hangRate > 0 && ThreadLocalRandom.current().nextDouble() < hangRate;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("latency %d+%d ms, errors %.1f%%, hangs %.1f%% (%d ms)", latency.toMillis(),
+				jitter.toMillis(), errorRate * 100, hangRate * 100, hang.toMillis());
+	}
+
+	private static Duration millis(String property, Duration defaultValue) {
+		String value = System.getProperty(property);
+		return value == null || value.isBlank() ? defaultValue : Duration.ofMillis(Long.parseLong(value));
+	}
+}
@@ -0,0 +1,72 @@
+package com.volteryde.loadtest.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gatekeeper Pro OTP API as client-auth-service calls it: generate_otp
+ * issues a reference, verify_otp accepts {@link #CODE} for a known reference.
+ * No SMS is sent.
+ */
+public class GatekeeperProStub extends StubServer {
+
+	public static final String CODE = "123456";
+
+	private final Map<String, String> receivers = new ConcurrentHashMap<>();
+
+	public GatekeeperProStub(Faults faults) {
+		super("gatekeeper-pro", faults);
+	}
+
+	@Override
+	protected void respond(HttpExchange exchange, String route) throws IOException {
+		switch (route) {
+			case "/api/generate_otp" -> generate(exchange);
+			case "/api/verify_otp" -> verify(exchange);
+			case "/api/send_sms" -> send(exchange, 200, Map.of("message", "SMS sent", "credits_used", 1));
+			default -> send(exchange, 404, Map.of("error", "Unknown endpoint " + route));
+		}
+	}
+
+	private void generate(HttpExchange exchange) throws IOException {
+		JsonNode request = readJson(exchange);
+		String receiver = request.hasNonNull("phoneNumber") ? request.get("phoneNumber").asText()
+				: request.path("email").asText();
+		String reference = UUID.randomUUID().toString();
+		receivers.put(reference, receiver);
+
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("message", "OTP generated and sent");
+		body.put("reference", reference);
+		body.put("receiver", receiver);
+		body.put("name", request.path("project").asText());
+		body.put("type", "sms");
+		body.put("expiresAt", OffsetDateTime.now().plusMinutes(10).toString());
+		send(exchange, 200, body);
+	}
+
+	private void verify(HttpExchange exchange) throws IOException {
+		JsonNode request = readJson(exchange);
+		String reference = request.path("reference").asText();
+		String receiver = receivers.get(reference);
+		boolean verified = receiver != null && CODE.equals(request.path("otp").asText());
+		if (verified) {
+			receivers.remove(reference);
+		}
+
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("message", verified ? "OTP verified" : "Invalid OTP");
+		body.put("reference", reference);
+		body.put("receiver", receiver);
+		body.put("verified", verified);
+		body.put("attempts_remaining", verified ? 0 : 2);
+		send(exchange, 200, body);
+	}
+}
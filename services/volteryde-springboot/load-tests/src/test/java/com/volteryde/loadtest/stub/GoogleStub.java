@@ -0,0 +1,100 @@
+package com.volteryde.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Google's tokeninfo endpoint and JWKS. Tokens from {@link #idToken} are
+ * valid for the configured audience; anything else is rejected the way
+ * Google rejects a bad token. The JWKS serves a key generated at startup.
+ */
+public class GoogleStub extends StubServer {
+
+	private static final String TOKEN_PREFIX = "stub-google-";
+
+	private final String audience;
+	private final Map<String, Object> jwks;
+
+	public GoogleStub(Faults faults, String audience) {
+		super("google", faults);
+		this.audience = audience;
+		this.jwks = Map.of("keys", List.of(rsaJwk()));
+	}
+
+	/**
+	 * An ID token the stub accepts, for the user {@code subject}.
+	 */
+	public static String idToken(String subject) {
+		return TOKEN_PREFIX + subject;
+	}
+
+	public String tokenInfoUrl() {
+		return baseUrl() + "/tokeninfo";
+	}
+
+	public String jwksUrl() {
+		return baseUrl() + "/oauth2/v3/certs";
+	}
+
+	@Override
+	protected void respond(HttpExchange exchange, String route) throws IOException {
+		switch (route) {
+			case "/tokeninfo" -> tokenInfo(exchange);
+			case "/oauth2/v3/certs" -> send(exchange, 200, jwks);
+			default -> send(exchange, 404, Map.of("error", "not_found"));
+		}
+	}
+
+	private void tokenInfo(HttpExchange exchange) throws IOException {
+		String query = exchange.getRequestURI().getRawQuery();
+		String token = query != null && query.startsWith("id_token=") ? query.substring("id_token=".length()) : "";
+		if (!token.startsWith(TOKEN_PREFIX)) {
+			send(exchange, 400, Map.of("error", "invalid_token", "error_description", "Invalid Value"));
+			return;
+		}
+		String subject = token.substring(TOKEN_PREFIX.length());
+		long now = System.currentTimeMillis() / 1000;
+
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put("iss", "https://accounts.google.com");
+		claims.put("aud", audience);
+		claims.put("sub", subject);
+		claims.put("email", subject + "@example.com");
+		claims.put("email_verified", "true");
+		claims.put("name", "Load " + subject);
+		claims.put("given_name", "Load");
+		claims.put("family_name", subject);
+		claims.put("iat", Long.toString(now));
+		claims.put("exp", Long.toString(now + 3600));
+		send(exchange, 200, claims);
+	}
+
+	private static Map<String, Object> rsaJwk() {
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+			generator.initialize(2048);
+			RSAPublicKey key = (RSAPublicKey) generator.generateKeyPair().getPublic();
+			return Map.of("kty", "RSA", "alg", "RS256", "use", "sig", "kid", "load-test-1",
+					"n", base64Url(key.getModulus()), "e", base64Url(key.getPublicExponent()));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(Arrays.copyOfRange(bytes, offset, bytes.length));
+	}
+}
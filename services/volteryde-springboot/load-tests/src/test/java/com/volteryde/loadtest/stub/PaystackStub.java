@@ -0,0 +1,94 @@
+package com.volteryde.loadtest.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paystack transaction API as payment-service calls it. Every initialized
+ * transaction verifies as a successful, non-reusable card charge.
+ */
+public class PaystackStub extends StubServer {
+
+	private static final String VERIFY_PREFIX = "/transaction/verify/";
+
+	// reference -> amount in the lowest denomination, in initialization order
+	private final Map<String, Long> transactions = new ConcurrentHashMap<>();
+	private final List<String> references = new ArrayList<>();
+
+	public PaystackStub(Faults faults) {
+		super("paystack", faults);
+	}
+
+	/**
+	 * References of every transaction initialized so far.
+	 */
+	public List<String> references() {
+		synchronized (references) {
+			return List.copyOf(references);
+		}
+	}
+
+	@Override
+	protected String route(HttpExchange exchange) {
+		String path = exchange.getRequestURI().getPath();
+		return path.startsWith(VERIFY_PREFIX) ? VERIFY_PREFIX + "{reference}" : path;
+	}
+
+	@Override
+	protected void respond(HttpExchange exchange, String route) throws IOException {
+		switch (route) {
+			case "/transaction/initialize" -> initialize(exchange);
+			case VERIFY_PREFIX + "{reference}" ->
+				verify(exchange, exchange.getRequestURI().getPath().substring(VERIFY_PREFIX.length()));
+			case "/refund" -> send(exchange, 200, Map.of("status", true, "message", "Refund has been queued",
+					"data", Map.of("status", "pending")));
+			default -> send(exchange, 404, Map.of("status", false, "message", "Unknown endpoint " + route));
+		}
+	}
+
+	private void initialize(HttpExchange exchange) throws IOException {
+		JsonNode request = readJson(exchange);
+		String reference = request.path("reference").asText();
+		if (transactions.putIfAbsent(reference, request.path("amount").asLong()) == null) {
+			synchronized (references) {
+				references.add(reference);
+			}
+		}
+		send(exchange, 200, Map.of("status", true, "message", "Authorization URL created", "data", Map.of(
+				"authorization_url", "https://checkout.paystack.test/" + reference,
+				"access_code", "AC_" + reference,
+				"reference", reference)));
+	}
+
+	private void verify(HttpExchange exchange, String reference) throws IOException {
+		Long amount = transactions.get(reference);
+		if (amount == null) {
+			send(exchange, 400, Map.of("status", false, "message", "Transaction reference not found"));
+			return;
+		}
+		OffsetDateTime now = OffsetDateTime.now();
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("status", "success");
+		data.put("reference", reference);
+		data.put("amount", amount);
+		data.put("currency", "GHS");
+		data.put("paid_at", now.toString());
+		data.put("created_at", now.minusSeconds(30).toString());
+		data.put("authorization", Map.of(
+				"authorization_code", "AUTH_" + reference,
+				"card_type", "visa",
+				"last4", "4081",
+				"channel", "card",
+				"reusable", false,
+				"signature", "SIG_" + reference));
+		send(exchange, 200, Map.of("status", true, "message", "Verification successful", "data", data));
+	}
+}
@@ -0,0 +1,149 @@
+package com.volteryde.loadtest.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for a third-party API. Every call passes through the
+ * current {@link Faults} first, then the subclass answers it. Calls are
+ * counted per route and outcome so a report can show what the provider saw.
+ */
+public abstract class StubServer implements AutoCloseable {
+
+	protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final String name;
+	private final HttpServer server;
+	// Unbounded: a hanging call must not hold up the others
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+	private volatile Faults faults;
+
+	protected StubServer(String name, Faults faults) {
+		this.name = name;
+		this.faults = faults;
+		try {
+			server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public Faults faults() {
+		return faults;
+	}
+
+	/**
+	 * Takes effect for calls that arrive from now on.
+	 */
+	public void setFaults(Faults faults) {
+		this.faults = faults;
+	}
+
+	/**
+	 * Calls so far by "route outcome", e.g. "/api/generate_otp ok".
+	 */
+	public Map<String, Long> calls() {
+		Map<String, Long> snapshot = new TreeMap<>();
+		calls.forEach((key, count) -> snapshot.put(key, count.sum()));
+		return snapshot;
+	}
+
+	public void resetCalls() {
+		calls.clear();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Answers a call that got past fault injection.
+	 */
+	protected abstract void respond(HttpExchange exchange, String route) throws IOException;
+
+	/**
+	 * Groups paths with ids in them, e.g. /transaction/verify/{reference}.
+	 */
+	protected String route(HttpExchange exchange) {
+		return exchange.getRequestURI().getPath();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		String route = route(exchange);
+		Faults current = faults;
+		String outcome = "ok";
+		try {
+			sleep(current.nextDelay().toMillis());
+			if (current.nextHangs()) {
+				outcome = "hung";
+				sleep(current.hang().toMillis());
+				send(exchange, 504, "{\"error\":\"injected timeout\"}");
+			} else if (current.nextFails()) {
+				outcome = "failed";
+				send(exchange, 503, "{\"error\":\"injected failure\"}");
+			} else {
+				respond(exchange, route);
+			}
+		} catch (IOException | RuntimeException e) {
+			// Usually the caller gave up on a hanging call and closed the connection
+			outcome = "aborted";
+		} finally {
+			calls.computeIfAbsent(route + " " + outcome, key -> new LongAdder()).increment();
+			exchange.close();
+		}
+	}
+
+	protected static JsonNode readJson(HttpExchange exchange) throws IOException {
+		byte[] body = exchange.getRequestBody().readAllBytes();
+		return body.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+	}
+
+	protected static void send(HttpExchange exchange, int status, Object body) throws IOException {
+		byte[] bytes = body instanceof String text ? text.getBytes(StandardCharsets.UTF_8)
+				: MAPPER.writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static void sleep(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
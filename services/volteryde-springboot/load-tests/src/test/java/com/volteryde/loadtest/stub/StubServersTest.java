@@ -0,0 +1,110 @@
+package com.volteryde.loadtest.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StubServersTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void gatekeeperVerifiesOnlyTheCodeItIssued() throws Exception {
+		try (GatekeeperProStub gatekeeper = new GatekeeperProStub(Faults.NONE)) {
+			JsonNode generated = post(gatekeeper.baseUrl() + "/api/generate_otp",
+					Map.of("project", "Volteryde", "phoneNumber", "+233501234567", "size", 6)).body();
+			String reference = generated.path("reference").asText();
+			assertThat(reference).isNotBlank();
+			assertThat(generated.path("receiver").asText()).isEqualTo("+233501234567");
+
+			assertThat(post(gatekeeper.baseUrl() + "/api/verify_otp", Map.of("reference", reference, "otp", "000000"))
+					.body().path("verified").asBoolean()).isFalse();
+			assertThat(post(gatekeeper.baseUrl() + "/api/verify_otp",
+					Map.of("reference", reference, "otp", GatekeeperProStub.CODE)).body().path("verified").asBoolean())
+					.isTrue();
+			assertThat(gatekeeper.calls()).containsEntry("/api/verify_otp ok", 2L);
+		}
+	}
+
+	@Test
+	void paystackVerifiesInitializedTransactions() throws Exception {
+		try (PaystackStub paystack = new PaystackStub(Faults.NONE)) {
+			post(paystack.baseUrl() + "/transaction/initialize", Map.of("reference", "ref-1", "amount", 2500));
+
+			Result verified = get(paystack.baseUrl() + "/transaction/verify/ref-1");
+			assertThat(verified.status()).isEqualTo(200);
+			assertThat(verified.body().path("data").path("status").asText()).isEqualTo("success");
+			assertThat(verified.body().path("data").path("amount").asLong()).isEqualTo(2500);
+			assertThat(get(paystack.baseUrl() + "/transaction/verify/unknown").status()).isEqualTo(400);
+			assertThat(paystack.references()).containsExactly("ref-1");
+			assertThat(paystack.calls()).containsEntry("/transaction/verify/{reference} ok", 2L);
+		}
+	}
+
+	@Test
+	void googleAcceptsOnlyItsOwnTokens() throws Exception {
+		try (GoogleStub google = new GoogleStub(Faults.NONE, "client-id")) {
+			Result valid = get(google.tokenInfoUrl() + "?id_token=" + GoogleStub.idToken("rider-1"));
+			assertThat(valid.status()).isEqualTo(200);
+			assertThat(valid.body().path("aud").asText()).isEqualTo("client-id");
+			assertThat(valid.body().path("sub").asText()).isEqualTo("rider-1");
+
+			assertThat(get(google.tokenInfoUrl() + "?id_token=forged").status()).isEqualTo(400);
+			assertThat(get(google.jwksUrl()).body().path("keys").get(0).path("kty").asText()).isEqualTo("RSA");
+		}
+	}
+
+	@Test
+	void upstreamAnswersEveryPathWithTheSameJsonArray() throws Exception {
+		try (UpstreamStub upstream = new UpstreamStub(Faults.NONE, 4096)) {
+			Result bookings = get(upstream.baseUrl() + "/api/v1/booking/mine");
+			assertThat(bookings.status()).isEqualTo(200);
+			assertThat(bookings.body().isArray()).isTrue();
+			assertThat(upstream.payloadBytes()).isBetween(3996, 4096);
+			assertThat(get(upstream.baseUrl() + "/api/v1/gtfs/stops").body()).isEqualTo(bookings.body());
+		}
+	}
+
+	@Test
+	void injectsFailuresAndLatency() throws Exception {
+		try (PaystackStub paystack = new PaystackStub(Faults.NONE.withErrorRate(1))) {
+			assertThat(get(paystack.baseUrl() + "/transaction/verify/ref-1").status()).isEqualTo(503);
+			assertThat(paystack.calls()).containsEntry("/transaction/verify/{reference} failed", 1L);
+
+			paystack.setFaults(Faults.latency(Duration.ofMillis(200), Duration.ZERO));
+			long start = System.nanoTime();
+			get(paystack.baseUrl() + "/transaction/verify/ref-1");
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+		}
+	}
+
+	private Result post(String url, Object body) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(URI.create(url))
+				.POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+				.header("Content-Type", "application/json")
+				.build());
+	}
+
+	private Result get(String url) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(URI.create(url)).GET().build());
+	}
+
+	private Result send(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		return new Result(response.statusCode(), MAPPER.readTree(response.body()));
+	}
+
+	private record Result(int status, JsonNode body) {
+	}
+}
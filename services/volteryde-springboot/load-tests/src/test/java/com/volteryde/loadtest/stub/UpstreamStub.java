@@ -0,0 +1,38 @@
+package com.volteryde.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+/**
+ * A service behind the gateway: answers every GET with the same JSON array
+ * of bookings, about {@code payloadBytes} long, so gateway runs measure
+ * transport and compression rather than the upstream.
+ */
+public class UpstreamStub extends StubServer {
+
+	private final String payload;
+
+	public UpstreamStub(Faults faults, int payloadBytes) {
+		super("upstream", faults);
+		this.payload = payload(payloadBytes);
+	}
+
+	public int payloadBytes() {
+		return payload.length();
+	}
+
+	@Override
+	protected void respond(HttpExchange exchange, String route) throws IOException {
+		send(exchange, 200, payload);
+	}
+
+	private static String payload(int bytes) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; json.length() < bytes - 100; i++) {
+			json.append(String.format("{\"bookingId\":\"VR-B%08d\",\"status\":\"CONFIRMED\",\"seats\":%d,"
+					+ "\"route\":\"Accra-Kumasi\"},", i, 1 + i % 4));
+		}
+		return json.append("{}]").toString();
+	}
+}
@@ -1,14 +1,23 @@
 package com.volteryde.payment;
 
+import com.volteryde.payment.config.IdempotencyProperties;
 import com.volteryde.payment.config.PaystackProperties;
+import com.volteryde.payment.config.ReconciliationProperties;
+import com.volteryde.shared.metrics.BusinessMetricsConfiguration;
+import com.volteryde.shared.tracing.TracingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.volteryde.payment")
 @EnableDiscoveryClient
-@EnableConfigurationProperties(PaystackProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({ PaystackProperties.class, IdempotencyProperties.class,
+        ReconciliationProperties.class })
+@Import({ BusinessMetricsConfiguration.class, TracingConfiguration.class })
 public class PaymentServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(PaymentServiceApplication.class, args);
@@ -0,0 +1,64 @@
+package com.volteryde.payment.config;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "payment.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a completed response is replayed to duplicate requests.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long an in-flight request owns its key before another instance may take it over.
+     */
+    @NotNull
+    private Duration lockTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long a duplicate waits for the in-flight request before giving up with 409.
+     */
+    @NotNull
+    private Duration waitTimeout = Duration.ofSeconds(15);
+
+    @NotNull
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public void setLockTimeout(Duration lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
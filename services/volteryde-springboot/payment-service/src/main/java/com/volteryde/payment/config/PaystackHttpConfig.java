@@ -1,21 +1,64 @@
 package com.volteryde.payment.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 @Configuration
 public class PaystackHttpConfig {
 
+    /**
+     * Pooled keep-alive HTTP/1.1 client so Paystack calls reuse TLS connections
+     * instead of handshaking per request. Retries are disabled here because they
+     * are applied per endpoint by {@code PaystackResilience}.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient paystackHttpClient(PaystackProperties properties, MeterRegistry meterRegistry) {
+        PaystackProperties.Pool pool = properties.getPool();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(pool.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "paystack").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(pool.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getIdleEviction()))
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestTemplate paystackRestTemplate(RestTemplateBuilder builder, PaystackProperties properties) {
+    public RestTemplate paystackRestTemplate(RestTemplateBuilder builder, PaystackProperties properties,
+            CloseableHttpClient paystackHttpClient) {
         return builder
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setReadTimeout(properties.getReadTimeout())
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(paystackHttpClient))
                 .rootUri(properties.getBaseUrl())
                 .additionalInterceptors(authorizationInterceptor(properties))
                 .build();
@@ -1,5 +1,7 @@
 package com.volteryde.payment.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Duration;
@@ -33,6 +35,12 @@ public class PaystackProperties {
     @NotNull
     private Duration webhookTolerance = Duration.ofMinutes(5);
 
+    @Valid
+    private final Pool pool = new Pool();
+
+    @Valid
+    private final Resilience resilience = new Resilience();
+
     public String getSecretKey() {
         return secretKey;
     }
@@ -96,4 +104,208 @@ public class PaystackProperties {
     public void setWebhookTolerance(Duration webhookTolerance) {
         this.webhookTolerance = webhookTolerance;
     }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    /**
+     * Keep-alive connection pool for the Paystack HTTP client.
+     */
+    public static class Pool {
+
+        @Min(1)
+        private int maxConnections = 50;
+
+        /**
+         * Paystack is a single route, so this is the effective pool size.
+         */
+        @Min(1)
+        private int maxConnectionsPerRoute = 50;
+
+        @NotNull
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+        @NotNull
+        private Duration idleEviction = Duration.ofSeconds(30);
+
+        @NotNull
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public Duration getIdleEviction() {
+            return idleEviction;
+        }
+
+        public void setIdleEviction(Duration idleEviction) {
+            this.idleEviction = idleEviction;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Retry, circuit breaker and bulkhead settings applied per Paystack endpoint.
+     */
+    public static class Resilience {
+
+        /**
+         * Total attempts for safe (GET) calls. Mutating calls are never retried.
+         */
+        @Min(1)
+        private int maxAttempts = 3;
+
+        @NotNull
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        private double retryJitter = 0.5;
+
+        @Min(1)
+        private int failureRateThreshold = 50;
+
+        @Min(1)
+        private int slidingWindowSize = 20;
+
+        @Min(1)
+        private int minimumNumberOfCalls = 10;
+
+        @NotNull
+        private Duration openStateWait = Duration.ofSeconds(30);
+
+        @NotNull
+        private Duration slowCallThreshold = Duration.ofSeconds(5);
+
+        @Min(1)
+        private int halfOpenCalls = 3;
+
+        /**
+         * Concurrent in-flight calls allowed per endpoint before callers are rejected.
+         */
+        @Min(1)
+        private int maxConcurrentCalls = 25;
+
+        @NotNull
+        private Duration maxBulkheadWait = Duration.ZERO;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public double getRetryJitter() {
+            return retryJitter;
+        }
+
+        public void setRetryJitter(double retryJitter) {
+            this.retryJitter = retryJitter;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getOpenStateWait() {
+            return openStateWait;
+        }
+
+        public void setOpenStateWait(Duration openStateWait) {
+            this.openStateWait = openStateWait;
+        }
+
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxBulkheadWait() {
+            return maxBulkheadWait;
+        }
+
+        public void setMaxBulkheadWait(Duration maxBulkheadWait) {
+            this.maxBulkheadWait = maxBulkheadWait;
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.volteryde.payment.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "payment.reconciliation")
+public class ReconciliationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * A PENDING/PROCESSING transaction untouched for this long is re-verified.
+     */
+    @NotNull
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+    /**
+     * Transactions older than this are left alone; Paystack abandons them long before.
+     */
+    @NotNull
+    private Duration maxAge = Duration.ofDays(2);
+
+    @Min(1)
+    private int batchSize = 100;
+
+    @Min(1)
+    private int parallelism = 8;
+
+    /**
+     * Upper bound on Paystack verify calls per second made by the job.
+     */
+    @Min(1)
+    private int permitsPerSecond = 10;
+
+    /**
+     * Client calls to /verify within this interval of the last check are answered
+     * from the database; the job and the webhook keep the status current.
+     */
+    @NotNull
+    private Duration clientVerifyMinInterval = Duration.ofSeconds(15);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public Duration getClientVerifyMinInterval() {
+        return clientVerifyMinInterval;
+    }
+
+    public void setClientVerifyMinInterval(Duration clientVerifyMinInterval) {
+        this.clientVerifyMinInterval = clientVerifyMinInterval;
+    }
+}
@@ -1,8 +1,12 @@
 package com.volteryde.payment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.payment.dto.CursorPage;
 import com.volteryde.payment.dto.PaymentInitializationRequest;
 import com.volteryde.payment.dto.PaymentInitializationResponse;
+import com.volteryde.payment.dto.PaymentTransactionResponse;
 import com.volteryde.payment.dto.PaymentVerificationResponse;
+import com.volteryde.payment.service.IdempotencyService;
 import com.volteryde.payment.service.PaymentService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -11,23 +15,39 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/payments")
 public class PaymentController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, IdempotencyService idempotencyService,
+            ObjectMapper objectMapper) {
         this.paymentService = paymentService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/initialize")
     public ResponseEntity<PaymentInitializationResponse> initializePayment(
             @RequestBody @Valid PaymentInitializationRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
         // Extract authenticated customer ID from request attribute (set by auth filter)
         // Falls back to request payload if not authenticated (for guest checkout)
         String authenticatedCustomerId = httpRequest.getAttribute("authenticatedUserId") != null
@@ -51,12 +71,17 @@ public class PaymentController {
             secureRequest = request;
         }
 
-        return ResponseEntity.ok(paymentService.initializePayment(secureRequest));
+        // Without an explicit key the payment reference itself deduplicates retries
+        String key = "payment.initialize:" + secureRequest.customerId() + ":"
+                + (idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : secureRequest.reference());
+
+        return ResponseEntity.ok(idempotencyService.execute(key, secureRequest, PaymentInitializationResponse.class,
+                () -> paymentService.initializePayment(secureRequest)));
     }
 
     @GetMapping("/{reference}/verify")
     public ResponseEntity<PaymentVerificationResponse> verifyPayment(@PathVariable String reference) {
-        return ResponseEntity.ok(paymentService.verifyPayment(reference));
+        return ResponseEntity.ok(paymentService.checkPayment(reference));
     }
 
     @PostMapping("/payment-methods")
@@ -82,6 +107,30 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getTransactions(customerId));
     }
 
+    @GetMapping("/transactions/page")
+    public ResponseEntity<CursorPage<PaymentTransactionResponse>> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int limit,
+            HttpServletRequest httpRequest) {
+        String customerId = httpRequest.getAttribute("authenticatedUserId") != null
+                ? httpRequest.getAttribute("authenticatedUserId").toString()
+                : null;
+        if (customerId == null)
+            return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(paymentService.getTransactionsPage(customerId, cursor, limit));
+    }
+
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(HttpServletRequest httpRequest) {
+        String customerId = httpRequest.getAttribute("authenticatedUserId") != null
+                ? httpRequest.getAttribute("authenticatedUserId").toString()
+                : null;
+        if (customerId == null)
+            return ResponseEntity.status(401).build();
+        return NdjsonResponses.<PaymentTransactionResponse>stream(objectMapper, "payments.ndjson",
+                sink -> paymentService.streamTransactions(customerId, sink));
+    }
+
     @PostMapping("/refunds")
     public ResponseEntity<com.volteryde.payment.dto.RefundResponse> refundTransaction(
             @RequestBody @Valid com.volteryde.payment.dto.RefundRequest request) {
@@ -1,8 +1,11 @@
 package com.volteryde.payment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.payment.dto.CursorPage;
 import com.volteryde.payment.dto.WalletBalanceResponse;
 import com.volteryde.payment.dto.WalletTransactionResponse;
 import com.volteryde.payment.dto.WalletOperationRequest;
+import com.volteryde.payment.service.IdempotencyService;
 import com.volteryde.payment.service.PaymentService;
 import com.volteryde.payment.service.WalletService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +17,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/wallet")
@@ -22,13 +27,18 @@ public class WalletController {
 
 	private final WalletService walletService;
 	private final PaymentService paymentService;
+	private final IdempotencyService idempotencyService;
+	private final ObjectMapper objectMapper;
 
 	@org.springframework.beans.factory.annotation.Value("${volteryde.internal.service-key:}")
 	private String internalServiceKey;
 
-	public WalletController(WalletService walletService, PaymentService paymentService) {
+	public WalletController(WalletService walletService, PaymentService paymentService,
+			IdempotencyService idempotencyService, ObjectMapper objectMapper) {
 		this.walletService = walletService;
 		this.paymentService = paymentService;
+		this.idempotencyService = idempotencyService;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping("/balance")
@@ -40,6 +50,15 @@ public class WalletController {
 		return ResponseEntity.ok(walletService.getBalance(customerId));
 	}
 
+	@PostMapping("/open")
+	public ResponseEntity<WalletBalanceResponse> openWallet(HttpServletRequest request) {
+		String customerId = getAuthenticatedUserId(request);
+		if (customerId == null) {
+			return ResponseEntity.status(401).build();
+		}
+		return ResponseEntity.ok(walletService.openWallet(customerId));
+	}
+
 	@GetMapping("/{customerId}/balance")
 	public ResponseEntity<WalletBalanceResponse> internalGetBalance(
 			@PathVariable String customerId,
@@ -60,15 +79,49 @@ public class WalletController {
 		return ResponseEntity.ok(walletService.getHistory(customerId));
 	}
 
+	@GetMapping("/transactions/page")
+	public ResponseEntity<CursorPage<WalletTransactionResponse>> getHistoryPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int limit,
+			HttpServletRequest request) {
+		String customerId = getAuthenticatedUserId(request);
+		if (customerId == null) {
+			return ResponseEntity.status(401).build();
+		}
+		return ResponseEntity.ok(walletService.getHistoryPage(customerId, cursor, limit));
+	}
+
+	@GetMapping("/transactions/export")
+	public ResponseEntity<StreamingResponseBody> exportHistory(HttpServletRequest request) {
+		String customerId = getAuthenticatedUserId(request);
+		if (customerId == null) {
+			return ResponseEntity.status(401).build();
+		}
+		return NdjsonResponses.<WalletTransactionResponse>stream(objectMapper, "wallet-statement.ndjson",
+				sink -> walletService.streamHistory(customerId, sink));
+	}
+
 	@PostMapping("/topup")
 	public ResponseEntity<com.volteryde.payment.dto.WalletTopupResponse> topup(
 			@RequestBody @jakarta.validation.Valid com.volteryde.payment.dto.WalletTopupRequest request,
+			@RequestHeader(value = PaymentController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
 			HttpServletRequest httpRequest) {
 		String customerId = getAuthenticatedUserId(httpRequest);
 		if (customerId == null) {
 			return ResponseEntity.status(401).build();
 		}
-		return ResponseEntity.ok(paymentService.topupWallet(customerId, request));
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return ResponseEntity.ok(paymentService.topupWallet(customerId, request));
+		}
+		if (idempotencyKey.length() > PaymentController.MAX_IDEMPOTENCY_KEY_LENGTH) {
+			return ResponseEntity.badRequest().build();
+		}
+		// Each top-up mints a fresh reference, so only an explicit key can deduplicate retries
+		return ResponseEntity.ok(idempotencyService.execute(
+				"wallet.topup:" + customerId + ":" + idempotencyKey,
+				request,
+				com.volteryde.payment.dto.WalletTopupResponse.class,
+				() -> paymentService.topupWallet(customerId, request)));
 	}
 
 	@PostMapping("/deduct")
@@ -0,0 +1,31 @@
+package com.volteryde.payment.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(
+		List<T> items,
+		String nextCursor) {
+
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+
+	public static int clampLimit(int limit) {
+		return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+	}
+
+	/**
+	 * Build a page from {@code rows} fetched with {@code limit + 1}; the extra
+	 * row only signals that another page exists and is not returned.
+	 */
+	public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, HistoryCursor> cursorOf) {
+		if (rows.size() <= limit) {
+			return new CursorPage<>(rows, null);
+		}
+		List<T> items = rows.subList(0, limit);
+		return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)).encode());
+	}
+}
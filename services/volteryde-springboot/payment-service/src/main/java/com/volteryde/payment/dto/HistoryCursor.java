@@ -0,0 +1,38 @@
+package com.volteryde.payment.dto;
+
+import com.volteryde.payment.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a history listing ordered by {@code createdAt DESC, id DESC}.
+ * Serialized as an opaque URL-safe token.
+ */
+public record HistoryCursor(
+		OffsetDateTime createdAt,
+		Long id) {
+
+	private static final char SEPARATOR = '|';
+
+	public String encode() {
+		String raw = createdAt.toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static HistoryCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int split = raw.lastIndexOf(SEPARATOR);
+			if (split < 0) {
+				throw new InvalidCursorException("Malformed cursor");
+			}
+			return new HistoryCursor(
+					OffsetDateTime.parse(raw.substring(0, split)),
+					Long.parseLong(raw.substring(split + 1)));
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			throw new InvalidCursorException("Malformed cursor");
+		}
+	}
+}
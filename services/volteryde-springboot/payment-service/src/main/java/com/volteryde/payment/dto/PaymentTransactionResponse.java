@@ -0,0 +1,18 @@
+package com.volteryde.payment.dto;
+
+import com.volteryde.payment.model.PaymentProvider;
+import com.volteryde.payment.model.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record PaymentTransactionResponse(
+    Long id,
+    String reference,
+    BigDecimal amount,
+    String currency,
+    PaymentStatus status,
+    PaymentProvider provider,
+    String description,
+    OffsetDateTime createdAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.volteryde.payment.dto;
+
+import java.time.Duration;
+
+public record ReconciliationReport(
+    int claimed,
+    int succeeded,
+    int failed,
+    int unchanged,
+    int errors,
+    Duration elapsed
+) {
+
+    public static ReconciliationReport empty() {
+        return new ReconciliationReport(0, 0, 0, 0, 0, Duration.ZERO);
+    }
+}
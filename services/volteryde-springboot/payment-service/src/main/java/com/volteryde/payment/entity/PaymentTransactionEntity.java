@@ -7,7 +7,10 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "payment_transactions")
+@Table(name = "payment_transactions", indexes = {
+        @Index(name = "idx_payment_transactions_customer_created", columnList = "customer_id, created_at DESC, id DESC"),
+        @Index(name = "idx_payment_transactions_status_updated", columnList = "status, updated_at")
+})
 public class PaymentTransactionEntity {
 
     @Id
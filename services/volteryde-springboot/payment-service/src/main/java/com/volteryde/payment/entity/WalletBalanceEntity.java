@@ -34,6 +34,13 @@ public class WalletBalanceEntity {
     @Column(nullable = false, length = 512)
     private String signature;
 
+    /**
+     * Incremented on every balance mutation. Mutations hold a row lock, so this
+     * orders write-throughs to the balance cache.
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long revision;
+
     @Column(nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -102,6 +109,14 @@ public class WalletBalanceEntity {
         this.signature = signature;
     }
 
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -6,7 +6,9 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "wallet_transactions")
+@Table(name = "wallet_transactions", indexes = {
+        @Index(name = "idx_wallet_transactions_customer_created", columnList = "customer_id, created_at DESC, id DESC")
+})
 public class WalletTransactionEntity {
 
     @Id
@@ -0,0 +1,6 @@
+package com.volteryde.payment.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
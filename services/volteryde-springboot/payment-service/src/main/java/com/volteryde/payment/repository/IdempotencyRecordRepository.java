@@ -0,0 +1,20 @@
+package com.volteryde.payment.repository;
+
+import com.volteryde.payment.entity.IdempotencyRecordEntity;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, Long> {
+
+    Optional<IdempotencyRecordEntity> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") OffsetDateTime cutoff);
+}
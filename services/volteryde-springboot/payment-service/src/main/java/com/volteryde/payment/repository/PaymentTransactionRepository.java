@@ -1,14 +1,102 @@
 package com.volteryde.payment.repository;
 
+import com.volteryde.payment.dto.PaymentTransactionResponse;
 import com.volteryde.payment.entity.PaymentTransactionEntity;
+import com.volteryde.payment.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PaymentTransactionRepository extends JpaRepository<PaymentTransactionEntity, Long> {
 
+    String HISTORY_PROJECTION = "select new com.volteryde.payment.dto.PaymentTransactionResponse("
+            + "t.id, t.reference, t.amount, t.currency, t.status, t.provider, t.description, t.createdAt) "
+            + "from PaymentTransactionEntity t where t.customerId = :customerId ";
+
     Optional<PaymentTransactionEntity> findByReference(String reference);
 
+    /**
+     * Reads the status columns only. Nothing enters the persistence context, so
+     * a later {@link #findByReferenceForUpdate} in the same transaction still
+     * sees a settlement committed in between.
+     */
+    Optional<StatusView> findStatusByReference(String reference);
+
+    /**
+     * Row-locks the transaction so concurrent verifications of the same
+     * reference (client poll vs. webhook) are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from PaymentTransactionEntity t where t.reference = :reference")
+    Optional<PaymentTransactionEntity> findByReferenceForUpdate(@Param("reference") String reference);
+
+    /**
+     * Lock up to {@code limit} stale unsettled transactions, oldest check first.
+     * Rows already locked by another replica's claim are skipped. Must run in a
+     * transaction together with {@link #touch}.
+     */
+    @Query(value = "select t.reference from {h-schema}payment_transactions t "
+            + "where t.status in ('PENDING', 'PROCESSING') "
+            + "and t.updated_at < :staleBefore and t.created_at > :notBefore "
+            + "order by t.updated_at "
+            + "limit :limit for update skip locked", nativeQuery = true)
+    List<String> lockStaleReferences(@Param("staleBefore") OffsetDateTime staleBefore,
+            @Param("notBefore") OffsetDateTime notBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update PaymentTransactionEntity t set t.updatedAt = :now where t.reference in :references")
+    int touch(@Param("references") List<String> references, @Param("now") OffsetDateTime now);
+
+    /**
+     * Unbounded; prefer {@link #findHistoryPage} or {@link #streamHistory}.
+     */
     java.util.List<PaymentTransactionEntity> findByCustomerIdOrderByCreatedAtDesc(String customerId);
+
+    @Query(HISTORY_PROJECTION + "order by t.createdAt desc, t.id desc")
+    List<PaymentTransactionResponse> findHistoryPage(@Param("customerId") String customerId, Pageable pageable);
+
+    @Query(HISTORY_PROJECTION
+            + "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) "
+            + "order by t.createdAt desc, t.id desc")
+    List<PaymentTransactionResponse> findHistoryPageAfter(@Param("customerId") String customerId,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Server-side cursor over the full history. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(HISTORY_PROJECTION + "order by t.createdAt desc, t.id desc")
+    Stream<PaymentTransactionResponse> streamHistory(@Param("customerId") String customerId);
+
+    interface StatusView {
+
+        String getReference();
+
+        PaymentStatus getStatus();
+
+        BigDecimal getAmount();
+
+        String getCurrency();
+
+        String getProviderReference();
+
+        OffsetDateTime getUpdatedAt();
+    }
 }
@@ -1,12 +1,41 @@
 package com.volteryde.payment.repository;
 
 import com.volteryde.payment.entity.WalletBalanceEntity;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface WalletBalanceRepository extends JpaRepository<WalletBalanceEntity, Long> {
 
     Optional<WalletBalanceEntity> findByCustomerId(String customerId);
+
+    /**
+     * Row-locks the wallet so concurrent mutations of one balance are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from WalletBalanceEntity w where w.customerId = :customerId")
+    Optional<WalletBalanceEntity> findByCustomerIdForUpdate(@Param("customerId") String customerId);
+
+    /**
+     * Create the wallet unless it already exists. Safe to call concurrently and
+     * from inside another transaction, since a duplicate never raises.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "insert into {h-schema}wallet_balances "
+            + "(customer_id, real_balance, promo_balance, signature, revision, created_at, updated_at) "
+            + "values (:customerId, :realBalance, :promoBalance, :signature, 0, now(), now()) "
+            + "on conflict (customer_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("customerId") String customerId,
+            @Param("realBalance") BigDecimal realBalance,
+            @Param("promoBalance") BigDecimal promoBalance,
+            @Param("signature") String signature);
 }
@@ -1,10 +1,49 @@
 package com.volteryde.payment.repository;
 
+import com.volteryde.payment.dto.WalletTransactionResponse;
 import com.volteryde.payment.entity.WalletTransactionEntity;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WalletTransactionRepository extends JpaRepository<WalletTransactionEntity, Long> {
+
+	String HISTORY_PROJECTION = "select new com.volteryde.payment.dto.WalletTransactionResponse("
+			+ "t.id, t.amount, t.type, t.description, t.createdAt) "
+			+ "from WalletTransactionEntity t where t.customerId = :customerId ";
+
+	boolean existsByReferenceId(String referenceId);
+
+	/**
+	 * Unbounded; prefer {@link #findHistoryPage} or {@link #streamHistory}.
+	 */
 	java.util.List<WalletTransactionEntity> findByCustomerIdOrderByCreatedAtDesc(String customerId);
+
+	@Query(HISTORY_PROJECTION + "order by t.createdAt desc, t.id desc")
+	List<WalletTransactionResponse> findHistoryPage(@Param("customerId") String customerId, Pageable pageable);
+
+	@Query(HISTORY_PROJECTION
+			+ "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) "
+			+ "order by t.createdAt desc, t.id desc")
+	List<WalletTransactionResponse> findHistoryPageAfter(@Param("customerId") String customerId,
+			@Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Server-side cursor over the full history. Must be consumed inside a transaction.
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query(HISTORY_PROJECTION + "order by t.createdAt desc, t.id desc")
+	Stream<WalletTransactionResponse> streamHistory(@Param("customerId") String customerId);
 }
@@ -0,0 +1,20 @@
+package com.volteryde.payment.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Run {@code action} at most once per {@code key}.
+     * A completed response is replayed to later duplicates. A duplicate that
+     * arrives while the first request is still running waits for its result
+     * instead of running the action again. Failed actions release the key so
+     * the client can retry.
+     */
+    <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action);
+
+    /**
+     * Remove records whose replay window has passed.
+     */
+    void purgeExpired();
+}
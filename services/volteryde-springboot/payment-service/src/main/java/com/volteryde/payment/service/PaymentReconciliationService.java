@@ -0,0 +1,13 @@
+package com.volteryde.payment.service;
+
+import com.volteryde.payment.dto.ReconciliationReport;
+
+public interface PaymentReconciliationService {
+
+    /**
+     * Claim one batch of stale PENDING/PROCESSING transactions and verify them
+     * against the gateway. Safe to run on every replica at once: claimed rows
+     * are skipped by concurrent runs.
+     */
+    ReconciliationReport reconcileBatch();
+}
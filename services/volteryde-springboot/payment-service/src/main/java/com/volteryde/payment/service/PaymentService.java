@@ -10,6 +10,13 @@ public interface PaymentService {
 
         PaymentVerificationResponse verifyPayment(String reference);
 
+        /**
+         * Client-facing status check. Answers from the database when the payment is
+         * settled or was verified recently; otherwise falls through to
+         * {@link #verifyPayment}.
+         */
+        PaymentVerificationResponse checkPayment(String reference);
+
         void handleWebhook(String payload, String signatureHeader);
 
         com.volteryde.payment.dto.PaymentMethodResponse addPaymentMethod(String customerId,
@@ -19,6 +26,18 @@ public interface PaymentService {
 
         java.util.List<com.volteryde.payment.entity.PaymentTransactionEntity> getTransactions(String customerId);
 
+        /**
+         * Keyset-paginated payment history, newest first.
+         */
+        com.volteryde.payment.dto.CursorPage<com.volteryde.payment.dto.PaymentTransactionResponse> getTransactionsPage(
+                        String customerId, String cursor, int limit);
+
+        /**
+         * Stream the full payment history to {@code sink} over a database cursor, newest first.
+         */
+        void streamTransactions(String customerId,
+                        java.util.function.Consumer<com.volteryde.payment.dto.PaymentTransactionResponse> sink);
+
         com.volteryde.payment.dto.WalletTopupResponse topupWallet(String customerId,
                         com.volteryde.payment.dto.WalletTopupRequest request);
 }
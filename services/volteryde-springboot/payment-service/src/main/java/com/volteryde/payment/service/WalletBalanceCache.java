@@ -0,0 +1,27 @@
+package com.volteryde.payment.service;
+
+import com.volteryde.payment.dto.WalletBalanceResponse;
+import com.volteryde.payment.entity.WalletBalanceEntity;
+import java.util.Optional;
+
+/**
+ * Shared cache of wallet balances that already passed signature verification.
+ * A hit lets balance reads skip both the database and the HMAC check.
+ */
+public interface WalletBalanceCache {
+
+    Optional<WalletBalanceResponse> get(String customerId);
+
+    /**
+     * Store a verified balance now. Older revisions never overwrite newer ones.
+     */
+    void put(WalletBalanceEntity wallet);
+
+    /**
+     * Store a verified balance once the current transaction commits, or now
+     * if there is no transaction. Nothing is written on rollback.
+     */
+    void putAfterCommit(WalletBalanceEntity wallet);
+
+    void evict(String customerId);
+}
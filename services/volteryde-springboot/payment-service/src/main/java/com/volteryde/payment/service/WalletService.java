@@ -1,20 +1,42 @@
 package com.volteryde.payment.service;
 
+import com.volteryde.payment.dto.CursorPage;
 import com.volteryde.payment.dto.WalletBalanceResponse;
 import com.volteryde.payment.dto.WalletTransactionResponse;
 import com.volteryde.payment.entity.WalletBalanceEntity;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface WalletService {
 
+	/**
+	 * Served from the balance cache when possible. Opens the wallet on first use.
+	 */
 	WalletBalanceResponse getBalance(String customerId);
 
+	/**
+	 * Create the customer's wallet with the welcome bonus if it does not exist yet.
+	 * Idempotent: later calls return the existing balance unchanged.
+	 */
+	WalletBalanceResponse openWallet(String customerId);
+
 	List<WalletTransactionResponse> getHistory(String customerId);
 
+	/**
+	 * Keyset-paginated history, newest first.
+	 */
+	CursorPage<WalletTransactionResponse> getHistoryPage(String customerId, String cursor, int limit);
+
+	/**
+	 * Stream the full history to {@code sink} over a database cursor, newest first.
+	 */
+	void streamHistory(String customerId, Consumer<WalletTransactionResponse> sink);
+
 	/**
 	 * Deposit real funds (e.g. from Paystack).
-	 * Requires signature validation.
+	 * Requires signature validation. A reference that was already credited is
+	 * ignored and the wallet is returned unchanged.
 	 */
 	WalletBalanceEntity depositRealFunds(String customerId, BigDecimal amount, String referenceId, String signature);
 
@@ -0,0 +1,263 @@
+package com.volteryde.payment.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.payment.config.IdempotencyProperties;
+import com.volteryde.payment.entity.IdempotencyRecordEntity;
+import com.volteryde.payment.exception.IdempotencyConflictException;
+import com.volteryde.payment.model.IdempotencyStatus;
+import com.volteryde.payment.repository.IdempotencyRecordRepository;
+import com.volteryde.payment.service.IdempotencyService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * PostgreSQL-backed idempotency store.
+ *
+ * Duplicates within this instance wait on the in-flight request's future.
+ * Duplicates arriving at another instance find the IN_PROGRESS row (the unique
+ * key acts as the lock) and poll until it is COMPLETED. Record changes run in
+ * their own transactions so the claim is visible to other instances before the
+ * gateway call starts.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(
+            IdempotencyRecordRepository repository,
+            IdempotencyProperties properties,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        String requestHash = hash(request);
+        InFlight ours = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, ours);
+        if (running != null) {
+            LOGGER.debug("Waiting for in-flight request with idempotency key {}", key);
+            return readResponse(awaitLocal(running, requestHash), responseType);
+        }
+
+        try {
+            Optional<String> stored = claim(key, requestHash);
+            if (stored.isPresent()) {
+                LOGGER.info("Replaying stored response for idempotency key {}", key);
+                ours.response().complete(stored.get());
+                return readResponse(stored.get(), responseType);
+            }
+
+            T response;
+            try {
+                response = action.get();
+            } catch (RuntimeException ex) {
+                release(key);
+                throw ex;
+            }
+
+            String body = writeResponse(response);
+            complete(key, body);
+            ours.response().complete(body);
+            return response;
+        } catch (RuntimeException ex) {
+            ours.response().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${payment.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(OffsetDateTime.now());
+        if (removed > 0) {
+            LOGGER.info("Purged {} expired idempotency records", removed);
+        }
+    }
+
+    /**
+     * Take ownership of {@code key}, or return the stored response if the
+     * request already completed. Polls while another instance holds the key.
+     */
+    private Optional<String> claim(String key, String requestHash) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Claim claim;
+            try {
+                claim = requiresNew.execute(status -> tryClaim(key, requestHash));
+            } catch (DataIntegrityViolationException | OptimisticLockingFailureException ex) {
+                // Another instance inserted or took over the key between our read and write
+                claim = Claim.BUSY;
+            }
+
+            if (claim.acquired()) {
+                return Optional.empty();
+            }
+            if (claim.response() != null) {
+                return Optional.of(claim.response());
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyConflictException(
+                        "A request with this idempotency key is still being processed");
+            }
+            sleep(properties.getPollInterval().toMillis());
+        }
+    }
+
+    private Claim tryClaim(String key, String requestHash) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Optional<IdempotencyRecordEntity> existing = repository.findByIdempotencyKey(key);
+
+        if (existing.isPresent()) {
+            IdempotencyRecordEntity record = existing.get();
+            boolean expired = record.getStatus() == IdempotencyStatus.COMPLETED
+                    ? record.getExpiresAt().isBefore(now)
+                    : record.getLockedUntil().isBefore(now);
+
+            if (!expired) {
+                if (!record.getRequestHash().equals(requestHash)) {
+                    throw new IdempotencyConflictException(
+                            "Idempotency key was already used for a different request");
+                }
+                return record.getStatus() == IdempotencyStatus.COMPLETED
+                        ? new Claim(false, record.getResponseBody())
+                        : Claim.BUSY;
+            }
+
+            LOGGER.warn("Taking over expired idempotency key {} (status {})", key, record.getStatus());
+            own(record, requestHash, now);
+            repository.saveAndFlush(record);
+            return Claim.ACQUIRED;
+        }
+
+        IdempotencyRecordEntity record = new IdempotencyRecordEntity();
+        record.setIdempotencyKey(key);
+        own(record, requestHash, now);
+        repository.saveAndFlush(record);
+        return Claim.ACQUIRED;
+    }
+
+    private void own(IdempotencyRecordEntity record, String requestHash, OffsetDateTime now) {
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setResponseBody(null);
+        record.setLockedUntil(now.plus(properties.getLockTimeout()));
+        record.setExpiresAt(now.plus(properties.getTtl()));
+    }
+
+    private void complete(String key, String body) {
+        requiresNew.executeWithoutResult(status -> repository.findByIdempotencyKey(key).ifPresent(record -> {
+            record.setStatus(IdempotencyStatus.COMPLETED);
+            record.setResponseBody(body);
+            record.setExpiresAt(OffsetDateTime.now().plus(properties.getTtl()));
+            repository.save(record);
+        }));
+    }
+
+    private void release(String key) {
+        try {
+            requiresNew.executeWithoutResult(status -> repository.findByIdempotencyKey(key)
+                    .ifPresent(repository::delete));
+        } catch (RuntimeException ex) {
+            // The lock timeout will free the key eventually
+            LOGGER.error("Failed to release idempotency key {}", key, ex);
+        }
+    }
+
+    private String awaitLocal(InFlight running, String requestHash) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        try {
+            return running.response().get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException("A request with this idempotency key is still being processed");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Idempotent request failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for idempotent request");
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for idempotent request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to fingerprint idempotent request", ex);
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to store idempotent response", ex);
+        }
+    }
+
+    private <T> T readResponse(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to read stored idempotent response", ex);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<String> response) {
+    }
+
+    private record Claim(boolean acquired, String response) {
+        static final Claim ACQUIRED = new Claim(true, null);
+        static final Claim BUSY = new Claim(false, null);
+    }
+}
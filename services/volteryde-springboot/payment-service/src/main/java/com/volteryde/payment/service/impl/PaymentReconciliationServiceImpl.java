@@ -0,0 +1,189 @@
+package com.volteryde.payment.service.impl;
+
+import com.volteryde.payment.config.ReconciliationProperties;
+import com.volteryde.payment.dto.PaymentVerificationResponse;
+import com.volteryde.payment.dto.ReconciliationReport;
+import com.volteryde.payment.model.PaymentStatus;
+import com.volteryde.payment.repository.PaymentTransactionRepository;
+import com.volteryde.payment.service.PaymentReconciliationService;
+import com.volteryde.payment.service.PaymentService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Settles payments whose webhook never arrived.
+ *
+ * Each run claims a batch of stale PENDING/PROCESSING rows with
+ * {@code FOR UPDATE SKIP LOCKED} and bumps their {@code updated_at}, so
+ * replicas running concurrently take disjoint batches and a row is not picked
+ * again until it goes stale once more. The claimed references are then verified
+ * against Paystack in parallel on a bounded pool, throttled by a rate limiter so
+ * the job never starves client traffic of gateway capacity. The pool carries
+ * the run's trace, so each Paystack call appears under the scheduled run.
+ */
+@Service
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaymentReconciliationServiceImpl.class);
+
+    static final String OUTCOME_METRIC = "payment.reconciliation.transactions";
+    static final String BATCH_METRIC = "payment.reconciliation.batch";
+
+    private final PaymentTransactionRepository repository;
+    private final PaymentService paymentService;
+    private final ReconciliationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+
+    public PaymentReconciliationServiceImpl(
+            PaymentTransactionRepository repository,
+            PaymentService paymentService,
+            ReconciliationProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.paymentService = paymentService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(properties.getParallelism(), threadFactory()),
+                ContextSnapshotFactory.builder().build());
+        this.rateLimiter = RateLimiter.of("paystack-reconciliation", RateLimiterConfig.custom()
+                .limitForPeriod(properties.getPermitsPerSecond())
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(30))
+                .build());
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder(BATCH_METRIC)
+                .description("Time to claim and verify one reconciliation batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.reconciliation.interval:PT2M}",
+            initialDelayString = "${payment.reconciliation.initial-delay:PT1M}")
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            ReconciliationReport report = reconcileBatch();
+            if (report.claimed() > 0) {
+                LOGGER.info("Reconciled {} stale payments in {} ms: {} succeeded, {} failed, {} unchanged, {} errors",
+                        report.claimed(), report.elapsed().toMillis(), report.succeeded(), report.failed(),
+                        report.unchanged(), report.errors());
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error("Payment reconciliation run failed", ex);
+        }
+    }
+
+    @Override
+    public ReconciliationReport reconcileBatch() {
+        long start = System.nanoTime();
+        List<String> references = claimBatch();
+        if (references.isEmpty()) {
+            return ReconciliationReport.empty();
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger unchanged = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(references.size());
+        for (String reference : references) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                String outcome = reconcile(reference);
+                switch (outcome) {
+                    case "success" -> succeeded.incrementAndGet();
+                    case "failed" -> failed.incrementAndGet();
+                    case "unchanged" -> unchanged.incrementAndGet();
+                    default -> errors.incrementAndGet();
+                }
+                Counter.builder(OUTCOME_METRIC).tag("outcome", outcome).register(meterRegistry).increment();
+            }, executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        batchTimer.record(elapsed);
+        return new ReconciliationReport(references.size(), succeeded.get(), failed.get(), unchanged.get(),
+                errors.get(), elapsed);
+    }
+
+    private List<String> claimBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<String> references = transactionTemplate.execute(status -> {
+            List<String> locked = repository.lockStaleReferences(
+                    now.minus(properties.getStaleAfter()),
+                    now.minus(properties.getMaxAge()),
+                    properties.getBatchSize());
+            if (!locked.isEmpty()) {
+                repository.touch(locked, now);
+            }
+            return locked;
+        });
+        return references != null ? references : List.of();
+    }
+
+    private String reconcile(String reference) {
+        try {
+            RateLimiter.waitForPermission(rateLimiter);
+            PaymentVerificationResponse response = paymentService.verifyPayment(reference);
+            PaymentStatus status = response.status();
+            if (status == PaymentStatus.SUCCESS) {
+                return "success";
+            }
+            if (status == PaymentStatus.FAILED) {
+                return "failed";
+            }
+            return "unchanged";
+        } catch (RuntimeException ex) {
+            // Row stays PENDING/PROCESSING and is picked up again once stale
+            LOGGER.warn("Reconciliation of payment {} failed: {}", reference, ex.getMessage());
+            return "error";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "payment-reconcile-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,12 +2,16 @@ package com.volteryde.payment.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.payment.config.ReconciliationProperties;
+import com.volteryde.payment.dto.CursorPage;
+import com.volteryde.payment.dto.HistoryCursor;
 import com.volteryde.payment.dto.PaymentInitializationRequest;
 import com.volteryde.payment.dto.PaymentInitializationResponse;
 import com.volteryde.payment.dto.PaymentVerificationResponse;
 import com.volteryde.payment.dto.PaymentMethodRequest;
 import com.volteryde.payment.dto.PaymentMethodResponse;
 import com.volteryde.payment.dto.RefundRequest;
+import com.volteryde.payment.dto.PaymentTransactionResponse;
 import com.volteryde.payment.dto.RefundResponse;
 import java.util.List;
 import java.util.UUID;
@@ -28,13 +32,23 @@ import com.volteryde.payment.service.model.PaystackVerifyResponse;
 import com.volteryde.payment.service.model.PaystackVerifyResponseData;
 import com.volteryde.payment.service.model.PaystackVerifyResponseDataAuthorization;
 import com.volteryde.payment.service.model.PaystackWebhookEvent;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.Measured;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class PaymentServiceImpl implements PaymentService {
@@ -47,6 +61,9 @@ public class PaymentServiceImpl implements PaymentService {
     private final WalletService walletService;
     private final SecurityService securityService;
     private final ObjectMapper objectMapper;
+    private final ReconciliationProperties reconciliationProperties;
+    private final BusinessMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
 
     public PaymentServiceImpl(
             PaymentGatewayClient paymentGatewayClient,
@@ -54,51 +71,90 @@ public class PaymentServiceImpl implements PaymentService {
             PaymentMethodRepository paymentMethodRepository,
             WalletService walletService,
             SecurityService securityService,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ReconciliationProperties reconciliationProperties,
+            BusinessMetrics metrics,
+            PlatformTransactionManager transactionManager) {
         this.paymentGatewayClient = paymentGatewayClient;
         this.paymentTransactionRepository = paymentTransactionRepository;
         this.paymentMethodRepository = paymentMethodRepository;
         this.walletService = walletService;
         this.securityService = securityService;
         this.objectMapper = objectMapper;
+        this.reconciliationProperties = reconciliationProperties;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * The Paystack call runs outside any transaction: the row is created or
+     * read in one short transaction and the access code is stored in another,
+     * so no row lock or pooled connection is held while Paystack answers.
+     */
     @Override
-    @Transactional
     public PaymentInitializationResponse initializePayment(PaymentInitializationRequest request) {
         LOGGER.info("Initializing payment for reference {}", request.reference());
-        Optional<PaymentTransactionEntity> existingTransaction = paymentTransactionRepository
-                .findByReference(request.reference());
-
-        if (existingTransaction.isPresent()) {
-            PaymentTransactionEntity transaction = existingTransaction.get();
-            LOGGER.info("Using existing transaction {} with status {}", transaction.getId(), transaction.getStatus());
-            if (transaction.getStatus() == PaymentStatus.SUCCESS) {
-                return new PaymentInitializationResponse(
-                        transaction.getReference(),
-                        null,
-                        null,
-                        transaction.getStatus());
-            }
+        PaymentTransactionEntity claimed = transactionTemplate.execute(status -> {
+            Optional<PaymentTransactionEntity> existingTransaction = paymentTransactionRepository
+                    .findByReferenceForUpdate(request.reference());
+            existingTransaction.ifPresent(transaction -> LOGGER.info("Using existing transaction {} with status {}",
+                    transaction.getId(), transaction.getStatus()));
+            return existingTransaction.orElseGet(() -> createPendingTransaction(request));
+        });
+
+        if (claimed.getStatus() == PaymentStatus.SUCCESS) {
+            return new PaymentInitializationResponse(
+                    claimed.getReference(),
+                    null,
+                    null,
+                    claimed.getStatus());
         }
 
-        PaymentTransactionEntity transaction = existingTransaction.orElseGet(() -> createPendingTransaction(request));
-
         PaymentInitializationResponse gatewayResponse = paymentGatewayClient.initializePayment(request);
 
-        transaction.setStatus(PaymentStatus.PROCESSING);
-        transaction.setProviderReference(gatewayResponse.accessCode());
-        paymentTransactionRepository.save(transaction);
+        transactionTemplate.executeWithoutResult(status -> {
+            PaymentTransactionEntity transaction = lockTransaction(request.reference());
+            // A webhook may have settled it while Paystack answered
+            if (!isSettled(transaction.getStatus())) {
+                transaction.setStatus(PaymentStatus.PROCESSING);
+                transaction.setProviderReference(gatewayResponse.accessCode());
+                paymentTransactionRepository.save(transaction);
+            }
+        });
 
         return gatewayResponse;
     }
 
+    /**
+     * Settles the transaction from Paystack's answer. The row is locked twice,
+     * briefly: once to skip settled transactions and once to apply the result.
+     * The Paystack call in between holds no lock or pooled connection, so a
+     * slow gateway cannot exhaust the connection pool. Whoever holds the
+     * second lock first applies the result; a concurrent verification (e.g.
+     * webhook vs. client) finds the row settled and credits nothing.
+     */
     @Override
-    @Transactional
     public PaymentVerificationResponse verifyPayment(String reference) {
+        return settle(reference).response();
+    }
+
+    /**
+     * {@link #verifyPayment}, also telling whether this call credited the
+     * wallet rather than finding the transaction already settled.
+     */
+    private Settlement settle(String reference) {
         LOGGER.info("Verifying payment with reference {}", reference);
-        PaymentTransactionEntity transaction = paymentTransactionRepository.findByReference(reference)
-                .orElseThrow(() -> new PaymentNotFoundException("Transaction not found for reference " + reference));
+        PaymentVerificationResponse settled = transactionTemplate.execute(status -> {
+            PaymentTransactionEntity transaction = lockTransaction(reference);
+            if (isSettled(transaction.getStatus())) {
+                LOGGER.info("Transaction {} already settled with status {}", reference, transaction.getStatus());
+                return toVerificationResponse(transaction);
+            }
+            return null;
+        });
+        if (settled != null) {
+            return new Settlement(settled, false);
+        }
 
         PaystackVerifyResponse verification = paymentGatewayClient.verifyPayment(reference);
         PaystackVerifyResponseData data = verification.data();
@@ -107,29 +163,66 @@ public class PaymentServiceImpl implements PaymentService {
             throw new PaymentGatewayException("Missing verification data for reference " + reference);
         }
 
-        PaymentStatus status = mapStatus(data.status());
-        transaction.setStatus(status);
-        transaction.setProviderReference(reference);
-        transaction.setMetadataJson(writeMetadataJson(Map.of(
-                "gateway_message", verification.message(),
-                "paid_at", data.paidAt(),
-                "created_at", data.createdAt())));
-        paymentTransactionRepository.save(transaction);
-
-        if (status == PaymentStatus.SUCCESS) {
-            handleSuccessfulPayment(transaction, data);
-        }
+        return transactionTemplate.execute(status -> {
+            PaymentTransactionEntity transaction = lockTransaction(reference);
 
-        return new PaymentVerificationResponse(
-                transaction.getReference(),
-                transaction.getStatus(),
-                transaction.getAmount(),
-                transaction.getCurrency(),
-                transaction.getProviderReference());
+            // Settled by a concurrent verification while we waited for Paystack
+            if (isSettled(transaction.getStatus())) {
+                LOGGER.info("Transaction {} already settled with status {}", reference, transaction.getStatus());
+                return new Settlement(toVerificationResponse(transaction), false);
+            }
+
+            PaymentStatus paymentStatus = mapStatus(data.status());
+            transaction.setStatus(paymentStatus);
+            transaction.setProviderReference(reference);
+            transaction.setMetadataJson(writeMetadataJson(Map.of(
+                    "gateway_message", verification.message(),
+                    "paid_at", data.paidAt(),
+                    "created_at", data.createdAt())));
+            paymentTransactionRepository.save(transaction);
+
+            boolean credited = paymentStatus == PaymentStatus.SUCCESS;
+            if (credited) {
+                handleSuccessfulPayment(transaction, data);
+            }
+
+            return new Settlement(toVerificationResponse(transaction), credited);
+        });
+    }
+
+    private record Settlement(PaymentVerificationResponse response, boolean credited) {
     }
 
     @Override
-    @Transactional
+    public PaymentVerificationResponse checkPayment(String reference) {
+        // A projection, not the entity: a managed instance loaded here would be
+        // handed back unrefreshed by verifyPayment's locking read
+        PaymentTransactionRepository.StatusView transaction = paymentTransactionRepository
+                .findStatusByReference(reference)
+                .orElseThrow(() -> new PaymentNotFoundException("Transaction not found for reference " + reference));
+
+        // Polling clients would otherwise turn every poll into a Paystack call;
+        // the webhook and the reconciliation job keep recent rows current
+        OffsetDateTime recent = OffsetDateTime.now().minus(reconciliationProperties.getClientVerifyMinInterval());
+        if (isSettled(transaction.getStatus()) || transaction.getStatus() == PaymentStatus.FAILED
+                || (transaction.getUpdatedAt() != null && transaction.getUpdatedAt().isAfter(recent))) {
+            return new PaymentVerificationResponse(
+                    transaction.getReference(),
+                    transaction.getStatus(),
+                    transaction.getAmount(),
+                    transaction.getCurrency(),
+                    transaction.getProviderReference());
+        }
+        return verifyPayment(reference);
+    }
+
+    /**
+     * Timed in {@code volteryde.payment.webhook}. When this delivery credits
+     * the wallet, {@code volteryde.payment.webhook.lag} records how long after
+     * Paystack's {@code paid_at} that happened.
+     */
+    @Override
+    @Measured("payment.webhook")
     public void handleWebhook(String payload, String signatureHeader) {
         paymentGatewayClient.validateWebhookSignature(payload, signatureHeader);
         PaystackWebhookEvent event = paymentGatewayClient.parseWebhookEvent(payload);
@@ -145,7 +238,10 @@ public class PaymentServiceImpl implements PaymentService {
         if ("charge.success".equalsIgnoreCase(eventType)) {
             Object referenceObject = event.data() != null ? event.data().get("reference") : null;
             if (referenceObject instanceof String reference && !reference.isBlank()) {
-                verifyPayment(reference);
+                // Duplicate deliveries of a settled charge say nothing about lag
+                if (settle(reference).credited()) {
+                    recordWebhookLag(event.data().get("paid_at"));
+                }
             } else {
                 LOGGER.warn("Webhook charge.success missing reference");
             }
@@ -154,6 +250,38 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    private void recordWebhookLag(Object paidAt) {
+        if (!(paidAt instanceof String timestamp)) {
+            return;
+        }
+        try {
+            Duration lag = Duration.between(OffsetDateTime.parse(timestamp), OffsetDateTime.now());
+            if (!lag.isNegative()) {
+                metrics.record("payment.webhook.lag", lag);
+            }
+        } catch (DateTimeParseException e) {
+            LOGGER.debug("Unparseable paid_at {} on webhook", timestamp);
+        }
+    }
+
+    private PaymentTransactionEntity lockTransaction(String reference) {
+        return paymentTransactionRepository.findByReferenceForUpdate(reference)
+                .orElseThrow(() -> new PaymentNotFoundException("Transaction not found for reference " + reference));
+    }
+
+    private boolean isSettled(PaymentStatus status) {
+        return status == PaymentStatus.SUCCESS || status == PaymentStatus.REFUNDED;
+    }
+
+    private PaymentVerificationResponse toVerificationResponse(PaymentTransactionEntity transaction) {
+        return new PaymentVerificationResponse(
+                transaction.getReference(),
+                transaction.getStatus(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getProviderReference());
+    }
+
     private PaymentTransactionEntity createPendingTransaction(PaymentInitializationRequest request) {
         PaymentTransactionEntity transaction = new PaymentTransactionEntity();
         transaction.setCustomerId(request.customerId());
@@ -264,7 +392,35 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentTransactionResponse> getTransactionsPage(String customerId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<PaymentTransactionResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = paymentTransactionRepository.findHistoryPage(customerId, window);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = paymentTransactionRepository.findHistoryPageAfter(customerId, after.createdAt(), after.id(), window);
+        }
+        return CursorPage.of(rows, pageSize, tx -> new HistoryCursor(tx.createdAt(), tx.id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTransactions(String customerId, Consumer<PaymentTransactionResponse> sink) {
+        try (Stream<PaymentTransactionResponse> history = paymentTransactionRepository.streamHistory(customerId)) {
+            history.forEach(sink);
+        }
+    }
+
+    /**
+     * Not transactional: {@link #initializePayment} must open and commit its
+     * own short transactions, or the row lock and pooled connection would be
+     * held for the whole Paystack call.
+     */
+    @Override
     public com.volteryde.payment.dto.WalletTopupResponse topupWallet(String customerId,
             com.volteryde.payment.dto.WalletTopupRequest request) {
         java.util.Map<String, Object> metadata = new java.util.HashMap<>();
@@ -286,8 +442,9 @@ public class PaymentServiceImpl implements PaymentService {
 
         initializePayment(initRequest);
 
-        PaymentTransactionEntity tx = paymentTransactionRepository.findByReference(reference)
-                .orElseThrow(() -> new PaymentNotFoundException("Transaction not created"));
+        PaymentTransactionEntity tx = transactionTemplate.execute(status -> paymentTransactionRepository
+                .findByReference(reference)
+                .orElseThrow(() -> new PaymentNotFoundException("Transaction not created")));
 
         return new com.volteryde.payment.dto.WalletTopupResponse(tx.getId(), java.math.BigDecimal.ZERO);
     }
@@ -42,12 +42,14 @@ public class PaystackPaymentGatewayClient implements PaymentGatewayClient {
     private final RestTemplate restTemplate;
     private final PaystackProperties properties;
     private final ObjectMapper objectMapper;
+    private final PaystackResilience resilience;
 
     public PaystackPaymentGatewayClient(RestTemplate restTemplate, PaystackProperties properties,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper, PaystackResilience resilience) {
         this.restTemplate = restTemplate;
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.resilience = resilience;
     }
 
     @Override
@@ -74,10 +76,12 @@ public class PaystackPaymentGatewayClient implements PaymentGatewayClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<PaystackInitializeResponse> response = restTemplate.postForEntity(
-                    INITIALIZE_ENDPOINT,
-                    entity,
-                    PaystackInitializeResponse.class);
+            ResponseEntity<PaystackInitializeResponse> response = resilience.call(
+                    PaystackResilience.Endpoint.INITIALIZE,
+                    () -> restTemplate.postForEntity(
+                            INITIALIZE_ENDPOINT,
+                            entity,
+                            PaystackInitializeResponse.class));
 
             PaystackInitializeResponse responseBody = response.getBody();
             if (responseBody == null || !responseBody.status()) {
@@ -103,12 +107,14 @@ public class PaystackPaymentGatewayClient implements PaymentGatewayClient {
     @Override
     public PaystackVerifyResponse verifyPayment(String reference) {
         try {
-            ResponseEntity<PaystackVerifyResponse> response = restTemplate.exchange(
-                    VERIFY_ENDPOINT,
-                    HttpMethod.GET,
-                    null,
-                    PaystackVerifyResponse.class,
-                    reference);
+            ResponseEntity<PaystackVerifyResponse> response = resilience.call(
+                    PaystackResilience.Endpoint.VERIFY,
+                    () -> restTemplate.exchange(
+                            VERIFY_ENDPOINT,
+                            HttpMethod.GET,
+                            null,
+                            PaystackVerifyResponse.class,
+                            reference));
 
             PaystackVerifyResponse responseBody = response.getBody();
             if (responseBody == null) {
@@ -196,11 +202,12 @@ public class PaystackPaymentGatewayClient implements PaymentGatewayClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<com.volteryde.payment.service.model.PaystackRefundResponse> response = restTemplate
-                    .postForEntity(
+            ResponseEntity<com.volteryde.payment.service.model.PaystackRefundResponse> response = resilience.call(
+                    PaystackResilience.Endpoint.REFUND,
+                    () -> restTemplate.postForEntity(
                             REFUND_ENDPOINT,
                             entity,
-                            com.volteryde.payment.service.model.PaystackRefundResponse.class);
+                            com.volteryde.payment.service.model.PaystackRefundResponse.class));
 
             com.volteryde.payment.service.model.PaystackRefundResponse responseBody = response.getBody();
             if (responseBody == null || !responseBody.status()) {
@@ -0,0 +1,155 @@
+package com.volteryde.payment.service.impl;
+
+import com.volteryde.payment.config.PaystackProperties;
+import com.volteryde.payment.exception.PaymentGatewayException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Per-endpoint fault isolation for Paystack calls.
+ *
+ * Every call passes through a bulkhead (bounded concurrency) and a circuit
+ * breaker. Safe calls (GET verify) are also retried with jittered exponential
+ * backoff. Only transport errors, 5xx and 429 count as failures; other 4xx
+ * responses are the caller's problem and do not trip the breaker.
+ *
+ * Calls are timed as {@code paystack.client.requests} tagged by endpoint and outcome.
+ */
+@Component
+public class PaystackResilience {
+
+    public enum Endpoint {
+        INITIALIZE("initialize", false),
+        VERIFY("verify", true),
+        REFUND("refund", false);
+
+        private final String tag;
+        private final boolean safe;
+
+        Endpoint(String tag, boolean safe) {
+            this.tag = tag;
+            this.safe = safe;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    static final String TIMER_NAME = "paystack.client.requests";
+
+    private static final Predicate<Throwable> TRANSIENT_FAILURE = ex -> ex instanceof ResourceAccessException
+            || ex instanceof HttpServerErrorException
+            || ex instanceof HttpClientErrorException.TooManyRequests;
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final RetryRegistry retries;
+    private final MeterRegistry meterRegistry;
+
+    public PaystackResilience(PaystackProperties properties, MeterRegistry meterRegistry) {
+        PaystackProperties.Resilience config = properties.getResilience();
+        this.meterRegistry = meterRegistry;
+
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slowCallDurationThreshold(config.getSlowCallThreshold())
+                .slowCallRateThreshold(100)
+                .waitDurationInOpenState(config.getOpenStateWait())
+                .permittedNumberOfCallsInHalfOpenState(config.getHalfOpenCalls())
+                .recordException(TRANSIENT_FAILURE)
+                .build());
+
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                .maxWaitDuration(config.getMaxBulkheadWait())
+                .build());
+
+        this.retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(config.getMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        config.getRetryBackoff(), 2.0, config.getRetryJitter()))
+                .retryOnException(TRANSIENT_FAILURE)
+                .build());
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            circuitBreakers.circuitBreaker("paystack-" + endpoint.tag());
+            bulkheads.bulkhead("paystack-" + endpoint.tag());
+            if (endpoint.safe) {
+                retries.retry("paystack-" + endpoint.tag());
+            }
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+    }
+
+    public <T> T call(Endpoint endpoint, Supplier<T> call) {
+        String name = "paystack-" + endpoint.tag();
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkheads.bulkhead(name), call);
+        guarded = CircuitBreaker.decorateSupplier(circuitBreakers.circuitBreaker(name), guarded);
+        if (endpoint.safe) {
+            guarded = Retry.decorateSupplier(retries.retry(name), guarded);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException ex) {
+            outcome = "circuit_open";
+            throw new PaymentGatewayException("Paystack " + endpoint.tag() + " is temporarily unavailable", ex);
+        } catch (BulkheadFullException ex) {
+            outcome = "rejected";
+            throw new PaymentGatewayException("Too many concurrent Paystack " + endpoint.tag() + " calls", ex);
+        } catch (RuntimeException ex) {
+            outcome = outcomeOf(ex);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .tag("endpoint", endpoint.tag())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    CircuitBreaker.State state(Endpoint endpoint) {
+        return circuitBreakers.circuitBreaker("paystack-" + endpoint.tag()).getState();
+    }
+
+    private String outcomeOf(RuntimeException ex) {
+        if (ex instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        if (ex instanceof RestClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() ? "server_error" : "client_error";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,133 @@
+package com.volteryde.payment.service.impl;
+
+import com.volteryde.payment.dto.WalletBalanceResponse;
+import com.volteryde.payment.entity.WalletBalanceEntity;
+import com.volteryde.payment.service.WalletBalanceCache;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Redis-hash balance cache, shared by all payment-service replicas.
+ *
+ * Each entry is {@code wallet:balance:<customerId>} with fields rev, real and
+ * promo. Writes go through a script that refuses to replace a newer revision,
+ * so out-of-order commit hooks and read-through fills cannot publish a stale
+ * balance.
+ *
+ * Graceful degradation: any Redis error is logged and treated as a miss, so
+ * balances are served from PostgreSQL while Redis is unavailable.
+ */
+@Component
+public class RedisWalletBalanceCache implements WalletBalanceCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisWalletBalanceCache.class);
+
+    private static final String KEY_PREFIX = "wallet:balance:";
+    private static final String CURRENCY = "GHS";
+
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'rev') "
+                    + "if current and tonumber(current) > tonumber(ARGV[1]) then return 0 end "
+                    + "redis.call('HSET', KEYS[1], 'rev', ARGV[1], 'real', ARGV[2], 'promo', ARGV[3]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Value("${wallet.balance-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${wallet.balance-cache.ttl:10m}")
+    private Duration ttl;
+
+    public RedisWalletBalanceCache(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Optional<WalletBalanceResponse> get(String customerId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Map<Object, Object> entry = redis.opsForHash().entries(KEY_PREFIX + customerId);
+            if (entry.isEmpty()) {
+                return Optional.empty();
+            }
+            BigDecimal real = new BigDecimal((String) entry.get("real"));
+            BigDecimal promo = new BigDecimal((String) entry.get("promo"));
+            return Optional.of(new WalletBalanceResponse(customerId, real, promo, real.add(promo), CURRENCY));
+        } catch (Exception e) {
+            LOGGER.error("Redis error reading balance cache — falling back to database: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(WalletBalanceEntity wallet) {
+        write(new Snapshot(wallet.getCustomerId(), wallet.getRevision(), wallet.getRealBalance(),
+                wallet.getPromoBalance()));
+    }
+
+    @Override
+    public void putAfterCommit(WalletBalanceEntity wallet) {
+        if (!enabled) {
+            return;
+        }
+        // Copy now: the entity may be modified again before the transaction ends
+        Snapshot snapshot = new Snapshot(wallet.getCustomerId(), wallet.getRevision(), wallet.getRealBalance(),
+                wallet.getPromoBalance());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(snapshot);
+            }
+        });
+    }
+
+    @Override
+    public void evict(String customerId) {
+        try {
+            redis.delete(KEY_PREFIX + customerId);
+        } catch (Exception e) {
+            LOGGER.error("Redis error evicting balance cache for {}: {}", customerId, e.getMessage());
+        }
+    }
+
+    private void write(Snapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redis.execute(PUT_IF_NEWER, List.of(KEY_PREFIX + snapshot.customerId()),
+                    String.valueOf(snapshot.revision()),
+                    snapshot.realBalance().toPlainString(),
+                    snapshot.promoBalance().toPlainString(),
+                    String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            // A failed write-through must not leave the previous value behind
+            LOGGER.error("Redis error updating balance cache for {}: {}", snapshot.customerId(), e.getMessage());
+            evict(snapshot.customerId());
+        }
+    }
+
+    private record Snapshot(String customerId, long revision, BigDecimal realBalance, BigDecimal promoBalance) {
+    }
+}
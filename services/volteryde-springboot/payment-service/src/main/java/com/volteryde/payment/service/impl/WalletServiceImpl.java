@@ -1,5 +1,7 @@
 package com.volteryde.payment.service.impl;
 
+import com.volteryde.payment.dto.CursorPage;
+import com.volteryde.payment.dto.HistoryCursor;
 import com.volteryde.payment.dto.WalletBalanceResponse;
 import com.volteryde.payment.dto.WalletTransactionResponse;
 import com.volteryde.payment.entity.WalletTransactionEntity;
@@ -8,42 +10,77 @@ import com.volteryde.payment.entity.WalletBalanceEntity;
 import com.volteryde.payment.repository.WalletBalanceRepository;
 import com.volteryde.payment.repository.WalletTransactionRepository;
 import com.volteryde.payment.service.SecurityService;
+import com.volteryde.payment.service.WalletBalanceCache;
 import com.volteryde.payment.service.WalletService;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import com.volteryde.shared.metrics.Measured;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class WalletServiceImpl implements WalletService {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(WalletServiceImpl.class);
+
 	private final WalletBalanceRepository walletBalanceRepository;
 	private final WalletTransactionRepository walletTransactionRepository;
+	private static final BigDecimal WELCOME_BONUS = new BigDecimal("12.00"); // Welcome bonus of ₵12.00
+
 	private final SecurityService securityService;
+	private final WalletBalanceCache balanceCache;
+	private final BusinessMetrics metrics;
 
 	public WalletServiceImpl(WalletBalanceRepository walletBalanceRepository,
 			WalletTransactionRepository walletTransactionRepository,
-			SecurityService securityService) {
+			SecurityService securityService,
+			WalletBalanceCache balanceCache,
+			BusinessMetrics metrics) {
 		this.walletBalanceRepository = walletBalanceRepository;
 		this.walletTransactionRepository = walletTransactionRepository;
 		this.securityService = securityService;
+		this.balanceCache = balanceCache;
+		this.metrics = metrics;
 	}
 
+	/**
+	 * Deliberately non-transactional: a cache hit should not borrow a JDBC
+	 * connection. Cached balances were verified before they were stored.
+	 */
 	@Override
-	@Transactional(readOnly = true)
 	public WalletBalanceResponse getBalance(String customerId) {
-		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerId(customerId)
-				.orElseGet(() -> createWallet(customerId)); // Create if not exists (signed)
+		Optional<WalletBalanceResponse> cached = balanceCache.get(customerId);
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+
+		Optional<WalletBalanceEntity> existing = walletBalanceRepository.findByCustomerId(customerId);
+		if (existing.isEmpty()) {
+			return openWallet(customerId);
+		}
 
+		WalletBalanceEntity wallet = existing.get();
 		verifyIntegrity(wallet);
+		balanceCache.put(wallet);
+		return toBalanceResponse(wallet);
+	}
 
-		return new WalletBalanceResponse(
-				customerId,
-				wallet.getRealBalance(),
-				wallet.getPromoBalance(),
-				wallet.getTotalBalance(),
-				"GHS");
+	@Override
+	@Transactional
+	public WalletBalanceResponse openWallet(String customerId) {
+		WalletBalanceEntity wallet = findOrOpenWallet(customerId, false);
+		verifyIntegrity(wallet);
+		balanceCache.putAfterCommit(wallet);
+		return toBalanceResponse(wallet);
 	}
 
 	@Override
@@ -60,12 +97,42 @@ public class WalletServiceImpl implements WalletService {
 				.collect(Collectors.toList());
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<WalletTransactionResponse> getHistoryPage(String customerId, String cursor, int limit) {
+		int pageSize = CursorPage.clampLimit(limit);
+		PageRequest window = PageRequest.of(0, pageSize + 1);
+
+		List<WalletTransactionResponse> rows;
+		if (cursor == null || cursor.isBlank()) {
+			rows = walletTransactionRepository.findHistoryPage(customerId, window);
+		} else {
+			HistoryCursor after = HistoryCursor.decode(cursor);
+			rows = walletTransactionRepository.findHistoryPageAfter(customerId, after.createdAt(), after.id(), window);
+		}
+		return CursorPage.of(rows, pageSize, tx -> new HistoryCursor(tx.createdAt(), tx.id()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamHistory(String customerId, Consumer<WalletTransactionResponse> sink) {
+		try (Stream<WalletTransactionResponse> history = walletTransactionRepository.streamHistory(customerId)) {
+			history.forEach(sink);
+		}
+	}
+
 	@Override
 	@Transactional
 	public WalletBalanceEntity depositRealFunds(String customerId, BigDecimal amount, String referenceId,
 			String signature) {
-		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerId(customerId)
-				.orElseGet(() -> createWallet(customerId));
+		WalletBalanceEntity wallet = findOrOpenWallet(customerId, true);
+
+		// The wallet lock serializes deposits for this customer, so the check
+		// cannot race; the unique reference_id is the backstop
+		if (walletTransactionRepository.existsByReferenceId(referenceId)) {
+			LOGGER.warn("Deposit {} already credited to customer {}; ignoring", referenceId, customerId);
+			return wallet;
+		}
 
 		verifyIntegrity(wallet);
 
@@ -75,6 +142,7 @@ public class WalletServiceImpl implements WalletService {
 		updateSignature(wallet);
 
 		wallet = walletBalanceRepository.save(wallet);
+		balanceCache.putAfterCommit(wallet);
 
 		createTransaction(wallet, amount, WalletTransactionType.CREDIT, "Paystack Deposit: " + referenceId, "REAL",
 				referenceId);
@@ -84,8 +152,7 @@ public class WalletServiceImpl implements WalletService {
 	@Override
 	@Transactional
 	public WalletBalanceEntity addSupportFunds(String customerId, BigDecimal amount, String reason, String adminId) {
-		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerId(customerId)
-				.orElseGet(() -> createWallet(customerId));
+		WalletBalanceEntity wallet = findOrOpenWallet(customerId, true);
 
 		verifyIntegrity(wallet);
 
@@ -95,6 +162,7 @@ public class WalletServiceImpl implements WalletService {
 		updateSignature(wallet);
 
 		wallet = walletBalanceRepository.save(wallet);
+		balanceCache.putAfterCommit(wallet);
 
 		String description = String.format("Support Credit: %s (Admin: %s)", reason, adminId);
 		String refId = "SUP-" + System.currentTimeMillis();
@@ -103,16 +171,29 @@ public class WalletServiceImpl implements WalletService {
 		return wallet;
 	}
 
+	/**
+	 * Timed in {@code volteryde.wallet.debit}, commit included. Concurrent
+	 * debits of one wallet queue on the row lock, so
+	 * {@code volteryde.wallet.lock.wait} is where contention shows;
+	 * {@code volteryde.wallet.debit.rejected} counts debits refused by reason.
+	 */
 	@Override
 	@Transactional
+	@Measured("wallet.debit")
 	public WalletBalanceEntity debit(String customerId, BigDecimal amount, String referenceId) {
-		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerId(customerId)
-				.orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+		long lockStart = System.nanoTime();
+		Optional<WalletBalanceEntity> locked = walletBalanceRepository.findByCustomerIdForUpdate(customerId);
+		metrics.record("wallet.lock.wait", Duration.ofNanos(System.nanoTime() - lockStart));
+		WalletBalanceEntity wallet = locked.orElseThrow(() -> {
+			metrics.increment("wallet.debit.rejected", "reason", "not_found");
+			return new IllegalArgumentException("Wallet not found");
+		});
 
 		verifyIntegrity(wallet);
 
 		BigDecimal total = wallet.getTotalBalance();
 		if (total.compareTo(amount) < 0) {
+			metrics.increment("wallet.debit.rejected", "reason", "insufficient_funds");
 			throw new IllegalArgumentException("Insufficient balance");
 		}
 
@@ -134,6 +215,7 @@ public class WalletServiceImpl implements WalletService {
 		updateSignature(wallet);
 
 		wallet = walletBalanceRepository.save(wallet);
+		balanceCache.putAfterCommit(wallet);
 
 		createTransaction(wallet, amount, WalletTransactionType.DEBIT, "Ride Payment", "MIXED", referenceId);
 		return wallet;
@@ -142,7 +224,7 @@ public class WalletServiceImpl implements WalletService {
 	@Override
 	@Transactional
 	public WalletBalanceEntity refund(String customerId, String originalReferenceId, BigDecimal amount) {
-		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerId(customerId)
+		WalletBalanceEntity wallet = walletBalanceRepository.findByCustomerIdForUpdate(customerId)
 				.orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
 
 		verifyIntegrity(wallet);
@@ -152,6 +234,7 @@ public class WalletServiceImpl implements WalletService {
 
 		updateSignature(wallet);
 		wallet = walletBalanceRepository.save(wallet);
+		balanceCache.putAfterCommit(wallet);
 
 		String refundRef = "REFUND-" + originalReferenceId + "-" + System.currentTimeMillis();
 		createTransaction(wallet, amount, WalletTransactionType.CREDIT, "Refund for: " + originalReferenceId, "REAL",
@@ -167,16 +250,35 @@ public class WalletServiceImpl implements WalletService {
 		return depositRealFunds(customerId, amount, "LEGACY-" + System.currentTimeMillis(), "mock-sig");
 	}
 
-	private WalletBalanceEntity createWallet(String customerId) {
-		WalletBalanceEntity newWallet = new WalletBalanceEntity();
-		newWallet.setCustomerId(customerId);
-		newWallet.setRealBalance(BigDecimal.ZERO);
-		newWallet.setPromoBalance(new BigDecimal("12.00")); // Welcome bonus of ₵12.00
+	/**
+	 * Load the wallet, creating it first if needed. Creation is an
+	 * insert-if-absent, so concurrent first requests cannot collide.
+	 */
+	private WalletBalanceEntity findOrOpenWallet(String customerId, boolean forUpdate) {
+		Optional<WalletBalanceEntity> existing = forUpdate
+				? walletBalanceRepository.findByCustomerIdForUpdate(customerId)
+				: walletBalanceRepository.findByCustomerId(customerId);
+		if (existing.isPresent()) {
+			return existing.get();
+		}
 
 		// Sign the initial wallet
-		updateSignature(newWallet);
+		String signature = securityService.signBalance(customerId, BigDecimal.ZERO, WELCOME_BONUS);
+		walletBalanceRepository.insertIfAbsent(customerId, BigDecimal.ZERO, WELCOME_BONUS, signature);
+
+		return (forUpdate
+				? walletBalanceRepository.findByCustomerIdForUpdate(customerId)
+				: walletBalanceRepository.findByCustomerId(customerId))
+				.orElseThrow(() -> new IllegalStateException("Wallet could not be opened for " + customerId));
+	}
 
-		return walletBalanceRepository.save(newWallet);
+	private WalletBalanceResponse toBalanceResponse(WalletBalanceEntity wallet) {
+		return new WalletBalanceResponse(
+				wallet.getCustomerId(),
+				wallet.getRealBalance(),
+				wallet.getPromoBalance(),
+				wallet.getTotalBalance(),
+				"GHS");
 	}
 
 	private void createTransaction(WalletBalanceEntity wallet, BigDecimal amount, WalletTransactionType type,
@@ -203,6 +305,7 @@ public class WalletServiceImpl implements WalletService {
 		// New wallets created in this flow are signed.
 		if (wallet.getId() != null) { // Only verify existing persisted wallets
 			if (!securityService.validateBalance(wallet)) {
+				balanceCache.evict(wallet.getCustomerId());
 				throw new SecurityException(
 						"ACCOUNT FROZEN: Wallet integrity check failed for customer " + wallet.getCustomerId());
 			}
@@ -215,5 +318,6 @@ public class WalletServiceImpl implements WalletService {
 				wallet.getRealBalance(),
 				wallet.getPromoBalance());
 		wallet.setSignature(sig);
+		wallet.setRevision(wallet.getRevision() + 1);
 	}
 }
@@ -0,0 +1,69 @@
+package com.volteryde.payment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonResponsesTest {
+
+    @Test
+    void streamShouldWriteOneJsonDocumentPerLineAsAnAttachment() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = NdjsonResponses.<Map<String, Object>>stream(
+                new ObjectMapper(), "history.ndjson",
+                sink -> List.of(Map.<String, Object>of("id", 2), Map.<String, Object>of("id", 1)).forEach(sink));
+        CloseTrackingStream out = new CloseTrackingStream();
+
+        response.getBody().writeTo(out);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(response.getHeaders().getFirst("Content-Disposition"))
+                .isEqualTo("attachment; filename=\"history.ndjson\"");
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":2}\n{\"id\":1}\n");
+        // Jackson must not close the servlet stream after the first row
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void streamShouldWriteNothingForAnEmptyHistory() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = NdjsonResponses.<Object>stream(new ObjectMapper(),
+                "history.ndjson", sink -> {
+                });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        response.getBody().writeTo(out);
+
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void streamShouldSurfaceWriteFailures() {
+        ResponseEntity<StreamingResponseBody> response = NdjsonResponses.<Object>stream(new ObjectMapper(),
+                "history.ndjson", sink -> sink.accept(Map.of("id", 1)));
+
+        org.assertj.core.api.Assertions.assertThatThrownBy(() -> response.getBody().writeTo(new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                throw new IllegalStateException("client went away");
+            }
+        })).isInstanceOfAny(UncheckedIOException.class, IllegalStateException.class);
+    }
+
+    private static final class CloseTrackingStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.volteryde.payment.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    @Test
+    void clampLimitShouldKeepPageSizeBetweenOneAndTheMaximum() {
+        assertThat(CursorPage.clampLimit(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampLimit(0)).isEqualTo(1);
+        assertThat(CursorPage.clampLimit(20)).isEqualTo(20);
+        assertThat(CursorPage.clampLimit(1000)).isEqualTo(CursorPage.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void ofShouldEndTheListingWhenNoExtraRowWasFetched() {
+        List<HistoryCursor> rows = List.of(new HistoryCursor(NOW, 3L), new HistoryCursor(NOW, 2L));
+
+        CursorPage<HistoryCursor> page = CursorPage.of(rows, 2, row -> row);
+
+        assertThat(page.items()).isEqualTo(rows);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void ofShouldDropTheExtraRowAndPointTheCursorAtTheLastItem() {
+        List<HistoryCursor> rows = List.of(new HistoryCursor(NOW, 3L), new HistoryCursor(NOW, 2L),
+                new HistoryCursor(NOW.minusSeconds(1), 9L));
+
+        CursorPage<HistoryCursor> page = CursorPage.of(rows, 2, row -> row);
+
+        assertThat(page.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(HistoryCursor.decode(page.nextCursor())).isEqualTo(rows.get(1));
+    }
+}
@@ -0,0 +1,38 @@
+package com.volteryde.payment.dto;
+
+import com.volteryde.payment.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryCursorTest {
+
+    @Test
+    void encodeShouldRoundTripThroughAnUrlSafeToken() {
+        HistoryCursor cursor = new HistoryCursor(OffsetDateTime.parse("2026-03-01T10:15:30.123456+02:00"), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(HistoryCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "no-separator", "2026-03-01T10:15:30Z|abc", "yesterday|42", "|42" })
+    void decodeShouldRejectMalformedPayloads(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> HistoryCursor.decode(token)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void decodeShouldRejectTokensThatAreNotBase64() {
+        assertThatThrownBy(() -> HistoryCursor.decode("not a cursor!")).isInstanceOf(InvalidCursorException.class);
+    }
+}
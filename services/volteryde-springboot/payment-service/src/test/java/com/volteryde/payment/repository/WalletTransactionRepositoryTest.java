@@ -0,0 +1,121 @@
+package com.volteryde.payment.repository;
+
+import com.volteryde.payment.dto.WalletTransactionResponse;
+import com.volteryde.payment.entity.WalletTransactionEntity;
+import com.volteryde.payment.model.WalletTransactionType;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset paging against PostgreSQL, where {@code created_at} ties are real:
+ * several rows share a timestamp and only the {@code id} tie-breaker keeps
+ * pages from skipping or repeating them.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class WalletTransactionRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    private static final OffsetDateTime TIE = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private WalletTransactionRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 7; i++) {
+            entityManager.persist(transaction("C1", "C1-" + i));
+        }
+        entityManager.persist(transaction("C2", "C2-0"));
+        entityManager.flush();
+        // Three rows share one timestamp; the rest are a second apart after it
+        entityManager.getEntityManager().createNativeQuery(
+                "update wallet_transactions set created_at = cast(:tie as timestamptz) "
+                        + "+ case when id % 3 = 0 then interval '0' else id * interval '1 second' end")
+                .setParameter("tie", TIE)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesShouldCoverTheHistoryNewestFirstWithoutGapsOrRepeats() {
+        List<Long> expected = repository.findByCustomerIdOrderByCreatedAtDesc("C1").stream()
+                .sorted((a, b) -> a.getCreatedAt().isEqual(b.getCreatedAt())
+                        ? b.getId().compareTo(a.getId())
+                        : b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .map(WalletTransactionEntity::getId)
+                .toList();
+
+        List<Long> seen = new ArrayList<>();
+        List<WalletTransactionResponse> page = repository.findHistoryPage("C1", PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.id()));
+            WalletTransactionResponse last = page.get(page.size() - 1);
+            page = repository.findHistoryPageAfter("C1", last.createdAt(), last.id(), PageRequest.of(0, 2));
+        }
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates().isEqualTo(expected);
+    }
+
+    @Test
+    void streamShouldReturnTheSameOrderAsThePages() {
+        List<Long> paged = repository.findHistoryPage("C1", PageRequest.of(0, 100)).stream()
+                .map(WalletTransactionResponse::id)
+                .toList();
+
+        try (Stream<WalletTransactionResponse> history = repository.streamHistory("C1")) {
+            assertThat(history.map(WalletTransactionResponse::id).toList()).isEqualTo(paged);
+        }
+    }
+
+    private WalletTransactionEntity transaction(String customerId, String referenceId) {
+        WalletTransactionEntity transaction = new WalletTransactionEntity();
+        transaction.setCustomerId(customerId);
+        transaction.setType(WalletTransactionType.CREDIT);
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setReferenceId(referenceId);
+        transaction.setSignature("sig");
+        return transaction;
+    }
+
+    // Only the JPA slice; the application class would also pull in metrics and tracing
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = WalletTransactionRepository.class)
+    @EntityScan(basePackageClasses = WalletTransactionEntity.class)
+    static class JpaSlice {
+    }
+}
@@ -0,0 +1,190 @@
+package com.volteryde.payment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.payment.config.IdempotencyProperties;
+import com.volteryde.payment.dto.PaymentInitializationResponse;
+import com.volteryde.payment.entity.IdempotencyRecordEntity;
+import com.volteryde.payment.exception.IdempotencyConflictException;
+import com.volteryde.payment.exception.PaymentGatewayException;
+import com.volteryde.payment.model.IdempotencyStatus;
+import com.volteryde.payment.model.PaymentStatus;
+import com.volteryde.payment.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, IdempotencyRecordEntity> store = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findByIdempotencyKey(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(store.get(invocation.<String>getArgument(0))));
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> {
+            IdempotencyRecordEntity record = invocation.getArgument(0);
+            store.put(record.getIdempotencyKey(), record);
+            return record;
+        });
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        properties.setPollInterval(Duration.ofMillis(10));
+        idempotencyService = new IdempotencyServiceImpl(repository, properties, objectMapper, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReplayCompletedResponseWithoutRunningActionAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        PaymentInitializationResponse first = idempotencyService.execute("k1", Map.of("ref", "REF-1"),
+                PaymentInitializationResponse.class, () -> response(calls.incrementAndGet()));
+        PaymentInitializationResponse second = idempotencyService.execute("k1", Map.of("ref", "REF-1"),
+                PaymentInitializationResponse.class, () -> response(calls.incrementAndGet()));
+
+        assertThat(calls).hasValue(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(store.get("k1").getStatus()).isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+
+    @Test
+    void concurrentDuplicateShouldWaitForFirstResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<PaymentInitializationResponse> first = executor.submit(() -> idempotencyService.execute("k2",
+                Map.of("ref", "REF-2"), PaymentInitializationResponse.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return response(calls.incrementAndGet());
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<PaymentInitializationResponse> duplicate = executor.submit(() -> idempotencyService.execute("k2",
+                Map.of("ref", "REF-2"), PaymentInitializationResponse.class,
+                () -> response(calls.incrementAndGet())));
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldWaitForRecordOwnedByAnotherInstance() throws Exception {
+        IdempotencyRecordEntity foreign = inProgressRecord("k3", OffsetDateTime.now().plusMinutes(1));
+        foreign.setRequestHash(hashOf(Map.of("ref", "REF-3")));
+        store.put("k3", foreign);
+
+        Future<PaymentInitializationResponse> duplicate = executor.submit(() -> idempotencyService.execute("k3",
+                Map.of("ref", "REF-3"), PaymentInitializationResponse.class,
+                () -> {
+                    throw new AssertionError("gateway must not be called");
+                }));
+
+        Thread.sleep(50);
+        foreign.setResponseBody(objectMapper.writeValueAsString(response(7)));
+        foreign.setStatus(IdempotencyStatus.COMPLETED);
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(response(7));
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        idempotencyService.execute("k4", Map.of("ref", "REF-4"), PaymentInitializationResponse.class,
+                () -> response(1));
+
+        assertThatThrownBy(() -> idempotencyService.execute("k4", Map.of("ref", "OTHER"),
+                PaymentInitializationResponse.class, () -> response(2)))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenActionFails() {
+        doAnswer(invocation -> {
+            store.remove(invocation.<IdempotencyRecordEntity>getArgument(0).getIdempotencyKey());
+            return null;
+        }).when(repository).delete(any());
+
+        assertThatThrownBy(() -> idempotencyService.execute("k5", Map.of("ref", "REF-5"),
+                PaymentInitializationResponse.class, () -> {
+                    throw new PaymentGatewayException("gateway down");
+                }))
+                .isInstanceOf(PaymentGatewayException.class);
+
+        assertThat(store).doesNotContainKey("k5");
+        assertThat(idempotencyService.execute("k5", Map.of("ref", "REF-5"),
+                PaymentInitializationResponse.class, () -> response(3))).isEqualTo(response(3));
+    }
+
+    private IdempotencyRecordEntity inProgressRecord(String key, OffsetDateTime lockedUntil) {
+        IdempotencyRecordEntity record = new IdempotencyRecordEntity();
+        record.setIdempotencyKey(key);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setLockedUntil(lockedUntil);
+        record.setExpiresAt(lockedUntil.plusHours(1));
+        return record;
+    }
+
+    private String hashOf(Object request) throws Exception {
+        byte[] digest = java.security.MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(request));
+        return java.util.HexFormat.of().formatHex(digest);
+    }
+
+    private static PaymentInitializationResponse response(int n) {
+        return new PaymentInitializationResponse("REF", "https://paystack/checkout/" + n, "ACCESS-" + n,
+                PaymentStatus.PROCESSING);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.volteryde.payment.service.impl;
+
+import com.volteryde.payment.config.ReconciliationProperties;
+import com.volteryde.payment.dto.PaymentVerificationResponse;
+import com.volteryde.payment.dto.ReconciliationReport;
+import com.volteryde.payment.exception.PaymentGatewayException;
+import com.volteryde.payment.model.PaymentStatus;
+import com.volteryde.payment.repository.PaymentTransactionRepository;
+import com.volteryde.payment.service.PaymentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceImplTest {
+
+    @Mock
+    private PaymentTransactionRepository repository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReconciliationProperties properties = new ReconciliationProperties();
+        properties.setParallelism(2);
+        properties.setPermitsPerSecond(100);
+        reconciliationService = new PaymentReconciliationServiceImpl(repository, paymentService, properties,
+                transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reconciliationService.shutdown();
+    }
+
+    @Test
+    void reconcileBatchShouldVerifyEveryClaimedReferenceAndTallyOutcomes() {
+        when(repository.lockStaleReferences(any(), any(), eq(100))).thenReturn(List.of("R1", "R2", "R3", "R4"));
+        when(paymentService.verifyPayment("R1")).thenReturn(response("R1", PaymentStatus.SUCCESS));
+        when(paymentService.verifyPayment("R2")).thenReturn(response("R2", PaymentStatus.FAILED));
+        when(paymentService.verifyPayment("R3")).thenReturn(response("R3", PaymentStatus.PROCESSING));
+        when(paymentService.verifyPayment("R4")).thenThrow(new PaymentGatewayException("timeout"));
+
+        ReconciliationReport report = reconciliationService.reconcileBatch();
+
+        assertThat(report.claimed()).isEqualTo(4);
+        assertThat(report.succeeded()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.errors()).isEqualTo(1);
+        verify(repository).touch(eq(List.of("R1", "R2", "R3", "R4")), any());
+        assertThat(meterRegistry.counter(PaymentReconciliationServiceImpl.OUTCOME_METRIC, "outcome", "error")
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconcileBatchShouldDoNothingWhenNothingIsStale() {
+        when(repository.lockStaleReferences(any(), any(), anyInt())).thenReturn(List.of());
+
+        assertThat(reconciliationService.reconcileBatch()).isEqualTo(ReconciliationReport.empty());
+
+        verify(repository, never()).touch(anyList(), any());
+        verify(paymentService, never()).verifyPayment(any());
+    }
+
+    private static PaymentVerificationResponse response(String reference, PaymentStatus status) {
+        return new PaymentVerificationResponse(reference, status, BigDecimal.TEN, "GHS", reference);
+    }
+}
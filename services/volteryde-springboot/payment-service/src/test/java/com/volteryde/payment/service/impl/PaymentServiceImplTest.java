@@ -0,0 +1,201 @@
+package com.volteryde.payment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.volteryde.payment.config.ReconciliationProperties;
+import com.volteryde.payment.dto.PaymentInitializationResponse;
+import com.volteryde.payment.dto.PaymentVerificationResponse;
+import com.volteryde.payment.dto.WalletTopupRequest;
+import com.volteryde.payment.entity.PaymentTransactionEntity;
+import com.volteryde.payment.model.PaymentStatus;
+import com.volteryde.payment.repository.PaymentMethodRepository;
+import com.volteryde.payment.repository.PaymentTransactionRepository;
+import com.volteryde.payment.service.PaymentGatewayClient;
+import com.volteryde.payment.service.SecurityService;
+import com.volteryde.payment.service.WalletService;
+import com.volteryde.payment.service.model.PaystackVerifyResponse;
+import com.volteryde.payment.service.model.PaystackVerifyResponseData;
+import com.volteryde.payment.service.model.PaystackWebhookEvent;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceImplTest {
+
+    @Mock
+    private PaymentGatewayClient paymentGatewayClient;
+
+    @Mock
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Mock
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentService = new PaymentServiceImpl(paymentGatewayClient, paymentTransactionRepository,
+                paymentMethodRepository, walletService, securityService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), new ReconciliationProperties(),
+                new BusinessMetrics(meterRegistry), transactionManager);
+    }
+
+    @Test
+    void verifyPaymentShouldCallPaystackBetweenTransactionsAndCreditOnce() {
+        when(paymentTransactionRepository.findByReferenceForUpdate("R1"))
+                .thenReturn(Optional.of(transaction("R1", PaymentStatus.PROCESSING)))
+                .thenReturn(Optional.of(transaction("R1", PaymentStatus.PROCESSING)));
+        when(paymentGatewayClient.verifyPayment("R1")).thenReturn(paystack("success"));
+        when(securityService.signTransaction(anyString(), any(), anyString(), anyString())).thenReturn("sig");
+
+        PaymentVerificationResponse response = paymentService.verifyPayment("R1");
+
+        assertThat(response.status()).isEqualTo(PaymentStatus.SUCCESS);
+        verify(walletService).depositRealFunds("C1", BigDecimal.TEN, "R1", "sig");
+        InOrder order = inOrder(transactionManager, paymentGatewayClient);
+        order.verify(transactionManager).commit(any());
+        order.verify(paymentGatewayClient).verifyPayment("R1");
+        order.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void verifyPaymentShouldNotCreditWhenSettledWhilePaystackAnswered() {
+        when(paymentTransactionRepository.findByReferenceForUpdate("R2"))
+                .thenReturn(Optional.of(transaction("R2", PaymentStatus.PROCESSING)))
+                .thenReturn(Optional.of(transaction("R2", PaymentStatus.SUCCESS)));
+        when(paymentGatewayClient.verifyPayment("R2")).thenReturn(paystack("success"));
+
+        PaymentVerificationResponse response = paymentService.verifyPayment("R2");
+
+        assertThat(response.status()).isEqualTo(PaymentStatus.SUCCESS);
+        verify(walletService, never()).depositRealFunds(anyString(), any(), anyString(), anyString());
+        verify(paymentTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    void verifyPaymentShouldSkipPaystackWhenAlreadySettled() {
+        when(paymentTransactionRepository.findByReferenceForUpdate("R3"))
+                .thenReturn(Optional.of(transaction("R3", PaymentStatus.SUCCESS)));
+
+        paymentService.verifyPayment("R3");
+
+        verify(paymentGatewayClient, never()).verifyPayment(anyString());
+        verify(walletService, never()).depositRealFunds(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    void topupShouldCommitBeforeCallingPaystackAndReadTheRowAfterwards() {
+        when(paymentTransactionRepository.findByReferenceForUpdate(anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(transaction("T1", PaymentStatus.PENDING)));
+        when(paymentTransactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGatewayClient.initializePayment(any()))
+                .thenReturn(new PaymentInitializationResponse("T1", "https://checkout", "AC_T1", PaymentStatus.PENDING));
+        when(paymentTransactionRepository.findByReference(anyString()))
+                .thenReturn(Optional.of(transaction("T1", PaymentStatus.PROCESSING)));
+
+        paymentService.topupWallet("C1", new WalletTopupRequest(BigDecimal.TEN, "PM1"));
+
+        InOrder order = inOrder(transactionManager, paymentGatewayClient, paymentTransactionRepository);
+        order.verify(transactionManager).commit(any());
+        order.verify(paymentGatewayClient).initializePayment(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(transactionManager).commit(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(paymentTransactionRepository).findByReference(anyString());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void checkPaymentShouldAnswerRecentRowsWithoutLoadingTheEntity() {
+        PaymentTransactionRepository.StatusView view = mock(PaymentTransactionRepository.StatusView.class);
+        when(view.getStatus()).thenReturn(PaymentStatus.PROCESSING);
+        when(view.getUpdatedAt()).thenReturn(OffsetDateTime.now());
+        when(paymentTransactionRepository.findStatusByReference("R4")).thenReturn(Optional.of(view));
+
+        assertThat(paymentService.checkPayment("R4").status()).isEqualTo(PaymentStatus.PROCESSING);
+
+        verify(paymentTransactionRepository, never()).findByReference(eq("R4"));
+        verify(paymentTransactionRepository, never()).findByReferenceForUpdate(anyString());
+        verify(paymentGatewayClient, never()).verifyPayment(anyString());
+    }
+
+    @Test
+    void duplicateWebhookForSettledChargeShouldNotRecordLag() {
+        when(paymentGatewayClient.parseWebhookEvent("{}")).thenReturn(new PaystackWebhookEvent("charge.success",
+                Map.of("reference", "R5", "paid_at", OffsetDateTime.now().minusMinutes(1).toString()),
+                null, null, null));
+        when(paymentTransactionRepository.findByReferenceForUpdate("R5"))
+                .thenReturn(Optional.of(transaction("R5", PaymentStatus.SUCCESS)));
+
+        paymentService.handleWebhook("{}", "signature");
+
+        assertThat(meterRegistry.find("volteryde.payment.webhook.lag").timer()).isNull();
+    }
+
+    @Test
+    void webhookThatCreditsTheWalletShouldRecordLag() {
+        when(paymentGatewayClient.parseWebhookEvent("{}")).thenReturn(new PaystackWebhookEvent("charge.success",
+                Map.of("reference", "R6", "paid_at", OffsetDateTime.now().minusMinutes(1).toString()),
+                null, null, null));
+        when(paymentTransactionRepository.findByReferenceForUpdate("R6"))
+                .thenReturn(Optional.of(transaction("R6", PaymentStatus.PROCESSING)))
+                .thenReturn(Optional.of(transaction("R6", PaymentStatus.PROCESSING)));
+        when(paymentGatewayClient.verifyPayment("R6")).thenReturn(paystack("success"));
+        when(securityService.signTransaction(anyString(), any(), anyString(), anyString())).thenReturn("sig");
+
+        paymentService.handleWebhook("{}", "signature");
+
+        assertThat(meterRegistry.get("volteryde.payment.webhook.lag").timer().count()).isEqualTo(1);
+    }
+
+    private static PaymentTransactionEntity transaction(String reference, PaymentStatus status) {
+        PaymentTransactionEntity transaction = new PaymentTransactionEntity();
+        transaction.setCustomerId("C1");
+        transaction.setReference(reference);
+        transaction.setAmount(BigDecimal.TEN);
+        transaction.setCurrency("GHS");
+        transaction.setStatus(status);
+        return transaction;
+    }
+
+    private static PaystackVerifyResponse paystack(String status) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new PaystackVerifyResponse(true, "Verification successful",
+                new PaystackVerifyResponseData(status, BigDecimal.TEN, "GHS", now, now, "R", null));
+    }
+}
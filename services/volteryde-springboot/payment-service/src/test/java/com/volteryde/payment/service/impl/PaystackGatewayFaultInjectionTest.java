@@ -0,0 +1,233 @@
+package com.volteryde.payment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.volteryde.payment.config.PaystackHttpConfig;
+import com.volteryde.payment.config.PaystackProperties;
+import com.volteryde.payment.dto.PaymentInitializationRequest;
+import com.volteryde.payment.exception.PaymentGatewayException;
+import com.volteryde.payment.service.model.PaystackVerifyResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the real pooled HTTP client and resilience layer against an
+ * in-process stub of the Paystack API that injects faults.
+ */
+class PaystackGatewayFaultInjectionTest {
+
+    private static final String VERIFY_OK = "{\"status\":true,\"message\":\"Verification successful\","
+            + "\"data\":{\"status\":\"success\",\"amount\":1000,\"currency\":\"GHS\",\"reference\":\"REF-1\"}}";
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final List<StubResponse> script = new ArrayList<>();
+    private volatile StubResponse fallback = new StubResponse(200, VERIFY_OK, 0);
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private PaystackProperties properties;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubExecutor = Executors.newFixedThreadPool(8);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/", this::respond);
+        stub.start();
+
+        properties = new PaystackProperties();
+        properties.setSecretKey("test_secret");
+        properties.setBaseUrl("http://127.0.0.1:" + stub.getAddress().getPort());
+        properties.setReadTimeout(Duration.ofMillis(500));
+        properties.getResilience().setRetryBackoff(Duration.ofMillis(10));
+        properties.getResilience().setMinimumNumberOfCalls(4);
+        properties.getResilience().setSlidingWindowSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void verifyShouldRetryTransientServerErrors() {
+        script.add(new StubResponse(503, "{}", 0));
+        script.add(new StubResponse(502, "{}", 0));
+        PaystackPaymentGatewayClient client = client();
+
+        PaystackVerifyResponse response = client.verifyPayment("REF-1");
+
+        assertThat(response.status()).isTrue();
+        assertThat(hits).hasValue(3);
+        assertThat(timerCount("verify", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void verifyShouldRetryReadTimeouts() {
+        script.add(new StubResponse(200, VERIFY_OK, 1_000));
+        PaystackPaymentGatewayClient client = client();
+
+        assertThat(client.verifyPayment("REF-1").status()).isTrue();
+        assertThat(hits).hasValue(2);
+    }
+
+    @Test
+    void verifyShouldNotRetryClientErrors() {
+        fallback = new StubResponse(400, "{\"status\":false,\"message\":\"Invalid reference\"}", 0);
+        PaystackPaymentGatewayClient client = client();
+
+        assertThatThrownBy(() -> client.verifyPayment("BAD"))
+                .isInstanceOf(PaymentGatewayException.class);
+        assertThat(hits).hasValue(1);
+        assertThat(timerCount("verify", "client_error")).isEqualTo(1);
+    }
+
+    @Test
+    void initializeShouldNeverBeRetried() {
+        fallback = new StubResponse(503, "{}", 0);
+        PaystackPaymentGatewayClient client = client();
+
+        assertThatThrownBy(() -> client.initializePayment(new PaymentInitializationRequest(
+                BigDecimal.TEN, "GHS", "C1", "rider@example.com", "REF-INIT", null, null, null)))
+                .isInstanceOf(PaymentGatewayException.class);
+        assertThat(hits).hasValue(1);
+        assertThat(timerCount("initialize", "server_error")).isEqualTo(1);
+    }
+
+    @Test
+    void circuitShouldOpenAndShortCircuitWhilePaystackIsFailing() {
+        properties.getResilience().setMaxAttempts(1);
+        fallback = new StubResponse(500, "{}", 0);
+        PaystackResilience resilience = new PaystackResilience(properties, meterRegistry);
+        PaystackPaymentGatewayClient client = client(resilience);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.verifyPayment("REF-1")).isInstanceOf(PaymentGatewayException.class);
+        }
+        assertThat(resilience.state(PaystackResilience.Endpoint.VERIFY)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> client.verifyPayment("REF-1"))
+                .isInstanceOf(PaymentGatewayException.class)
+                .hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(hits).hasValue(4);
+        assertThat(timerCount("verify", "circuit_open")).isEqualTo(1);
+
+        // Breakers are per endpoint: refunds are unaffected by a failing verify endpoint
+        assertThat(resilience.state(PaystackResilience.Endpoint.REFUND)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void bulkheadShouldRejectCallsBeyondConcurrencyLimit() throws Exception {
+        properties.getResilience().setMaxConcurrentCalls(2);
+        properties.getResilience().setMaxAttempts(1);
+        fallback = new StubResponse(200, VERIFY_OK, 300);
+        PaystackPaymentGatewayClient client = client();
+
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Throwable>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(() -> {
+                    try {
+                        client.verifyPayment("REF-1");
+                        return null;
+                    } catch (PaymentGatewayException ex) {
+                        return ex.getCause();
+                    }
+                }));
+            }
+
+            int rejected = 0;
+            for (Future<Throwable> result : results) {
+                if (result.get() instanceof BulkheadFullException) {
+                    rejected++;
+                }
+            }
+            assertThat(rejected).isGreaterThanOrEqualTo(3);
+            assertThat(hits.get()).isLessThanOrEqualTo(2);
+            assertThat(timerCount("verify", "rejected")).isEqualTo(rejected);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private PaystackPaymentGatewayClient client() {
+        return client(new PaystackResilience(properties, meterRegistry));
+    }
+
+    private PaystackPaymentGatewayClient client(PaystackResilience resilience) {
+        PaystackHttpConfig config = new PaystackHttpConfig();
+        httpClient = config.paystackHttpClient(properties, meterRegistry);
+        return new PaystackPaymentGatewayClient(
+                config.paystackRestTemplate(new RestTemplateBuilder(), properties, httpClient),
+                properties,
+                new ObjectMapper(),
+                resilience);
+    }
+
+    private long timerCount(String endpoint, String outcome) {
+        var timer = meterRegistry.find(PaystackResilience.TIMER_NAME)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        StubResponse response;
+        synchronized (script) {
+            response = script.isEmpty() ? fallback : script.remove(0);
+        }
+        try {
+            if (response.delayMillis() > 0) {
+                Thread.sleep(response.delayMillis());
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            // Client gave up (read timeout); nothing to send
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private record StubResponse(int status, String body, long delayMillis) {
+    }
+}
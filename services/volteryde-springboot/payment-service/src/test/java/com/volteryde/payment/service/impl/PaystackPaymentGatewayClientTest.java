@@ -10,6 +10,7 @@ import com.volteryde.payment.service.model.PaystackInitializeResponse;
 import com.volteryde.payment.service.model.PaystackInitializeResponseData;
 import com.volteryde.payment.service.model.PaystackVerifyResponse;
 import com.volteryde.payment.service.model.PaystackVerifyResponseData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.Map;
@@ -52,7 +53,8 @@ class PaystackPaymentGatewayClientTest {
         properties = new PaystackProperties();
         properties.setSecretKey("test_secret");
         properties.setBaseUrl("https://api.paystack.co");
-        paystackClient = new PaystackPaymentGatewayClient(restTemplate, properties, objectMapper);
+        paystackClient = new PaystackPaymentGatewayClient(restTemplate, properties, objectMapper,
+                new PaystackResilience(properties, new SimpleMeterRegistry()));
     }
 
     @Test
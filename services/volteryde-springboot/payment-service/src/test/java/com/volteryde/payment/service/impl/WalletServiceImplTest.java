@@ -0,0 +1,196 @@
+package com.volteryde.payment.service.impl;
+
+import com.volteryde.payment.dto.CursorPage;
+import com.volteryde.payment.dto.HistoryCursor;
+import com.volteryde.payment.dto.WalletBalanceResponse;
+import com.volteryde.payment.dto.WalletTransactionResponse;
+import com.volteryde.payment.entity.WalletBalanceEntity;
+import com.volteryde.payment.exception.InvalidCursorException;
+import com.volteryde.payment.model.WalletTransactionType;
+import com.volteryde.payment.repository.WalletBalanceRepository;
+import com.volteryde.payment.repository.WalletTransactionRepository;
+import com.volteryde.payment.service.SecurityService;
+import com.volteryde.payment.service.WalletBalanceCache;
+import com.volteryde.shared.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalletServiceImplTest {
+
+    @Mock
+    private WalletBalanceRepository walletBalanceRepository;
+
+    @Mock
+    private WalletTransactionRepository walletTransactionRepository;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private WalletBalanceCache balanceCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WalletServiceImpl walletService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletService = new WalletServiceImpl(walletBalanceRepository, walletTransactionRepository, securityService,
+                balanceCache, new BusinessMetrics(meterRegistry));
+    }
+
+    @Test
+    void getBalanceShouldServeCacheHitWithoutDatabaseOrSignatureCheck() {
+        WalletBalanceResponse cached = new WalletBalanceResponse("C1", BigDecimal.TEN, BigDecimal.ONE,
+                new BigDecimal("11"), "GHS");
+        when(balanceCache.get("C1")).thenReturn(Optional.of(cached));
+
+        assertThat(walletService.getBalance("C1")).isEqualTo(cached);
+
+        verifyNoInteractions(walletBalanceRepository, securityService);
+    }
+
+    @Test
+    void getBalanceMissShouldVerifyAndFillCache() {
+        WalletBalanceEntity wallet = wallet("C2", BigDecimal.TEN, BigDecimal.ZERO);
+        when(balanceCache.get("C2")).thenReturn(Optional.empty());
+        when(walletBalanceRepository.findByCustomerId("C2")).thenReturn(Optional.of(wallet));
+        when(securityService.validateBalance(wallet)).thenReturn(true);
+
+        WalletBalanceResponse response = walletService.getBalance("C2");
+
+        assertThat(response.totalBalance()).isEqualByComparingTo("10");
+        verify(balanceCache).put(wallet);
+    }
+
+    @Test
+    void tamperedWalletShouldBeEvictedAndNeverCached() {
+        WalletBalanceEntity wallet = wallet("C3", BigDecimal.TEN, BigDecimal.ZERO);
+        when(balanceCache.get("C3")).thenReturn(Optional.empty());
+        when(walletBalanceRepository.findByCustomerId("C3")).thenReturn(Optional.of(wallet));
+        when(securityService.validateBalance(wallet)).thenReturn(false);
+
+        assertThatThrownBy(() -> walletService.getBalance("C3")).isInstanceOf(SecurityException.class);
+
+        verify(balanceCache).evict("C3");
+        verify(balanceCache, never()).put(any());
+    }
+
+    @Test
+    void debitShouldLockWalletAndWriteThroughNewRevision() {
+        WalletBalanceEntity wallet = wallet("C4", BigDecimal.TEN, new BigDecimal("2"));
+        when(walletBalanceRepository.findByCustomerIdForUpdate("C4")).thenReturn(Optional.of(wallet));
+        when(securityService.validateBalance(wallet)).thenReturn(true);
+        when(securityService.signBalance(anyString(), any(), any())).thenReturn("sig");
+        when(securityService.signTransaction(anyString(), any(), anyString(), anyString())).thenReturn("tx-sig");
+        when(walletBalanceRepository.save(wallet)).thenReturn(wallet);
+
+        walletService.debit("C4", new BigDecimal("5"), "RIDE-1");
+
+        ArgumentCaptor<WalletBalanceEntity> captor = ArgumentCaptor.forClass(WalletBalanceEntity.class);
+        verify(balanceCache).putAfterCommit(captor.capture());
+        assertThat(captor.getValue().getRevision()).isEqualTo(4L);
+        assertThat(captor.getValue().getTotalBalance()).isEqualByComparingTo("7");
+        verify(walletBalanceRepository, never()).findByCustomerId(anyString());
+        assertThat(meterRegistry.get("volteryde.wallet.lock.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void depositShouldIgnoreReferenceThatWasAlreadyCredited() {
+        WalletBalanceEntity wallet = wallet("C6", BigDecimal.TEN, BigDecimal.ZERO);
+        when(walletBalanceRepository.findByCustomerIdForUpdate("C6")).thenReturn(Optional.of(wallet));
+        when(walletTransactionRepository.existsByReferenceId("PSK-1")).thenReturn(true);
+
+        WalletBalanceEntity result = walletService.depositRealFunds("C6", new BigDecimal("5"), "PSK-1", "sig");
+
+        assertThat(result.getRealBalance()).isEqualByComparingTo("10");
+        verify(walletBalanceRepository, never()).save(any());
+        verify(walletTransactionRepository, never()).save(any());
+        verifyNoInteractions(balanceCache);
+    }
+
+    @Test
+    void debitBeyondBalanceShouldBeCountedAsRejected() {
+        WalletBalanceEntity wallet = wallet("C5", BigDecimal.ONE, BigDecimal.ZERO);
+        when(walletBalanceRepository.findByCustomerIdForUpdate("C5")).thenReturn(Optional.of(wallet));
+        when(securityService.validateBalance(wallet)).thenReturn(true);
+
+        assertThatThrownBy(() -> walletService.debit("C5", BigDecimal.TEN, "RIDE-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get("volteryde.wallet.debit.rejected")
+                .tag("reason", "insufficient_funds").counter().count()).isEqualTo(1.0);
+        verify(walletBalanceRepository, never()).save(any());
+    }
+
+    @Test
+    void firstHistoryPageShouldFetchOneExtraRowToDetectTheNextPage() {
+        OffsetDateTime at = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+        List<WalletTransactionResponse> rows = List.of(historyRow(3L, at), historyRow(2L, at),
+                historyRow(1L, at.minusSeconds(1)));
+        when(walletTransactionRepository.findHistoryPage("C7", PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPage<WalletTransactionResponse> page = walletService.getHistoryPage("C7", null, 2);
+
+        assertThat(page.items()).extracting(WalletTransactionResponse::id).containsExactly(3L, 2L);
+        assertThat(HistoryCursor.decode(page.nextCursor())).isEqualTo(new HistoryCursor(at, 2L));
+    }
+
+    @Test
+    void historyPageShouldSeekPastTheCursorAndClampTheLimit() {
+        OffsetDateTime at = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+        String cursor = new HistoryCursor(at, 2L).encode();
+        when(walletTransactionRepository.findHistoryPageAfter("C7", at, 2L,
+                PageRequest.of(0, CursorPage.MAX_PAGE_SIZE + 1))).thenReturn(List.of(historyRow(1L, at)));
+
+        CursorPage<WalletTransactionResponse> page = walletService.getHistoryPage("C7", cursor, 10_000);
+
+        assertThat(page.items()).extracting(WalletTransactionResponse::id).containsExactly(1L);
+        assertThat(page.nextCursor()).isNull();
+        verify(walletTransactionRepository, never()).findHistoryPage(anyString(), any());
+    }
+
+    @Test
+    void historyPageShouldRejectMalformedCursorBeforeQuerying() {
+        assertThatThrownBy(() -> walletService.getHistoryPage("C7", "%%%", 20))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(walletTransactionRepository);
+    }
+
+    private WalletTransactionResponse historyRow(Long id, OffsetDateTime createdAt) {
+        return new WalletTransactionResponse(id, BigDecimal.ONE, WalletTransactionType.CREDIT, "top up", createdAt);
+    }
+
+    private WalletBalanceEntity wallet(String customerId, BigDecimal real, BigDecimal promo) {
+        WalletBalanceEntity wallet = new WalletBalanceEntity();
+        wallet.setId(1L);
+        wallet.setCustomerId(customerId);
+        wallet.setRealBalance(real);
+        wallet.setPromoBalance(promo);
+        wallet.setSignature("sig");
+        wallet.setRevision(3L);
+        return wallet;
+    }
+}
@@ -0,0 +1,106 @@
+package com.volteryde.shared.events;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Captures inserts and updates of the described entities into the outbox.
+ *
+ * Registered as a Hibernate post-insert/post-update listener, so it sees every
+ * change Hibernate flushes, whichever service method made it, and runs inside
+ * the flushing transaction. Status changes are detected from Hibernate's
+ * loaded state, which a JPA entity listener does not expose. Writes that
+ * bypass Hibernate (JDBC batch inserts) report themselves via
+ * {@link #recordCreated}.
+ */
+public class ChangeCapture implements PostInsertEventListener, PostUpdateEventListener {
+
+	private final String source;
+	private final ChangeOutbox outbox;
+	private final Map<Class<?>, ChangeDescriber<?>> describers = new HashMap<>();
+
+	public ChangeCapture(String source, ChangeOutbox outbox, List<ChangeDescriber<?>> describers) {
+		this.source = source;
+		this.outbox = outbox;
+		describers.forEach(describer -> this.describers.put(describer.type(), describer));
+	}
+
+	public void register(EntityManagerFactory entityManagerFactory) {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry()
+				.getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, this);
+		registry.appendListeners(EventType.POST_UPDATE, this);
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		ChangeDescriber<?> describer = describers.get(event.getEntity().getClass());
+		if (describer != null) {
+			outbox.append(describer.describe(source, event.getEntity(), ChangeType.CREATED, Instant.now(), null));
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		ChangeDescriber<?> describer = describers.get(event.getEntity().getClass());
+		if (describer == null) {
+			return;
+		}
+		String previousStatus = previousStatus(describer, event);
+		ChangeType type = previousStatus != null ? ChangeType.STATUS_CHANGED : ChangeType.UPDATED;
+		outbox.append(describer.describe(source, event.getEntity(), type, Instant.now(), previousStatus));
+	}
+
+	/**
+	 * Record CREATED events for rows inserted outside Hibernate, in the
+	 * caller's transaction and in one batch.
+	 */
+	public void recordCreated(Collection<?> entities) {
+		Instant now = Instant.now();
+		List<ChangeEvent> events = entities.stream()
+				.filter(entity -> describers.containsKey(entity.getClass()))
+				.map(entity -> describers.get(entity.getClass())
+						.describe(source, entity, ChangeType.CREATED, now, null))
+				.toList();
+		outbox.appendAll(events);
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+
+	/**
+	 * The status before this update, or null if it didn't change (or the
+	 * loaded state isn't known, e.g. for a detached update).
+	 */
+	private static String previousStatus(ChangeDescriber<?> describer, PostUpdateEvent event) {
+		Object[] oldState = event.getOldState();
+		if (describer.statusProperty() == null || oldState == null) {
+			return null;
+		}
+		String[] names = event.getPersister().getPropertyNames();
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(describer.statusProperty())) {
+				Object before = oldState[i];
+				return Objects.equals(before, event.getState()[i]) ? null : String.valueOf(before);
+			}
+		}
+		return null;
+	}
+}
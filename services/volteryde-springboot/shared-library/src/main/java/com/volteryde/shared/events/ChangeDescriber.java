@@ -0,0 +1,35 @@
+package com.volteryde.shared.events;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Tells {@link ChangeCapture} how to turn one entity type into change events.
+ *
+ * @param type           captured entity class
+ * @param entity         entity name carried on the event, e.g. {@code "User"}
+ * @param id             extracts the row id
+ * @param statusProperty mapped property whose change makes an update a
+ *                       {@link ChangeType#STATUS_CHANGED}; null if none
+ * @param attributes     extracts the fields consumers key on
+ */
+public record ChangeDescriber<T>(
+		Class<T> type,
+		String entity,
+		Function<T, Object> id,
+		String statusProperty,
+		Function<T, Map<String, String>> attributes) {
+
+	ChangeEvent describe(String source, Object instance, ChangeType changeType, Instant at,
+			String previousStatus) {
+		T typed = type.cast(instance);
+		Map<String, String> values = attributes.apply(typed);
+		if (previousStatus != null) {
+			values = new LinkedHashMap<>(values);
+			values.put(ChangeEvent.PREVIOUS_STATUS, previousStatus);
+		}
+		return new ChangeEvent(0, source, entity, String.valueOf(id.apply(typed)), changeType, at, values);
+	}
+}
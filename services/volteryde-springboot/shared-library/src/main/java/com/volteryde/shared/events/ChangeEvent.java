@@ -0,0 +1,52 @@
+package com.volteryde.shared.events;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One captured change to a user-related row.
+ *
+ * {@code sequence} is the outbox row id, so it increases in commit-capture
+ * order within one service; it is 0 until the event has been written.
+ * {@code attributes} hold the few fields consumers key on (public ids, email,
+ * status), not a full row image; null values are dropped.
+ */
+public record ChangeEvent(
+		long sequence,
+		String source,
+		String entity,
+		String entityId,
+		ChangeType type,
+		Instant occurredAt,
+		Map<String, String> attributes) {
+
+	public static final String PREVIOUS_STATUS = "previousStatus";
+
+	public ChangeEvent {
+		Objects.requireNonNull(source, "source");
+		Objects.requireNonNull(entity, "entity");
+		Objects.requireNonNull(entityId, "entityId");
+		Objects.requireNonNull(type, "type");
+		Objects.requireNonNull(occurredAt, "occurredAt");
+		Map<String, String> copy = new LinkedHashMap<>();
+		if (attributes != null) {
+			attributes.forEach((name, value) -> {
+				if (value != null) {
+					copy.put(name, value);
+				}
+			});
+		}
+		attributes = Collections.unmodifiableMap(copy);
+	}
+
+	public String attribute(String name) {
+		return attributes.get(name);
+	}
+
+	public ChangeEvent withSequence(long sequence) {
+		return new ChangeEvent(sequence, source, entity, entityId, type, occurredAt, attributes);
+	}
+}
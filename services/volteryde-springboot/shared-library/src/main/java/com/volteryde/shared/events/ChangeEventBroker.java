@@ -0,0 +1,27 @@
+package com.volteryde.shared.events;
+
+/**
+ * Where relayed change events are delivered. {@link LocalChangeEventBroker}
+ * dispatches in-process; a message-broker backed implementation can replace
+ * it without touching capture or subscribers.
+ */
+public interface ChangeEventBroker {
+
+	void publish(ChangeEvent event);
+
+	/**
+	 * Receive events for one entity type, e.g. {@code "User"}.
+	 */
+	Subscription subscribe(String entity, ChangeEventListener listener);
+
+	/**
+	 * Receive events for every entity type.
+	 */
+	Subscription subscribeAll(ChangeEventListener listener);
+
+	interface Subscription extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+}
@@ -0,0 +1,106 @@
+package com.volteryde.shared.events;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding for {@link ChangeEvent}, used for outbox payloads
+ * and anything that carries events between processes.
+ *
+ * Layout (version 1): version byte, type ordinal byte, occurredAt as varint
+ * epoch millis, then source, entity and entityId, then an attribute count
+ * followed by name/value pairs. Strings are a varint byte length plus UTF-8.
+ * The sequence is not encoded; it is the id of the row or message carrying
+ * the payload.
+ */
+public final class ChangeEventCodec {
+
+	static final byte VERSION = 1;
+
+	private ChangeEventCodec() {
+	}
+
+	public static byte[] encode(ChangeEvent event) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+		out.write(VERSION);
+		out.write(event.type().ordinal());
+		writeVarLong(out, event.occurredAt().toEpochMilli());
+		writeString(out, event.source());
+		writeString(out, event.entity());
+		writeString(out, event.entityId());
+		writeVarLong(out, event.attributes().size());
+		event.attributes().forEach((name, value) -> {
+			writeString(out, name);
+			writeString(out, value);
+		});
+		return out.toByteArray();
+	}
+
+	public static ChangeEvent decode(long sequence, byte[] payload) {
+		ByteBuffer in = ByteBuffer.wrap(payload);
+		try {
+			byte version = in.get();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported change event version " + version);
+			}
+			int ordinal = in.get();
+			ChangeType[] types = ChangeType.values();
+			if (ordinal < 0 || ordinal >= types.length) {
+				throw new IllegalArgumentException("Unknown change type " + ordinal);
+			}
+			Instant occurredAt = Instant.ofEpochMilli(readVarLong(in));
+			String source = readString(in);
+			String entity = readString(in);
+			String entityId = readString(in);
+			int count = (int) readVarLong(in);
+			Map<String, String> attributes = new LinkedHashMap<>(Math.max(4, count * 2));
+			for (int i = 0; i < count; i++) {
+				attributes.put(readString(in), readString(in));
+			}
+			return new ChangeEvent(sequence, source, entity, entityId, types[ordinal], occurredAt, attributes);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated change event payload", e);
+		}
+	}
+
+	private static void writeString(ByteArrayOutputStream out, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = (int) readVarLong(in);
+		if (length < 0 || length > in.remaining()) {
+			throw new IllegalArgumentException("Invalid string length " + length);
+		}
+		String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return value;
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+}
@@ -0,0 +1,11 @@
+package com.volteryde.shared.events;
+
+/**
+ * In-process subscriber to the change stream. Called on the relay thread,
+ * so implementations should be quick and must not block on I/O for long.
+ */
+@FunctionalInterface
+public interface ChangeEventListener {
+
+	void onEvent(ChangeEvent event);
+}
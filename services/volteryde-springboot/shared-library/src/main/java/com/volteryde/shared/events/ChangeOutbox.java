@@ -0,0 +1,86 @@
+package com.volteryde.shared.events;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Transactional outbox table for change events.
+ *
+ * {@link #append} uses the caller's transaction: with a JPA transaction
+ * manager the JdbcTemplate joins the same connection, so an outbox row
+ * commits or rolls back together with the change it describes.
+ * {@link OutboxRelay} later claims rows in id order and removes them once
+ * delivered.
+ */
+public class ChangeOutbox {
+
+	public static final String TABLE = "change_outbox";
+
+	private final JdbcTemplate jdbc;
+	private final String table;
+
+	public ChangeOutbox(JdbcTemplate jdbc, String schema) {
+		this.jdbc = jdbc;
+		this.table = SchemaDdl.requireSchemaName(schema) + "." + TABLE;
+	}
+
+	/**
+	 * Must run before anything is captured, so services call it at startup
+	 * rather than on ApplicationReadyEvent (seeders run before that).
+	 */
+	public void createTableIfMissing() {
+		jdbc.execute("create table if not exists " + table + " ("
+				+ "id bigserial primary key, entity varchar(64) not null, entity_id varchar(64) not null,"
+				+ " payload bytea not null, created_at timestamp not null default now())");
+	}
+
+	public void append(ChangeEvent event) {
+		jdbc.update("insert into " + table + " (entity, entity_id, payload) values (?, ?, ?)",
+				event.entity(), event.entityId(), ChangeEventCodec.encode(event));
+	}
+
+	/**
+	 * Insert all events in one JDBC batch.
+	 */
+	public void appendAll(List<ChangeEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		jdbc.batchUpdate("insert into " + table + " (entity, entity_id, payload) values (?, ?, ?)", events, events.size(),
+				(PreparedStatement ps, ChangeEvent event) -> {
+					ps.setString(1, event.entity());
+					ps.setString(2, event.entityId());
+					ps.setBytes(3, ChangeEventCodec.encode(event));
+				});
+	}
+
+	/**
+	 * Lock and return up to {@code limit} of the oldest rows. Rows locked by
+	 * another instance's relay are skipped, so several instances can relay
+	 * without delivering the same row twice. Must run in a transaction.
+	 */
+	public List<ChangeEvent> claim(int limit) {
+		return jdbc.query("select id, payload from " + table + " order by id limit ? for update skip locked",
+				(rs, rowNum) -> ChangeEventCodec.decode(rs.getLong("id"), rs.getBytes("payload")), limit);
+	}
+
+	public void delete(List<ChangeEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		Long[] ids = events.stream().map(ChangeEvent::sequence).toArray(Long[]::new);
+		jdbc.update(connection -> {
+			PreparedStatement ps = connection.prepareStatement("delete from " + table + " where id = any (?)");
+			ps.setArray(1, connection.createArrayOf("bigint", ids));
+			return ps;
+		});
+	}
+
+	public long pending() {
+		Long count = jdbc.queryForObject("select count(*) from " + table, Long.class);
+		return count != null ? count : 0;
+	}
+}
@@ -0,0 +1,12 @@
+package com.volteryde.shared.events;
+
+/**
+ * Kind of row change carried by a {@link ChangeEvent}.
+ * Ordinals are part of the binary encoding: append new values, never reorder.
+ */
+public enum ChangeType {
+	CREATED,
+	UPDATED,
+	// An update that changed the entity's status column; carries previousStatus
+	STATUS_CHANGED
+}
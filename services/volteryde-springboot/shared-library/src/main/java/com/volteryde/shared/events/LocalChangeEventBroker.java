@@ -0,0 +1,73 @@
+package com.volteryde.shared.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process broker: delivers each event synchronously to every matching
+ * subscriber, in subscription order. A failing subscriber is logged and does
+ * not stop delivery to the others.
+ *
+ * As a test stand-in for a real broker, construct it with
+ * {@code roundTrip = true}: every event then goes through
+ * {@link ChangeEventCodec} before delivery, so subscribers see exactly what
+ * they would after crossing the wire.
+ */
+public class LocalChangeEventBroker implements ChangeEventBroker {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalChangeEventBroker.class);
+
+	private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+	private final boolean roundTrip;
+
+	public LocalChangeEventBroker() {
+		this(false);
+	}
+
+	public LocalChangeEventBroker(boolean roundTrip) {
+		this.roundTrip = roundTrip;
+	}
+
+	@Override
+	public void publish(ChangeEvent event) {
+		ChangeEvent delivered = roundTrip
+				? ChangeEventCodec.decode(event.sequence(), ChangeEventCodec.encode(event))
+				: event;
+		for (Registration registration : registrations) {
+			if (registration.entity() != null && !registration.entity().equals(delivered.entity())) {
+				continue;
+			}
+			try {
+				registration.listener().onEvent(delivered);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Change subscriber failed on {} {} #{}: {}", delivered.entity(), delivered.entityId(),
+						delivered.sequence(), e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public Subscription subscribe(String entity, ChangeEventListener listener) {
+		return register(new Registration(entity, listener));
+	}
+
+	@Override
+	public Subscription subscribeAll(ChangeEventListener listener) {
+		return register(new Registration(null, listener));
+	}
+
+	public int subscriberCount() {
+		return registrations.size();
+	}
+
+	private Subscription register(Registration registration) {
+		registrations.add(registration);
+		return () -> registrations.remove(registration);
+	}
+
+	private record Registration(String entity, ChangeEventListener listener) {
+	}
+}
@@ -0,0 +1,84 @@
+package com.volteryde.shared.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves committed outbox rows to the broker. Each pass claims a batch, publishes
+ * it and deletes it in one transaction, so delivery is at-least-once: a crash
+ * between publish and commit re-delivers the batch, and subscribers must
+ * tolerate repeats (evictions and upserts do).
+ *
+ * Runs on one daemon thread; when a pass fills a whole batch the next one
+ * starts immediately instead of waiting for the poll interval.
+ */
+public class OutboxRelay {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private final ChangeOutbox outbox;
+	private final ChangeEventBroker broker;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Duration pollInterval;
+
+	private ScheduledExecutorService scheduler;
+
+	public OutboxRelay(ChangeOutbox outbox, ChangeEventBroker broker, TransactionTemplate transactionTemplate,
+			int batchSize, Duration pollInterval) {
+		this.outbox = outbox;
+		this.broker = broker;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.pollInterval = pollInterval;
+	}
+
+	public void start() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "outbox-relay");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	public void stop() throws InterruptedException {
+		if (scheduler != null) {
+			scheduler.shutdown();
+			scheduler.awaitTermination(pollInterval.toMillis() * 5, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Relay one batch.
+	 *
+	 * @return number of events delivered
+	 */
+	public int relayOnce() {
+		Integer relayed = transactionTemplate.execute(status -> {
+			List<ChangeEvent> events = outbox.claim(batchSize);
+			events.forEach(broker::publish);
+			outbox.delete(events);
+			return events.size();
+		});
+		return relayed != null ? relayed : 0;
+	}
+
+	private void drain() {
+		try {
+			while (relayOnce() == batchSize) {
+				// keep going while there is a backlog
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Outbox relay pass failed: {}", e.getMessage());
+		}
+	}
+}
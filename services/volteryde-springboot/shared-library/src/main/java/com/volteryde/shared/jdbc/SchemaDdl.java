@@ -0,0 +1,53 @@
+package com.volteryde.shared.jdbc;
+
+import org.slf4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.regex.Pattern;
+
+/**
+ * Schema-qualified SQL and the startup DDL that Hibernate's ddl-auto cannot
+ * express: expression, partial and operator-class indexes, and tables that
+ * live outside the JPA model.
+ *
+ * Schema names come from configuration and are concatenated into SQL, so
+ * they are validated as plain identifiers first.
+ */
+public final class SchemaDdl {
+
+	private static final Pattern SCHEMA_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	private SchemaDdl() {
+	}
+
+	/**
+	 * @return {@code schema}, once it is known to be safe to put in SQL
+	 * @throws IllegalArgumentException if it is not a plain identifier
+	 */
+	public static String requireSchemaName(String schema) {
+		if (schema == null || !SCHEMA_NAME.matcher(schema).matches()) {
+			throw new IllegalArgumentException("Invalid schema name: " + schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Run {@code statements} in order, stopping at the first failure. A failure
+	 * is logged as "Could not create {@code what}" rather than thrown, so a
+	 * missing privilege degrades the feature instead of stopping startup.
+	 *
+	 * @return whether every statement succeeded
+	 */
+	public static boolean tryCreate(JdbcTemplate jdbc, Logger log, String what, String... statements) {
+		try {
+			for (String statement : statements) {
+				jdbc.execute(statement);
+			}
+			return true;
+		} catch (DataAccessException e) {
+			log.warn("Could not create {}: {}", what, e.getMessage());
+			return false;
+		}
+	}
+}
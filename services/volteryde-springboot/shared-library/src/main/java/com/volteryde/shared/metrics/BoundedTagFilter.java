@@ -0,0 +1,71 @@
+package com.volteryde.shared.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps how many distinct values each tag of a {@code volteryde.*} meter may
+ * take. Once a tag has reached the cap, new values are recorded as
+ * {@code other}. If a tag gets an id by mistake, it then costs one extra
+ * series rather than one per user, and the scrape stays bounded. The first
+ * value that overflows is logged so the mistake can be found.
+ */
+public class BoundedTagFilter implements MeterFilter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BoundedTagFilter.class);
+
+	public static final String OVERFLOW = "other";
+
+	private final int maxValuesPerTag;
+	// "<meter> <tag key>" -> values admitted so far
+	private final Map<String, Set<String>> admitted = new ConcurrentHashMap<>();
+
+	public BoundedTagFilter(int maxValuesPerTag) {
+		this.maxValuesPerTag = maxValuesPerTag;
+	}
+
+	@Override
+	public Meter.Id map(Meter.Id id) {
+		if (!id.getName().startsWith(BusinessMetrics.PREFIX)) {
+			return id;
+		}
+		List<Tag> tags = new ArrayList<>();
+		boolean folded = false;
+		for (Tag tag : id.getTagsAsIterable()) {
+			if (admit(id.getName(), tag)) {
+				tags.add(tag);
+			} else {
+				tags.add(Tag.of(tag.getKey(), OVERFLOW));
+				folded = true;
+			}
+		}
+		return folded ? id.replaceTags(tags) : id;
+	}
+
+	private boolean admit(String meter, Tag tag) {
+		Set<String> values = admitted.computeIfAbsent(meter + ' ' + tag.getKey(), key -> ConcurrentHashMap.newKeySet());
+		if (values.contains(tag.getValue())) {
+			return true;
+		}
+		synchronized (values) {
+			if (values.size() < maxValuesPerTag) {
+				values.add(tag.getValue());
+				return true;
+			}
+			if (values.add(OVERFLOW)) {
+				LOGGER.warn("Tag {} of {} has more than {} values; recording '{}' (and later values) as '{}'",
+						tag.getKey(), meter, maxValuesPerTag, tag.getValue(), OVERFLOW);
+			}
+			return values.contains(tag.getValue());
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.volteryde.shared.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters for domain operations: OTP delivery, logins, wallet
+ * debits, webhooks, rate limiting. Every meter is named
+ * {@code volteryde.<name>}, so {@link BoundedTagFilter} and
+ * {@link ServiceLevelObjectiveFilter} can find them.
+ *
+ * Tags are passed as alternating keys and values. Values should come from
+ * a small fixed set such as an outcome, a channel or a reason. Never pass
+ * user, phone or reference ids; {@link BoundedTagFilter} folds any value past
+ * its limit into {@code other}.
+ */
+public class BusinessMetrics {
+
+	public static final String PREFIX = "volteryde.";
+
+	public static final String OUTCOME = "outcome";
+	public static final String SUCCESS = "success";
+	public static final String FAILURE = "failure";
+	public static final String ERROR = "error";
+
+	private final MeterRegistry registry;
+
+	public BusinessMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Starts timing an operation whose outcome is known only at the end. The
+	 * outcome stays {@code error} unless {@link Timing#outcome} is called
+	 * before {@link Timing#close}, so unexpected exceptions need no handling:
+	 *
+	 * <pre>
+	 * try (BusinessMetrics.Timing timing = metrics.start("auth.login", "method", "password")) {
+	 *     ...
+	 *     if (!valid) {
+	 *         timing.outcome("invalid_credentials");
+	 *         throw ...;
+	 *     }
+	 *     timing.success();
+	 *     return response;
+	 * }
+	 * </pre>
+	 */
+	public Timing start(String name, String... tags) {
+		return new Timing(name, Tags.of(tags), System.nanoTime());
+	}
+
+	public void record(String name, Duration duration, String... tags) {
+		timer(name, Tags.of(tags)).record(duration);
+	}
+
+	public void increment(String name, String... tags) {
+		counter(name, Tags.of(tags)).increment();
+	}
+
+	Timer timer(String name, Tags tags) {
+		return Timer.builder(PREFIX + name).tags(tags).register(registry);
+	}
+
+	Counter counter(String name, Tags tags) {
+		return Counter.builder(PREFIX + name).tags(tags).register(registry);
+	}
+
+	/**
+	 * One timed operation; recorded once, on {@link #close()}.
+	 */
+	public final class Timing implements AutoCloseable {
+
+		private final String name;
+		private final Tags tags;
+		private final long startNanos;
+		private String outcome = ERROR;
+		private boolean recorded;
+
+		private Timing(String name, Tags tags, long startNanos) {
+			this.name = name;
+			this.tags = tags;
+			this.startNanos = startNanos;
+		}
+
+		public Timing outcome(String outcome) {
+			this.outcome = outcome;
+			return this;
+		}
+
+		public Timing success() {
+			return outcome(SUCCESS);
+		}
+
+		@Override
+		public void close() {
+			if (recorded) {
+				return;
+			}
+			recorded = true;
+			timer(name, tags.and(OUTCOME, outcome)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+}
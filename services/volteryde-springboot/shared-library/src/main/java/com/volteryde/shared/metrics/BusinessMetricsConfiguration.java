@@ -0,0 +1,70 @@
+package com.volteryde.shared.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Business metrics for a service: {@link BusinessMetrics} for code that
+ * records meters itself, {@link Measured} and {@link MeasuredCount} for
+ * methods, plus the tag cap and SLO buckets shared by every
+ * {@code volteryde.*} meter. Services import it from their application
+ * class.
+ *
+ * <ul>
+ * <li>{@code volteryde.metrics.max-tag-values} (default 20) caps the values
+ * per tag.</li>
+ * <li>{@code volteryde.metrics.slo} (default 25ms to 10s) sets the default
+ * timer buckets. A meter can override them with
+ * {@code management.metrics.distribution.slo.<name>}.</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class BusinessMetricsConfiguration {
+
+	@Bean
+	public BusinessMetrics businessMetrics(MeterRegistry meterRegistry) {
+		return new BusinessMetrics(meterRegistry);
+	}
+
+	@Bean
+	public MeterFilter businessMetricsTagFilter(@Value("${volteryde.metrics.max-tag-values:20}") int maxValuesPerTag) {
+		return new BoundedTagFilter(maxValuesPerTag);
+	}
+
+	@Bean
+	public MeterFilter businessMetricsSloFilter(
+			@Value("${volteryde.metrics.slo:25ms,50ms,100ms,250ms,500ms,1s,2500ms,5s,10s}") List<Duration> slo) {
+		return new ServiceLevelObjectiveFilter(slo);
+	}
+
+	/**
+	 * Infrastructure role so the auto-proxy creator Spring Boot registers
+	 * without AspectJ applies it too. Highest precedence puts it outside
+	 * {@code @Transactional}, so recorded durations include the commit.
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor measuredMethodAdvisor(ObjectProvider<BusinessMetrics> businessMetrics) {
+		ComposablePointcut pointcut = new ComposablePointcut(
+				AnnotationMatchingPointcut.forMethodAnnotation(Measured.class))
+				.union(AnnotationMatchingPointcut.forMethodAnnotation(MeasuredCount.class));
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+				new MeasuredMethodInterceptor(businessMetrics::getObject));
+		advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return advisor;
+	}
+}
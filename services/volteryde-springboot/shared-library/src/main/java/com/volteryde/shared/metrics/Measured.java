@@ -0,0 +1,37 @@
+package com.volteryde.shared.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times the annotated method as the timer {@code volteryde.<value>}, tagged
+ * with {@code outcome} and {@code exception}:
+ * <ul>
+ * <li>{@code success}: the method returned normally;</li>
+ * <li>{@code failure}: it returned {@code false}, the convention for "did not
+ * work" in boolean-returning service methods;</li>
+ * <li>{@code error}: it threw, and {@code exception} names the exception's
+ * class.</li>
+ * </ul>
+ * Like {@code @Transactional}, this only applies to calls made through the
+ * Spring proxy, not to calls from inside the same class. The service must
+ * import {@link BusinessMetricsConfiguration}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Measured {
+
+	/**
+	 * Meter name without the {@code volteryde.} prefix, e.g. {@code otp.send}.
+	 */
+	String value();
+
+	/**
+	 * Fixed tags as alternating keys and values, e.g. {@code {"channel", "sms"}}.
+	 */
+	String[] tags() default {};
+}
@@ -0,0 +1,29 @@
+package com.volteryde.shared.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Counts calls to the annotated method in the counter
+ * {@code volteryde.<value>}. The counter gets the same {@code outcome} and
+ * {@code exception} tags as {@link Measured}. Use it where the rate matters
+ * and the duration does not.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MeasuredCount {
+
+	/**
+	 * Meter name without the {@code volteryde.} prefix.
+	 */
+	String value();
+
+	/**
+	 * Fixed tags as alternating keys and values.
+	 */
+	String[] tags() default {};
+}
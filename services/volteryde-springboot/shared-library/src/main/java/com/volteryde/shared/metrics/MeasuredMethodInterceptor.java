@@ -0,0 +1,75 @@
+package com.volteryde.shared.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records {@link Measured} and {@link MeasuredCount} methods. Annotations are
+ * resolved once per method; the registry is looked up lazily because advisors
+ * are created before the meter registry exists.
+ */
+public class MeasuredMethodInterceptor implements MethodInterceptor {
+
+	static final String EXCEPTION = "exception";
+	static final String NONE = "none";
+
+	private final Supplier<BusinessMetrics> metrics;
+	private final Map<Method, Optional<Meters>> meters = new ConcurrentHashMap<>();
+
+	public MeasuredMethodInterceptor(Supplier<BusinessMetrics> metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+		Optional<Meters> annotated = meters.computeIfAbsent(
+				AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass), Meters::of);
+		if (annotated.isEmpty()) {
+			return invocation.proceed();
+		}
+
+		long start = System.nanoTime();
+		String outcome = BusinessMetrics.ERROR;
+		String exception = NONE;
+		try {
+			Object result = invocation.proceed();
+			outcome = Boolean.FALSE.equals(result) ? BusinessMetrics.FAILURE : BusinessMetrics.SUCCESS;
+			return result;
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			annotated.get().record(metrics.get(), System.nanoTime() - start, outcome, exception);
+		}
+	}
+
+	private record Meters(Measured timed, MeasuredCount counted) {
+
+		static Optional<Meters> of(Method method) {
+			Measured timed = AnnotatedElementUtils.findMergedAnnotation(method, Measured.class);
+			MeasuredCount counted = AnnotatedElementUtils.findMergedAnnotation(method, MeasuredCount.class);
+			return timed == null && counted == null ? Optional.empty() : Optional.of(new Meters(timed, counted));
+		}
+
+		void record(BusinessMetrics metrics, long nanos, String outcome, String exception) {
+			Tags result = Tags.of(BusinessMetrics.OUTCOME, outcome, EXCEPTION, exception);
+			if (timed != null) {
+				metrics.timer(timed.value(), Tags.of(timed.tags()).and(result)).record(nanos, TimeUnit.NANOSECONDS);
+			}
+			if (counted != null) {
+				metrics.counter(counted.value(), Tags.of(counted.tags()).and(result)).increment();
+			}
+		}
+	}
+}
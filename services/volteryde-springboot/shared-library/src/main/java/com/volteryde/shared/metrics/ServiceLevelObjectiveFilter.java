@@ -0,0 +1,35 @@
+package com.volteryde.shared.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gives every {@code volteryde.*} timer histogram buckets at fixed latency
+ * boundaries. Prometheus can then answer "what share of OTP sends finished
+ * within 500 ms" and aggregate percentiles across pods, which client-side
+ * percentiles cannot. A meter with its own
+ * {@code management.metrics.distribution.slo.<name>} property keeps it; the
+ * boundaries here only fill in where nothing else is configured.
+ */
+public class ServiceLevelObjectiveFilter implements MeterFilter {
+
+	private final DistributionStatisticConfig defaults;
+
+	public ServiceLevelObjectiveFilter(List<Duration> boundaries) {
+		this.defaults = DistributionStatisticConfig.builder()
+				.serviceLevelObjectives(boundaries.stream().mapToDouble(Duration::toNanos).toArray())
+				.build();
+	}
+
+	@Override
+	public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+		if (id.getType() != Meter.Type.TIMER || !id.getName().startsWith(BusinessMetrics.PREFIX)) {
+			return config;
+		}
+		return config.merge(defaults);
+	}
+}
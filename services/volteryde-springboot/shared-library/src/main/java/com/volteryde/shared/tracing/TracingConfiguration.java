@@ -0,0 +1,47 @@
+package com.volteryde.shared.tracing;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Carries the trace across the hops Spring Boot does not instrument by
+ * itself. Services import it from their application class.
+ *
+ * <ul>
+ * <li>{@link ContextPropagatingTaskDecorator}: Boot applies it to the
+ * {@code @Async} executor, and custom executors can take it too, so work
+ * handed to another thread stays in the caller's trace.</li>
+ * <li>Lettuce tracing: every Redis command becomes a client span. Command
+ * arguments are left out because they carry phone numbers and OTP keys.</li>
+ * </ul>
+ *
+ * HTTP server, RestTemplate, Feign and JDBC spans come from auto-configuration
+ * once the tracer, {@code feign-micrometer} and {@code datasource-micrometer}
+ * are on the classpath.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+
+	@Bean
+	public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+		return new ContextPropagatingTaskDecorator();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "io.lettuce.core.RedisClient")
+	static class RedisTracingConfiguration {
+
+		// Test slices have no registry; Redis then stays untraced
+		@Bean
+		ClientResourcesBuilderCustomizer redisTracing(ObjectProvider<ObservationRegistry> observationRegistry) {
+			return builder -> observationRegistry.ifAvailable(
+					registry -> builder.tracing(new MicrometerTracing(registry, "redis", false)));
+		}
+	}
+}
@@ -1,14 +1,17 @@
 package com.volteryde.usermanagement;
 
+import com.volteryde.shared.tracing.TracingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication(scanBasePackages = "com.volteryde.usermanagement")
 @EnableDiscoveryClient
 @EnableAsync
 @org.springframework.cloud.openfeign.EnableFeignClients
+@Import(TracingConfiguration.class)
 public class UserManagementServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(UserManagementServiceApplication.class, args);
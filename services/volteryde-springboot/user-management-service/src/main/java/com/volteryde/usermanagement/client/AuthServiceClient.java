@@ -1,5 +1,6 @@
 package com.volteryde.usermanagement.client;
 
+import com.volteryde.usermanagement.dto.AdminDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -8,7 +9,33 @@ import org.springframework.web.bind.annotation.RequestHeader;
 @FeignClient(name = "auth-service", url = "${application.config.auth-service-url:http://localhost:8081}")
 public interface AuthServiceClient {
 
+	String INTERNAL_SERVICE_KEY_HEADER = "X-Internal-Service-Key";
+
 	@PostMapping("/register")
 	Object register(@RequestBody Object request,
 			@RequestHeader(value = "User-Agent", required = false) String userAgent);
+
+	/**
+	 * Batched account creation for bulk onboarding. Authenticated with the
+	 * internal service key rather than the admin's token: a job can run for
+	 * longer than that token is valid.
+	 */
+	@PostMapping("/register/batch")
+	AdminDto.AuthBulkRegisterResponse registerBatch(@RequestBody AdminDto.AuthBulkRegisterRequest request,
+			@RequestHeader(INTERNAL_SERVICE_KEY_HEADER) String serviceKey);
+
+	/**
+	 * Sends set-password links once a chunk's profiles are saved.
+	 */
+	@PostMapping("/register/batch/invite")
+	void inviteBatch(@RequestBody AdminDto.AuthBulkAccountsRequest request,
+			@RequestHeader(INTERNAL_SERVICE_KEY_HEADER) String serviceKey);
+
+	/**
+	 * Deletes the accounts of a chunk whose profiles could not be saved, so the
+	 * rows can be uploaded again.
+	 */
+	@PostMapping("/register/batch/discard")
+	void discardBatch(@RequestBody AdminDto.AuthBulkAccountsRequest request,
+			@RequestHeader(INTERNAL_SERVICE_KEY_HEADER) String serviceKey);
 }
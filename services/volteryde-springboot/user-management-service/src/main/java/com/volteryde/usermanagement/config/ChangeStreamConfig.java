@@ -0,0 +1,126 @@
+package com.volteryde.usermanagement.config;
+
+import com.volteryde.shared.events.ChangeCapture;
+import com.volteryde.shared.events.ChangeDescriber;
+import com.volteryde.shared.events.ChangeEventBroker;
+import com.volteryde.shared.events.ChangeOutbox;
+import com.volteryde.shared.events.LocalChangeEventBroker;
+import com.volteryde.shared.events.OutboxRelay;
+import com.volteryde.usermanagement.event.RedisChangeEventBroker;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.FleetManagerProfile;
+import com.volteryde.usermanagement.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change stream for users and their profiles: inserts and updates are captured
+ * into the {@code change_outbox} table in the same transaction, and a relay
+ * publishes them to subscribers (see ProfileCacheConfig and
+ * DriverAvailabilityIndex). With {@code user.change-stream.broker=redis}
+ * (default) every instance receives every event; with {@code local} only the
+ * instance whose relay claimed it does.
+ *
+ * Events carry the public {@code userId} and {@code authId} on all three
+ * entity types so subscribers can key on them without a lookup.
+ */
+@Configuration
+public class ChangeStreamConfig {
+
+	static final String SOURCE = "user-management-service";
+
+	static final List<ChangeDescriber<?>> DESCRIBERS = List.of(
+			new ChangeDescriber<>(User.class, "User", User::getId, "status", user -> {
+				Map<String, String> attributes = new HashMap<>();
+				attributes.put("userId", user.getUserId());
+				attributes.put("authId", user.getAuthId());
+				attributes.put("email", user.getEmail());
+				attributes.put("role", String.valueOf(user.getRole()));
+				attributes.put("status", String.valueOf(user.getStatus()));
+				if (user.getOrganizationId() != null) {
+					attributes.put("organizationId", user.getOrganizationId().toString());
+				}
+				return attributes;
+			}),
+			new ChangeDescriber<>(DriverProfile.class, "DriverProfile", DriverProfile::getId, "status",
+					profile -> {
+						Map<String, String> attributes = new HashMap<>();
+						attributes.put("userId", profile.getUser().getUserId());
+						attributes.put("authId", profile.getUser().getAuthId());
+						attributes.put("licenseNumber", profile.getLicenseNumber());
+						attributes.put("status", String.valueOf(profile.getStatus()));
+						attributes.put("vehicleAssignedId", profile.getVehicleAssignedId());
+						return attributes;
+					}),
+			new ChangeDescriber<>(FleetManagerProfile.class, "FleetManagerProfile", FleetManagerProfile::getId,
+					null, profile -> {
+						Map<String, String> attributes = new HashMap<>();
+						attributes.put("userId", profile.getUser().getUserId());
+						attributes.put("authId", profile.getUser().getAuthId());
+						attributes.put("assignedRegion", profile.getAssignedRegion());
+						attributes.put("hubId", profile.getHubId());
+						return attributes;
+					}));
+
+	@Bean
+	public ChangeOutbox changeOutbox(JdbcTemplate jdbcTemplate,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		ChangeOutbox outbox = new ChangeOutbox(jdbcTemplate, schema);
+		outbox.createTableIfMissing();
+		return outbox;
+	}
+
+	@Bean
+	public ChangeCapture changeCapture(ChangeOutbox changeOutbox, EntityManagerFactory entityManagerFactory) {
+		ChangeCapture capture = new ChangeCapture(SOURCE, changeOutbox, DESCRIBERS);
+		capture.register(entityManagerFactory);
+		return capture;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "user.change-stream.broker", havingValue = "local")
+	public ChangeEventBroker changeEventBroker() {
+		return new LocalChangeEventBroker();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "user.change-stream.broker", havingValue = "redis", matchIfMissing = true)
+	public RedisChangeEventBroker redisChangeEventBroker(StringRedisTemplate redisTemplate) {
+		return new RedisChangeEventBroker(redisTemplate);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "user.change-stream.broker", havingValue = "redis", matchIfMissing = true)
+	public RedisMessageListenerContainer changeEventListenerContainer(RedisConnectionFactory connectionFactory,
+			RedisChangeEventBroker redisChangeEventBroker) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener(redisChangeEventBroker, new ChannelTopic(RedisChangeEventBroker.CHANNEL));
+		return container;
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "stop")
+	@ConditionalOnProperty(name = "user.change-stream.relay.enabled", havingValue = "true", matchIfMissing = true)
+	public OutboxRelay outboxRelay(ChangeOutbox changeOutbox, ChangeEventBroker changeEventBroker,
+			PlatformTransactionManager transactionManager,
+			@Value("${user.change-stream.relay.batch-size:500}") int batchSize,
+			@Value("${user.change-stream.relay.poll-interval:500ms}") Duration pollInterval) {
+		return new OutboxRelay(changeOutbox, changeEventBroker, new TransactionTemplate(transactionManager),
+				batchSize, pollInterval);
+	}
+}
@@ -0,0 +1,34 @@
+package com.volteryde.usermanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated executor for bulk onboarding jobs. Kept small and bounded so a
+ * burst of uploads queues (or is rejected) instead of starving the request
+ * threads and the connection pool. Jobs run in the uploader's trace, so the
+ * auth-service calls they make show up under the upload request.
+ */
+@Configuration
+public class OnboardingConfig {
+
+	@Bean(name = "onboardingExecutor")
+	public ThreadPoolTaskExecutor onboardingExecutor(
+			@Value("${user.onboarding.concurrency:2}") int concurrency,
+			@Value("${user.onboarding.queue-capacity:20}") int queueCapacity,
+			TaskDecorator taskDecorator) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("onboarding-");
+		executor.setTaskDecorator(taskDecorator);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		executor.initialize();
+		return executor;
+	}
+}
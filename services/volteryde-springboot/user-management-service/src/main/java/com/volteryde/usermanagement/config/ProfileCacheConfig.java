@@ -0,0 +1,56 @@
+package com.volteryde.usermanagement.config;
+
+import com.volteryde.shared.events.ChangeEventBroker;
+import com.volteryde.shared.events.ChangeEventListener;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+import com.volteryde.usermanagement.service.impl.TwoTierUserProfileCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.UUID;
+
+/**
+ * Subscribes the profile cache to invalidation broadcasts from other instances,
+ * and to User change events so writes that don't go through UserService (admin
+ * onboarding, bulk onboarding) evict too. Cached profiles embed the driver and
+ * fleet manager profiles, so changes to those evict the owning user.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.profile-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ProfileCacheConfig {
+
+	@Bean
+	public RedisMessageListenerContainer profileCacheListenerContainer(RedisConnectionFactory connectionFactory,
+			TwoTierUserProfileCache profileCache) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener(profileCache,
+				new ChannelTopic(TwoTierUserProfileCache.INVALIDATION_CHANNEL));
+		return container;
+	}
+
+	@Bean(destroyMethod = "close")
+	public ChangeEventBroker.Subscription profileCacheChangeSubscription(ChangeEventBroker changeEventBroker,
+			TwoTierUserProfileCache profileCache) {
+		return changeEventBroker.subscribe("User", event -> profileCache.evict(new UserProfileChangedEvent(
+				UUID.fromString(event.entityId()), event.attribute("userId"), event.attribute("authId"))));
+	}
+
+	@Bean(destroyMethod = "close")
+	public ChangeEventBroker.Subscription profileCacheRoleProfileSubscription(ChangeEventBroker changeEventBroker,
+			TwoTierUserProfileCache profileCache) {
+		// The entity id is the role profile's, not the user's; the cache keys on userId and authId only
+		ChangeEventListener evictOwner = event -> profileCache.evict(new UserProfileChangedEvent(null,
+				event.attribute("userId"), event.attribute("authId")));
+		ChangeEventBroker.Subscription drivers = changeEventBroker.subscribe("DriverProfile", evictOwner);
+		ChangeEventBroker.Subscription fleetManagers = changeEventBroker.subscribe("FleetManagerProfile", evictOwner);
+		return () -> {
+			drivers.close();
+			fleetManagers.close();
+		};
+	}
+}
@@ -1,12 +1,19 @@
 package com.volteryde.usermanagement.controller;
 
 import com.volteryde.usermanagement.dto.AdminDto;
+import com.volteryde.usermanagement.model.UserRole;
 import com.volteryde.usermanagement.service.AdminService;
+import com.volteryde.usermanagement.service.BulkOnboardingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -14,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class AdminController {
 
 	private final AdminService adminService;
+	private final BulkOnboardingService bulkOnboardingService;
 
 	@PostMapping("/drivers")
 	@PreAuthorize("hasAnyAuthority('SYSTEM_SUPPORT', 'ADMIN', 'SUPER_ADMIN')")
@@ -34,4 +42,25 @@ public class AdminController {
 			@RequestBody AdminDto.CreateUserRequest request) {
 		return new ResponseEntity<>(adminService.createUser(request), HttpStatus.CREATED);
 	}
+
+	/**
+	 * Queue a CSV or NDJSON file of drivers and fleet managers for onboarding.
+	 * Returns immediately; poll the job for progress and row errors.
+	 */
+	@PostMapping(value = "/onboarding/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@PreAuthorize("hasAnyAuthority('SYSTEM_SUPPORT', 'ADMIN', 'SUPER_ADMIN')")
+	public ResponseEntity<AdminDto.OnboardingJobResponse> startOnboardingJob(
+			@RequestPart("file") MultipartFile file,
+			@RequestParam(required = false) UserRole role,
+			Authentication authentication) {
+		return new ResponseEntity<>(
+				bulkOnboardingService.startJob(file, role, authentication.getName()),
+				HttpStatus.ACCEPTED);
+	}
+
+	@GetMapping("/onboarding/jobs/{jobId}")
+	@PreAuthorize("hasAnyAuthority('SYSTEM_SUPPORT', 'ADMIN', 'SUPER_ADMIN')")
+	public ResponseEntity<AdminDto.OnboardingJobResponse> getOnboardingJob(@PathVariable UUID jobId) {
+		return ResponseEntity.ok(bulkOnboardingService.getJob(jobId));
+	}
 }
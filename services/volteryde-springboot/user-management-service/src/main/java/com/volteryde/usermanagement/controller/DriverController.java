@@ -0,0 +1,56 @@
+package com.volteryde.usermanagement.controller;
+
+import com.volteryde.usermanagement.dto.DriverDto;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.service.DriverAvailabilityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Driver availability lookups and transitions for dispatch.
+ */
+@RestController
+@RequestMapping("/api/drivers")
+@RequiredArgsConstructor
+public class DriverController {
+
+	private final DriverAvailabilityService driverAvailabilityService;
+
+	/**
+	 * Drivers in a status, e.g. {@code ?status=ACTIVE&organizationId=...}.
+	 */
+	@GetMapping("/availability")
+	public ResponseEntity<List<DriverDto.DispatchView>> listByStatus(
+			@RequestParam(defaultValue = "ACTIVE") DriverProfile.DriverStatus status,
+			@RequestParam(required = false) UUID organizationId,
+			@RequestParam(defaultValue = "0") int limit) {
+		return ResponseEntity.ok(driverAvailabilityService.listByStatus(status, organizationId, limit));
+	}
+
+	/**
+	 * The active driver of a vehicle; 404 if nobody is driving it.
+	 */
+	@GetMapping("/by-vehicle/{vehicleId}")
+	public ResponseEntity<DriverDto.DispatchView> getCurrentDriver(@PathVariable String vehicleId) {
+		return ResponseEntity.of(driverAvailabilityService.currentDriver(vehicleId));
+	}
+
+	@PatchMapping("/{id}/status")
+	public ResponseEntity<DriverDto.DispatchView> updateStatus(
+			@PathVariable UUID id,
+			@Valid @RequestBody DriverDto.UpdateStatusRequest request) {
+		return ResponseEntity.ok(driverAvailabilityService.updateStatus(id, request.getStatus()));
+	}
+
+	@PutMapping("/{id}/vehicle")
+	public ResponseEntity<DriverDto.DispatchView> assignVehicle(
+			@PathVariable UUID id,
+			@Valid @RequestBody DriverDto.AssignVehicleRequest request) {
+		return ResponseEntity.ok(driverAvailabilityService.assignVehicle(id, request.getVehicleId()));
+	}
+}
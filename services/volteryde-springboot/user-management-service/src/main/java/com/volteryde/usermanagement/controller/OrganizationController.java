@@ -1,8 +1,11 @@
 package com.volteryde.usermanagement.controller;
 
+import com.volteryde.usermanagement.dto.OrganizationDto;
 import com.volteryde.usermanagement.model.Organization;
 import com.volteryde.usermanagement.service.OrganizationService;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,8 +24,36 @@ public class OrganizationController {
 		return ResponseEntity.ok(organizationService.getAll());
 	}
 
+	/**
+	 * Paged listing ordered by name; {@code size} defaults to 50, capped at 200.
+	 */
+	@GetMapping("/page")
+	public ResponseEntity<OrganizationDto.OrganizationPage> list(
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "0") int size) {
+		return ResponseEntity.ok(organizationService.list(page, size));
+	}
+
+	@GetMapping("/tree")
+	public ResponseEntity<List<OrganizationDto.Node>> getTree() {
+		return ResponseEntity.ok(organizationService.getTree());
+	}
+
+	/**
+	 * Resolve organization ids to names in one call, e.g. {@code ?ids=a,b,c}.
+	 */
+	@GetMapping("/names")
+	public ResponseEntity<Map<UUID, String>> resolveNames(@RequestParam List<UUID> ids) {
+		return ResponseEntity.ok(organizationService.resolveNames(ids));
+	}
+
 	@PostMapping
 	public ResponseEntity<Organization> create(@RequestBody Organization organization) {
 		return ResponseEntity.ok(organizationService.create(organization));
 	}
+
+	@PutMapping("/{id}")
+	public ResponseEntity<Organization> update(@PathVariable UUID id, @RequestBody Organization organization) {
+		return ResponseEntity.ok(organizationService.update(id, organization));
+	}
 }
@@ -4,10 +4,12 @@ import com.volteryde.usermanagement.dto.UserDto;
 import com.volteryde.usermanagement.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,6 +33,39 @@ public class UserController {
 		return ResponseEntity.ok(userService.getAllUsers(role));
 	}
 
+	/**
+	 * Keyset-paginated user listing for dashboards, newest first.
+	 * Pass the returned nextCursor to fetch the following page.
+	 */
+	@GetMapping("/page")
+	public ResponseEntity<UserDto.UserPage> listUsers(
+			@RequestParam(required = false) com.volteryde.usermanagement.model.UserRole role,
+			@RequestParam(required = false) com.volteryde.usermanagement.model.AccountStatus status,
+			@RequestParam(required = false) UUID organizationId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "0") int limit) {
+		UserDto.UserListFilter filter = UserDto.UserListFilter.builder()
+				.role(role)
+				.status(status)
+				.organizationId(organizationId)
+				.createdFrom(createdFrom)
+				.createdTo(createdTo)
+				.build();
+		return ResponseEntity.ok(userService.listUsers(filter, cursor, limit));
+	}
+
+	/**
+	 * Ranked partial-match search by name, email, phone or user ID.
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<List<UserDto.UserSummary>> searchUsers(
+			@RequestParam("q") String query,
+			@RequestParam(defaultValue = "0") int limit) {
+		return ResponseEntity.ok(userService.searchUsers(query, limit));
+	}
+
 	/**
 	 * Create a new user.
 	 * Request body is validated against CreateUserRequest constraints.
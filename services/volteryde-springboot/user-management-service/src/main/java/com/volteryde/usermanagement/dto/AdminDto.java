@@ -5,6 +5,8 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class AdminDto {
@@ -55,4 +57,105 @@ public class AdminDto {
 		private String status;
 		private String vehicleAssignedId;
 	}
+
+	/**
+	 * One row of a bulk onboarding upload (CSV column or NDJSON field names).
+	 * {@code role} falls back to the job's default role when blank.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class OnboardingRow {
+		private String email;
+		private String firstName;
+		private String lastName;
+		private String phoneNumber;
+		private String role;
+		private UUID organizationId;
+		// Drivers
+		private String licenseNumber;
+		private Integer yearsOfExperience;
+		// Fleet managers
+		private String assignedRegion;
+		private String hubId;
+	}
+
+	@Data
+	@Builder
+	public static class OnboardingJobResponse {
+		private UUID jobId;
+		private String status;
+		private String fileName;
+		private int processedRows;
+		private int succeededRows;
+		private int failedRows;
+		private String failureReason;
+		private LocalDateTime createdAt;
+		private LocalDateTime startedAt;
+		private LocalDateTime finishedAt;
+		private List<OnboardingRowError> errors; // first page of row errors
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class OnboardingRowError {
+		private long row;
+		private String email;
+		private String message;
+	}
+
+	/**
+	 * Mirrors auth-service BulkRegisterRequest.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AuthBulkRegisterRequest {
+		private List<AuthBulkRegisterItem> users;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class AuthBulkRegisterItem {
+		private String email;
+		private String firstName;
+		private String lastName;
+		private String phoneNumber;
+		private String role;
+		private String accessId;
+		private String organizationId;
+	}
+
+	/**
+	 * Mirrors auth-service BulkRegisterResponse; results are in request order.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AuthBulkRegisterResponse {
+		private List<AuthBulkRegisterResult> results;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AuthBulkRegisterResult {
+		private String email;
+		private String authId;
+		private String error;
+	}
+
+	/**
+	 * Mirrors auth-service BulkAccountsRequest.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AuthBulkAccountsRequest {
+		private List<String> authIds;
+	}
 }
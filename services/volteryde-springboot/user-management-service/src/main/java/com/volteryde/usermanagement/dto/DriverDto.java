@@ -0,0 +1,50 @@
+package com.volteryde.usermanagement.dto;
+
+import com.volteryde.usermanagement.model.DriverProfile;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+public class DriverDto {
+
+	/**
+	 * Only the fields dispatch screens need, read with a constructor
+	 * projection instead of loading driver and user entities.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DispatchView {
+		private UUID driverId;
+		private String userId;
+		private String firstName;
+		private String lastName;
+		private String phoneNumber;
+		private UUID organizationId;
+		private String vehicleAssignedId;
+		private DriverProfile.DriverStatus status;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class UpdateStatusRequest {
+		@NotNull(message = "Status is required")
+		private DriverProfile.DriverStatus status;
+	}
+
+	/**
+	 * Assign a vehicle, or clear the assignment with a null vehicleId.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AssignVehicleRequest {
+		@Size(max = 255, message = "Vehicle ID must not exceed 255 characters")
+		private String vehicleId;
+	}
+}
@@ -0,0 +1,43 @@
+package com.volteryde.usermanagement.dto;
+
+import com.volteryde.usermanagement.model.Organization;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+public class OrganizationDto {
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Summary {
+		private UUID id;
+		private String name;
+		private UUID parentId;
+	}
+
+	/**
+	 * One node of the organization tree, with its sub-organizations sorted by name.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Node {
+		private UUID id;
+		private String name;
+		private List<Node> children;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class OrganizationPage {
+		private List<Organization> items;
+		private int page;
+		private int size;
+		private long totalElements;
+	}
+}
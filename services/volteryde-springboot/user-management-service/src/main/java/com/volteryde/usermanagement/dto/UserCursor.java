@@ -0,0 +1,40 @@
+package com.volteryde.usermanagement.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for user listings: the (createdAt, id) of the last row
+ * returned, base64url-encoded so clients treat it as a token.
+ */
+public record UserCursor(LocalDateTime createdAt, UUID id) {
+
+	public static UserCursor of(UserDto.UserSummary last) {
+		return new UserCursor(last.getCreatedAt(), last.getId());
+	}
+
+	public String encode() {
+		String raw = createdAt + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+	 */
+	public static UserCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return new UserCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					UUID.fromString(raw.substring(separator + 1)));
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
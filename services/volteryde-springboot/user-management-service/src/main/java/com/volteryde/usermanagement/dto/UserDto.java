@@ -1,6 +1,7 @@
 package com.volteryde.usermanagement.dto;
 
 import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.DriverProfile;
 import com.volteryde.usermanagement.model.UserRole;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -49,6 +51,8 @@ public class UserDto {
 		@NotNull(message = "Role is required")
 		private UserRole role;
 
+		private UUID organizationId;
+
 		private String createdBy; // User ID of creator (for audit)
 	}
 
@@ -110,6 +114,8 @@ public class UserDto {
 		private String profilePictureUrl;
 		private UserRole role;
 		private AccountStatus status;
+		private UUID organizationId;
+		private String organizationName;
 		private LocalDateTime createdAt;
 		private LocalDateTime updatedAt;
 		private String createdBy;
@@ -141,4 +147,66 @@ public class UserDto {
 		private String assignedRegion;
 		private String hubId;
 	}
+
+	/**
+	 * Optional filters for the paged user listing. Null fields are ignored.
+	 */
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class UserListFilter {
+		private UserRole role;
+		private AccountStatus status;
+		private UUID organizationId;
+		private LocalDateTime createdFrom; // inclusive
+		private LocalDateTime createdTo; // exclusive
+	}
+
+	/**
+	 * Lightweight list row. Role-specific columns come from the same query
+	 * (left joins on the profile tables) and are null for other roles.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class UserSummary {
+		private UUID id;
+		private String userId;
+		private String email;
+		private String firstName;
+		private String lastName;
+		private String phoneNumber;
+		private UserRole role;
+		private AccountStatus status;
+		private UUID organizationId;
+		private LocalDateTime createdAt;
+		private DriverProfile.DriverStatus driverStatus;
+		private String vehicleAssignedId;
+		private String assignedRegion;
+		private String hubId;
+		private String organizationName; // resolved from the organization directory
+
+		/**
+		 * Query projection constructor; organizationName is filled in afterwards.
+		 */
+		public UserSummary(UUID id, String userId, String email, String firstName, String lastName,
+				String phoneNumber, UserRole role, AccountStatus status, UUID organizationId, LocalDateTime createdAt,
+				DriverProfile.DriverStatus driverStatus, String vehicleAssignedId, String assignedRegion, String hubId) {
+			this(id, userId, email, firstName, lastName, phoneNumber, role, status, organizationId, createdAt,
+					driverStatus, vehicleAssignedId, assignedRegion, hubId, null);
+		}
+	}
+
+	/**
+	 * One page of a keyset-paginated listing. Pass {@code nextCursor} back to
+	 * fetch the following page; it is null on the last page.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class UserPage {
+		private List<UserSummary> items;
+		private String nextCursor;
+	}
 }
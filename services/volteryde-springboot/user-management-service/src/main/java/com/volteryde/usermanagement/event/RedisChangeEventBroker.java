@@ -0,0 +1,78 @@
+package com.volteryde.usermanagement.event;
+
+import com.volteryde.shared.events.ChangeEvent;
+import com.volteryde.shared.events.ChangeEventBroker;
+import com.volteryde.shared.events.ChangeEventCodec;
+import com.volteryde.shared.events.ChangeEventListener;
+import com.volteryde.shared.events.LocalChangeEventBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fans relayed change events out to every instance over Redis pub/sub, the
+ * same way the profile cache broadcasts invalidations.
+ *
+ * The outbox relay claims rows with {@code SKIP LOCKED}, so each event is
+ * relayed by exactly one instance; publishing it on {@link #CHANNEL} lets
+ * subscribers on all instances (this one included) see it. Messages are the
+ * event's sequence followed by its {@link ChangeEventCodec} payload, and are
+ * dispatched to local subscribers on receipt.
+ *
+ * A failed publish throws, so the relay rolls back and the batch stays in the
+ * outbox until Redis is reachable again. An instance that misses a message
+ * (not subscribed at the time, or disconnected) does not get it again.
+ */
+@Slf4j
+public class RedisChangeEventBroker implements ChangeEventBroker, MessageListener {
+
+	public static final String CHANNEL = "user:change-events";
+
+	private final StringRedisTemplate redis;
+	private final LocalChangeEventBroker local = new LocalChangeEventBroker();
+
+	public RedisChangeEventBroker(StringRedisTemplate redis) {
+		this.redis = redis;
+	}
+
+	@Override
+	public void publish(ChangeEvent event) {
+		byte[] payload = ChangeEventCodec.encode(event);
+		byte[] message = ByteBuffer.allocate(Long.BYTES + payload.length)
+				.putLong(event.sequence())
+				.put(payload)
+				.array();
+		byte[] channel = CHANNEL.getBytes(StandardCharsets.UTF_8);
+		redis.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		byte[] body = message.getBody();
+		ChangeEvent event;
+		try {
+			long sequence = ByteBuffer.wrap(body, 0, Long.BYTES).getLong();
+			event = ChangeEventCodec.decode(sequence, Arrays.copyOfRange(body, Long.BYTES, body.length));
+		} catch (RuntimeException e) {
+			log.warn("Dropping undecodable change event message: {}", e.getMessage());
+			return;
+		}
+		local.publish(event);
+	}
+
+	@Override
+	public Subscription subscribe(String entity, ChangeEventListener listener) {
+		return local.subscribe(entity, listener);
+	}
+
+	@Override
+	public Subscription subscribeAll(ChangeEventListener listener) {
+		return local.subscribeAll(listener);
+	}
+}
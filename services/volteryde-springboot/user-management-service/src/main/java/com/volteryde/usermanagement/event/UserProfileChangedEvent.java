@@ -0,0 +1,10 @@
+package com.volteryde.usermanagement.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's profile or status changes, so cached copies keyed by
+ * either public identifier can be dropped once the change commits.
+ */
+public record UserProfileChangedEvent(UUID id, String userId, String authId) {
+}
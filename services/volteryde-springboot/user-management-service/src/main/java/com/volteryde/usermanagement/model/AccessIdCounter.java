@@ -0,0 +1,26 @@
+package com.volteryde.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * High-water mark of the Access ID sequence for one prefix. Instances reserve
+ * blocks by advancing {@code nextValue} atomically and hand out the ids in
+ * between from memory.
+ */
+@Entity
+@Table(name = "access_id_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessIdCounter {
+
+	@Id
+	@Column(length = 10)
+	private String prefix;
+
+	@Column(name = "next_value", nullable = false)
+	private long nextValue;
+}
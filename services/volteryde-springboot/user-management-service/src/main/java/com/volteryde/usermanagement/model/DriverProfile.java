@@ -9,7 +9,11 @@ import lombok.Builder;
 import java.util.UUID;
 
 @Entity
-@Table(name = "driver_profiles")
+@Table(name = "driver_profiles", indexes = {
+		// Dispatch lookups: drivers in a status (joined to users for organization), and a vehicle's driver
+		@Index(name = "idx_driver_profiles_status_user", columnList = "status, user_id"),
+		@Index(name = "idx_driver_profiles_vehicle_status", columnList = "vehicle_assigned_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
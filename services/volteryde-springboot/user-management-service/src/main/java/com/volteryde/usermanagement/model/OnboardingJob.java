@@ -0,0 +1,72 @@
+package com.volteryde.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A bulk onboarding upload and its progress. Counters are updated after each
+ * chunk so clients can poll while the job runs.
+ */
+@Entity
+@Table(name = "onboarding_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingJob {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private UUID id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private Status status = Status.QUEUED;
+
+	@Column(name = "file_name")
+	private String fileName;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "default_role", length = 20)
+	private UserRole defaultRole;
+
+	@Column(name = "processed_rows", nullable = false)
+	private int processedRows;
+
+	@Column(name = "succeeded_rows", nullable = false)
+	private int succeededRows;
+
+	@Column(name = "failed_rows", nullable = false)
+	private int failedRows;
+
+	@Column(name = "failure_reason", columnDefinition = "TEXT")
+	private String failureReason;
+
+	@Column(name = "created_by")
+	private String createdBy;
+
+	@CreationTimestamp
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "started_at")
+	private LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	private LocalDateTime finishedAt;
+
+	public enum Status {
+		QUEUED,
+		RUNNING,
+		COMPLETED,
+		FAILED
+	}
+}
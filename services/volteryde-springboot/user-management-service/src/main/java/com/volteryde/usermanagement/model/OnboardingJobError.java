@@ -0,0 +1,39 @@
+package com.volteryde.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A row of an onboarding upload that was rejected, with the reason.
+ */
+@Entity
+@Table(name = "onboarding_job_errors", indexes = {
+		@Index(name = "idx_onboarding_job_errors_job_row", columnList = "job_id, line_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingJobError {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private UUID id;
+
+	@Column(name = "job_id", nullable = false)
+	private UUID jobId;
+
+	@Column(name = "line_number", nullable = false)
+	private long rowNumber; // 1-based data row, excluding any header
+
+	@Column
+	private String email;
+
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String message;
+}
@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "organizations")
+@Table(name = "organizations", indexes = {
+		@Index(name = "idx_organizations_parent", columnList = "parent_id")
+})
 public class Organization {
 
 	@Id
@@ -18,6 +20,9 @@ public class Organization {
 	@Column
 	private String description;
 
+	@Column(name = "parent_id")
+	private UUID parentId; // Null for top-level organizations
+
 	@Column(nullable = false)
 	private LocalDateTime createdAt;
 
@@ -60,6 +65,14 @@ public class Organization {
 		this.description = description;
 	}
 
+	public UUID getParentId() {
+		return parentId;
+	}
+
+	public void setParentId(UUID parentId) {
+		this.parentId = parentId;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -29,7 +29,10 @@ import java.util.UUID;
 		@Index(name = "idx_users_email", columnList = "email"),
 		@Index(name = "idx_users_user_id", columnList = "user_id"),
 		@Index(name = "idx_users_auth_id", columnList = "auth_id"),
-		@Index(name = "idx_users_status", columnList = "status")
+		@Index(name = "idx_users_status", columnList = "status"),
+		@Index(name = "idx_users_created", columnList = "created_at DESC, id DESC"),
+		@Index(name = "idx_users_role_created", columnList = "role, created_at DESC, id DESC"),
+		@Index(name = "idx_users_organization_created", columnList = "organization_id, created_at DESC, id DESC")
 })
 @Data
 @NoArgsConstructor
@@ -113,6 +116,12 @@ public class User {
 	@Builder.Default
 	private AccountStatus status = AccountStatus.PENDING;
 
+	/**
+	 * Organization the user belongs to, if any
+	 */
+	@Column(name = "organization_id")
+	private UUID organizationId;
+
 	/**
 	 * Timestamp when user was created - immutable, server-generated
 	 */
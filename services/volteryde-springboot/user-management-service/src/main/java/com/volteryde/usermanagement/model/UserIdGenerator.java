@@ -3,9 +3,13 @@ package com.volteryde.usermanagement.model;
 import java.security.SecureRandom;
 
 /**
- * Utility class for generating prefixed user IDs.
- * Format: PREFIX-XXXXXX (6 digits)
- * 
+ * Utility class for prefixed user IDs (Access IDs).
+ *
+ * Allocated format: PREFIX + 7-digit sequence + Luhn check digit, e.g.
+ * VR-DP00001234. Sequences come from
+ * {@link com.volteryde.usermanagement.service.AccessIdAllocator}; their length
+ * (8+ digits) never overlaps the legacy random format PREFIX + 6 digits.
+ *
  * The ID is:
  * - Unique (enforced by database constraint)
  * - Immutable after creation
@@ -16,6 +20,7 @@ public final class UserIdGenerator {
 	private static final String PREFIX = "USR-";
 	private static final String NUMERIC = "0123456789";
 	private static final int ID_LENGTH = 6;
+	private static final int SEQUENCE_WIDTH = 7;
 	private static final SecureRandom RANDOM = new SecureRandom();
 
 	private UserIdGenerator() {
@@ -23,47 +28,26 @@ public final class UserIdGenerator {
 	}
 
 	/**
-	 * Generates a new prefixed user ID.
+	 * Generates a random prefixed user ID.
 	 * Format: USR-XXXXXX
 	 *
-	 * @return A unique prefixed user ID
+	 * Only a fallback for rows persisted without an allocated ID; random ids
+	 * are not checked for collisions.
+	 *
+	 * @return A prefixed user ID
 	 */
 	public static String generate() {
 		return generate(null);
 	}
 
 	/**
-	 * Generates a new prefixed user ID based on role.
+	 * Generates a random prefixed user ID based on role. See {@link #generate()}.
 	 *
 	 * @param role The user role to determine the prefix
-	 * @return A unique prefixed user ID
+	 * @return A prefixed user ID
 	 */
 	public static String generate(UserRole role) {
-		String prefix = PREFIX;
-		if (role != null) {
-			switch (role) {
-				case DISPATCHER:
-					prefix = "VR-DP";
-					break;
-				case SYSTEM_SUPPORT:
-					prefix = "VR-SC";
-					break;
-				case CUSTOMER_SUPPORT:
-					prefix = "VR-CC";
-					break;
-				case ADMIN:
-				case SUPER_ADMIN:
-					prefix = "VR-A";
-					break;
-				case PARTNER:
-					prefix = "VR-P";
-					break;
-				default:
-					prefix = PREFIX;
-			}
-		}
-
-		StringBuilder sb = new StringBuilder(prefix);
+		StringBuilder sb = new StringBuilder(prefixFor(role));
 		for (int i = 0; i < ID_LENGTH; i++) {
 			int index = RANDOM.nextInt(NUMERIC.length());
 			sb.append(NUMERIC.charAt(index));
@@ -71,6 +55,98 @@ public final class UserIdGenerator {
 		return sb.toString();
 	}
 
+	/**
+	 * Prefix for a role; roles without a dedicated prefix use USR-.
+	 */
+	public static String prefixFor(UserRole role) {
+		if (role == null) {
+			return PREFIX;
+		}
+		switch (role) {
+			case DISPATCHER:
+				return "VR-DP";
+			case SYSTEM_SUPPORT:
+				return "VR-SC";
+			case CUSTOMER_SUPPORT:
+				return "VR-CC";
+			case ADMIN:
+			case SUPER_ADMIN:
+				return "VR-A";
+			case PARTNER:
+				return "VR-P";
+			default:
+				return PREFIX;
+		}
+	}
+
+	/**
+	 * Formats an allocated sequence value as PREFIX + zero-padded sequence + check digit.
+	 */
+	public static String format(String prefix, long sequence) {
+		if (sequence < 0) {
+			throw new IllegalArgumentException("Sequence must not be negative");
+		}
+		String digits = String.format("%0" + SEQUENCE_WIDTH + "d", sequence);
+		return prefix + digits + checkDigit(digits);
+	}
+
+	/**
+	 * True if the id is in the allocated format and its check digit matches,
+	 * catching single-digit typos and most transpositions.
+	 */
+	public static boolean hasValidChecksum(String userId) {
+		if (!isValid(userId)) {
+			return false;
+		}
+		String digits = trailingDigits(userId);
+		if (!hasCheckDigit(digits)) {
+			return false; // legacy random id, no check digit
+		}
+		String body = digits.substring(0, digits.length() - 1);
+		return checkDigit(body) == digits.charAt(digits.length() - 1);
+	}
+
+	/**
+	 * False if no user can have this id: it is not Access ID shaped, or it is
+	 * in the allocated format with a wrong check digit. Legacy random ids have
+	 * no check digit and pass on shape alone.
+	 */
+	public static boolean isPlausible(String userId) {
+		return isValid(userId) && (!hasCheckDigit(trailingDigits(userId)) || hasValidChecksum(userId));
+	}
+
+	private static String trailingDigits(String userId) {
+		int start = userId.length();
+		while (start > 0 && Character.isDigit(userId.charAt(start - 1))) {
+			start--;
+		}
+		return userId.substring(start);
+	}
+
+	private static boolean hasCheckDigit(String digits) {
+		return digits.length() >= SEQUENCE_WIDTH + 1;
+	}
+
+	/**
+	 * Luhn (mod 10) check digit.
+	 */
+	static char checkDigit(String digits) {
+		int sum = 0;
+		boolean doubled = true; // rightmost payload digit is doubled
+		for (int i = digits.length() - 1; i >= 0; i--) {
+			int d = digits.charAt(i) - '0';
+			if (doubled) {
+				d *= 2;
+				if (d > 9) {
+					d -= 9;
+				}
+			}
+			sum += d;
+			doubled = !doubled;
+		}
+		return (char) ('0' + (10 - sum % 10) % 10);
+	}
+
 	public static boolean isValid(String userId) {
 		if (userId == null) {
 			return false;
@@ -0,0 +1,48 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Atomic block reservation on {@code access_id_counters}. A single upsert both
+ * creates the counter for a new prefix and advances an existing one, so
+ * concurrent instances always receive disjoint ranges.
+ */
+@Repository
+public class AccessIdCounterRepository {
+
+	/**
+	 * First sequence value for a new prefix.
+	 */
+	static final long FIRST_VALUE = 1;
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final String schema;
+
+	public AccessIdCounterRepository(NamedParameterJdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+	}
+
+	/**
+	 * Reserve {@code size} consecutive sequence values for the prefix.
+	 *
+	 * @return the first value of the reserved range
+	 */
+	public long reserve(String prefix, int size) {
+		Long end = jdbc.queryForObject("insert into " + schema + ".access_id_counters (prefix, next_value)"
+				+ " values (:prefix, :first + :size)"
+				+ " on conflict (prefix) do update set next_value = access_id_counters.next_value + :size"
+				+ " returning next_value",
+				new MapSqlParameterSource()
+						.addValue("prefix", prefix)
+						.addValue("first", FIRST_VALUE)
+						.addValue("size", size),
+				Long.class);
+		return end - size;
+	}
+}
@@ -0,0 +1,93 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import com.volteryde.usermanagement.model.ActivityLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batch writer for audit entries.
+ *
+ * With {@code user.audit.store=local} (default) rows go to this service's
+ * {@code activity_logs} table. With {@code shared}, they go to
+ * {@code <shared-schema>.audit_events}, which is created on startup if it
+ * doesn't exist. Rows carry a {@code source_service} column so other services
+ * could share the table later; today only this service writes to it, and
+ * auth-service keeps its own {@code activity_logs}.
+ */
+@Repository
+@Slf4j
+public class ActivityLogJdbcWriter {
+
+	static final String SOURCE_SERVICE = "user-management-service";
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final boolean shared;
+	private final String table;
+
+	public ActivityLogJdbcWriter(NamedParameterJdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema,
+			@Value("${user.audit.store:local}") String store,
+			@Value("${user.audit.shared-schema:audit}") String sharedSchema) {
+		this.shared = switch (store) {
+			case "local" -> false;
+			case "shared" -> true;
+			default -> throw new IllegalArgumentException("user.audit.store must be 'local' or 'shared'");
+		};
+		String targetSchema = SchemaDdl.requireSchemaName(shared ? sharedSchema : schema);
+		this.jdbc = jdbc;
+		this.table = targetSchema + (shared ? ".audit_events" : ".activity_logs");
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureSharedTable() {
+		if (!shared) {
+			return;
+		}
+		SchemaDdl.tryCreate(jdbc.getJdbcTemplate(), log, "shared audit table " + table,
+				"create schema if not exists " + table.substring(0, table.indexOf('.')),
+				"create table if not exists " + table + " ("
+						+ "id uuid primary key, source_service varchar(64) not null, actor_id uuid,"
+						+ " target_id uuid, action varchar(255) not null, resource_type varchar(255),"
+						+ " details text, ip_address varchar(255), created_at timestamp not null)",
+				"create index if not exists idx_audit_events_created on " + table + " (created_at)");
+	}
+
+	/**
+	 * Insert all entries in one JDBC batch.
+	 */
+	public void write(List<ActivityLog> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		SqlParameterSource[] batch = entries.stream()
+				.map(entry -> new MapSqlParameterSource()
+						.addValue("id", entry.getId())
+						.addValue("source", SOURCE_SERVICE)
+						.addValue("actorId", entry.getActorId())
+						.addValue("targetId", entry.getTargetId())
+						.addValue("action", entry.getAction())
+						.addValue("resourceType", entry.getResourceType())
+						.addValue("details", entry.getDetails())
+						.addValue("ipAddress", entry.getIpAddress())
+						.addValue("createdAt", Timestamp.valueOf(entry.getCreatedAt())))
+				.toArray(SqlParameterSource[]::new);
+		String sql = shared
+				? "insert into " + table + " (id, source_service, actor_id, target_id, action, resource_type,"
+						+ " details, ip_address, created_at) values (:id, :source, :actorId, :targetId, :action,"
+						+ " :resourceType, :details, :ipAddress, :createdAt)"
+				: "insert into " + table + " (id, actor_id, target_id, action, resource_type, details,"
+						+ " ip_address, created_at) values (:id, :actorId, :targetId, :action, :resourceType,"
+						+ " :details, :ipAddress, :createdAt)";
+		jdbc.batchUpdate(sql, batch);
+	}
+}
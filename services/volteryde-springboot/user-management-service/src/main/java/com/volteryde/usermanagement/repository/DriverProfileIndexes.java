@@ -0,0 +1,38 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Partial unique index allowing at most one ACTIVE or ON_TRIP driver per
+ * vehicle. The service checks this before assigning, but two concurrent
+ * assignments of different drivers to one vehicle would both pass that read;
+ * the index makes the second one fail. Created once the schema is up.
+ *
+ * Creation fails (and is logged) while existing rows violate it.
+ */
+@Repository
+@Slf4j
+public class DriverProfileIndexes {
+
+	private final JdbcTemplate jdbc;
+	private final String schema;
+
+	public DriverProfileIndexes(JdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureIndexes() {
+		SchemaDdl.tryCreate(jdbc, log, "the one-active-driver-per-vehicle index",
+				"create unique index if not exists uq_driver_profiles_active_vehicle on " + schema
+						+ ".driver_profiles (vehicle_assigned_id) where status in ('ACTIVE', 'ON_TRIP')");
+	}
+}
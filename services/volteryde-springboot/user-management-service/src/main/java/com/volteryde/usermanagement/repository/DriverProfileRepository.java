@@ -1,9 +1,17 @@
 package com.volteryde.usermanagement.repository;
 
+import com.volteryde.usermanagement.dto.DriverDto;
 import com.volteryde.usermanagement.model.DriverProfile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,7 +19,46 @@ import java.util.UUID;
 public interface DriverProfileRepository extends JpaRepository<DriverProfile, UUID> {
 	Optional<DriverProfile> findByUserId(UUID userId);
 
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select p from DriverProfile p where p.id = :id")
+	Optional<DriverProfile> findByIdForUpdate(@Param("id") UUID id);
+
 	Optional<DriverProfile> findByUser(com.volteryde.usermanagement.model.User user);
 
+	/**
+	 * Batch profile lookup for a page of users, replacing per-user {@link #findByUser} calls.
+	 */
+	@Query("select p from DriverProfile p where p.user.id in :userIds")
+	List<DriverProfile> findByUserIds(@Param("userIds") Collection<UUID> userIds);
+
 	Optional<DriverProfile> findByLicenseNumber(String licenseNumber);
+
+	/**
+	 * Set-based license uniqueness check for bulk onboarding.
+	 */
+	@Query("select p.licenseNumber from DriverProfile p where p.licenseNumber in :licenseNumbers")
+	List<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+	String DISPATCH_VIEW = "select new com.volteryde.usermanagement.dto.DriverDto$DispatchView(p.id, u.userId,"
+			+ " u.firstName, u.lastName, u.phoneNumber, u.organizationId, p.vehicleAssignedId, p.status)"
+			+ " from DriverProfile p join p.user u";
+
+	@Query(DISPATCH_VIEW + " where p.status = :status order by p.id")
+	List<DriverDto.DispatchView> findDispatchViewsByStatus(@Param("status") DriverProfile.DriverStatus status,
+			Pageable pageable);
+
+	@Query(DISPATCH_VIEW + " where p.status = :status and u.organizationId = :organizationId order by p.id")
+	List<DriverDto.DispatchView> findDispatchViewsByStatusAndOrganization(
+			@Param("status") DriverProfile.DriverStatus status, @Param("organizationId") UUID organizationId,
+			Pageable pageable);
+
+	@Query(DISPATCH_VIEW + " where p.vehicleAssignedId = :vehicleId")
+	List<DriverDto.DispatchView> findDispatchViewsByVehicle(@Param("vehicleId") String vehicleId);
+
+	@Query(DISPATCH_VIEW + " where p.id = :id")
+	Optional<DriverDto.DispatchView> findDispatchView(@Param("id") UUID id);
+
+	@Query(DISPATCH_VIEW + " where p.status in :statuses")
+	List<DriverDto.DispatchView> findDispatchViewsByStatusIn(
+			@Param("statuses") Collection<DriverProfile.DriverStatus> statuses);
 }
@@ -2,8 +2,12 @@ package com.volteryde.usermanagement.repository;
 
 import com.volteryde.usermanagement.model.FleetManagerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +16,10 @@ public interface FleetManagerProfileRepository extends JpaRepository<FleetManage
 	Optional<FleetManagerProfile> findByUserId(UUID userId);
 
 	Optional<FleetManagerProfile> findByUser(com.volteryde.usermanagement.model.User user);
+
+	/**
+	 * Batch profile lookup for a page of users, replacing per-user {@link #findByUser} calls.
+	 */
+	@Query("select p from FleetManagerProfile p where p.user.id in :userIds")
+	List<FleetManagerProfile> findByUserIds(@Param("userIds") Collection<UUID> userIds);
 }
@@ -0,0 +1,15 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.usermanagement.model.OnboardingJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OnboardingJobErrorRepository extends JpaRepository<OnboardingJobError, UUID> {
+
+	List<OnboardingJobError> findByJobIdOrderByRowNumber(UUID jobId, Pageable pageable);
+}
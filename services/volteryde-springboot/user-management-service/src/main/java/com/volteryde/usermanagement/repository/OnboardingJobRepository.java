@@ -0,0 +1,11 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.usermanagement.model.OnboardingJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OnboardingJobRepository extends JpaRepository<OnboardingJob, UUID> {
+}
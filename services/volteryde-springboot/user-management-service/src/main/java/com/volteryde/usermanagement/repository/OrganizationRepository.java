@@ -1,10 +1,34 @@
 package com.volteryde.usermanagement.repository;
 
+import com.volteryde.usermanagement.dto.OrganizationDto;
 import com.volteryde.usermanagement.model.Organization;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
+
+	/**
+	 * Id, name and parent of every organization, for the in-memory directory.
+	 */
+	@Query("select new com.volteryde.usermanagement.dto.OrganizationDto$Summary(o.id, o.name, o.parentId)"
+			+ " from Organization o")
+	List<OrganizationDto.Summary> findAllSummaries();
+
+	boolean existsByName(String name);
+
+	/**
+	 * Ids from {@code id} up to its top-level organization, read from the
+	 * database rather than the directory snapshot. Empty if {@code id} does not
+	 * exist; {@code union} stops at a row already visited.
+	 */
+	@Query(value = "with recursive ancestry(id, parent_id) as ("
+			+ "select o.id, o.parent_id from {h-schema}organizations o where o.id = :id"
+			+ " union select o.id, o.parent_id from {h-schema}organizations o join ancestry a on o.id = a.parent_id)"
+			+ " select id from ancestry", nativeQuery = true)
+	List<UUID> findAncestry(@Param("id") UUID id);
 }
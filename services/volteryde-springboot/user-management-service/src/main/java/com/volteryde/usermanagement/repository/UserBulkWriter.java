@@ -0,0 +1,105 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.events.ChangeCapture;
+import com.volteryde.shared.jdbc.SchemaDdl;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.FleetManagerProfile;
+import com.volteryde.usermanagement.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC batch inserts for bulk onboarding.
+ *
+ * Bypasses the persistence context so thousands of rows cost a handful of
+ * round trips (with reWriteBatchedInserts, one multi-row INSERT per batch)
+ * instead of one INSERT plus entity bookkeeping per row. Callers supply ids,
+ * user IDs and timestamps that JPA callbacks would otherwise fill in.
+ * Hibernate doesn't see these rows either, so each batch records its own
+ * CREATED change events.
+ */
+@Repository
+public class UserBulkWriter {
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final String schema;
+	private final ChangeCapture changeCapture;
+
+	public UserBulkWriter(NamedParameterJdbcTemplate jdbc, ChangeCapture changeCapture,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+		this.changeCapture = changeCapture;
+	}
+
+	public void insertUsers(List<User> users) {
+		if (users.isEmpty()) {
+			return;
+		}
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		SqlParameterSource[] batch = users.stream()
+				.map(user -> new MapSqlParameterSource()
+						.addValue("id", user.getId())
+						.addValue("userId", user.getUserId())
+						.addValue("email", user.getEmail())
+						.addValue("authId", user.getAuthId())
+						.addValue("firstName", user.getFirstName())
+						.addValue("lastName", user.getLastName())
+						.addValue("phoneNumber", user.getPhoneNumber())
+						.addValue("role", user.getRole().name())
+						.addValue("status", user.getStatus().name())
+						.addValue("organizationId", user.getOrganizationId())
+						.addValue("now", now)
+						.addValue("createdBy", user.getCreatedBy()))
+				.toArray(SqlParameterSource[]::new);
+		jdbc.batchUpdate("insert into " + schema + ".users (id, user_id, email, auth_id, first_name, last_name,"
+				+ " phone_number, role, status, organization_id, created_at, updated_at, created_by)"
+				+ " values (:id, :userId, :email, :authId, :firstName, :lastName, :phoneNumber, :role, :status,"
+				+ " :organizationId, :now, :now, :createdBy)", batch);
+		changeCapture.recordCreated(users);
+	}
+
+	public void insertDriverProfiles(List<DriverProfile> profiles) {
+		if (profiles.isEmpty()) {
+			return;
+		}
+		profiles.forEach(profile -> profile.setId(UUID.randomUUID()));
+		SqlParameterSource[] batch = profiles.stream()
+				.map(profile -> new MapSqlParameterSource()
+						.addValue("id", profile.getId())
+						.addValue("userId", profile.getUser().getId())
+						.addValue("licenseNumber", profile.getLicenseNumber())
+						.addValue("yearsOfExperience", profile.getYearsOfExperience())
+						.addValue("status", profile.getStatus().name()))
+				.toArray(SqlParameterSource[]::new);
+		jdbc.batchUpdate("insert into " + schema + ".driver_profiles (id, user_id, license_number,"
+				+ " years_of_experience, status) values (:id, :userId, :licenseNumber, :yearsOfExperience, :status)",
+				batch);
+		changeCapture.recordCreated(profiles);
+	}
+
+	public void insertFleetManagerProfiles(List<FleetManagerProfile> profiles) {
+		if (profiles.isEmpty()) {
+			return;
+		}
+		profiles.forEach(profile -> profile.setId(UUID.randomUUID()));
+		SqlParameterSource[] batch = profiles.stream()
+				.map(profile -> new MapSqlParameterSource()
+						.addValue("id", profile.getId())
+						.addValue("userId", profile.getUser().getId())
+						.addValue("assignedRegion", profile.getAssignedRegion())
+						.addValue("hubId", profile.getHubId()))
+				.toArray(SqlParameterSource[]::new);
+		jdbc.batchUpdate("insert into " + schema + ".fleet_manager_profiles (id, user_id, assigned_region, hub_id)"
+				+ " values (:id, :userId, :assignedRegion, :hubId)", batch);
+		changeCapture.recordCreated(profiles);
+	}
+}
@@ -0,0 +1,34 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Expression index on {@code lower(email)} for the case-insensitive uniqueness
+ * check in bulk onboarding ({@link UserRepository#findExistingEmails}),
+ * created once the schema is up.
+ */
+@Repository
+@Slf4j
+public class UserIndexes {
+
+	private final JdbcTemplate jdbc;
+	private final String schema;
+
+	public UserIndexes(JdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureIndexes() {
+		SchemaDdl.tryCreate(jdbc, log, "the lower(email) index, bulk onboarding checks will scan users",
+				"create index if not exists idx_users_email_lower on " + schema + ".users (lower(email))");
+	}
+}
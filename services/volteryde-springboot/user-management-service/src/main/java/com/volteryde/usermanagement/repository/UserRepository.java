@@ -4,8 +4,11 @@ import com.volteryde.usermanagement.model.AccountStatus;
 import com.volteryde.usermanagement.model.User;
 import com.volteryde.usermanagement.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,7 +17,7 @@ import java.util.UUID;
  * Repository for User entity operations.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
 
 	/**
 	 * Find user by email address.
@@ -41,6 +44,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 	 */
 	boolean existsByUserId(String userId);
 
+	/**
+	 * Set-based email uniqueness check for bulk onboarding. Case-insensitive:
+	 * {@code emails} must be lower-cased, and matches are returned lower-cased.
+	 * Served by {@code idx_users_email_lower} ({@link UserIndexes}).
+	 */
+	@Query("select lower(u.email) from User u where lower(u.email) in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
 	/**
 	 * Find all users by role.
 	 */
@@ -0,0 +1,19 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.usermanagement.dto.UserCursor;
+import com.volteryde.usermanagement.dto.UserDto;
+
+import java.util.List;
+
+/**
+ * Listing queries that need a dynamic WHERE clause.
+ */
+public interface UserRepositoryCustom {
+
+	/**
+	 * Fetch up to {@code limit} list rows matching {@code filter}, newest first,
+	 * starting after {@code after} (or from the top when null). Profiles are
+	 * joined in the same statement.
+	 */
+	List<UserDto.UserSummary> findSummaries(UserDto.UserListFilter filter, UserCursor after, int limit);
+}
@@ -0,0 +1,68 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.usermanagement.dto.UserCursor;
+import com.volteryde.usermanagement.dto.UserDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+	private static final String SELECT = "select new com.volteryde.usermanagement.dto.UserDto$UserSummary("
+			+ "u.id, u.userId, u.email, u.firstName, u.lastName, u.phoneNumber, u.role, u.status, "
+			+ "u.organizationId, u.createdAt, d.status, d.vehicleAssignedId, f.assignedRegion, f.hubId) "
+			+ "from User u "
+			+ "left join DriverProfile d on d.user = u "
+			+ "left join FleetManagerProfile f on f.user = u";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<UserDto.UserSummary> findSummaries(UserDto.UserListFilter filter, UserCursor after, int limit) {
+		List<String> conditions = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+
+		if (filter != null) {
+			if (filter.getRole() != null) {
+				conditions.add("u.role = :role");
+				params.put("role", filter.getRole());
+			}
+			if (filter.getStatus() != null) {
+				conditions.add("u.status = :status");
+				params.put("status", filter.getStatus());
+			}
+			if (filter.getOrganizationId() != null) {
+				conditions.add("u.organizationId = :organizationId");
+				params.put("organizationId", filter.getOrganizationId());
+			}
+			if (filter.getCreatedFrom() != null) {
+				conditions.add("u.createdAt >= :createdFrom");
+				params.put("createdFrom", filter.getCreatedFrom());
+			}
+			if (filter.getCreatedTo() != null) {
+				conditions.add("u.createdAt < :createdTo");
+				params.put("createdTo", filter.getCreatedTo());
+			}
+		}
+		if (after != null) {
+			conditions.add("(u.createdAt < :afterCreatedAt"
+					+ " or (u.createdAt = :afterCreatedAt and u.id < :afterId))");
+			params.put("afterCreatedAt", after.createdAt());
+			params.put("afterId", after.id());
+		}
+		String jpql = SELECT
+				+ (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+				+ " order by u.createdAt desc, u.id desc";
+
+		TypedQuery<UserDto.UserSummary> query = entityManager.createQuery(jpql, UserDto.UserSummary.class)
+				.setMaxResults(limit);
+		params.forEach(query::setParameter);
+		return query.getResultList();
+	}
+}
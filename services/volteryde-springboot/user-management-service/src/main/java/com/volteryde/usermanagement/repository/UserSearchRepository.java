@@ -0,0 +1,124 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.shared.jdbc.SchemaDdl;
+import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked fuzzy/prefix search over name, email, phone and userId.
+ *
+ * Backed by a pg_trgm GIN index on a single lower-cased document expression, so
+ * substring ({@code LIKE '%q%'}) and fuzzy ({@code <%} word similarity) matches
+ * are both index scans. PostgreSQL maintains the index on every write; there is
+ * no separate index to keep in sync. It is created once the schema is up.
+ *
+ * If pg_trgm cannot be installed (no privilege), search falls back to an
+ * unindexed ILIKE scan and logs a warning.
+ */
+@Repository
+@Slf4j
+public class UserSearchRepository {
+
+	/**
+	 * Must match the index expression exactly for the planner to use it.
+	 */
+	static final String DOCUMENT = "lower(u.first_name || ' ' || u.last_name || ' ' || u.email || ' '"
+			+ " || coalesce(u.phone_number, '') || ' ' || u.user_id)";
+
+	private static final String COLUMNS = "select u.id, u.user_id, u.email, u.first_name, u.last_name,"
+			+ " u.phone_number, u.role, u.status, u.organization_id, u.created_at,"
+			+ " d.status as driver_status, d.vehicle_assigned_id, f.assigned_region, f.hub_id";
+
+	private static final String JOINS = " left join %1$s.driver_profiles d on d.user_id = u.id"
+			+ " left join %1$s.fleet_manager_profiles f on f.user_id = u.id";
+
+	// Exact identifier hits first, then prefix hits on any field, then by similarity
+	private static final String RANK = " order by case"
+			+ " when lower(u.user_id) = :q or lower(u.email) = :q or u.phone_number = :q then 0"
+			+ " when lower(u.user_id) like :prefix or lower(u.email) like :prefix or u.phone_number like :prefix"
+			+ " or lower(u.first_name) like :prefix or lower(u.last_name) like :prefix then 1"
+			+ " else 2 end";
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final String schema;
+	private volatile boolean trigramIndexed;
+
+	public UserSearchRepository(NamedParameterJdbcTemplate jdbc,
+			@Value("${spring.jpa.properties.hibernate.default_schema:public}") String schema) {
+		this.jdbc = jdbc;
+		this.schema = SchemaDdl.requireSchemaName(schema);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureIndexes() {
+		trigramIndexed = SchemaDdl.tryCreate(jdbc.getJdbcTemplate(), log,
+				"the pg_trgm search index, user search falls back to sequential ILIKE",
+				"create extension if not exists pg_trgm",
+				"create index if not exists idx_users_search_trgm on " + schema
+						+ ".users using gin ((" + DOCUMENT.replace("u.", "") + ") gin_trgm_ops)");
+		if (trigramIndexed) {
+			log.info("User search trigram index ready in schema {}", schema);
+		}
+	}
+
+	/**
+	 * @param query lower-cased, trimmed search text
+	 */
+	public List<UserDto.UserSummary> search(String query, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("q", query)
+				.addValue("prefix", escapeLike(query) + "%")
+				.addValue("contains", "%" + escapeLike(query) + "%")
+				.addValue("limit", limit);
+
+		String from = " from " + schema + ".users u" + JOINS.formatted(schema);
+		String sql = trigramIndexed
+				? COLUMNS + from
+						+ " where :q <% " + DOCUMENT + " or " + DOCUMENT + " like :contains"
+						+ RANK + ", word_similarity(:q, " + DOCUMENT + ") desc, u.created_at desc"
+						+ " limit :limit"
+				: COLUMNS + from
+						+ " where " + DOCUMENT + " like :contains"
+						+ RANK + ", u.created_at desc"
+						+ " limit :limit";
+		return jdbc.query(sql, params, SUMMARY_MAPPER);
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	private static final RowMapper<UserDto.UserSummary> SUMMARY_MAPPER = (rs, rowNum) -> {
+		Timestamp createdAt = rs.getTimestamp("created_at");
+		String driverStatus = rs.getString("driver_status");
+		return new UserDto.UserSummary(
+				rs.getObject("id", UUID.class),
+				rs.getString("user_id"),
+				rs.getString("email"),
+				rs.getString("first_name"),
+				rs.getString("last_name"),
+				rs.getString("phone_number"),
+				UserRole.valueOf(rs.getString("role")),
+				AccountStatus.valueOf(rs.getString("status")),
+				rs.getObject("organization_id", UUID.class),
+				createdAt != null ? createdAt.toLocalDateTime() : null,
+				driverStatus != null ? DriverProfile.DriverStatus.valueOf(driverStatus) : null,
+				rs.getString("vehicle_assigned_id"),
+				rs.getString("assigned_region"),
+				rs.getString("hub_id"));
+	};
+}
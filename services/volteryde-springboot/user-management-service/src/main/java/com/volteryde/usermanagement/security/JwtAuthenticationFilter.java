@@ -1,11 +1,15 @@
 package com.volteryde.usermanagement.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,17 +18,34 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Filter to validate JWT tokens and populate SecurityContext.
+ *
+ * Hot path: one signature verification per request via a prebuilt parser,
+ * and authority lists shared per distinct role set (there are only a handful)
+ * instead of rebuilt per request. Successful authentications log at DEBUG
+ * only; rejected tokens are logged as structured WARN lines at most once per
+ * {@link #REJECTION_LOG_INTERVAL_MILLIS}, carrying the count suppressed since.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+	private static final String BEARER_PREFIX = "Bearer ";
+	static final long REJECTION_LOG_INTERVAL_MILLIS = 10_000;
+	// Role sets come from a small enum; the cap only guards against forged claims
+	private static final int MAX_CACHED_ROLE_SETS = 256;
+
 	private final JwtUtil jwtUtil;
+	private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+	private final ConcurrentMap<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+	private final AtomicLong lastRejectionLog = new AtomicLong();
+	private final AtomicLong suppressedRejections = new AtomicLong();
 
 	public JwtAuthenticationFilter(JwtUtil jwtUtil) {
 		this.jwtUtil = jwtUtil;
@@ -36,53 +57,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			@NonNull HttpServletResponse response,
 			@NonNull FilterChain filterChain) throws ServletException, IOException {
 		final String authHeader = request.getHeader("Authorization");
-		final String jwt;
 
-		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-			logger.trace("No Bearer token found in request headers");
+		if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)
+				|| SecurityContextHolder.getContext().getAuthentication() != null) {
 			filterChain.doFilter(request, response);
 			return;
 		}
 
-		jwt = authHeader.substring(7);
-
 		try {
-			if (jwtUtil.validateToken(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
-				// Extract user details
-				String userId = jwtUtil.extractUsername(jwt); // Subject is userId
-				// String email = jwtUtil.extractEmail(jwt);
-				List<String> roles = jwtUtil.extractRoles(jwt);
-
-				logger.info("Valid JWT for userId: {}, roles: {}", userId, roles);
+			Claims claims = jwtUtil.parseClaims(authHeader.substring(BEARER_PREFIX.length()));
+			String userId = claims.getSubject(); // Subject is userId
 
-				// Convert roles to Authorities
-				// Spring Security matches 'hasAnyAuthority("ADMIN")' to authority string
-				// "ADMIN"
-				// If configuration expects "ROLE_ADMIN", we would prefix here.
-				// But Volteryde roles seem to be "ADMIN", "DRIVER" etc. without prefix in
-				// token.
-				// PreAuthorize uses hasAnyAuthority which checks exact string match.
-				List<SimpleGrantedAuthority> authorities = roles.stream()
-						.map(SimpleGrantedAuthority::new)
-						.collect(Collectors.toList());
+			// Volteryde roles are unprefixed ("ADMIN", "DRIVER"), matching hasAnyAuthority checks
+			UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+					userId, // Principal is userId
+					null,
+					authorities(JwtUtil.roles(claims)));
+			authToken.setDetails(detailsSource.buildDetails(request));
+			SecurityContextHolder.getContext().setAuthentication(authToken);
 
-				UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-						userId, // Principal is userId
-						null,
-						authorities);
-
-				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authToken);
-				logger.info("SecurityContext populated for user: {}", userId);
-			} else {
-				logger.warn("Token validation failed or context already populated");
+			if (logger.isDebugEnabled()) {
+				logger.debug("event=jwt_authenticated userId={} roles={}", userId, JwtUtil.roles(claims));
 			}
-		} catch (Exception e) {
-			// Token invalid or expired, do not set authentication
-			// Request will proceed as anonymous
-			logger.error("Error setting user authentication", e);
+		} catch (JwtException | IllegalArgumentException e) {
+			// Request proceeds as anonymous; secured endpoints reject it
+			logRejection(request, e);
 		}
 
 		filterChain.doFilter(request, response);
 	}
+
+	List<GrantedAuthority> authorities(List<String> roles) {
+		List<GrantedAuthority> cached = authoritiesByRoles.get(roles);
+		if (cached != null) {
+			return cached;
+		}
+		List<GrantedAuthority> built = roles.stream()
+				.<GrantedAuthority>map(SimpleGrantedAuthority::new)
+				.toList();
+		if (authoritiesByRoles.size() < MAX_CACHED_ROLE_SETS) {
+			authoritiesByRoles.putIfAbsent(List.copyOf(roles), built);
+		}
+		return built;
+	}
+
+	private void logRejection(HttpServletRequest request, Exception e) {
+		long now = System.currentTimeMillis();
+		long last = lastRejectionLog.get();
+		if (now - last < REJECTION_LOG_INTERVAL_MILLIS || !lastRejectionLog.compareAndSet(last, now)) {
+			suppressedRejections.incrementAndGet();
+			return;
+		}
+		String reason = e instanceof ExpiredJwtException ? "expired" : e.getClass().getSimpleName();
+		logger.warn("event=jwt_rejected reason={} path={} suppressed={} detail=\"{}\"",
+				reason, request.getRequestURI(), suppressedRejections.getAndSet(0), e.getMessage());
+	}
 }
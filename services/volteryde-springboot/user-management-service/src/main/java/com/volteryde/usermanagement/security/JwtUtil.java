@@ -1,6 +1,8 @@
 package com.volteryde.usermanagement.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,16 +16,25 @@ import java.util.function.Function;
 /**
  * Utility for validating and extracting information from JWT tokens.
  * Replicates logic from auth-service's JwtService to allow local validation.
+ *
+ * The signing key and parser are built once; each call verifies the token
+ * exactly once. Callers needing several claims should use {@link #parseClaims}
+ * rather than the single-claim helpers, which each re-verify.
  */
 @Component
 public class JwtUtil {
 
 	private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JwtUtil.class);
 
-	@Value("${spring.security.jwt.secret}")
-	private String jwtSecret;
+	private final JwtParser parser;
 
-	private SecretKey getSigningKey() {
+	public JwtUtil(@Value("${spring.security.jwt.secret}") String jwtSecret) {
+		this.parser = Jwts.parser()
+				.verifyWith(signingKey(jwtSecret))
+				.build();
+	}
+
+	private static SecretKey signingKey(String jwtSecret) {
 		byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
 		if (keyBytes.length < 32) {
 			byte[] paddedKey = new byte[32];
@@ -33,6 +44,24 @@ public class JwtUtil {
 		return Keys.hmacShaKeyFor(keyBytes);
 	}
 
+	/**
+	 * Verify the signature and expiry and return the claims.
+	 *
+	 * @throws JwtException if the token is malformed, expired or not signed with our key
+	 */
+	public Claims parseClaims(String token) {
+		return parser.parseSignedClaims(token).getPayload();
+	}
+
+	/**
+	 * Roles claim of already-verified claims; empty if absent.
+	 */
+	public static List<String> roles(Claims claims) {
+		@SuppressWarnings("unchecked")
+		List<String> roles = claims.get("roles", List.class);
+		return roles != null ? roles : List.of();
+	}
+
 	public String extractUsername(String token) {
 		// In Volteryde, subject is userId, but usually we map email or subject.
 		// For security context, we often set userId as Principal.
@@ -44,36 +73,20 @@ public class JwtUtil {
 	}
 
 	public List<String> extractRoles(String token) {
-		return extractClaim(token, claims -> {
-			@SuppressWarnings("unchecked")
-			List<String> roles = claims.get("roles", List.class);
-			return roles;
-		});
+		return extractClaim(token, JwtUtil::roles);
 	}
 
 	public boolean validateToken(String token) {
 		try {
-			Jwts.parser()
-					.verifyWith(getSigningKey())
-					.build()
-					.parseSignedClaims(token);
+			parseClaims(token);
 			return true;
-		} catch (Exception e) {
-			logger.error("Token validation failed: {}", e.getMessage());
+		} catch (JwtException | IllegalArgumentException e) {
+			logger.debug("Token validation failed: {}", e.getMessage());
 			return false;
 		}
 	}
 
 	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = extractAllClaims(token);
-		return claimsResolver.apply(claims);
-	}
-
-	private Claims extractAllClaims(String token) {
-		return Jwts.parser()
-				.verifyWith(getSigningKey())
-				.build()
-				.parseSignedClaims(token)
-				.getPayload();
+		return claimsResolver.apply(parseClaims(token));
 	}
 }
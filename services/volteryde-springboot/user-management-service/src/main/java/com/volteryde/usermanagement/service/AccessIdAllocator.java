@@ -0,0 +1,18 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.model.UserRole;
+
+import java.util.List;
+
+/**
+ * Hands out unique, checksummed Access IDs (the public {@code userId}).
+ */
+public interface AccessIdAllocator {
+
+	String allocate(UserRole role);
+
+	/**
+	 * Allocate {@code count} ids for one role in a single call, for batch onboarding.
+	 */
+	List<String> allocate(UserRole role, int count);
+}
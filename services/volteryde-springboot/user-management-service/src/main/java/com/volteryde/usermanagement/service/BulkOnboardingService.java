@@ -0,0 +1,24 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.dto.AdminDto;
+import com.volteryde.usermanagement.model.UserRole;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface BulkOnboardingService {
+
+	/**
+	 * Queue a CSV or NDJSON upload of drivers and fleet managers for
+	 * asynchronous onboarding and return the job to poll.
+	 *
+	 * @param defaultRole role for rows that don't specify one (may be null)
+	 * @param actor       the caller's user ID, recorded on the job and audit log
+	 */
+	AdminDto.OnboardingJobResponse startJob(MultipartFile file, UserRole defaultRole, String actor);
+
+	/**
+	 * Current progress of a job and the first page of row errors.
+	 */
+	AdminDto.OnboardingJobResponse getJob(UUID jobId);
+}
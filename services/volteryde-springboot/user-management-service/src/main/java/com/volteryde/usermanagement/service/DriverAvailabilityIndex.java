@@ -0,0 +1,243 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.shared.events.ChangeEvent;
+import com.volteryde.shared.events.ChangeEventBroker;
+import com.volteryde.usermanagement.dto.DriverDto;
+import com.volteryde.usermanagement.model.DriverProfile.DriverStatus;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional in-memory index of dispatchable drivers ({@link #INDEXED} statuses):
+ * by id, by status, by status and organization, and by assigned vehicle, so
+ * "ACTIVE drivers of organization O" and "who is driving vehicle X" don't
+ * touch the database. The status and organization sets are kept sorted by
+ * driver id, so a listing reads only the first {@code limit} entries.
+ *
+ * Kept current three ways: this instance's own status/vehicle changes apply
+ * after commit; DriverProfile change events apply whatever other writers did
+ * (they reach every instance with the default Redis change-event broker, but
+ * only the relaying instance with {@code user.change-stream.broker=local});
+ * and the whole index is reloaded after
+ * {@code user.driver-availability.refresh-interval}, which bounds staleness
+ * when an event is missed.
+ *
+ * Disabled by default ({@code user.driver-availability.in-memory}); the
+ * service then answers from the indexed projection queries.
+ */
+@Component
+@Slf4j
+public class DriverAvailabilityIndex {
+
+	public static final Set<DriverStatus> INDEXED = EnumSet.of(DriverStatus.ACTIVE, DriverStatus.ON_TRIP);
+
+	private final DriverProfileRepository driverProfileRepository;
+	private final boolean enabled;
+	private final long refreshNanos;
+	// Guards loads and incremental updates; held across a database query, so not a monitor
+	private final ReentrantLock lock = new ReentrantLock();
+	private volatile Snapshot snapshot;
+
+	public DriverAvailabilityIndex(DriverProfileRepository driverProfileRepository,
+			ChangeEventBroker changeEventBroker,
+			MeterRegistry meterRegistry,
+			@Value("${user.driver-availability.in-memory:false}") boolean enabled,
+			@Value("${user.driver-availability.refresh-interval:5m}") Duration refreshInterval) {
+		this.driverProfileRepository = driverProfileRepository;
+		this.enabled = enabled;
+		this.refreshNanos = refreshInterval.toNanos();
+		if (enabled) {
+			changeEventBroker.subscribe("DriverProfile", this::onChange);
+			meterRegistry.gauge("user.driver-availability.indexed", this, index -> index.size());
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Up to {@code limit} drivers in an indexed status, ordered by driver id,
+	 * optionally limited to one organization. Shared views; do not modify.
+	 */
+	public List<DriverDto.DispatchView> withStatus(DriverStatus status, UUID organizationId, int limit) {
+		if (!INDEXED.contains(status)) {
+			throw new IllegalArgumentException(status + " drivers are not indexed");
+		}
+		Snapshot current = current();
+		NavigableSet<UUID> ids = organizationId == null ? current.byStatus().get(status)
+				: current.byOrganization().get(status).get(organizationId);
+		if (ids == null) {
+			return List.of();
+		}
+		List<DriverDto.DispatchView> drivers = new ArrayList<>(Math.min(limit, ids.size()));
+		for (UUID driverId : ids) {
+			if (drivers.size() >= limit) {
+				break;
+			}
+			DriverDto.DispatchView driver = current.byId().get(driverId);
+			// Skip a driver caught mid-move between sets
+			if (driver != null && driver.getStatus() == status) {
+				drivers.add(driver);
+			}
+		}
+		return drivers;
+	}
+
+	/**
+	 * The ACTIVE or ON_TRIP driver assigned to a vehicle.
+	 */
+	public Optional<DriverDto.DispatchView> byVehicle(String vehicleId) {
+		Snapshot current = current();
+		UUID driverId = current.byVehicle().get(vehicleId);
+		return Optional.ofNullable(driverId != null ? current.byId().get(driverId) : null);
+	}
+
+	/**
+	 * Apply a change made in the current transaction once it commits (or now, outside a transaction).
+	 */
+	public void applyAfterCommit(DriverDto.DispatchView view) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(view);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply(view);
+			}
+		});
+	}
+
+	void onChange(ChangeEvent event) {
+		UUID driverId = UUID.fromString(event.entityId());
+		String status = event.attribute("status");
+		if (status != null && !INDEXED.contains(DriverStatus.valueOf(status))) {
+			remove(driverId);
+			return;
+		}
+		driverProfileRepository.findDispatchView(driverId).ifPresentOrElse(this::apply, () -> remove(driverId));
+	}
+
+	void apply(DriverDto.DispatchView view) {
+		lock.lock();
+		try {
+			Snapshot current = snapshot;
+			if (current == null) {
+				return; // not loaded yet; the first load reads it from the database
+			}
+			removeFrom(current, view.getDriverId());
+			if (INDEXED.contains(view.getStatus())) {
+				addTo(current, view);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	void remove(UUID driverId) {
+		lock.lock();
+		try {
+			Snapshot current = snapshot;
+			if (current != null) {
+				removeFrom(current, driverId);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static void removeFrom(Snapshot current, UUID driverId) {
+		DriverDto.DispatchView previous = current.byId().remove(driverId);
+		if (previous == null) {
+			return;
+		}
+		current.byStatus().get(previous.getStatus()).remove(driverId);
+		if (previous.getOrganizationId() != null) {
+			NavigableSet<UUID> organization = current.byOrganization().get(previous.getStatus())
+					.get(previous.getOrganizationId());
+			if (organization != null) {
+				organization.remove(driverId);
+			}
+		}
+		if (previous.getVehicleAssignedId() != null) {
+			current.byVehicle().remove(previous.getVehicleAssignedId(), driverId);
+		}
+	}
+
+	private static void addTo(Snapshot current, DriverDto.DispatchView driver) {
+		current.byId().put(driver.getDriverId(), driver);
+		current.byStatus().get(driver.getStatus()).add(driver.getDriverId());
+		if (driver.getOrganizationId() != null) {
+			current.byOrganization().get(driver.getStatus())
+					.computeIfAbsent(driver.getOrganizationId(), id -> new ConcurrentSkipListSet<>())
+					.add(driver.getDriverId());
+		}
+		if (driver.getVehicleAssignedId() != null) {
+			current.byVehicle().put(driver.getVehicleAssignedId(), driver.getDriverId());
+		}
+	}
+
+	private int size() {
+		Snapshot current = snapshot;
+		return current != null ? current.byId().size() : 0;
+	}
+
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		if (current != null && System.nanoTime() - current.loadedAt() < refreshNanos) {
+			return current;
+		}
+		lock.lock();
+		try {
+			current = snapshot;
+			if (current == null || System.nanoTime() - current.loadedAt() >= refreshNanos) {
+				current = load();
+				snapshot = current;
+			}
+			return current;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Snapshot load() {
+		List<DriverDto.DispatchView> drivers = driverProfileRepository.findDispatchViewsByStatusIn(INDEXED);
+		Snapshot loaded = new Snapshot(new ConcurrentHashMap<>(drivers.size() * 2), new EnumMap<>(DriverStatus.class),
+				new EnumMap<>(DriverStatus.class), new ConcurrentHashMap<>(), System.nanoTime());
+		for (DriverStatus status : INDEXED) {
+			loaded.byStatus().put(status, new ConcurrentSkipListSet<>());
+			loaded.byOrganization().put(status, new ConcurrentHashMap<>());
+		}
+		drivers.forEach(driver -> addTo(loaded, driver));
+		log.debug("Loaded driver availability index: {} drivers", drivers.size());
+		return loaded;
+	}
+
+	private record Snapshot(Map<UUID, DriverDto.DispatchView> byId, Map<DriverStatus, NavigableSet<UUID>> byStatus,
+			Map<DriverStatus, Map<UUID, NavigableSet<UUID>>> byOrganization, Map<String, UUID> byVehicle,
+			long loadedAt) {
+	}
+}
@@ -0,0 +1,194 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.dto.DriverDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.DriverProfile.DriverStatus;
+import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.repository.DriverProfileIndexes;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Driver availability for dispatch: who is in a given status (optionally
+ * within an organization) and who is driving a vehicle, plus the status and
+ * vehicle changes that move drivers between those sets.
+ *
+ * Reads come from {@link DriverAvailabilityIndex} when it is enabled and the
+ * status is indexed, otherwise from projection queries on the
+ * (status, user_id) and (vehicle_assigned_id, status) indexes.
+ */
+@Service
+@Slf4j
+public class DriverAvailabilityService {
+
+	static final int DEFAULT_LIMIT = 100;
+	static final int MAX_LIMIT = 1000;
+
+	private static final Map<DriverStatus, Set<DriverStatus>> TRANSITIONS = Map.of(
+			DriverStatus.INACTIVE, EnumSet.of(DriverStatus.ACTIVE, DriverStatus.SUSPENDED),
+			DriverStatus.ACTIVE, EnumSet.of(DriverStatus.INACTIVE, DriverStatus.ON_TRIP, DriverStatus.SUSPENDED),
+			DriverStatus.ON_TRIP, EnumSet.of(DriverStatus.ACTIVE, DriverStatus.SUSPENDED),
+			DriverStatus.SUSPENDED, EnumSet.of(DriverStatus.INACTIVE));
+
+	private final DriverProfileRepository driverProfileRepository;
+	private final DriverAvailabilityIndex availabilityIndex;
+	private final ActivityLogService activityLogService;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public DriverAvailabilityService(DriverProfileRepository driverProfileRepository,
+			DriverAvailabilityIndex availabilityIndex,
+			ActivityLogService activityLogService,
+			ApplicationEventPublisher eventPublisher) {
+		this.driverProfileRepository = driverProfileRepository;
+		this.availabilityIndex = availabilityIndex;
+		this.activityLogService = activityLogService;
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Drivers in {@code status}, ordered by driver id, optionally limited to one organization.
+	 */
+	@Transactional(readOnly = true)
+	public List<DriverDto.DispatchView> listByStatus(DriverStatus status, UUID organizationId, int limit) {
+		if (status == null) {
+			throw new IllegalArgumentException("Status is required");
+		}
+		int max = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+		if (availabilityIndex.isEnabled() && DriverAvailabilityIndex.INDEXED.contains(status)) {
+			return availabilityIndex.withStatus(status, organizationId, max);
+		}
+		PageRequest page = PageRequest.of(0, max);
+		return organizationId == null
+				? driverProfileRepository.findDispatchViewsByStatus(status, page)
+				: driverProfileRepository.findDispatchViewsByStatusAndOrganization(status, organizationId, page);
+	}
+
+	/**
+	 * The ACTIVE or ON_TRIP driver currently assigned to a vehicle.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<DriverDto.DispatchView> currentDriver(String vehicleId) {
+		if (vehicleId == null || vehicleId.isBlank()) {
+			throw new IllegalArgumentException("Vehicle ID is required");
+		}
+		if (availabilityIndex.isEnabled()) {
+			return availabilityIndex.byVehicle(vehicleId);
+		}
+		return driverProfileRepository.findDispatchViewsByVehicle(vehicleId).stream()
+				.filter(driver -> DriverAvailabilityIndex.INDEXED.contains(driver.getStatus()))
+				.findFirst();
+	}
+
+	/**
+	 * Status and vehicle changes lock the driver row, so two changes to one
+	 * driver cannot both pass their checks against the same old state.
+	 */
+	@Transactional
+	public DriverDto.DispatchView updateStatus(UUID driverId, DriverStatus newStatus) {
+		if (newStatus == null) {
+			throw new IllegalArgumentException("Status is required");
+		}
+		DriverProfile driver = driverProfileRepository.findByIdForUpdate(driverId)
+				.orElseThrow(() -> new IllegalArgumentException("Driver not found"));
+		DriverStatus currentStatus = driver.getStatus();
+		if (currentStatus == newStatus) {
+			return toView(driver);
+		}
+		if (!TRANSITIONS.getOrDefault(currentStatus, Set.of()).contains(newStatus)) {
+			throw new IllegalStateException(
+					String.format("Invalid driver status transition from %s to %s", currentStatus, newStatus));
+		}
+		if (newStatus == DriverStatus.ON_TRIP && driver.getVehicleAssignedId() == null) {
+			throw new IllegalStateException("Driver has no vehicle assigned");
+		}
+		if (!DriverAvailabilityIndex.INDEXED.contains(currentStatus)
+				&& DriverAvailabilityIndex.INDEXED.contains(newStatus)) {
+			ensureVehicleFree(driverId, driver.getVehicleAssignedId());
+		}
+
+		driver.setStatus(newStatus);
+		DriverDto.DispatchView view = save(driver);
+
+		activityLogService.logActivity(null, "UPDATE_DRIVER_STATUS", "DRIVER", driverId,
+				String.format("Driver status changed from %s to %s", currentStatus, newStatus), null);
+		log.info("Driver {} status changed from {} to {}", driverId, currentStatus, newStatus);
+		return view;
+	}
+
+	/**
+	 * Assign a vehicle (or clear it with null). A vehicle can have only one
+	 * ACTIVE or ON_TRIP driver, and a driver on a trip keeps their vehicle.
+	 */
+	@Transactional
+	public DriverDto.DispatchView assignVehicle(UUID driverId, String vehicleId) {
+		DriverProfile driver = driverProfileRepository.findByIdForUpdate(driverId)
+				.orElseThrow(() -> new IllegalArgumentException("Driver not found"));
+		String vehicle = vehicleId == null || vehicleId.isBlank() ? null : vehicleId.trim();
+		if (driver.getStatus() == DriverStatus.ON_TRIP) {
+			throw new IllegalStateException("Cannot change the vehicle of a driver on a trip");
+		}
+		if (DriverAvailabilityIndex.INDEXED.contains(driver.getStatus())) {
+			ensureVehicleFree(driverId, vehicle);
+		}
+
+		String previous = driver.getVehicleAssignedId();
+		driver.setVehicleAssignedId(vehicle);
+		DriverDto.DispatchView view = save(driver);
+
+		activityLogService.logActivity(null, "ASSIGN_VEHICLE", "DRIVER", driverId,
+				String.format("Vehicle changed from %s to %s", previous, vehicle), null);
+		return view;
+	}
+
+	private void ensureVehicleFree(UUID driverId, String vehicle) {
+		if (vehicle == null) {
+			return;
+		}
+		boolean taken = driverProfileRepository.findDispatchViewsByVehicle(vehicle).stream()
+				.anyMatch(other -> !other.getDriverId().equals(driverId)
+						&& DriverAvailabilityIndex.INDEXED.contains(other.getStatus()));
+		if (taken) {
+			throw new IllegalStateException("Vehicle " + vehicle + " is assigned to another active driver");
+		}
+	}
+
+	/**
+	 * Flushes so a concurrent claim on the same vehicle fails here, on the
+	 * partial unique index (see {@link DriverProfileIndexes}), rather than at
+	 * commit. Cached profiles embed the driver's status and vehicle, so they
+	 * are dropped once the change commits.
+	 */
+	private DriverDto.DispatchView save(DriverProfile driver) {
+		DriverProfile saved;
+		try {
+			saved = driverProfileRepository.saveAndFlush(driver);
+		} catch (DataIntegrityViolationException e) {
+			throw new IllegalStateException(
+					"Vehicle " + driver.getVehicleAssignedId() + " is assigned to another active driver", e);
+		}
+		DriverDto.DispatchView view = toView(saved);
+		availabilityIndex.applyAfterCommit(view);
+		User user = saved.getUser();
+		eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getUserId(), user.getAuthId()));
+		return view;
+	}
+
+	private static DriverDto.DispatchView toView(DriverProfile driver) {
+		return new DriverDto.DispatchView(driver.getId(), driver.getUser().getUserId(), driver.getUser().getFirstName(),
+				driver.getUser().getLastName(), driver.getUser().getPhoneNumber(),
+				driver.getUser().getOrganizationId(), driver.getVehicleAssignedId(), driver.getStatus());
+	}
+}
@@ -0,0 +1,151 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.dto.OrganizationDto;
+import com.volteryde.usermanagement.repository.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of the organization tree (id, name, parent).
+ *
+ * The snapshot is loaded with one query and replaced wholesale: on local
+ * create/update via {@link #invalidate()}, and after {@code ttl} so changes
+ * made by other instances show up within that bound. Name resolution for user
+ * lists is a map lookup per id instead of a query per row.
+ *
+ * Each snapshot records the generation it was loaded in. A load that overlaps
+ * an invalidation still publishes, but with the old generation, so the next
+ * read discards it instead of serving pre-save data for a full {@code ttl}.
+ */
+@Component
+@Slf4j
+public class OrganizationDirectory {
+
+	private static final Comparator<OrganizationDto.Node> BY_NAME =
+			Comparator.comparing(OrganizationDto.Node::getName, String.CASE_INSENSITIVE_ORDER);
+
+	private final OrganizationRepository organizationRepository;
+	private final long ttlNanos;
+	private final ReentrantLock loadLock = new ReentrantLock();
+	private final AtomicLong generation = new AtomicLong();
+	private volatile Snapshot snapshot;
+
+	public OrganizationDirectory(OrganizationRepository organizationRepository,
+			@Value("${user.organization-directory.ttl:5m}") Duration ttl) {
+		this.organizationRepository = organizationRepository;
+		this.ttlNanos = ttl.toNanos();
+	}
+
+	/**
+	 * Names for the given organization ids; unknown ids are absent from the result.
+	 */
+	public Map<UUID, String> resolveNames(Collection<UUID> ids) {
+		Map<UUID, OrganizationDto.Summary> byId = current().byId();
+		Map<UUID, String> names = new HashMap<>();
+		for (UUID id : ids) {
+			OrganizationDto.Summary organization = id == null ? null : byId.get(id);
+			if (organization != null) {
+				names.put(id, organization.getName());
+			}
+		}
+		return names;
+	}
+
+	public String nameOf(UUID id) {
+		if (id == null) {
+			return null;
+		}
+		OrganizationDto.Summary organization = current().byId().get(id);
+		return organization != null ? organization.getName() : null;
+	}
+
+	/**
+	 * Checks the snapshot first, then the database for organizations created
+	 * on another instance since the snapshot was loaded.
+	 */
+	public boolean exists(UUID id) {
+		return current().byId().containsKey(id) || organizationRepository.existsById(id);
+	}
+
+	/**
+	 * Top-level organizations with their descendants. Shared; do not modify.
+	 */
+	public List<OrganizationDto.Node> tree() {
+		return current().roots();
+	}
+
+	public void invalidate() {
+		generation.incrementAndGet();
+		snapshot = null;
+	}
+
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		if (isFresh(current)) {
+			return current;
+		}
+		loadLock.lock();
+		try {
+			current = snapshot;
+			if (!isFresh(current)) {
+				current = load();
+				snapshot = current;
+			}
+			return current;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	private boolean isFresh(Snapshot current) {
+		return current != null && current.generation() == generation.get()
+				&& System.nanoTime() - current.loadedAt() < ttlNanos;
+	}
+
+	private Snapshot load() {
+		// Read before the query: an invalidation during the load leaves this snapshot stale
+		long loadedGeneration = generation.get();
+		List<OrganizationDto.Summary> organizations = organizationRepository.findAllSummaries();
+		Map<UUID, OrganizationDto.Summary> byId = new HashMap<>(organizations.size() * 2);
+		Map<UUID, OrganizationDto.Node> nodes = new HashMap<>(organizations.size() * 2);
+		for (OrganizationDto.Summary organization : organizations) {
+			byId.put(organization.getId(), organization);
+			nodes.put(organization.getId(),
+					new OrganizationDto.Node(organization.getId(), organization.getName(), new ArrayList<>()));
+		}
+
+		List<OrganizationDto.Node> roots = new ArrayList<>();
+		for (OrganizationDto.Summary organization : organizations) {
+			OrganizationDto.Node parent = organization.getParentId() != null ? nodes.get(organization.getParentId())
+					: null;
+			if (parent != null) {
+				parent.getChildren().add(nodes.get(organization.getId()));
+			} else {
+				roots.add(nodes.get(organization.getId())); // top-level, or parent missing
+			}
+		}
+		for (OrganizationDto.Node node : nodes.values()) {
+			node.getChildren().sort(BY_NAME);
+			node.setChildren(List.copyOf(node.getChildren()));
+		}
+		roots.sort(BY_NAME);
+		log.debug("Loaded organization directory: {} organizations", organizations.size());
+		return new Snapshot(Map.copyOf(byId), List.copyOf(roots), System.nanoTime(), loadedGeneration);
+	}
+
+	private record Snapshot(Map<UUID, OrganizationDto.Summary> byId, List<OrganizationDto.Node> roots,
+			long loadedAt, long generation) {
+	}
+}
@@ -1,27 +1,101 @@
 package com.volteryde.usermanagement.service;
 
+import com.volteryde.usermanagement.dto.OrganizationDto;
 import com.volteryde.usermanagement.model.Organization;
 import com.volteryde.usermanagement.repository.OrganizationRepository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OrganizationService {
 
+	static final int DEFAULT_PAGE_SIZE = 50;
+	static final int MAX_PAGE_SIZE = 200;
+	static final int MAX_RESOLVE_IDS = 500;
+
 	private final OrganizationRepository organizationRepository;
+	private final OrganizationDirectory organizationDirectory;
 
-	public OrganizationService(OrganizationRepository organizationRepository) {
+	public OrganizationService(OrganizationRepository organizationRepository,
+			OrganizationDirectory organizationDirectory) {
 		this.organizationRepository = organizationRepository;
+		this.organizationDirectory = organizationDirectory;
 	}
 
 	public List<Organization> getAll() {
 		return organizationRepository.findAll();
 	}
 
+	public OrganizationDto.OrganizationPage list(int page, int size) {
+		int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+		Page<Organization> result = organizationRepository.findAll(
+				PageRequest.of(Math.max(page, 0), pageSize, Sort.by("name").and(Sort.by("id"))));
+		return new OrganizationDto.OrganizationPage(result.getContent(), result.getNumber(), pageSize,
+				result.getTotalElements());
+	}
+
+	public List<OrganizationDto.Node> getTree() {
+		return organizationDirectory.tree();
+	}
+
+	/**
+	 * Batch id-to-name lookup for list screens, served from the directory cache.
+	 */
+	public Map<UUID, String> resolveNames(Collection<UUID> ids) {
+		if (ids.size() > MAX_RESOLVE_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_RESOLVE_IDS + " ids per request");
+		}
+		return organizationDirectory.resolveNames(ids);
+	}
+
 	public Organization create(Organization organization) {
 		if (organization == null) {
 			throw new IllegalArgumentException("Organization cannot be null");
 		}
-		return organizationRepository.save(organization);
+		validateParent(null, organization.getParentId());
+		Organization saved = organizationRepository.save(organization);
+		organizationDirectory.invalidate();
+		return saved;
+	}
+
+	public Organization update(UUID id, Organization changes) {
+		if (changes == null) {
+			throw new IllegalArgumentException("Organization cannot be null");
+		}
+		Organization organization = organizationRepository.findById(id)
+				.orElseThrow(() -> new IllegalArgumentException("Organization not found"));
+		validateParent(id, changes.getParentId());
+		if (changes.getName() != null) {
+			organization.setName(changes.getName());
+		}
+		organization.setDescription(changes.getDescription());
+		organization.setParentId(changes.getParentId());
+		Organization saved = organizationRepository.save(organization);
+		organizationDirectory.invalidate();
+		return saved;
+	}
+
+	/**
+	 * Reads the parent's ancestry from the database: the directory snapshot may
+	 * predate a move made on another instance, and a cycle check against it
+	 * could let one through.
+	 */
+	private void validateParent(UUID id, UUID parentId) {
+		if (parentId == null) {
+			return;
+		}
+		List<UUID> ancestry = organizationRepository.findAncestry(parentId);
+		if (ancestry.isEmpty()) {
+			throw new IllegalArgumentException("Parent organization not found");
+		}
+		if (id != null && ancestry.contains(id)) {
+			throw new IllegalArgumentException("An organization cannot be its own ancestor");
+		}
 	}
 }
@@ -0,0 +1,31 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for identity lookups made by other services.
+ */
+public interface UserProfileCache {
+
+	static String authIdKey(String authId) {
+		return "auth:" + authId;
+	}
+
+	static String userIdKey(String userId) {
+		return "uid:" + userId;
+	}
+
+	/**
+	 * Return the cached profile for {@code key}, calling {@code loader} on a miss.
+	 * Concurrent misses for the same key share one load.
+	 */
+	UserDto.UserResponse get(String key, Supplier<UserDto.UserResponse> loader);
+
+	/**
+	 * Drop every cached copy of the changed user, on this and other instances.
+	 */
+	void evict(UserProfileChangedEvent event);
+}
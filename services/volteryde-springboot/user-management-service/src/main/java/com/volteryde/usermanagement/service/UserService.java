@@ -66,13 +66,36 @@ public interface UserService {
 	UserDto.UserResponse updateUserStatus(UUID userId, UserDto.UpdateStatusRequest request);
 
 	/**
-	 * Get all users.
-	 * 
+	 * Get all users. Unpaged; prefer {@link #listUsers} for dashboards.
+	 *
 	 * @param role Optional role filter
 	 * @return List of all users
 	 */
 	List<UserDto.UserResponse> getAllUsers(com.volteryde.usermanagement.model.UserRole role);
 
+	/**
+	 * List users one keyset page at a time, newest first.
+	 * Role-specific profile fields are loaded in the same query.
+	 *
+	 * @param filter Optional role, status, organization and creation-time filters
+	 * @param cursor {@code nextCursor} from the previous page, or null for the first page
+	 * @param limit  Page size, clamped to the allowed range
+	 * @return Page of lightweight user rows
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	UserDto.UserPage listUsers(UserDto.UserListFilter filter, String cursor, int limit);
+
+	/**
+	 * Ranked search over name, email, phone number and prefixed user ID.
+	 * Exact identifier matches rank first, then prefix matches, then fuzzy matches.
+	 *
+	 * @param query Search text, at least three characters
+	 * @param limit Maximum results, clamped to the allowed range
+	 * @return Matching users, best first
+	 * @throws IllegalArgumentException if the query is too short
+	 */
+	List<UserDto.UserSummary> searchUsers(String query, int limit);
+
 	/**
 	 * Validate if a status transition is allowed.
 	 *
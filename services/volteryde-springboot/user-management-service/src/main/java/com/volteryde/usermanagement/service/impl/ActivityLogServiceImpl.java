@@ -1,40 +1,220 @@
 package com.volteryde.usermanagement.service.impl;
 
 import com.volteryde.usermanagement.model.ActivityLog;
-import com.volteryde.usermanagement.repository.ActivityLogRepository;
+import com.volteryde.usermanagement.repository.ActivityLogJdbcWriter;
 import com.volteryde.usermanagement.service.ActivityLogService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Audit pipeline: callers enqueue onto a bounded queue and return; a single
+ * writer thread drains it and inserts entries in JDBC batches of up to
+ * {@code user.audit.batch-size}, or whatever arrived within
+ * {@code user.audit.flush-interval}.
+ *
+ * When the queue is full, {@code user.audit.overflow} decides: {@code caller-runs}
+ * (default) writes the entry synchronously on the calling thread, applying
+ * backpressure instead of losing it; {@code drop} discards it and counts it.
+ * Entries logged once shutdown has begun are also written synchronously.
+ *
+ * Every write runs in its own transaction (REQUIRES_NEW). A synchronous write
+ * therefore neither joins nor aborts the caller's transaction, and the audit
+ * row survives if the caller rolls back.
+ *
+ * Metrics: {@code user.audit.queue.depth}, {@code user.audit.flush} (batch
+ * write latency) and {@code user.audit.events{result=written|dropped|failed}}.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ActivityLogServiceImpl implements ActivityLogService {
 
-	private final ActivityLogRepository activityLogRepository;
+	static final String METRIC = "user.audit";
+
+	/**
+	 * Recorded as the actor for system-initiated actions, since actor_id is not nullable.
+	 */
+	static final UUID SYSTEM_ACTOR = new UUID(0L, 0L);
+
+	private final ActivityLogJdbcWriter writer;
+	private final BlockingQueue<ActivityLog> queue;
+	private final int batchSize;
+	private final Duration flushInterval;
+	private final boolean dropOnOverflow;
+
+	private final Counter written;
+	private final Counter dropped;
+	private final Counter failed;
+	private final Timer flushTimer;
+
+	private final TransactionTemplate requiresNew;
+
+	private Thread flusher;
+	private volatile boolean running;
+	private volatile boolean stopped;
+
+	public ActivityLogServiceImpl(ActivityLogJdbcWriter writer,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${user.audit.queue-capacity:10000}") int queueCapacity,
+			@Value("${user.audit.batch-size:200}") int batchSize,
+			@Value("${user.audit.flush-interval:1s}") Duration flushInterval,
+			@Value("${user.audit.overflow:caller-runs}") String overflow) {
+		this.writer = writer;
+		this.requiresNew = new TransactionTemplate(transactionManager);
+		this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.dropOnOverflow = switch (overflow) {
+			case "drop" -> true;
+			case "caller-runs" -> false;
+			default -> throw new IllegalArgumentException("user.audit.overflow must be 'drop' or 'caller-runs'");
+		};
+
+		this.written = events(meterRegistry, "written");
+		this.dropped = events(meterRegistry, "dropped");
+		this.failed = events(meterRegistry, "failed");
+		this.flushTimer = Timer.builder(METRIC + ".flush")
+				.description("Latency of one audit batch write")
+				.register(meterRegistry);
+		meterRegistry.gauge(METRIC + ".queue.depth", queue, BlockingQueue::size);
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		flusher = new Thread(this::drainLoop, "audit-writer");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		stopped = true;
+		running = false;
+		if (flusher != null) {
+			flusher.interrupt();
+			flusher.join(flushInterval.toMillis() * 5);
+		}
+		// Anything still queued is written on the shutdown thread
+		while (flush() > 0) {
+			// keep draining
+		}
+	}
 
 	@Override
-	@Async // Run in background to not block main thread
-	@Transactional
-	@SuppressWarnings("null")
 	public void logActivity(UUID actorId, String action, String resourceType, UUID targetId, String details,
 			String ipAddress) {
-		log.info("Auditing Action: {} by Actor: {} on Target: {}", action, actorId, targetId);
+		log.debug("Auditing Action: {} by Actor: {} on Target: {}", action, actorId, targetId);
 
-		ActivityLog logEntry = ActivityLog.builder()
-				.actorId(actorId)
+		ActivityLog entry = ActivityLog.builder()
+				.id(UUID.randomUUID())
+				.actorId(actorId != null ? actorId : SYSTEM_ACTOR)
 				.action(action)
 				.resourceType(resourceType)
 				.targetId(targetId)
 				.details(details)
 				.ipAddress(ipAddress)
+				.createdAt(LocalDateTime.now())
 				.build();
 
-		activityLogRepository.save(logEntry);
+		if (stopped) {
+			write(List.of(entry));
+			return;
+		}
+		if (queue.offer(entry)) {
+			if (stopped) {
+				// Raced stop()'s final drain; make sure this entry isn't left behind
+				while (flush() > 0) {
+					// keep draining
+				}
+			}
+			return;
+		}
+		if (dropOnOverflow) {
+			dropped.increment();
+			log.warn("Audit queue full, dropped {} on {}", action, targetId);
+		} else {
+			write(List.of(entry));
+		}
+	}
+
+	private void drainLoop() {
+		while (running) {
+			try {
+				ActivityLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				List<ActivityLog> batch = new ArrayList<>(batchSize);
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("Audit writer loop error", e);
+			}
+		}
+	}
+
+	/**
+	 * Write one batch from the queue on the calling thread.
+	 *
+	 * @return number of entries taken from the queue
+	 */
+	int flush() {
+		List<ActivityLog> batch = new ArrayList<>(batchSize);
+		queue.drainTo(batch, batchSize);
+		write(batch);
+		return batch.size();
+	}
+
+	private void write(List<ActivityLog> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			flushTimer.record(() -> requiresNew.executeWithoutResult(status -> writer.write(batch)));
+			written.increment(batch.size());
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				failed.increment();
+				log.error("Failed to write audit entry {} on {}", batch.get(0).getAction(),
+						batch.get(0).getTargetId(), e);
+				return;
+			}
+			// Isolate the bad row instead of losing the whole batch
+			log.warn("Audit batch of {} failed, retrying entries individually: {}", batch.size(), e.getMessage());
+			for (ActivityLog entry : batch) {
+				write(List.of(entry));
+			}
+		}
+	}
+
+	private static Counter events(MeterRegistry registry, String result) {
+		return Counter.builder(METRIC + ".events")
+				.description("Audit entries by outcome")
+				.tag("result", result)
+				.register(registry);
 	}
 }
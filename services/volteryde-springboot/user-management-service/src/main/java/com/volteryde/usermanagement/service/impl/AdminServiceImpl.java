@@ -21,6 +21,7 @@ public class AdminServiceImpl implements AdminService {
 	private final FleetManagerProfileRepository fleetManagerProfileRepository;
 	private final com.volteryde.usermanagement.service.ActivityLogService activityLogService;
 	private final com.volteryde.usermanagement.client.AuthServiceClient authServiceClient;
+	private final com.volteryde.usermanagement.service.AccessIdAllocator accessIdAllocator;
 
 	@Override
 	@Transactional
@@ -35,6 +36,7 @@ public class AdminServiceImpl implements AdminService {
 		// 1. Create Base User
 		User user = User.builder()
 				.email(request.getEmail())
+				.userId(accessIdAllocator.allocate(UserRole.DRIVER))
 				.firstName(request.getFirstName())
 				.lastName(request.getLastName())
 				.phoneNumber(request.getPhoneNumber())
@@ -83,6 +85,7 @@ public class AdminServiceImpl implements AdminService {
 
 		User user = User.builder()
 				.email(request.getEmail())
+				.userId(accessIdAllocator.allocate(UserRole.FLEET_MANAGER))
 				.firstName(request.getFirstName())
 				.lastName(request.getLastName())
 				.phoneNumber(request.getPhoneNumber())
@@ -120,7 +123,7 @@ public class AdminServiceImpl implements AdminService {
 
 		// 1. Generate Access ID
 		UserRole userRole = UserRole.valueOf(request.getRole());
-		String accessId = UserIdGenerator.generate(userRole);
+		String accessId = accessIdAllocator.allocate(userRole);
 
 		// 2. Create User in Auth Service
 		try {
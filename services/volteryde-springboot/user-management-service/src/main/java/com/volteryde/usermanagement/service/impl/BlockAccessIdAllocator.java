@@ -0,0 +1,88 @@
+package com.volteryde.usermanagement.service.impl;
+
+import com.volteryde.usermanagement.model.UserIdGenerator;
+import com.volteryde.usermanagement.model.UserRole;
+import com.volteryde.usermanagement.repository.AccessIdCounterRepository;
+import com.volteryde.usermanagement.service.AccessIdAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/lo Access ID allocation. Each instance reserves a block of sequence
+ * values per prefix with one upsert and serves ids from memory until the
+ * block runs out, so uniqueness needs no per-id query or retry. Ids left in a
+ * block when the instance stops are skipped, leaving gaps but never duplicates.
+ */
+@Service
+@Slf4j
+public class BlockAccessIdAllocator implements AccessIdAllocator {
+
+	private final AccessIdCounterRepository counterRepository;
+	private final TransactionTemplate reserveTransaction;
+	private final int blockSize;
+	private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+	public BlockAccessIdAllocator(AccessIdCounterRepository counterRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${user.access-id.block-size:100}") int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Access ID block size must be positive");
+		}
+		this.counterRepository = counterRepository;
+		// Reservations commit on their own: if the caller rolls back, the block must
+		// stay consumed, since ids from it may already have been handed out
+		this.reserveTransaction = new TransactionTemplate(transactionManager);
+		this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+	}
+
+	@Override
+	public String allocate(UserRole role) {
+		return allocate(role, 1).get(0);
+	}
+
+	@Override
+	public List<String> allocate(UserRole role, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		String prefix = UserIdGenerator.prefixFor(role);
+		Block block = blocks.computeIfAbsent(prefix, key -> new Block());
+		List<String> ids = new ArrayList<>(count);
+		// A lock rather than synchronized: the reservation is a database round trip, and
+		// a virtual thread blocking inside a monitor pins its carrier thread
+		block.lock.lock();
+		try {
+			while (ids.size() < count) {
+				if (block.next >= block.limit) {
+					// Large batches reserve what they need in one round trip
+					int size = Math.max(blockSize, count - ids.size());
+					long start = reserveTransaction.execute(status -> counterRepository.reserve(prefix, size));
+					block.next = start;
+					block.limit = start + size;
+					log.debug("Reserved Access ID block {}[{}, {})", prefix, block.next, block.limit);
+				}
+				ids.add(UserIdGenerator.format(prefix, block.next++));
+			}
+		} finally {
+			block.lock.unlock();
+		}
+		return ids;
+	}
+
+	private static final class Block {
+		final ReentrantLock lock = new ReentrantLock();
+		long next;
+		long limit;
+	}
+}
@@ -0,0 +1,523 @@
+package com.volteryde.usermanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.usermanagement.client.AuthServiceClient;
+import com.volteryde.usermanagement.dto.AdminDto;
+import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.FleetManagerProfile;
+import com.volteryde.usermanagement.model.OnboardingJob;
+import com.volteryde.usermanagement.model.OnboardingJobError;
+import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.model.UserRole;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import com.volteryde.usermanagement.repository.OnboardingJobErrorRepository;
+import com.volteryde.usermanagement.repository.OnboardingJobRepository;
+import com.volteryde.usermanagement.repository.UserBulkWriter;
+import com.volteryde.usermanagement.repository.UserRepository;
+import com.volteryde.usermanagement.service.AccessIdAllocator;
+import com.volteryde.usermanagement.service.ActivityLogService;
+import com.volteryde.usermanagement.service.BulkOnboardingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams an upload in fixed-size chunks. Per chunk: one email and one
+ * license uniqueness query, one Access ID allocation per role, one batched
+ * auth-service call, one JDBC batch insert per table and one audit entry, so
+ * cost grows with the number of chunks rather than the number of rows.
+ *
+ * Emails are trimmed and lower-cased on ingest; duplicate detection within the
+ * upload, the uniqueness queries here and in auth-service, and the stored
+ * accounts all use that form.
+ *
+ * Auth accounts are created before profiles. Once a chunk's profiles are saved
+ * auth-service emails each user a set-password link; if the insert fails, the
+ * chunk's accounts are discarded so the same rows can be uploaded again.
+ */
+@Service
+@Slf4j
+public class BulkOnboardingServiceImpl implements BulkOnboardingService {
+
+	static final int CHUNK_SIZE = 500;
+	static final int ERROR_PAGE_SIZE = 100;
+	private static final Set<UserRole> ONBOARDABLE_ROLES = Set.of(UserRole.DRIVER, UserRole.FLEET_MANAGER);
+
+	private final OnboardingJobRepository jobRepository;
+	private final OnboardingJobErrorRepository jobErrorRepository;
+	private final UserRepository userRepository;
+	private final DriverProfileRepository driverProfileRepository;
+	private final UserBulkWriter bulkWriter;
+	private final AuthServiceClient authServiceClient;
+	private final ActivityLogService activityLogService;
+	private final AccessIdAllocator accessIdAllocator;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final TaskExecutor executor;
+	private final String serviceKey;
+
+	public BulkOnboardingServiceImpl(OnboardingJobRepository jobRepository,
+			OnboardingJobErrorRepository jobErrorRepository,
+			UserRepository userRepository,
+			DriverProfileRepository driverProfileRepository,
+			UserBulkWriter bulkWriter,
+			AuthServiceClient authServiceClient,
+			ActivityLogService activityLogService,
+			AccessIdAllocator accessIdAllocator,
+			ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			@Qualifier("onboardingExecutor") TaskExecutor executor,
+			@Value("${volteryde.internal.service-key:}") String serviceKey) {
+		this.jobRepository = jobRepository;
+		this.jobErrorRepository = jobErrorRepository;
+		this.userRepository = userRepository;
+		this.driverProfileRepository = driverProfileRepository;
+		this.bulkWriter = bulkWriter;
+		this.authServiceClient = authServiceClient;
+		this.activityLogService = activityLogService;
+		this.accessIdAllocator = accessIdAllocator;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.executor = executor;
+		this.serviceKey = serviceKey;
+	}
+
+	@Override
+	public AdminDto.OnboardingJobResponse startJob(MultipartFile file, UserRole defaultRole, String actor) {
+		if (file == null || file.isEmpty()) {
+			throw new IllegalArgumentException("Upload is empty");
+		}
+		if (serviceKey == null || serviceKey.isBlank()) {
+			throw new IllegalStateException("Bulk onboarding requires volteryde.internal.service-key");
+		}
+		if (defaultRole != null && !ONBOARDABLE_ROLES.contains(defaultRole)) {
+			throw new IllegalArgumentException("Bulk onboarding supports DRIVER and FLEET_MANAGER only");
+		}
+		OnboardingRowReader.Format format = OnboardingRowReader.Format.detect(file.getOriginalFilename(),
+				file.getContentType());
+
+		// Spool to disk so the job outlives the request and never holds the file in memory
+		Path upload;
+		try {
+			upload = Files.createTempFile("onboarding-", "." + format.name().toLowerCase(Locale.ROOT));
+			file.transferTo(upload);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to store upload: " + e.getMessage(), e);
+		}
+
+		OnboardingJob job = jobRepository.save(OnboardingJob.builder()
+				.fileName(file.getOriginalFilename())
+				.defaultRole(defaultRole)
+				.createdBy(actor)
+				.build());
+		log.info("Queued onboarding job {} for {} ({} bytes)", job.getId(), file.getOriginalFilename(),
+				file.getSize());
+
+		try {
+			executor.execute(() -> runJob(job.getId(), upload, format, defaultRole, actor));
+		} catch (TaskRejectedException e) {
+			deleteQuietly(upload);
+			job.setStatus(OnboardingJob.Status.FAILED);
+			job.setFailureReason("Onboarding queue is full, retry later");
+			job.setFinishedAt(LocalDateTime.now());
+			jobRepository.save(job);
+		}
+		return toResponse(job, List.of());
+	}
+
+	@Override
+	public AdminDto.OnboardingJobResponse getJob(UUID jobId) {
+		OnboardingJob job = jobRepository.findById(jobId)
+				.orElseThrow(() -> new IllegalArgumentException("Onboarding job not found"));
+		List<OnboardingJobError> errors = jobErrorRepository.findByJobIdOrderByRowNumber(jobId,
+				PageRequest.of(0, ERROR_PAGE_SIZE));
+		return toResponse(job, errors);
+	}
+
+	void runJob(UUID jobId, Path upload, OnboardingRowReader.Format format, UserRole defaultRole, String actor) {
+		OnboardingJob job = jobRepository.findById(jobId).orElseThrow();
+		job.setStatus(OnboardingJob.Status.RUNNING);
+		job.setStartedAt(LocalDateTime.now());
+		jobRepository.save(job);
+
+		JobContext context = new JobContext(job, defaultRole, parseActor(actor));
+		try (BufferedReader in = Files.newBufferedReader(upload, StandardCharsets.UTF_8);
+				OnboardingRowReader reader = new OnboardingRowReader(in, format, objectMapper)) {
+			List<OnboardingRowReader.ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+			OnboardingRowReader.ParsedRow row;
+			while ((row = reader.next()) != null) {
+				chunk.add(row);
+				if (chunk.size() == CHUNK_SIZE) {
+					processChunk(context, chunk);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				processChunk(context, chunk);
+			}
+			job.setStatus(OnboardingJob.Status.COMPLETED);
+		} catch (Exception e) {
+			log.error("Onboarding job {} failed after {} rows", jobId, job.getProcessedRows(), e);
+			job.setStatus(OnboardingJob.Status.FAILED);
+			job.setFailureReason(e.getMessage());
+		} finally {
+			deleteQuietly(upload);
+			job.setFinishedAt(LocalDateTime.now());
+			jobRepository.save(job);
+		}
+		log.info("Onboarding job {} {}: {} processed, {} created, {} rejected", jobId, job.getStatus(),
+				job.getProcessedRows(), job.getSucceededRows(), job.getFailedRows());
+	}
+
+	void processChunk(JobContext context, List<OnboardingRowReader.ParsedRow> chunk) {
+		UUID jobId = context.job.getId();
+		List<OnboardingJobError> errors = new ArrayList<>();
+		List<Candidate> candidates = new ArrayList<>(chunk.size());
+
+		for (OnboardingRowReader.ParsedRow parsed : chunk) {
+			String error = parsed.error() != null ? parsed.error() : validate(context, parsed.row());
+			if (error != null) {
+				errors.add(rowError(jobId, parsed, error));
+			} else {
+				candidates.add(new Candidate(parsed, resolveRole(parsed.row(), context.defaultRole)));
+			}
+		}
+
+		rejectExisting(jobId, candidates, errors);
+		assignUserIds(candidates);
+
+		int created = 0;
+		if (!candidates.isEmpty()) {
+			registerWithAuth(context, candidates, errors);
+			created = insert(context, candidates, errors);
+		}
+
+		if (created > 0) {
+			activityLogService.logActivity(
+					context.actorId,
+					"BULK_ONBOARD",
+					"ONBOARDING_JOB",
+					jobId,
+					"Onboarded " + created + " users from " + context.job.getFileName(),
+					null);
+		}
+
+		OnboardingJob job = context.job;
+		job.setProcessedRows(job.getProcessedRows() + chunk.size());
+		job.setSucceededRows(job.getSucceededRows() + created);
+		job.setFailedRows(job.getFailedRows() + chunk.size() - created);
+		jobErrorRepository.saveAll(errors);
+		jobRepository.save(job);
+	}
+
+	private String validate(JobContext context, AdminDto.OnboardingRow row) {
+		if (isBlank(row.getEmail()) || !row.getEmail().contains("@")) {
+			return "A valid email is required";
+		}
+		if (isBlank(row.getFirstName()) || isBlank(row.getLastName())) {
+			return "First and last name are required";
+		}
+		UserRole role;
+		try {
+			role = resolveRole(row, context.defaultRole);
+		} catch (IllegalArgumentException e) {
+			return "Invalid role: " + row.getRole();
+		}
+		if (role == null) {
+			return "Role is required (no default role was given for this upload)";
+		}
+		if (!ONBOARDABLE_ROLES.contains(role)) {
+			return "Bulk onboarding supports DRIVER and FLEET_MANAGER only";
+		}
+		if (role == UserRole.DRIVER && isBlank(row.getLicenseNumber())) {
+			return "License number is required for drivers";
+		}
+		if (role == UserRole.FLEET_MANAGER && isBlank(row.getAssignedRegion())) {
+			return "Assigned region is required for fleet managers";
+		}
+		row.setEmail(row.getEmail().trim().toLowerCase(Locale.ROOT));
+		if (!context.seenEmails.add(row.getEmail())) {
+			return "Duplicate email in upload";
+		}
+		if (role == UserRole.DRIVER && !context.seenLicenses.add(row.getLicenseNumber())) {
+			return "Duplicate license number in upload";
+		}
+		return null;
+	}
+
+	private static UserRole resolveRole(AdminDto.OnboardingRow row, UserRole defaultRole) {
+		return isBlank(row.getRole()) ? defaultRole : UserRole.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Set-based uniqueness against existing users: one query per column per chunk.
+	 */
+	private void rejectExisting(UUID jobId, List<Candidate> candidates, List<OnboardingJobError> errors) {
+		if (candidates.isEmpty()) {
+			return;
+		}
+		Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+				candidates.stream().map(c -> c.row().getEmail()).toList()));
+		List<String> licenses = candidates.stream()
+				.filter(c -> c.role == UserRole.DRIVER)
+				.map(c -> c.row().getLicenseNumber())
+				.toList();
+		Set<String> takenLicenses = licenses.isEmpty() ? Set.of()
+				: new HashSet<>(driverProfileRepository.findExistingLicenseNumbers(licenses));
+
+		candidates.removeIf(candidate -> {
+			String error = null;
+			if (takenEmails.contains(candidate.row().getEmail())) {
+				error = "User with email already exists";
+			} else if (candidate.role == UserRole.DRIVER && takenLicenses.contains(candidate.row().getLicenseNumber())) {
+				error = "License number is already registered";
+			}
+			if (error != null) {
+				errors.add(rowError(jobId, candidate.parsed, error));
+				return true;
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * One allocator call per role in the chunk; allocated ids are unique by
+	 * construction, so no existence check is needed.
+	 */
+	private void assignUserIds(List<Candidate> candidates) {
+		Map<UserRole, List<Candidate>> byRole = new EnumMap<>(UserRole.class);
+		for (Candidate candidate : candidates) {
+			byRole.computeIfAbsent(candidate.role, role -> new ArrayList<>()).add(candidate);
+		}
+		byRole.forEach((role, group) -> {
+			List<String> ids = accessIdAllocator.allocate(role, group.size());
+			for (int i = 0; i < group.size(); i++) {
+				group.get(i).userId = ids.get(i);
+			}
+		});
+	}
+
+	/**
+	 * One auth-service call for the whole chunk. Rows it rejects are recorded
+	 * and dropped; a transport failure fails the job, since every later chunk
+	 * would fail the same way.
+	 */
+	private void registerWithAuth(JobContext context, List<Candidate> candidates, List<OnboardingJobError> errors) {
+		List<AdminDto.AuthBulkRegisterItem> items = candidates.stream()
+				.map(c -> AdminDto.AuthBulkRegisterItem.builder()
+						.email(c.row().getEmail())
+						.firstName(c.row().getFirstName())
+						.lastName(c.row().getLastName())
+						.phoneNumber(c.row().getPhoneNumber())
+						.role(c.role.name())
+						.accessId(c.userId)
+						.organizationId(c.row().getOrganizationId() == null ? null
+								: c.row().getOrganizationId().toString())
+						.build())
+				.toList();
+		AdminDto.AuthBulkRegisterResponse response = authServiceClient.registerBatch(
+				new AdminDto.AuthBulkRegisterRequest(items), serviceKey);
+
+		List<AdminDto.AuthBulkRegisterResult> results = response.getResults();
+		if (results == null || results.size() != candidates.size()) {
+			throw new IllegalStateException("Auth service returned an unexpected number of results");
+		}
+		for (int i = 0; i < results.size(); i++) {
+			candidates.get(i).authResult = results.get(i);
+		}
+		candidates.removeIf(candidate -> {
+			if (candidate.authResult.getError() != null) {
+				errors.add(rowError(context.job.getId(), candidate.parsed,
+						"Auth registration failed: " + candidate.authResult.getError()));
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private int insert(JobContext context, List<Candidate> candidates, List<OnboardingJobError> errors) {
+		if (candidates.isEmpty()) {
+			return 0;
+		}
+		List<User> users = new ArrayList<>(candidates.size());
+		List<DriverProfile> drivers = new ArrayList<>();
+		List<FleetManagerProfile> managers = new ArrayList<>();
+		for (Candidate candidate : candidates) {
+			AdminDto.OnboardingRow row = candidate.row();
+			User user = User.builder()
+					.id(UUID.randomUUID())
+					.userId(candidate.userId)
+					.email(row.getEmail())
+					.authId(candidate.authResult.getAuthId())
+					.firstName(row.getFirstName())
+					.lastName(row.getLastName())
+					.phoneNumber(row.getPhoneNumber())
+					.role(candidate.role)
+					.status(AccountStatus.ACTIVE)
+					.organizationId(row.getOrganizationId())
+					.createdBy(context.job.getCreatedBy())
+					.build();
+			users.add(user);
+			if (candidate.role == UserRole.DRIVER) {
+				drivers.add(DriverProfile.builder()
+						.user(user)
+						.licenseNumber(row.getLicenseNumber())
+						.yearsOfExperience(row.getYearsOfExperience() == null ? 0 : row.getYearsOfExperience())
+						.status(DriverProfile.DriverStatus.INACTIVE)
+						.build());
+			} else {
+				managers.add(FleetManagerProfile.builder()
+						.user(user)
+						.assignedRegion(row.getAssignedRegion())
+						.hubId(row.getHubId())
+						.build());
+			}
+		}
+
+		List<String> authIds = candidates.stream().map(c -> c.authResult.getAuthId()).toList();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				bulkWriter.insertUsers(users);
+				bulkWriter.insertDriverProfiles(drivers);
+				bulkWriter.insertFleetManagerProfiles(managers);
+			});
+		} catch (RuntimeException e) {
+			log.error("Onboarding job {}: failed to insert {} users", context.job.getId(), users.size(), e);
+			String message = discardAuthAccounts(context, authIds)
+					? "Failed to save profile; the row can be uploaded again"
+					: "Failed to save profile; its auth account could not be removed, so the email stays taken";
+			for (Candidate candidate : candidates) {
+				errors.add(rowError(context.job.getId(), candidate.parsed, message));
+			}
+			return 0;
+		}
+
+		try {
+			authServiceClient.inviteBatch(new AdminDto.AuthBulkAccountsRequest(authIds), serviceKey);
+		} catch (RuntimeException e) {
+			// The users exist; they can still get a link from the password reset page
+			log.warn("Onboarding job {}: failed to send set-password invites for {} users",
+					context.job.getId(), authIds.size(), e);
+		}
+		return users.size();
+	}
+
+	/**
+	 * Removes auth accounts whose profiles were not saved, so a re-upload does
+	 * not fail on "email exists". Returns false when auth-service could not be
+	 * reached; those accounts are logged for manual clean-up.
+	 */
+	private boolean discardAuthAccounts(JobContext context, List<String> authIds) {
+		try {
+			authServiceClient.discardBatch(new AdminDto.AuthBulkAccountsRequest(authIds), serviceKey);
+			return true;
+		} catch (RuntimeException e) {
+			log.error("Onboarding job {}: failed to discard auth accounts {}", context.job.getId(), authIds, e);
+			return false;
+		}
+	}
+
+	private static OnboardingJobError rowError(UUID jobId, OnboardingRowReader.ParsedRow parsed, String message) {
+		return OnboardingJobError.builder()
+				.jobId(jobId)
+				.rowNumber(parsed.rowNumber())
+				.email(parsed.row() == null ? null : parsed.row().getEmail())
+				.message(message)
+				.build();
+	}
+
+	private static AdminDto.OnboardingJobResponse toResponse(OnboardingJob job, List<OnboardingJobError> errors) {
+		return AdminDto.OnboardingJobResponse.builder()
+				.jobId(job.getId())
+				.status(job.getStatus().name())
+				.fileName(job.getFileName())
+				.processedRows(job.getProcessedRows())
+				.succeededRows(job.getSucceededRows())
+				.failedRows(job.getFailedRows())
+				.failureReason(job.getFailureReason())
+				.createdAt(job.getCreatedAt())
+				.startedAt(job.getStartedAt())
+				.finishedAt(job.getFinishedAt())
+				.errors(errors.stream()
+						.map(e -> new AdminDto.OnboardingRowError(e.getRowNumber(), e.getEmail(), e.getMessage()))
+						.toList())
+				.build();
+	}
+
+	private static UUID parseActor(String actor) {
+		try {
+			return actor == null ? null : UUID.fromString(actor);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("Could not delete onboarding upload {}", path, e);
+		}
+	}
+
+	/**
+	 * Per-job state carried across chunks. Duplicate detection within the
+	 * upload keeps only normalized keys, not rows.
+	 */
+	static final class JobContext {
+		final OnboardingJob job;
+		final UserRole defaultRole;
+		final UUID actorId;
+		final Set<String> seenEmails = new HashSet<>();
+		final Set<String> seenLicenses = new HashSet<>();
+
+		JobContext(OnboardingJob job, UserRole defaultRole, UUID actorId) {
+			this.job = job;
+			this.defaultRole = defaultRole;
+			this.actorId = actorId;
+		}
+	}
+
+	private static final class Candidate {
+		final OnboardingRowReader.ParsedRow parsed;
+		final UserRole role;
+		String userId;
+		AdminDto.AuthBulkRegisterResult authResult;
+
+		Candidate(OnboardingRowReader.ParsedRow parsed, UserRole role) {
+			this.parsed = parsed;
+			this.role = role;
+		}
+
+		AdminDto.OnboardingRow row() {
+			return parsed.row();
+		}
+	}
+}
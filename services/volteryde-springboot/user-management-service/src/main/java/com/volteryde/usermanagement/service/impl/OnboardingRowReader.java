@@ -0,0 +1,215 @@
+package com.volteryde.usermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.volteryde.usermanagement.dto.AdminDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams rows out of a CSV or NDJSON onboarding upload one at a time, so
+ * memory stays flat regardless of file size. A malformed row is reported
+ * with its error instead of aborting the whole file.
+ */
+public class OnboardingRowReader implements Closeable {
+
+	public enum Format {
+		CSV,
+		NDJSON;
+
+		public static Format detect(String fileName, String contentType) {
+			String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+			String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+			if (name.endsWith(".csv") || type.contains("csv")) {
+				return CSV;
+			}
+			if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson")
+					|| type.contains("jsonl")) {
+				return NDJSON;
+			}
+			throw new IllegalArgumentException("Unsupported upload format; expected .csv or .ndjson");
+		}
+	}
+
+	/**
+	 * A parsed data row; {@code row} is null when {@code error} is set.
+	 */
+	public record ParsedRow(long rowNumber, AdminDto.OnboardingRow row, String error) {
+	}
+
+	private final BufferedReader reader;
+	private final Format format;
+	private final ObjectReader jsonReader;
+	private String[] header;
+	private long rowNumber;
+
+	public OnboardingRowReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+		this.reader = reader;
+		this.format = format;
+		this.jsonReader = objectMapper.readerFor(AdminDto.OnboardingRow.class)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+	}
+
+	/**
+	 * Returns the next data row, or null at end of input. Blank lines are skipped.
+	 */
+	public ParsedRow next() {
+		try {
+			return format == Format.CSV ? nextCsv() : nextJson();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private ParsedRow nextJson() throws IOException {
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank()) {
+				continue;
+			}
+			rowNumber++;
+			try {
+				return new ParsedRow(rowNumber, jsonReader.readValue(line), null);
+			} catch (JsonProcessingException e) {
+				return new ParsedRow(rowNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+			}
+		}
+		return null;
+	}
+
+	private ParsedRow nextCsv() throws IOException {
+		if (header == null) {
+			List<String> names = readCsvRecord();
+			if (names == null) {
+				return null;
+			}
+			header = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+		}
+		List<String> values;
+		do {
+			values = readCsvRecord();
+			if (values == null) {
+				return null;
+			}
+		} while (values.size() == 1 && values.get(0).isBlank());
+
+		rowNumber++;
+		if (values.size() > header.length) {
+			return new ParsedRow(rowNumber, null,
+					"Expected at most " + header.length + " columns but found " + values.size());
+		}
+		Map<String, String> fields = new HashMap<>();
+		for (int i = 0; i < values.size(); i++) {
+			String value = values.get(i).trim();
+			if (!value.isEmpty()) {
+				fields.put(header[i], value);
+			}
+		}
+		try {
+			return new ParsedRow(rowNumber, toRow(fields), null);
+		} catch (IllegalArgumentException e) {
+			return new ParsedRow(rowNumber, null, e.getMessage());
+		}
+	}
+
+	private static AdminDto.OnboardingRow toRow(Map<String, String> fields) {
+		String years = field(fields, "yearsofexperience", "years_of_experience");
+		String organizationId = field(fields, "organizationid", "organization_id");
+		Integer parsedYears;
+		UUID parsedOrganization;
+		try {
+			parsedYears = years == null ? null : Integer.valueOf(years);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid yearsOfExperience: " + years);
+		}
+		try {
+			parsedOrganization = organizationId == null ? null : UUID.fromString(organizationId);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid organizationId: " + organizationId);
+		}
+		return AdminDto.OnboardingRow.builder()
+				.email(field(fields, "email"))
+				.firstName(field(fields, "firstname", "first_name"))
+				.lastName(field(fields, "lastname", "last_name"))
+				.phoneNumber(field(fields, "phonenumber", "phone_number", "phone"))
+				.role(field(fields, "role"))
+				.organizationId(parsedOrganization)
+				.licenseNumber(field(fields, "licensenumber", "license_number"))
+				.yearsOfExperience(parsedYears)
+				.assignedRegion(field(fields, "assignedregion", "assigned_region", "region"))
+				.hubId(field(fields, "hubid", "hub_id"))
+				.build();
+	}
+
+	private static String field(Map<String, String> fields, String... names) {
+		for (String name : names) {
+			String value = fields.get(name);
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads one RFC 4180 record: comma separated, double-quoted fields may
+	 * contain commas, doubled quotes and line breaks.
+	 */
+	private List<String> readCsvRecord() throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		List<String> values = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			for (int i = 0; i < line.length(); i++) {
+				char c = line.charAt(i);
+				if (quoted) {
+					if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+						current.append('"');
+						i++;
+					} else if (c == '"') {
+						quoted = false;
+					} else {
+						current.append(c);
+					}
+				} else if (c == '"') {
+					quoted = true;
+				} else if (c == ',') {
+					values.add(current.toString());
+					current.setLength(0);
+				} else {
+					current.append(c);
+				}
+			}
+			if (!quoted) {
+				break;
+			}
+			line = reader.readLine();
+			if (line == null) {
+				break; // unterminated quote; keep what was read
+			}
+			current.append('\n');
+		}
+		values.add(current.toString());
+		return values;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,255 @@
+package com.volteryde.usermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+import com.volteryde.usermanagement.service.UserProfileCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier profile cache: a small per-instance LRU in front of a shared Redis
+ * tier.
+ *
+ * Local entries live for {@code user.profile-cache.local-ttl} (30 seconds by
+ * default), which bounds staleness if an invalidation broadcast is missed.
+ * Eviction deletes the Redis keys and publishes them on
+ * {@link #INVALIDATION_CHANNEL} so every instance drops its local copy.
+ * Concurrent misses for one key wait on a single load, and a load that races
+ * an eviction does not write its result back.
+ *
+ * Graceful degradation: Redis errors are logged and treated as misses, so
+ * lookups fall through to PostgreSQL while Redis is unavailable.
+ */
+@Component
+@Slf4j
+public class TwoTierUserProfileCache implements UserProfileCache, MessageListener {
+
+	public static final String INVALIDATION_CHANNEL = "user:profile:invalidate";
+	static final String METRIC = "user.profile.cache";
+	private static final String KEY_PREFIX = "user:profile:";
+
+	private final StringRedisTemplate redis;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final long localTtlNanos;
+	private final Duration redisTtl;
+	private final Map<String, LocalEntry> local;
+	private final ConcurrentMap<String, CompletableFuture<UserDto.UserResponse>> inFlight = new ConcurrentHashMap<>();
+
+	private final Counter localHits;
+	private final Counter localMisses;
+	private final Counter redisHits;
+	private final Counter redisMisses;
+	private final Counter coalesced;
+
+	public TwoTierUserProfileCache(
+			StringRedisTemplate redis,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${user.profile-cache.enabled:true}") boolean enabled,
+			@Value("${user.profile-cache.local-max-size:10000}") int localMaxSize,
+			@Value("${user.profile-cache.local-ttl:30s}") Duration localTtl,
+			@Value("${user.profile-cache.redis-ttl:10m}") Duration redisTtl) {
+		this.redis = redis;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.localTtlNanos = localTtl.toNanos();
+		this.redisTtl = redisTtl;
+		this.local = new LinkedHashMap<>(256, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+				return size() > localMaxSize;
+			}
+		};
+
+		this.localHits = counter(meterRegistry, "local", "hit");
+		this.localMisses = counter(meterRegistry, "local", "miss");
+		this.redisHits = counter(meterRegistry, "redis", "hit");
+		this.redisMisses = counter(meterRegistry, "redis", "miss");
+		this.coalesced = Counter.builder(METRIC + ".coalesced")
+				.description("Lookups that waited on another request's load")
+				.register(meterRegistry);
+		meterRegistry.gauge(METRIC + ".local.size", this, cache -> cache.localSize());
+	}
+
+	@Override
+	public UserDto.UserResponse get(String key, Supplier<UserDto.UserResponse> loader) {
+		if (!enabled) {
+			return loader.get();
+		}
+
+		UserDto.UserResponse cached = getLocal(key);
+		if (cached != null) {
+			localHits.increment();
+			return cached;
+		}
+		localMisses.increment();
+
+		CompletableFuture<UserDto.UserResponse> ours = new CompletableFuture<>();
+		CompletableFuture<UserDto.UserResponse> running = inFlight.putIfAbsent(key, ours);
+		if (running != null) {
+			coalesced.increment();
+			return await(running);
+		}
+
+		try {
+			UserDto.UserResponse value = readRedis(key);
+			if (value != null) {
+				redisHits.increment();
+			} else {
+				redisMisses.increment();
+				value = loader.get();
+				// An eviction while we were loading removes our future; don't resurrect stale data
+				if (inFlight.get(key) == ours) {
+					writeRedis(key, value);
+				}
+			}
+			if (inFlight.get(key) == ours) {
+				putLocal(key, value);
+			}
+			ours.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			ours.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, ours);
+		}
+	}
+
+	@Override
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void evict(UserProfileChangedEvent event) {
+		List<String> keys = keysOf(event);
+		if (keys.isEmpty()) {
+			return;
+		}
+		evictLocal(keys);
+		if (!enabled) {
+			return;
+		}
+		try {
+			redis.delete(keys.stream().map(key -> KEY_PREFIX + key).toList());
+			redis.convertAndSend(INVALIDATION_CHANNEL, String.join("\n", keys));
+		} catch (Exception e) {
+			log.error("Redis error invalidating profile cache for {}: {}", event.userId(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Invalidation broadcast from another instance (or our own echo).
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		evictLocal(List.of(body.split("\n")));
+	}
+
+	private static List<String> keysOf(UserProfileChangedEvent event) {
+		List<String> keys = new ArrayList<>(2);
+		if (event.authId() != null) {
+			keys.add(UserProfileCache.authIdKey(event.authId()));
+		}
+		if (event.userId() != null) {
+			keys.add(UserProfileCache.userIdKey(event.userId()));
+		}
+		return keys;
+	}
+
+	private void evictLocal(List<String> keys) {
+		synchronized (local) {
+			keys.forEach(local::remove);
+		}
+		keys.forEach(inFlight::remove);
+	}
+
+	private UserDto.UserResponse getLocal(String key) {
+		synchronized (local) {
+			LocalEntry entry = local.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (System.nanoTime() - entry.storedAt() > localTtlNanos) {
+				local.remove(key);
+				return null;
+			}
+			return entry.value();
+		}
+	}
+
+	private void putLocal(String key, UserDto.UserResponse value) {
+		synchronized (local) {
+			local.put(key, new LocalEntry(value, System.nanoTime()));
+		}
+	}
+
+	private int localSize() {
+		synchronized (local) {
+			return local.size();
+		}
+	}
+
+	private UserDto.UserResponse readRedis(String key) {
+		try {
+			String json = redis.opsForValue().get(KEY_PREFIX + key);
+			return json != null ? objectMapper.readValue(json, UserDto.UserResponse.class) : null;
+		} catch (Exception e) {
+			log.error("Redis error reading profile cache — falling back to database: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeRedis(String key, UserDto.UserResponse value) {
+		try {
+			redis.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(value), redisTtl);
+		} catch (JsonProcessingException e) {
+			log.warn("Unable to serialize profile for cache key {}: {}", key, e.getMessage());
+		} catch (Exception e) {
+			log.error("Redis error writing profile cache: {}", e.getMessage());
+		}
+	}
+
+	private static UserDto.UserResponse await(CompletableFuture<UserDto.UserResponse> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static Counter counter(MeterRegistry registry, String tier, String result) {
+		return Counter.builder(METRIC + ".requests")
+				.description("Profile cache lookups by tier and result")
+				.tag("tier", tier)
+				.tag("result", result)
+				.register(registry);
+	}
+
+	private record LocalEntry(UserDto.UserResponse value, long storedAt) {
+	}
+}
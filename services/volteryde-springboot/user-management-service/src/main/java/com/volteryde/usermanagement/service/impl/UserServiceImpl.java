@@ -1,20 +1,35 @@
 package com.volteryde.usermanagement.service.impl;
 
+import com.volteryde.usermanagement.dto.UserCursor;
 import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
 import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.FleetManagerProfile;
 import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.model.UserIdGenerator;
 import com.volteryde.usermanagement.model.UserRole;
 import com.volteryde.usermanagement.repository.UserRepository;
+import com.volteryde.usermanagement.repository.UserSearchRepository;
+import com.volteryde.usermanagement.service.AccessIdAllocator;
 import com.volteryde.usermanagement.service.ActivityLogService;
+import com.volteryde.usermanagement.service.OrganizationDirectory;
+import com.volteryde.usermanagement.service.UserProfileCache;
 import com.volteryde.usermanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Implementation of UserService with robust validation and audit support.
@@ -24,10 +39,22 @@ import java.util.UUID;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+	static final int DEFAULT_PAGE_SIZE = 50;
+	static final int MAX_PAGE_SIZE = 200;
+	private static final int PROFILE_BATCH_SIZE = 1000;
+	static final int MIN_SEARCH_LENGTH = 3;
+	static final int DEFAULT_SEARCH_LIMIT = 20;
+	static final int MAX_SEARCH_LIMIT = 100;
+
 	private final UserRepository userRepository;
+	private final UserSearchRepository userSearchRepository;
 	private final ActivityLogService activityLogService;
 	private final com.volteryde.usermanagement.repository.DriverProfileRepository driverProfileRepository;
 	private final com.volteryde.usermanagement.repository.FleetManagerProfileRepository fleetManagerProfileRepository;
+	private final UserProfileCache profileCache;
+	private final ApplicationEventPublisher eventPublisher;
+	private final AccessIdAllocator accessIdAllocator;
+	private final OrganizationDirectory organizationDirectory;
 
 	// Valid status transitions - key is current status, value is set of allowed new
 	// statuses
@@ -53,14 +80,19 @@ public class UserServiceImpl implements UserService {
 			throw new IllegalArgumentException("Role is required");
 		}
 		validateRole(request.getRole());
+		if (request.getOrganizationId() != null && !organizationDirectory.exists(request.getOrganizationId())) {
+			throw new IllegalArgumentException("Organization not found");
+		}
 
 		User user = User.builder()
 				.email(request.getEmail())
+				.userId(accessIdAllocator.allocate(request.getRole()))
 				.authId(request.getAuthId())
 				.firstName(request.getFirstName())
 				.lastName(request.getLastName())
 				.phoneNumber(request.getPhoneNumber())
 				.role(request.getRole())
+				.organizationId(request.getOrganizationId())
 				.status(AccountStatus.PENDING) // New users start as PENDING
 				.createdBy(request.getCreatedBy())
 				.build();
@@ -91,16 +123,24 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public UserDto.UserResponse getUserByAuthId(String authId) {
-		User user = userRepository.findByAuthId(authId)
-				.orElseThrow(() -> new IllegalArgumentException("User not found for auth ID: " + authId));
-		return mapToResponse(user);
+		return profileCache.get(UserProfileCache.authIdKey(authId), () -> {
+			User user = userRepository.findByAuthId(authId)
+					.orElseThrow(() -> new IllegalArgumentException("User not found for auth ID: " + authId));
+			return mapToResponse(user);
+		});
 	}
 
 	@Override
 	public UserDto.UserResponse getUserByUserId(String userId) {
-		User user = userRepository.findByUserId(userId)
-				.orElseThrow(() -> new IllegalArgumentException("User not found for user ID: " + userId));
-		return mapToResponse(user);
+		if (!UserIdGenerator.isPlausible(userId)) {
+			// A mistyped Access ID matches no row; answer without a cache lookup or a query
+			throw new IllegalArgumentException("Invalid user ID: " + userId);
+		}
+		return profileCache.get(UserProfileCache.userIdKey(userId), () -> {
+			User user = userRepository.findByUserId(userId)
+					.orElseThrow(() -> new IllegalArgumentException("User not found for user ID: " + userId));
+			return mapToResponse(user);
+		});
 	}
 
 	@Override
@@ -130,6 +170,7 @@ public class UserServiceImpl implements UserService {
 		}
 
 		User updatedUser = userRepository.save(user);
+		publishChange(updatedUser);
 
 		activityLogService.logActivity(
 				userId,
@@ -170,6 +211,7 @@ public class UserServiceImpl implements UserService {
 		}
 
 		User updatedUser = userRepository.save(user);
+		publishChange(updatedUser);
 
 		String reason = request.getReason() != null ? request.getReason() : "No reason provided";
 		activityLogService.logActivity(
@@ -185,6 +227,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<UserDto.UserResponse> getAllUsers(UserRole role) {
 		log.info("Fetching all users with role filter: {}", role);
 		List<User> users;
@@ -193,11 +236,52 @@ public class UserServiceImpl implements UserService {
 		} else {
 			users = userRepository.findAll();
 		}
+		if (users.isEmpty()) {
+			return List.of();
+		}
+
+		// A few batched queries per profile table instead of one per user
+		List<UUID> ids = users.stream().map(User::getId).toList();
+		Map<UUID, DriverProfile> driverProfiles = role == null || role == UserRole.DRIVER
+				? loadByUserIds(ids, driverProfileRepository::findByUserIds, p -> p.getUser().getId())
+				: Map.of();
+		Map<UUID, FleetManagerProfile> managerProfiles = role == null || role == UserRole.FLEET_MANAGER
+				? loadByUserIds(ids, fleetManagerProfileRepository::findByUserIds, p -> p.getUser().getId())
+				: Map.of();
+
 		return users.stream()
-				.map(this::mapToResponse)
+				.map(user -> mapToResponse(user, driverProfiles.get(user.getId()),
+						managerProfiles.get(user.getId())))
 				.toList();
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public UserDto.UserPage listUsers(UserDto.UserListFilter filter, String cursor, int limit) {
+		int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+		UserCursor after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor);
+
+		// Fetch one extra row to learn whether another page exists
+		List<UserDto.UserSummary> rows = userRepository.findSummaries(filter, after, pageSize + 1);
+		if (rows.size() <= pageSize) {
+			return new UserDto.UserPage(withOrganizationNames(rows), null);
+		}
+		List<UserDto.UserSummary> items = withOrganizationNames(rows.subList(0, pageSize));
+		return new UserDto.UserPage(List.copyOf(items), UserCursor.of(items.get(pageSize - 1)).encode());
+	}
+
+	@Override
+	public List<UserDto.UserSummary> searchUsers(String query, int limit) {
+		String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+		// Trigrams need at least three characters to narrow the index scan
+		if (normalized.length() < MIN_SEARCH_LENGTH) {
+			throw new IllegalArgumentException(
+					"Search query must be at least " + MIN_SEARCH_LENGTH + " characters");
+		}
+		int max = limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+		return withOrganizationNames(userSearchRepository.search(normalized, max));
+	}
+
 	@Override
 	public boolean isValidStatusTransition(AccountStatus currentStatus, AccountStatus newStatus) {
 		if (currentStatus == newStatus) {
@@ -207,6 +291,13 @@ public class UserServiceImpl implements UserService {
 		return allowedTransitions != null && allowedTransitions.contains(newStatus);
 	}
 
+	/**
+	 * Cached copies are dropped once the surrounding transaction commits.
+	 */
+	private void publishChange(User user) {
+		eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getUserId(), user.getAuthId()));
+	}
+
 	/**
 	 * Validate that the role is a valid enum value.
 	 * This provides backend enforcement of role values.
@@ -219,7 +310,46 @@ public class UserServiceImpl implements UserService {
 		}
 	}
 
+	/**
+	 * One directory lookup for the page instead of a name query per row.
+	 */
+	private List<UserDto.UserSummary> withOrganizationNames(List<UserDto.UserSummary> rows) {
+		Set<UUID> organizationIds = new HashSet<>();
+		for (UserDto.UserSummary row : rows) {
+			if (row.getOrganizationId() != null) {
+				organizationIds.add(row.getOrganizationId());
+			}
+		}
+		if (!organizationIds.isEmpty()) {
+			Map<UUID, String> names = organizationDirectory.resolveNames(organizationIds);
+			rows.forEach(row -> row.setOrganizationName(names.get(row.getOrganizationId())));
+		}
+		return rows;
+	}
+
+	private static <P> Map<UUID, P> loadByUserIds(List<UUID> ids, Function<List<UUID>, List<P>> loader,
+			Function<P, UUID> userIdOf) {
+		Map<UUID, P> byUserId = new HashMap<>();
+		// Stay well below PostgreSQL's bind-parameter limit
+		for (int from = 0; from < ids.size(); from += PROFILE_BATCH_SIZE) {
+			List<UUID> chunk = ids.subList(from, Math.min(from + PROFILE_BATCH_SIZE, ids.size()));
+			loader.apply(chunk).forEach(profile -> byUserId.put(userIdOf.apply(profile), profile));
+		}
+		return byUserId;
+	}
+
 	private UserDto.UserResponse mapToResponse(User user) {
+		DriverProfile driverProfile = user.getRole() == UserRole.DRIVER
+				? driverProfileRepository.findByUser(user).orElse(null)
+				: null;
+		FleetManagerProfile managerProfile = user.getRole() == UserRole.FLEET_MANAGER
+				? fleetManagerProfileRepository.findByUser(user).orElse(null)
+				: null;
+		return mapToResponse(user, driverProfile, managerProfile);
+	}
+
+	private UserDto.UserResponse mapToResponse(User user, DriverProfile driverProfile,
+			FleetManagerProfile managerProfile) {
 		UserDto.UserResponse.UserResponseBuilder responseBuilder = UserDto.UserResponse.builder()
 				.id(user.getId())
 				.userId(user.getUserId())
@@ -230,30 +360,28 @@ public class UserServiceImpl implements UserService {
 				.profilePictureUrl(user.getProfilePictureUrl())
 				.role(user.getRole())
 				.status(user.getStatus())
+				.organizationId(user.getOrganizationId())
+				.organizationName(organizationDirectory.nameOf(user.getOrganizationId()))
 				.createdAt(user.getCreatedAt())
 				.updatedAt(user.getUpdatedAt())
 				.createdBy(user.getCreatedBy())
 				.updatedBy(user.getUpdatedBy());
 
 		// Attach role-specific profile details if they exist
-		if (user.getRole() == UserRole.DRIVER) {
-			driverProfileRepository.findByUser(user).ifPresent(profile -> {
-				responseBuilder.driverProfile(UserDto.DriverProfileResponse.builder()
-						.id(profile.getId())
-						.licenseNumber(profile.getLicenseNumber())
-						.yearsOfExperience(profile.getYearsOfExperience())
-						.vehicleAssignedId(profile.getVehicleAssignedId())
-						.status(profile.getStatus().name())
-						.build());
-			});
-		} else if (user.getRole() == UserRole.FLEET_MANAGER) {
-			fleetManagerProfileRepository.findByUser(user).ifPresent(profile -> {
-				responseBuilder.fleetManagerProfile(UserDto.FleetManagerProfileResponse.builder()
-						.id(profile.getId())
-						.assignedRegion(profile.getAssignedRegion())
-						.hubId(profile.getHubId())
-						.build());
-			});
+		if (user.getRole() == UserRole.DRIVER && driverProfile != null) {
+			responseBuilder.driverProfile(UserDto.DriverProfileResponse.builder()
+					.id(driverProfile.getId())
+					.licenseNumber(driverProfile.getLicenseNumber())
+					.yearsOfExperience(driverProfile.getYearsOfExperience())
+					.vehicleAssignedId(driverProfile.getVehicleAssignedId())
+					.status(driverProfile.getStatus().name())
+					.build());
+		} else if (user.getRole() == UserRole.FLEET_MANAGER && managerProfile != null) {
+			responseBuilder.fleetManagerProfile(UserDto.FleetManagerProfileResponse.builder()
+					.id(managerProfile.getId())
+					.assignedRegion(managerProfile.getAssignedRegion())
+					.hubId(managerProfile.getHubId())
+					.build());
 		}
 
 		return responseBuilder.build();
@@ -0,0 +1,157 @@
+package com.volteryde.usermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.volteryde.shared.events.ChangeCapture;
+import com.volteryde.shared.events.ChangeEvent;
+import com.volteryde.shared.events.ChangeEventCodec;
+import com.volteryde.shared.events.ChangeOutbox;
+import com.volteryde.shared.events.ChangeType;
+import com.volteryde.shared.events.LocalChangeEventBroker;
+import com.volteryde.shared.events.OutboxRelay;
+import com.volteryde.usermanagement.event.RedisChangeEventBroker;
+import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.model.UserRole;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeStreamTest {
+
+	@Mock
+	private ChangeOutbox outbox;
+
+	private static User user(AccountStatus status) {
+		return User.builder()
+				.id(UUID.randomUUID())
+				.userId("USR-00000018")
+				.authId("auth-1")
+				.email("ama@volteryde.com")
+				.firstName("Ama")
+				.lastName("Mensah")
+				.role(UserRole.DRIVER)
+				.status(status)
+				.build();
+	}
+
+	@Test
+	void capture_ShouldRecordStatusChange_WhenStatusColumnIsDirty() {
+		ChangeCapture capture = new ChangeCapture(ChangeStreamConfig.SOURCE, outbox, ChangeStreamConfig.DESCRIBERS);
+		User user = user(AccountStatus.ACTIVE);
+		EntityPersister persister = mock(EntityPersister.class);
+		when(persister.getPropertyNames()).thenReturn(new String[] { "email", "status" });
+		PostUpdateEvent update = new PostUpdateEvent(user, user.getId(),
+				new Object[] { user.getEmail(), AccountStatus.ACTIVE }, new Object[] { user.getEmail(),
+						AccountStatus.PENDING },
+				new int[] { 1 }, persister, null);
+
+		capture.onPostUpdate(update);
+
+		ArgumentCaptor<ChangeEvent> appended = ArgumentCaptor.forClass(ChangeEvent.class);
+		verify(outbox).append(appended.capture());
+		ChangeEvent event = appended.getValue();
+		assertEquals(ChangeType.STATUS_CHANGED, event.type());
+		assertEquals("User", event.entity());
+		assertEquals(user.getId().toString(), event.entityId());
+		assertEquals("PENDING", event.attribute(ChangeEvent.PREVIOUS_STATUS));
+		assertEquals("ACTIVE", event.attribute("status"));
+		assertEquals("USR-00000018", event.attribute("userId"));
+	}
+
+	@Test
+	void codec_ShouldRoundTripCompactly() throws Exception {
+		ChangeEvent event = new ChangeEvent(42, ChangeStreamConfig.SOURCE, "User", UUID.randomUUID().toString(),
+				ChangeType.UPDATED, Instant.ofEpochMilli(1_760_000_000_000L),
+				Map.of("userId", "USR-00000018", "authId", "auth-1", "status", "ACTIVE"));
+
+		byte[] encoded = ChangeEventCodec.encode(event);
+		assertEquals(event, ChangeEventCodec.decode(42, encoded));
+
+		String json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(event);
+		assertTrue(encoded.length < json.length(), encoded.length + " bytes vs " + json.length() + " as JSON");
+		assertThrows(IllegalArgumentException.class,
+				() -> ChangeEventCodec.decode(1, Arrays.copyOf(encoded, encoded.length - 3)));
+	}
+
+	@Test
+	void relay_ShouldDeliverClaimedEventsToMatchingSubscribers_ThenDeleteThem() {
+		LocalChangeEventBroker broker = new LocalChangeEventBroker(true);
+		List<ChangeEvent> users = new ArrayList<>();
+		List<ChangeEvent> all = new ArrayList<>();
+		broker.subscribe("User", users::add);
+		broker.subscribeAll(event -> {
+			throw new IllegalStateException("subscriber failure must not stop delivery");
+		});
+		broker.subscribeAll(all::add);
+
+		// The encoding keeps millisecond precision
+		Instant now = Instant.ofEpochMilli(System.currentTimeMillis());
+		List<ChangeEvent> claimed = List.of(
+				new ChangeEvent(7, ChangeStreamConfig.SOURCE, "User", "u-1", ChangeType.CREATED, now, Map.of()),
+				new ChangeEvent(8, ChangeStreamConfig.SOURCE, "DriverProfile", "d-1", ChangeType.CREATED, now,
+						Map.of("userId", "USR-00000018")));
+		when(outbox.claim(100)).thenReturn(claimed);
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		when(transactionTemplate.execute(any())).thenAnswer(
+				invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+		OutboxRelay relay = new OutboxRelay(outbox, broker, transactionTemplate, 100, Duration.ofSeconds(1));
+
+		assertEquals(2, relay.relayOnce());
+		assertEquals(List.of(claimed.get(0)), users);
+		assertEquals(claimed, all);
+		verify(outbox).delete(claimed);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void redisBroker_ShouldDeliverPublishedEventsOnReceipt_WithTheirSequence() {
+		StringRedisTemplate redis = mock(StringRedisTemplate.class);
+		RedisConnection connection = mock(RedisConnection.class);
+		when(redis.execute(any(RedisCallback.class))).thenAnswer(
+				invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+		RedisChangeEventBroker broker = new RedisChangeEventBroker(redis);
+		List<ChangeEvent> drivers = new ArrayList<>();
+		broker.subscribe("DriverProfile", drivers::add);
+
+		ChangeEvent event = new ChangeEvent(42, ChangeStreamConfig.SOURCE, "DriverProfile", "d-1", ChangeType.UPDATED,
+				Instant.ofEpochMilli(System.currentTimeMillis()), Map.of("status", "ACTIVE"));
+		broker.publish(event);
+
+		// Nothing is delivered until the message comes back from Redis
+		assertTrue(drivers.isEmpty());
+		ArgumentCaptor<byte[]> message = ArgumentCaptor.forClass(byte[].class);
+		verify(connection).publish(eq(RedisChangeEventBroker.CHANNEL.getBytes(StandardCharsets.UTF_8)),
+				message.capture());
+
+		broker.onMessage(new DefaultMessage(RedisChangeEventBroker.CHANNEL.getBytes(StandardCharsets.UTF_8),
+				message.getValue()), null);
+		assertEquals(List.of(event), drivers);
+	}
+}
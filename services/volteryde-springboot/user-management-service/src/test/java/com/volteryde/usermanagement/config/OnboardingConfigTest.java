@@ -0,0 +1,36 @@
+package com.volteryde.usermanagement.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnboardingConfigTest {
+
+	@Test
+	void onboardingJobs_ShouldRunInTheSubmittersObservation() throws Exception {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(context -> true);
+		ThreadPoolTaskExecutor executor = new OnboardingConfig()
+				.onboardingExecutor(1, 1, new ContextPropagatingTaskDecorator());
+		try {
+			Observation upload = Observation.start("onboarding.upload", registry);
+			CompletableFuture<Observation> seen = new CompletableFuture<>();
+			try (Observation.Scope scope = upload.openScope()) {
+				executor.execute(() -> seen.complete(registry.getCurrentObservation()));
+			} finally {
+				upload.stop();
+			}
+
+			assertSame(upload, seen.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -2,7 +2,9 @@ package com.volteryde.usermanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.volteryde.usermanagement.dto.AdminDto;
+import com.volteryde.usermanagement.model.UserRole;
 import com.volteryde.usermanagement.service.AdminService;
+import com.volteryde.usermanagement.service.BulkOnboardingService;
 import com.volteryde.usermanagement.security.JwtUtil;
 import com.volteryde.usermanagement.config.SecurityConfig;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,14 +14,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +42,9 @@ public class AdminControllerTest {
 	@MockitoBean
 	private AdminService adminService;
 
+	@MockitoBean
+	private BulkOnboardingService bulkOnboardingService;
+
 	// Austin: Only mock JwtUtil (filter's dependency). Do NOT mock JwtAuthenticationFilter
 	// itself — mocking a OncePerRequestFilter makes doFilterInternal a no-op,
 	// preventing requests from reaching the DispatcherServlet.
@@ -95,4 +103,19 @@ public class AdminControllerTest {
 				.content(objectMapper.writeValueAsString(driverRequest)))
 				.andExpect(status().isForbidden());
 	}
+
+	@Test
+	@WithMockUser(username = "admin-1", authorities = "SYSTEM_SUPPORT")
+	void startOnboardingJob_ShouldReturnAccepted() throws Exception {
+		MockMultipartFile file = new MockMultipartFile("file", "drivers.csv", "text/csv",
+				"email,firstName,lastName,licenseNumber\nd@example.com,Ama,Mensah,LIC-1\n".getBytes());
+		when(bulkOnboardingService.startJob(any(), eq(UserRole.DRIVER), eq("admin-1")))
+				.thenReturn(AdminDto.OnboardingJobResponse.builder().jobId(UUID.randomUUID()).status("QUEUED").build());
+
+		mockMvc.perform(multipart("/api/admin/onboarding/jobs")
+				.file(file)
+				.param("role", "DRIVER")
+				.with(csrf()))
+				.andExpect(status().isAccepted());
+	}
 }
@@ -0,0 +1,105 @@
+package com.volteryde.usermanagement.repository;
+
+import com.volteryde.usermanagement.dto.UserDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ranking of {@link UserSearchRepository} on PostgreSQL, with the pg_trgm
+ * index and with the ILIKE fallback used when the extension is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class UserSearchRepositoryTest {
+
+	private static final String SCHEMA = "user_search_test";
+
+	@Container
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+	private static UserSearchRepository indexed;
+	private static UserSearchRepository fallback;
+
+	@BeforeAll
+	static void createUsers() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+				POSTGRES.getPassword());
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create schema " + SCHEMA);
+		jdbc.execute("create table " + SCHEMA + ".users (id uuid primary key, user_id varchar(20) not null unique,"
+				+ " email varchar(255) not null, first_name varchar(50) not null, last_name varchar(50) not null,"
+				+ " phone_number varchar(20), role varchar(20) not null, status varchar(20) not null,"
+				+ " organization_id uuid, created_at timestamp not null)");
+		jdbc.execute("create table " + SCHEMA + ".driver_profiles (id uuid primary key, user_id uuid not null,"
+				+ " status varchar(255), vehicle_assigned_id varchar(255))");
+		jdbc.execute("create table " + SCHEMA + ".fleet_manager_profiles (id uuid primary key, user_id uuid not null,"
+				+ " assigned_region varchar(255), hub_id varchar(255))");
+
+		// Newest first by created_at, so rank rather than recency decides the order below
+		insert(jdbc, "VR-D0001", "kwame.acheampong@example.com", "Kwame", "Acheampong", 5);
+		insert(jdbc, "VR-D00010", "ama.mensah@example.com", "Ama", "Mensah", 4);
+		insert(jdbc, "VR-D00011", "kofi.mensah@example.com", "Kofi", "Mensah", 3);
+		insert(jdbc, "VR-C0002", "esi.boateng@example.com", "Esi", "Boateng", 2);
+		insert(jdbc, "VR-C0003", "yaw.osei.mensah@example.com", "Yaw", "Osei", 1);
+
+		indexed = new UserSearchRepository(new NamedParameterJdbcTemplate(dataSource), SCHEMA);
+		indexed.ensureIndexes();
+		// Never indexed: what search does when pg_trgm cannot be installed
+		fallback = new UserSearchRepository(new NamedParameterJdbcTemplate(dataSource), SCHEMA);
+	}
+
+	@Test
+	void exactUserIdShouldRankAheadOfPrefixMatches() {
+		for (UserSearchRepository repository : List.of(indexed, fallback)) {
+			List<String> ids = userIds(repository.search("vr-d0001", 20));
+			assertEquals("VR-D0001", ids.get(0));
+			assertEquals(Set.of("VR-D00010", "VR-D00011"), Set.copyOf(ids.subList(1, 3)));
+		}
+	}
+
+	@Test
+	void namePrefixShouldRankAheadOfSubstringMatches() {
+		for (UserSearchRepository repository : List.of(indexed, fallback)) {
+			List<String> ids = userIds(repository.search("mensah", 20));
+			assertEquals(3, ids.size());
+			assertEquals("VR-C0003", ids.get(2), "email substring only, so ranked last");
+		}
+	}
+
+	@Test
+	void trigramIndexShouldFindMisspelledNames() {
+		assertEquals(List.of("VR-D0001"), userIds(indexed.search("acheampng", 20)));
+	}
+
+	@Test
+	void fallbackShouldOnlyMatchSubstrings() {
+		assertTrue(fallback.search("acheampng", 20).isEmpty());
+		assertEquals(List.of("VR-D0001"), userIds(fallback.search("acheam", 20)));
+	}
+
+	@Test
+	void searchShouldHonourTheLimit() {
+		assertEquals(1, indexed.search("mensah", 1).size());
+	}
+
+	private static List<String> userIds(List<UserDto.UserSummary> results) {
+		return results.stream().map(UserDto.UserSummary::getUserId).toList();
+	}
+
+	private static void insert(JdbcTemplate jdbc, String userId, String email, String firstName, String lastName,
+			int ageMinutes) {
+		jdbc.update("insert into " + SCHEMA + ".users values (gen_random_uuid(), ?, ?, ?, ?, null, 'CLIENT', 'ACTIVE',"
+				+ " null, now() - make_interval(mins => ?))", userId, email, firstName, lastName, ageMinutes);
+	}
+}
@@ -0,0 +1,72 @@
+package com.volteryde.usermanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class JwtAuthenticationFilterTest {
+
+	static final String SECRET = "test-secret-key-that-is-at-least-32-bytes";
+
+	private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtUtil(SECRET));
+
+	static String token(String secret, String subject, List<String> roles, long ttlMillis) {
+		return Jwts.builder()
+				.subject(subject)
+				.claim("roles", roles)
+				.expiration(new Date(System.currentTimeMillis() + ttlMillis))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+
+	private Authentication authenticate(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader("Authorization", "Bearer " + token);
+		FilterChain chain = mock(FilterChain.class);
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		verify(chain).doFilter(eq(request), any());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	@AfterEach
+	void clear() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void validToken_ShouldAuthenticateWithSharedAuthorityList() throws Exception {
+		Authentication first = authenticate(token(SECRET, "user-1", List.of("ADMIN", "SYSTEM_SUPPORT"), 60_000));
+		Authentication second = authenticate(token(SECRET, "user-2", List.of("ADMIN", "SYSTEM_SUPPORT"), 60_000));
+
+		assertEquals("user-1", first.getName());
+		assertEquals("user-2", second.getName());
+		assertEquals(List.of("ADMIN", "SYSTEM_SUPPORT"),
+				first.getAuthorities().stream().map(Object::toString).toList());
+		assertSame(filter.authorities(List.of("ADMIN", "SYSTEM_SUPPORT")),
+				filter.authorities(List.of("ADMIN", "SYSTEM_SUPPORT")));
+	}
+
+	@Test
+	void invalidOrExpiredToken_ShouldLeaveRequestAnonymous() throws Exception {
+		assertNull(authenticate(token("another-secret-key-that-is-32-bytes-long", "user-1", List.of("ADMIN"), 60_000)));
+		assertNull(authenticate(token(SECRET, "user-1", List.of("ADMIN"), -60_000)));
+		assertNull(authenticate("not-a-jwt"));
+	}
+}
@@ -0,0 +1,87 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.model.UserIdGenerator;
+import com.volteryde.usermanagement.model.UserRole;
+import com.volteryde.usermanagement.repository.AccessIdCounterRepository;
+import com.volteryde.usermanagement.service.impl.BlockAccessIdAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccessIdAllocatorTest {
+
+	@Mock
+	private AccessIdCounterRepository counterRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private BlockAccessIdAllocator allocator;
+
+	@BeforeEach
+	void setUp() {
+		allocator = new BlockAccessIdAllocator(counterRepository, transactionManager, 100);
+	}
+
+	@Test
+	void allocate_ShouldServeIdsFromReservedBlock() {
+		when(counterRepository.reserve("VR-DP", 100)).thenReturn(1L);
+
+		String first = allocator.allocate(UserRole.DISPATCHER);
+		String second = allocator.allocate(UserRole.DISPATCHER);
+
+		assertEquals(UserIdGenerator.format("VR-DP", 1), first);
+		assertEquals(UserIdGenerator.format("VR-DP", 2), second);
+		assertTrue(UserIdGenerator.hasValidChecksum(first));
+		verify(counterRepository, times(1)).reserve(anyString(), anyInt());
+	}
+
+	@Test
+	void allocate_ShouldReserveOnceForLargeBatches() {
+		when(counterRepository.reserve("USR-", 100)).thenReturn(1L);
+		when(counterRepository.reserve("USR-", 301)).thenReturn(101L);
+
+		allocator.allocate(UserRole.DRIVER);
+		// 99 ids left in the first block; the remaining 301 come from one reservation
+		List<String> ids = allocator.allocate(UserRole.FLEET_MANAGER, 400);
+
+		assertEquals(400, ids.size());
+		assertEquals(400, new HashSet<>(ids).size());
+		assertEquals(UserIdGenerator.format("USR-", 2), ids.get(0));
+		assertEquals(UserIdGenerator.format("USR-", 401), ids.get(399));
+		verify(counterRepository).reserve(eq("USR-"), eq(301));
+	}
+
+	@Test
+	void checksum_ShouldRejectTyposAndLegacyIds() {
+		String id = UserIdGenerator.format("VR-A", 1234567);
+		assertEquals("VR-A1234567" + id.charAt(id.length() - 1), id);
+		assertTrue(UserIdGenerator.hasValidChecksum(id));
+		assertTrue(UserIdGenerator.isValid(id));
+
+		String typo = id.substring(0, 5) + (char) ('0' + (id.charAt(5) - '0' + 1) % 10) + id.substring(6);
+		assertFalse(UserIdGenerator.hasValidChecksum(typo));
+		String swapped = "VR-A2134567" + id.charAt(id.length() - 1);
+		assertFalse(UserIdGenerator.hasValidChecksum(swapped));
+		assertFalse(UserIdGenerator.hasValidChecksum("USR-123456"));
+
+		// Lookups accept legacy ids on shape alone but turn away allocated-format typos
+		assertTrue(UserIdGenerator.isPlausible(id));
+		assertTrue(UserIdGenerator.isPlausible("USR-123456"));
+		assertFalse(UserIdGenerator.isPlausible(typo));
+		assertFalse(UserIdGenerator.isPlausible("not-an-id"));
+	}
+}
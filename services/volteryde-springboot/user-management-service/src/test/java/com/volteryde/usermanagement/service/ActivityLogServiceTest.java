@@ -0,0 +1,117 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.model.ActivityLog;
+import com.volteryde.usermanagement.repository.ActivityLogJdbcWriter;
+import com.volteryde.usermanagement.service.impl.ActivityLogServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+public class ActivityLogServiceTest {
+
+	@Mock
+	private ActivityLogJdbcWriter writer;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private ActivityLogServiceImpl service(int capacity, String overflow) {
+		return new ActivityLogServiceImpl(writer, transactionManager, meterRegistry, capacity, 200, Duration.ofMillis(50), overflow);
+	}
+
+	private double events(String result) {
+		return meterRegistry.get("user.audit.events").tag("result", result).counter().count();
+	}
+
+	@Test
+	void logActivity_ShouldCoalesceEntriesIntoOneBatch() throws Exception {
+		ActivityLogServiceImpl service = service(100, "caller-runs");
+		for (int i = 0; i < 5; i++) {
+			service.logActivity(null, "CREATE_USER", "USER", UUID.randomUUID(), "details", "127.0.0.1");
+		}
+		verifyNoInteractions(writer);
+		assertEquals(5.0, meterRegistry.get("user.audit.queue.depth").gauge().value());
+
+		service.start();
+		ArgumentCaptor<List<ActivityLog>> batch = ArgumentCaptor.forClass(List.class);
+		verify(writer, timeout(2000)).write(batch.capture());
+		service.stop();
+
+		assertEquals(5, batch.getValue().size());
+		assertTrue(batch.getValue().stream().allMatch(entry -> entry.getId() != null && entry.getActorId() != null));
+		assertEquals(5.0, events("written"));
+	}
+
+	@Test
+	void logActivity_ShouldApplyOverflowPolicy_WhenQueueIsFull() {
+		ActivityLogServiceImpl dropping = service(1, "drop");
+		dropping.logActivity(UUID.randomUUID(), "A", "USER", null, null, null);
+		dropping.logActivity(UUID.randomUUID(), "B", "USER", null, null, null);
+		assertEquals(1.0, events("dropped"));
+		verifyNoInteractions(writer);
+
+		ActivityLogServiceImpl callerRuns = service(1, "caller-runs");
+		callerRuns.logActivity(UUID.randomUUID(), "A", "USER", null, null, null);
+		callerRuns.logActivity(UUID.randomUUID(), "B", "USER", null, null, null);
+		verify(writer, times(1)).write(anyList());
+		assertEquals(1.0, events("written"));
+	}
+
+	@Test
+	void flush_ShouldIsolateFailingEntry() throws Exception {
+		ActivityLogServiceImpl service = service(10, "caller-runs");
+		doThrow(new IllegalStateException("batch failed"))
+				.doNothing()
+				.doThrow(new IllegalStateException("bad row"))
+				.when(writer).write(anyList());
+		service.logActivity(UUID.randomUUID(), "A", "USER", null, null, null);
+		service.logActivity(UUID.randomUUID(), "B", "USER", null, null, null);
+
+		service.stop();
+
+		verify(writer, times(3)).write(anyList());
+		assertEquals(1.0, events("written"));
+		assertEquals(1.0, events("failed"));
+	}
+
+	@Test
+	void callerRunsWrite_ShouldUseItsOwnTransaction() {
+		ActivityLogServiceImpl callerRuns = service(1, "caller-runs");
+		callerRuns.logActivity(UUID.randomUUID(), "A", "USER", null, null, null);
+		callerRuns.logActivity(UUID.randomUUID(), "B", "USER", null, null, null);
+
+		verify(transactionManager).getTransaction(argThat(definition ->
+				definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+		verify(writer, times(1)).write(anyList());
+	}
+
+	@Test
+	void logActivity_ShouldWriteInline_OnceStopped() throws Exception {
+		ActivityLogServiceImpl service = service(10, "caller-runs");
+		service.start();
+		service.stop();
+
+		service.logActivity(UUID.randomUUID(), "LATE", "USER", null, null, null);
+
+		verify(writer, times(1)).write(anyList());
+		assertEquals(1.0, events("written"));
+	}
+}
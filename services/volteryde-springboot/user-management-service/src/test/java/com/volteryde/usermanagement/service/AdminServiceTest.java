@@ -36,6 +36,9 @@ public class AdminServiceTest {
 	@Mock
 	private ActivityLogService activityLogService;
 
+	@Mock
+	private AccessIdAllocator accessIdAllocator;
+
 	@InjectMocks
 	private AdminServiceImpl adminService;
 
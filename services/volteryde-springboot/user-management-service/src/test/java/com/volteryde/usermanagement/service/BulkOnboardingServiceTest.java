@@ -0,0 +1,204 @@
+package com.volteryde.usermanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.usermanagement.client.AuthServiceClient;
+import com.volteryde.usermanagement.dto.AdminDto;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.FleetManagerProfile;
+import com.volteryde.usermanagement.model.OnboardingJob;
+import com.volteryde.usermanagement.model.OnboardingJobError;
+import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.model.UserRole;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import com.volteryde.usermanagement.repository.OnboardingJobErrorRepository;
+import com.volteryde.usermanagement.repository.OnboardingJobRepository;
+import com.volteryde.usermanagement.repository.UserBulkWriter;
+import com.volteryde.usermanagement.repository.UserRepository;
+import com.volteryde.usermanagement.service.impl.BulkOnboardingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "unchecked" })
+public class BulkOnboardingServiceTest {
+
+	@Mock
+	private OnboardingJobRepository jobRepository;
+
+	@Mock
+	private OnboardingJobErrorRepository jobErrorRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private DriverProfileRepository driverProfileRepository;
+
+	@Mock
+	private UserBulkWriter bulkWriter;
+
+	@Mock
+	private AuthServiceClient authServiceClient;
+
+	@Mock
+	private ActivityLogService activityLogService;
+
+	@Mock
+	private AccessIdAllocator accessIdAllocator;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private BulkOnboardingServiceImpl service;
+
+	private OnboardingJob job;
+
+	@BeforeEach
+	void setUp() {
+		service = new BulkOnboardingServiceImpl(jobRepository, jobErrorRepository, userRepository,
+				driverProfileRepository, bulkWriter, authServiceClient, activityLogService, accessIdAllocator,
+				new ObjectMapper(),
+				transactionManager, new SyncTaskExecutor(), "service-key");
+		job = OnboardingJob.builder().id(UUID.randomUUID()).fileName("partner.csv").build();
+		lenient().when(jobRepository.save(any(OnboardingJob.class))).thenAnswer(invocation -> {
+			OnboardingJob saved = invocation.getArgument(0);
+			if (saved.getId() == null) {
+				saved.setId(job.getId());
+			}
+			return saved;
+		});
+		lenient().when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+		lenient().when(accessIdAllocator.allocate(any(UserRole.class), anyInt())).thenAnswer(invocation -> {
+			int count = invocation.getArgument(1);
+			return IntStream.range(0, count).mapToObj(i -> "USR-" + UUID.randomUUID()).toList();
+		});
+	}
+
+	@Test
+	void startJob_ShouldValidateInBatchesAndInsertSurvivors() {
+		String csv = """
+				email,firstName,lastName,role,licenseNumber,assignedRegion
+				ok@example.com,Ama,Mensah,,LIC-1,
+				dup@example.com,Kofi,Boateng,,LIC-2,
+				DUP@example.com,Kofi,Boateng,,LIC-3,
+				Taken@Example.COM,Esi,Owusu,,LIC-4,
+				manager@example.com,Yaw,Asante,FLEET_MANAGER,,Accra-Central
+				nolicense@example.com,Abena,Osei,,,
+				rejected@example.com,Kwame,Addo,,LIC-5,
+				""";
+		when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+		when(driverProfileRepository.findExistingLicenseNumbers(anyCollection())).thenReturn(List.of());
+		when(authServiceClient.registerBatch(any(), eq("service-key"))).thenAnswer(invocation -> {
+			AdminDto.AuthBulkRegisterRequest request = invocation.getArgument(0);
+			return new AdminDto.AuthBulkRegisterResponse(request.getUsers().stream()
+					.map(item -> item.getEmail().startsWith("rejected")
+							? new AdminDto.AuthBulkRegisterResult(item.getEmail(), null, "Email is already registered")
+							: new AdminDto.AuthBulkRegisterResult(item.getEmail(), UUID.randomUUID().toString(), null))
+					.toList());
+		});
+
+		AdminDto.OnboardingJobResponse response = service.startJob(
+				new MockMultipartFile("file", "partner.csv", "text/csv", csv.getBytes()),
+				UserRole.DRIVER, UUID.randomUUID().toString());
+
+		assertEquals(job.getId(), response.getJobId());
+		assertEquals(OnboardingJob.Status.COMPLETED, job.getStatus());
+		assertEquals(7, job.getProcessedRows());
+		assertEquals(3, job.getSucceededRows());
+		assertEquals(4, job.getFailedRows());
+
+		// One uniqueness query and one auth call for the whole chunk, with lower-cased emails
+		ArgumentCaptor<Collection<String>> checked = ArgumentCaptor.forClass(Collection.class);
+		verify(userRepository, times(1)).findExistingEmails(checked.capture());
+		assertTrue(checked.getValue().contains("taken@example.com"));
+		verify(authServiceClient, times(1)).registerBatch(any(), any());
+
+		ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<List<DriverProfile>> drivers = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<List<FleetManagerProfile>> managers = ArgumentCaptor.forClass(List.class);
+		verify(bulkWriter).insertUsers(users.capture());
+		verify(bulkWriter).insertDriverProfiles(drivers.capture());
+		verify(bulkWriter).insertFleetManagerProfiles(managers.capture());
+		assertEquals(List.of("ok@example.com", "dup@example.com", "manager@example.com"),
+				users.getValue().stream().map(User::getEmail).toList());
+		assertTrue(users.getValue().stream().allMatch(user -> user.getAuthId() != null && user.getUserId() != null));
+		assertEquals(2, drivers.getValue().size());
+		assertEquals("Accra-Central", managers.getValue().get(0).getAssignedRegion());
+
+		ArgumentCaptor<List<OnboardingJobError>> errors = ArgumentCaptor.forClass(List.class);
+		verify(jobErrorRepository).saveAll(errors.capture());
+		assertEquals(List.of(3L, 4L, 6L, 7L),
+				errors.getValue().stream().map(OnboardingJobError::getRowNumber).sorted().toList());
+		verify(activityLogService).logActivity(any(), eq("BULK_ONBOARD"), eq("ONBOARDING_JOB"), eq(job.getId()),
+				anyString(), isNull());
+		verify(authServiceClient).inviteBatch(argThat(request -> request.getAuthIds().size() == 3), eq("service-key"));
+	}
+
+	@Test
+	void startJob_ShouldFailJob_WhenAuthServiceIsUnavailable() {
+		String ndjson = """
+				{"email":"a@example.com","firstName":"Ama","lastName":"Mensah","licenseNumber":"LIC-1"}
+				""";
+		when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+		when(driverProfileRepository.findExistingLicenseNumbers(anyCollection())).thenReturn(List.of());
+		when(authServiceClient.registerBatch(any(), any())).thenThrow(new IllegalStateException("Connection refused"));
+
+		service.startJob(new MockMultipartFile("file", "drivers.ndjson", "application/x-ndjson", ndjson.getBytes()),
+				UserRole.DRIVER, "admin");
+
+		assertEquals(OnboardingJob.Status.FAILED, job.getStatus());
+		assertEquals("Connection refused", job.getFailureReason());
+		verifyNoInteractions(bulkWriter);
+	}
+
+	@Test
+	void startJob_ShouldDiscardAuthAccounts_WhenProfileInsertFails() {
+		String ndjson = """
+				{"email":"a@example.com","firstName":"Ama","lastName":"Mensah","licenseNumber":"LIC-1"}
+				""";
+		when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+		when(driverProfileRepository.findExistingLicenseNumbers(anyCollection())).thenReturn(List.of());
+		when(authServiceClient.registerBatch(any(), any())).thenReturn(new AdminDto.AuthBulkRegisterResponse(
+				List.of(new AdminDto.AuthBulkRegisterResult("a@example.com", "auth-1", null))));
+		doThrow(new IllegalStateException("duplicate key")).when(bulkWriter).insertUsers(any());
+
+		service.startJob(new MockMultipartFile("file", "drivers.ndjson", "application/x-ndjson", ndjson.getBytes()),
+				UserRole.DRIVER, "admin");
+
+		assertEquals(OnboardingJob.Status.COMPLETED, job.getStatus());
+		assertEquals(1, job.getFailedRows());
+		verify(authServiceClient).discardBatch(eq(new AdminDto.AuthBulkAccountsRequest(List.of("auth-1"))),
+				eq("service-key"));
+		verify(authServiceClient, never()).inviteBatch(any(), any());
+	}
+
+	@Test
+	void startJob_ShouldRefuse_WhenServiceKeyIsNotConfigured() {
+		BulkOnboardingServiceImpl unconfigured = new BulkOnboardingServiceImpl(jobRepository, jobErrorRepository,
+				userRepository, driverProfileRepository, bulkWriter, authServiceClient, activityLogService,
+				accessIdAllocator, new ObjectMapper(), transactionManager, new SyncTaskExecutor(), "");
+
+		assertThrows(IllegalStateException.class, () -> unconfigured.startJob(
+				new MockMultipartFile("file", "drivers.csv", "text/csv", "email\na@example.com\n".getBytes()),
+				UserRole.DRIVER, "admin"));
+		verify(jobRepository, never()).save(any());
+		verifyNoInteractions(authServiceClient);
+	}
+}
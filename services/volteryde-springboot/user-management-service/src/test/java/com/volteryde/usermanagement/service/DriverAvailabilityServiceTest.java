@@ -0,0 +1,158 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.shared.events.ChangeEvent;
+import com.volteryde.shared.events.ChangeType;
+import com.volteryde.shared.events.LocalChangeEventBroker;
+import com.volteryde.usermanagement.dto.DriverDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+import com.volteryde.usermanagement.model.DriverProfile;
+import com.volteryde.usermanagement.model.DriverProfile.DriverStatus;
+import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DriverAvailabilityServiceTest {
+
+	@Mock
+	private DriverProfileRepository driverProfileRepository;
+
+	@Mock
+	private ActivityLogService activityLogService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private final LocalChangeEventBroker broker = new LocalChangeEventBroker(true);
+
+	private DriverAvailabilityIndex index(boolean enabled) {
+		return new DriverAvailabilityIndex(driverProfileRepository, broker, new SimpleMeterRegistry(), enabled,
+				Duration.ofMinutes(5));
+	}
+
+	private static DriverDto.DispatchView view(UUID organizationId, String vehicle, DriverStatus status) {
+		return new DriverDto.DispatchView(UUID.randomUUID(), "DRV-00000018", "Kofi", "Boateng", null, organizationId,
+				vehicle, status);
+	}
+
+	@Test
+	void index_ShouldServeLookupsFromMemory_AndFollowChangeEvents() {
+		UUID organization = UUID.randomUUID();
+		DriverDto.DispatchView first = view(organization, "BUS-1", DriverStatus.ACTIVE);
+		DriverDto.DispatchView second = view(UUID.randomUUID(), null, DriverStatus.ACTIVE);
+		DriverDto.DispatchView onTrip = view(organization, "BUS-2", DriverStatus.ON_TRIP);
+		when(driverProfileRepository.findDispatchViewsByStatusIn(DriverAvailabilityIndex.INDEXED))
+				.thenReturn(List.of(first, second, onTrip));
+		DriverAvailabilityService service = new DriverAvailabilityService(driverProfileRepository, index(true),
+				activityLogService, eventPublisher);
+
+		assertEquals(List.of(first), service.listByStatus(DriverStatus.ACTIVE, organization, 0));
+		assertEquals(2, service.listByStatus(DriverStatus.ACTIVE, null, 0).size());
+		assertEquals(Optional.of(onTrip), service.currentDriver("BUS-2"));
+
+		// Suspension elsewhere: removed from memory without a database read
+		broker.publish(new ChangeEvent(1, "user-management-service", "DriverProfile", first.getDriverId().toString(),
+				ChangeType.STATUS_CHANGED, Instant.now(), Map.of("status", "SUSPENDED")));
+		assertEquals(Optional.empty(), service.currentDriver("BUS-1"));
+		assertEquals(List.of(second), service.listByStatus(DriverStatus.ACTIVE, null, 0));
+
+		// Trip ended elsewhere: the row is re-read and moves between sets
+		DriverDto.DispatchView backToActive = new DriverDto.DispatchView(onTrip.getDriverId(), onTrip.getUserId(),
+				"Kofi", "Boateng", null, organization, "BUS-2", DriverStatus.ACTIVE);
+		when(driverProfileRepository.findDispatchView(onTrip.getDriverId())).thenReturn(Optional.of(backToActive));
+		broker.publish(new ChangeEvent(2, "user-management-service", "DriverProfile", onTrip.getDriverId().toString(),
+				ChangeType.STATUS_CHANGED, Instant.now(), Map.of("status", "ACTIVE")));
+		assertEquals(List.of(backToActive), service.listByStatus(DriverStatus.ACTIVE, organization, 0));
+		assertTrue(service.listByStatus(DriverStatus.ON_TRIP, null, 0).isEmpty());
+
+		verify(driverProfileRepository, times(1)).findDispatchViewsByStatusIn(any());
+		verify(driverProfileRepository, never()).findDispatchViewsByStatus(any(), any());
+	}
+
+	@Test
+	void updateStatus_ShouldEnforceTransitions() {
+		DriverAvailabilityService service = new DriverAvailabilityService(driverProfileRepository, index(false),
+				activityLogService, eventPublisher);
+		UUID driverId = UUID.randomUUID();
+		DriverProfile driver = DriverProfile.builder()
+				.id(driverId)
+				.user(User.builder().userId("DRV-00000018").firstName("Kofi").lastName("Boateng").build())
+				.licenseNumber("GH-123")
+				.status(DriverStatus.ACTIVE)
+				.build();
+		when(driverProfileRepository.findByIdForUpdate(driverId)).thenReturn(Optional.of(driver));
+
+		assertThrows(IllegalStateException.class, () -> service.updateStatus(driverId, DriverStatus.ON_TRIP));
+
+		driver.setVehicleAssignedId("BUS-7");
+		when(driverProfileRepository.saveAndFlush(driver)).thenReturn(driver);
+		DriverDto.DispatchView view = service.updateStatus(driverId, DriverStatus.ON_TRIP);
+		assertEquals(DriverStatus.ON_TRIP, view.getStatus());
+		assertEquals("BUS-7", view.getVehicleAssignedId());
+
+		assertThrows(IllegalStateException.class, () -> service.updateStatus(driverId, DriverStatus.INACTIVE));
+		verify(activityLogService, times(1)).logActivity(any(), eq("UPDATE_DRIVER_STATUS"), any(), eq(driverId),
+				any(), any());
+		verify(eventPublisher).publishEvent(new UserProfileChangedEvent(null, "DRV-00000018", null));
+	}
+
+	@Test
+	void index_ShouldListPerOrganizationInDriverIdOrder_UpToTheLimit() {
+		UUID organization = UUID.randomUUID();
+		List<DriverDto.DispatchView> drivers = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			drivers.add(view(organization, null, DriverStatus.ACTIVE));
+		}
+		drivers.add(view(UUID.randomUUID(), null, DriverStatus.ACTIVE));
+		when(driverProfileRepository.findDispatchViewsByStatusIn(DriverAvailabilityIndex.INDEXED)).thenReturn(drivers);
+		DriverAvailabilityIndex index = index(true);
+
+		List<DriverDto.DispatchView> expected = drivers.subList(0, 5).stream()
+				.sorted(Comparator.comparing(DriverDto.DispatchView::getDriverId))
+				.limit(3)
+				.toList();
+		assertEquals(expected, index.withStatus(DriverStatus.ACTIVE, organization, 3));
+		assertEquals(6, index.withStatus(DriverStatus.ACTIVE, null, 100).size());
+		assertTrue(index.withStatus(DriverStatus.ACTIVE, UUID.randomUUID(), 100).isEmpty());
+	}
+
+	@Test
+	void assignVehicle_ShouldReportALostRaceForTheVehicleAsTaken() {
+		DriverAvailabilityService service = new DriverAvailabilityService(driverProfileRepository, index(false),
+				activityLogService, eventPublisher);
+		UUID driverId = UUID.randomUUID();
+		DriverProfile driver = DriverProfile.builder()
+				.id(driverId)
+				.user(User.builder().userId("DRV-00000018").build())
+				.licenseNumber("GH-123")
+				.status(DriverStatus.ACTIVE)
+				.build();
+		when(driverProfileRepository.findByIdForUpdate(driverId)).thenReturn(Optional.of(driver));
+		// The read check passes; a concurrent assignment commits first and the index rejects ours
+		when(driverProfileRepository.findDispatchViewsByVehicle("BUS-9")).thenReturn(List.of());
+		when(driverProfileRepository.saveAndFlush(driver))
+				.thenThrow(new DataIntegrityViolationException("uq_driver_profiles_active_vehicle"));
+
+		assertThrows(IllegalStateException.class, () -> service.assignVehicle(driverId, "BUS-9"));
+		verify(eventPublisher, never()).publishEvent(any());
+	}
+}
@@ -0,0 +1,50 @@
+package com.volteryde.usermanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volteryde.usermanagement.service.impl.OnboardingRowReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnboardingRowReaderTest {
+
+	@Test
+	void csv_ShouldHandleQuotedFieldsAndReportBadRows() {
+		String csv = "email,firstName,lastName,hubId,yearsOfExperience\n"
+				+ "a@example.com,\"Mensah, Jr\",\"Say \"\"Hi\"\"\",\"HUB\n1\",3\n"
+				+ "\n"
+				+ "b@example.com,Kofi,Boateng,,many\n";
+		OnboardingRowReader reader = new OnboardingRowReader(new BufferedReader(new StringReader(csv)),
+				OnboardingRowReader.Format.CSV, new ObjectMapper());
+
+		OnboardingRowReader.ParsedRow first = reader.next();
+		assertEquals(1, first.rowNumber());
+		assertEquals("Mensah, Jr", first.row().getFirstName());
+		assertEquals("Say \"Hi\"", first.row().getLastName());
+		assertEquals("HUB\n1", first.row().getHubId());
+		assertEquals(3, first.row().getYearsOfExperience());
+
+		OnboardingRowReader.ParsedRow second = reader.next();
+		assertEquals(2, second.rowNumber());
+		assertNull(second.row());
+		assertTrue(second.error().contains("yearsOfExperience"));
+		assertNull(reader.next());
+	}
+
+	@Test
+	void ndjson_ShouldReportMalformedLinesWithoutStopping() {
+		String ndjson = "{\"email\":\"a@example.com\",\"extra\":1}\n{not json\n\n{\"email\":\"b@example.com\"}\n";
+		OnboardingRowReader reader = new OnboardingRowReader(new BufferedReader(new StringReader(ndjson)),
+				OnboardingRowReader.Format.NDJSON, new ObjectMapper());
+
+		assertEquals("a@example.com", reader.next().row().getEmail());
+		OnboardingRowReader.ParsedRow malformed = reader.next();
+		assertEquals(2, malformed.rowNumber());
+		assertNotNull(malformed.error());
+		assertEquals("b@example.com", reader.next().row().getEmail());
+		assertNull(reader.next());
+	}
+}
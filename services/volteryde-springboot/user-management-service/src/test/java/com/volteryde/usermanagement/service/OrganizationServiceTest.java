@@ -0,0 +1,116 @@
+package com.volteryde.usermanagement.service;
+
+import com.volteryde.usermanagement.dto.OrganizationDto;
+import com.volteryde.usermanagement.model.Organization;
+import com.volteryde.usermanagement.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+public class OrganizationServiceTest {
+
+	@Mock
+	private OrganizationRepository organizationRepository;
+
+	private OrganizationDirectory directory;
+	private OrganizationService organizationService;
+
+	private final UUID partner = UUID.randomUUID();
+	private final UUID accra = UUID.randomUUID();
+	private final UUID kumasi = UUID.randomUUID();
+
+	@BeforeEach
+	void setUp() {
+		directory = new OrganizationDirectory(organizationRepository, Duration.ofMinutes(5));
+		organizationService = new OrganizationService(organizationRepository, directory);
+		lenient().when(organizationRepository.findAllSummaries()).thenReturn(List.of(
+				new OrganizationDto.Summary(kumasi, "Kumasi Depot", partner),
+				new OrganizationDto.Summary(partner, "Partner Transit", null),
+				new OrganizationDto.Summary(accra, "Accra Depot", partner)));
+	}
+
+	@Test
+	void directory_ShouldBuildTreeAndResolveNamesFromOneLoad() {
+		List<OrganizationDto.Node> tree = organizationService.getTree();
+		assertEquals(1, tree.size());
+		assertEquals(List.of("Accra Depot", "Kumasi Depot"),
+				tree.get(0).getChildren().stream().map(OrganizationDto.Node::getName).toList());
+
+		Map<UUID, String> names = organizationService.resolveNames(Set.of(accra, kumasi, UUID.randomUUID()));
+		assertEquals(Map.of(accra, "Accra Depot", kumasi, "Kumasi Depot"), names);
+		assertEquals("Partner Transit", directory.nameOf(partner));
+
+		verify(organizationRepository, times(1)).findAllSummaries();
+	}
+
+	@Test
+	void update_ShouldRejectCyclesAndInvalidateDirectory() {
+		Organization existing = new Organization();
+		existing.setId(partner);
+		existing.setName("Partner Transit");
+		when(organizationRepository.findById(partner)).thenReturn(Optional.of(existing));
+		// Ancestry comes from the database, not from the (possibly stale) directory
+		when(organizationRepository.findAncestry(accra)).thenReturn(List.of(accra, partner));
+
+		Organization moveUnderChild = new Organization();
+		moveUnderChild.setParentId(accra);
+		assertThrows(IllegalArgumentException.class, () -> organizationService.update(partner, moveUnderChild));
+		verify(organizationRepository, never()).save(any());
+
+		when(organizationRepository.save(any(Organization.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		Organization rename = new Organization();
+		rename.setName("Partner Transit Ltd");
+		organizationService.update(partner, rename);
+		organizationService.getTree();
+
+		organizationService.getTree();
+
+		verify(organizationRepository, times(1)).findAllSummaries();
+	}
+
+	@Test
+	void create_ShouldRejectUnknownParent() {
+		UUID missing = UUID.randomUUID();
+		when(organizationRepository.findAncestry(missing)).thenReturn(List.of());
+
+		Organization orphan = new Organization();
+		orphan.setName("Tamale Depot");
+		orphan.setParentId(missing);
+		assertThrows(IllegalArgumentException.class, () -> organizationService.create(orphan));
+		verify(organizationRepository, never()).save(any());
+	}
+
+	@Test
+	void directory_ShouldDiscardSnapshotLoadedAcrossAnInvalidation() {
+		UUID tamale = UUID.randomUUID();
+		when(organizationRepository.findAllSummaries())
+				.thenAnswer(invocation -> {
+					// A save on another thread commits and invalidates while this load runs
+					directory.invalidate();
+					return List.of(new OrganizationDto.Summary(partner, "Partner Transit", null));
+				})
+				.thenReturn(List.of(new OrganizationDto.Summary(partner, "Partner Transit", null),
+						new OrganizationDto.Summary(tamale, "Tamale Depot", partner)));
+
+		assertNull(directory.nameOf(tamale));
+		assertEquals("Tamale Depot", directory.nameOf(tamale));
+		assertEquals("Tamale Depot", directory.nameOf(tamale));
+
+		verify(organizationRepository, times(2)).findAllSummaries();
+	}
+}
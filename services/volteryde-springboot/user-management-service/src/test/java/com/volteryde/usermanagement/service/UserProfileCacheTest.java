@@ -0,0 +1,155 @@
+package com.volteryde.usermanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
+import com.volteryde.usermanagement.service.impl.TwoTierUserProfileCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "unchecked" })
+public class UserProfileCacheTest {
+
+	@Mock
+	private StringRedisTemplate redis;
+
+	@Mock
+	private ValueOperations<String, String> valueOps;
+
+	private SimpleMeterRegistry meterRegistry;
+	private TwoTierUserProfileCache cache;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(redis.opsForValue()).thenReturn(valueOps);
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new TwoTierUserProfileCache(redis, new ObjectMapper().registerModule(new JavaTimeModule()),
+				meterRegistry, true, 100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+	}
+
+	@Test
+	void get_ShouldServeRepeatLookupsFromLocalTier() {
+		AtomicInteger loads = new AtomicInteger();
+		UserDto.UserResponse user = user();
+
+		cache.get("auth:a1", () -> {
+			loads.incrementAndGet();
+			return user;
+		});
+		UserDto.UserResponse second = cache.get("auth:a1", () -> {
+			loads.incrementAndGet();
+			return user;
+		});
+
+		assertEquals(user.getId(), second.getId());
+		assertEquals(1, loads.get());
+		verify(valueOps, times(1)).get("user:profile:auth:a1");
+		verify(valueOps).set(eq("user:profile:auth:a1"), anyString(), eq(Duration.ofMinutes(10)));
+		assertEquals(1.0, meterRegistry.counter("user.profile.cache.requests", "tier", "local", "result", "hit").count());
+	}
+
+	@Test
+	void get_ShouldCoalesceConcurrentMisses() throws Exception {
+		int callers = 8;
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		UserDto.UserResponse user = user();
+
+		ExecutorService pool = Executors.newFixedThreadPool(callers);
+		try {
+			Future<UserDto.UserResponse> first = pool.submit(() -> cache.get("uid:VR-D1", () -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				awaitQuietly(release);
+				return user;
+			}));
+			assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+			List<Future<UserDto.UserResponse>> waiters = new java.util.ArrayList<>();
+			for (int i = 1; i < callers; i++) {
+				waiters.add(pool.submit(() -> cache.get("uid:VR-D1", () -> {
+					loads.incrementAndGet();
+					return user;
+				})));
+			}
+			// Give the waiters time to join the in-flight load before it completes
+			Thread.sleep(100);
+			release.countDown();
+
+			assertEquals(user.getId(), first.get(5, TimeUnit.SECONDS).getId());
+			for (Future<UserDto.UserResponse> waiter : waiters) {
+				assertEquals(user.getId(), waiter.get(5, TimeUnit.SECONDS).getId());
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void evict_ShouldDropBothKeysEverywhereAndForceReload() {
+		UserDto.UserResponse user = user();
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("auth:a1", () -> {
+			loads.incrementAndGet();
+			return user;
+		});
+
+		cache.evict(new UserProfileChangedEvent(user.getId(), "VR-D1", "a1"));
+		cache.get("auth:a1", () -> {
+			loads.incrementAndGet();
+			return user;
+		});
+
+		assertEquals(2, loads.get());
+		verify(redis).delete(List.of("user:profile:auth:a1", "user:profile:uid:VR-D1"));
+		verify(redis).convertAndSend(TwoTierUserProfileCache.INVALIDATION_CHANNEL, "auth:a1\nuid:VR-D1");
+	}
+
+	@Test
+	void get_ShouldFallBackToLoaderWhenRedisIsDown() {
+		when(valueOps.get(anyString())).thenThrow(new IllegalStateException("connection refused"));
+		UserDto.UserResponse user = user();
+
+		assertEquals(user.getId(), cache.get("auth:a2", () -> user).getId());
+	}
+
+	private static UserDto.UserResponse user() {
+		return UserDto.UserResponse.builder()
+				.id(UUID.randomUUID())
+				.userId("VR-D1")
+				.email("driver@example.com")
+				.build();
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -1,10 +1,17 @@
 package com.volteryde.usermanagement.service;
 
 import com.volteryde.usermanagement.dto.UserDto;
+import com.volteryde.usermanagement.dto.UserCursor;
+import com.volteryde.usermanagement.event.UserProfileChangedEvent;
 import com.volteryde.usermanagement.model.AccountStatus;
+import com.volteryde.usermanagement.model.DriverProfile;
 import com.volteryde.usermanagement.model.User;
+import com.volteryde.usermanagement.model.UserIdGenerator;
 import com.volteryde.usermanagement.model.UserRole;
+import com.volteryde.usermanagement.repository.DriverProfileRepository;
+import com.volteryde.usermanagement.repository.FleetManagerProfileRepository;
 import com.volteryde.usermanagement.repository.UserRepository;
+import com.volteryde.usermanagement.repository.UserSearchRepository;
 import com.volteryde.usermanagement.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +40,27 @@ public class UserServiceTest {
 	@Mock
 	private ActivityLogService activityLogService;
 
+	@Mock
+	private UserSearchRepository userSearchRepository;
+
+	@Mock
+	private DriverProfileRepository driverProfileRepository;
+
+	@Mock
+	private FleetManagerProfileRepository fleetManagerProfileRepository;
+
+	@Mock
+	private UserProfileCache profileCache;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private AccessIdAllocator accessIdAllocator;
+
+	@Mock
+	private OrganizationDirectory organizationDirectory;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -91,4 +122,94 @@ public class UserServiceTest {
 
 		assertThrows(IllegalArgumentException.class, () -> userService.getUserProfile(UUID.randomUUID()));
 	}
+
+	@Test
+	void getUserByUserId_ShouldRejectMistypedAccessIdWithoutLookup() {
+		String id = UserIdGenerator.format("VR-A", 1234567);
+		char wrongCheckDigit = (char) ('0' + (id.charAt(id.length() - 1) - '0' + 1) % 10);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> userService.getUserByUserId(id.substring(0, id.length() - 1) + wrongCheckDigit));
+		verifyNoInteractions(profileCache, userRepository);
+	}
+
+	@Test
+	void updateUserStatus_ShouldPublishChangeForCacheInvalidation() {
+		user.setUserId("VR-C1");
+		user.setAuthId("auth-1");
+		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+		when(userRepository.save(any(User.class))).thenReturn(user);
+
+		userService.updateUserStatus(user.getId(), new UserDto.UpdateStatusRequest(AccountStatus.INACTIVE, null, null));
+
+		verify(eventPublisher).publishEvent(new UserProfileChangedEvent(user.getId(), "VR-C1", "auth-1"));
+	}
+
+	@Test
+	void getAllUsers_ShouldBatchProfileLookups() {
+		User driver = User.builder().id(UUID.randomUUID()).email("d@example.com").role(UserRole.DRIVER).build();
+		User other = User.builder().id(UUID.randomUUID()).email("o@example.com").role(UserRole.DRIVER).build();
+		DriverProfile profile = DriverProfile.builder().id(UUID.randomUUID()).user(driver).licenseNumber("L-1").build();
+		when(userRepository.findByRole(UserRole.DRIVER)).thenReturn(List.of(driver, other));
+		when(driverProfileRepository.findByUserIds(List.of(driver.getId(), other.getId()))).thenReturn(List.of(profile));
+
+		List<UserDto.UserResponse> responses = userService.getAllUsers(UserRole.DRIVER);
+
+		assertEquals(2, responses.size());
+		assertEquals("L-1", responses.get(0).getDriverProfile().getLicenseNumber());
+		assertNull(responses.get(1).getDriverProfile());
+		verify(driverProfileRepository, never()).findByUser(any());
+		verifyNoInteractions(fleetManagerProfileRepository);
+	}
+
+	@Test
+	void listUsers_ShouldReturnCursorOnlyWhenMoreRowsExist() {
+		LocalDateTime now = LocalDateTime.now();
+		List<UserDto.UserSummary> rows = List.of(summary(now), summary(now.minusSeconds(1)), summary(now.minusSeconds(2)));
+		when(userRepository.findSummaries(any(), isNull(), eq(3))).thenReturn(rows);
+
+		UserDto.UserPage page = userService.listUsers(new UserDto.UserListFilter(), null, 2);
+
+		assertEquals(2, page.getItems().size());
+		UserCursor cursor = UserCursor.decode(page.getNextCursor());
+		assertEquals(rows.get(1).getId(), cursor.id());
+		assertEquals(rows.get(1).getCreatedAt(), cursor.createdAt());
+
+		when(userRepository.findSummaries(any(), eq(cursor), eq(3))).thenReturn(rows.subList(2, 3));
+
+		UserDto.UserPage last = userService.listUsers(new UserDto.UserListFilter(), page.getNextCursor(), 2);
+
+		assertEquals(1, last.getItems().size());
+		assertNull(last.getNextCursor());
+	}
+
+	@Test
+	void listUsers_ShouldRejectMalformedCursor() {
+		assertThrows(IllegalArgumentException.class,
+				() -> userService.listUsers(new UserDto.UserListFilter(), "not-a-cursor", 10));
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void searchUsers_ShouldNormalizeQueryAndClampLimit() {
+		when(userSearchRepository.search("kwame", 100)).thenReturn(List.of());
+
+		userService.searchUsers("  Kwame ", 5000);
+
+		verify(userSearchRepository).search("kwame", 100);
+	}
+
+	@Test
+	void searchUsers_ShouldRejectShortQuery() {
+		assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(" ab ", 10));
+		verifyNoInteractions(userSearchRepository);
+	}
+
+	private static UserDto.UserSummary summary(LocalDateTime createdAt) {
+		UserDto.UserSummary summary = new UserDto.UserSummary();
+		summary.setId(UUID.randomUUID());
+		summary.setCreatedAt(createdAt);
+		summary.setRole(UserRole.CLIENT);
+		return summary;
+	}
 }